@@ -7,16 +7,34 @@ import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
 import io.github.cdimascio.dotenv.Dotenv;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
 public final class MongoClientProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoClientProvider.class);
 
+    /**
+     * Number of pooled connections to open before the client is handed out, read like
+     * MONGODB_URI. 0 (the default) skips the warm-up.
+     */
+    static final String WARMUP_CONNECTIONS_ENV = "MONGODB_WARMUP_CONNECTIONS";
+
+    private static final String DATABASE = "yelp";
+    private static final String[] COLLECTIONS = {"business", "review"};
+
     static volatile MongoClient mongoClient;
 
     private MongoClientProvider() {
@@ -31,7 +49,12 @@ public final class MongoClientProvider {
         if (mongoClient == null) {
             synchronized (MongoClientProvider.class) {
                 if (mongoClient == null) {
-                    mongoClient = createClient();
+                    int warmupConnections = warmupConnections();
+                    MongoClient client = createClient(warmupConnections);
+                    if (warmupConnections > 0) {
+                        warmUp(client, warmupConnections);
+                    }
+                    mongoClient = client;
                 }
             }
         }
@@ -40,9 +63,10 @@ public final class MongoClientProvider {
 
     /**
      * Creates and configures a MongoClient based on env var.
+     * @param warmupConnections connections to keep in the pool, 0 for the driver default
      * @return an initialized MongoClient
      */
-    private static MongoClient createClient() {
+    private static MongoClient createClient(int warmupConnections) {
         String uri = System.getenv("MONGODB_URI");
         if (uri == null || uri.isBlank()) {
             Dotenv dotenv = Dotenv.load();
@@ -62,6 +86,9 @@ public final class MongoClientProvider {
                         builder.connectTimeout((int) Duration.ofSeconds(10).toMillis(), java.util.concurrent.TimeUnit.MILLISECONDS))
                 .applyToClusterSettings(builder ->
                         builder.serverSelectionTimeout((int) Duration.ofSeconds(10).toMillis(), java.util.concurrent.TimeUnit.MILLISECONDS))
+                // Keep the warmed-up connections, and let the warm-up open them all at once (driver default 2)
+                .applyToConnectionPoolSettings(builder ->
+                        builder.minSize(warmupConnections).maxConnecting(Math.max(2, warmupConnections)))
                 // Use “unified topology” automatically with the 4.x driver
                 .readPreference(ReadPreference.primary())
                 .readConcern(ReadConcern.MAJORITY)
@@ -72,4 +99,69 @@ public final class MongoClientProvider {
         return MongoClients.create(settings);
     }
 
+    /**
+     * Opens {@code connections} pooled connections in parallel, so the first queries do not pay
+     * for the TCP, TLS and authentication handshakes, then reads one document from each
+     * collection to pull them into the server's cache. Failures are logged and not rethrown:
+     * the queries that follow report connection problems themselves.
+     */
+    static void warmUp(MongoClient client, int connections) {
+        long start = System.nanoTime();
+        MongoDatabase database = client.getDatabase(DATABASE);
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        try {
+            // Start the pings together: with no idle connection to reuse, each one opens its own
+            CountDownLatch startTogether = new CountDownLatch(1);
+            List<Future<Document>> pings = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                pings.add(executor.submit(() -> {
+                    startTogether.await();
+                    return database.runCommand(new Document("ping", 1));
+                }));
+            }
+            startTogether.countDown();
+            int opened = 0;
+            for (Future<Document> ping : pings) {
+                try {
+                    ping.get(30, TimeUnit.SECONDS);
+                    opened++;
+                } catch (Exception e) {
+                    LOGGER.warn("Warm-up ping failed: {}", e.getMessage());
+                }
+            }
+            LOGGER.info("Warm-up: {} of {} connections open after {} ms", opened, connections, millisSince(start));
+
+            for (String collection : COLLECTIONS) {
+                try {
+                    database.getCollection(collection).find().first();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Warm-up read from '{}' failed: {}", collection, e.getMessage());
+                }
+            }
+            LOGGER.info("Warm-up completed in {} ms", millisSince(start));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int warmupConnections() {
+        String value = System.getenv(WARMUP_CONNECTIONS_ENV);
+        if (value == null || value.isBlank()) {
+            value = Dotenv.configure().ignoreIfMissing().load().get(WARMUP_CONNECTIONS_ENV);
+        }
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Ignoring invalid {}: '{}'", WARMUP_CONNECTIONS_ENV, value);
+            return 0;
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
 }
@@ -0,0 +1,123 @@
+package com.mongodb.samplemflix.codec;
+
+import com.mongodb.samplemflix.model.Movie;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Decode throughput of {@link MovieCodec} versus Spring Data's {@link MappingMongoConverter}.
+ *
+ * <p>Each invocation decodes one page of 100 movies (the list endpoint's maximum limit) from
+ * raw BSON bytes, as the driver would receive them. The converter path first decodes each
+ * document into a {@code Document}, as {@code MongoTemplate} does, then maps it to {@link Movie}.
+ *
+ * <p>Run with: {@code ./mvnw -Pbenchmark test-compile exec:exec}
+ * (add {@code -Djmh.args="-prof gc"} to also report allocation per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieDecodeBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final MovieCodec movieCodec = new MovieCodec();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+
+    private MappingMongoConverter converter;
+    private List<RawBsonDocument> page;
+
+    @Setup
+    public void setUp() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new RawBsonDocument(movie(i), documentCodec));
+        }
+    }
+
+    @Benchmark
+    public List<Movie> movieCodec() {
+        List<Movie> movies = new ArrayList<>(PAGE_SIZE);
+        for (RawBsonDocument raw : page) {
+            try (BsonBinaryReader reader = new BsonBinaryReader(raw.getByteBuffer().asNIO())) {
+                movies.add(movieCodec.decode(reader, decoderContext));
+            }
+        }
+        return movies;
+    }
+
+    @Benchmark
+    public List<Movie> mappingConverter() {
+        List<Movie> movies = new ArrayList<>(PAGE_SIZE);
+        for (RawBsonDocument raw : page) {
+            try (BsonBinaryReader reader = new BsonBinaryReader(raw.getByteBuffer().asNIO())) {
+                Document document = documentCodec.decode(reader, decoderContext);
+                movies.add(converter.read(Movie.class, document));
+            }
+        }
+        return movies;
+    }
+
+    /**
+     * A movie shaped like a sample_mflix document, including fields the model does not map.
+     */
+    private static Document movie(int i) {
+        Date released = new Date(946_684_800_000L + i * 86_400_000L);
+        return new Document("_id", new ObjectId())
+                .append("plot", "A computer hacker learns from mysterious rebels about the true nature of his reality.")
+                .append("genres", List.of("Action", "Sci-Fi"))
+                .append("runtime", 136)
+                .append("cast", List.of("Keanu Reeves", "Laurence Fishburne", "Carrie-Anne Moss", "Hugo Weaving"))
+                .append("num_mflix_comments", 12)
+                .append("poster", "https://m.media-amazon.com/images/M/poster" + i + ".jpg")
+                .append("title", "Movie " + i)
+                .append("fullplot", String.join(" ", Collections.nCopies(20, "Thomas A. Anderson is a man living two lives.")))
+                .append("languages", List.of("English"))
+                .append("released", released)
+                .append("directors", List.of("Lana Wachowski", "Lilly Wachowski"))
+                .append("writers", List.of("Lilly Wachowski", "Lana Wachowski"))
+                .append("awards", new Document("wins", 34).append("nominations", 48).append("text", "Won 4 Oscars."))
+                .append("lastupdated", "2015-08-13 00:46:30.660000000")
+                // Clean year: the converter cannot read the "1999è" strings found in the sample data
+                .append("year", 1999)
+                .append("imdb", new Document("rating", 8.7).append("votes", 1_080_566).append("id", 133093))
+                .append("countries", List.of("USA", "Australia"))
+                .append("type", "movie")
+                .append("tomatoes", new Document("viewer",
+                        new Document("rating", 3.9).append("numReviews", 1_000_000).append("meter", 85))
+                        .append("critic", new Document("rating", 7.6).append("numReviews", 150).append("meter", 87))
+                        .append("fresh", 130)
+                        .append("rotten", 20)
+                        .append("production", "Warner Bros. Pictures")
+                        .append("lastUpdated", released));
+    }
+}
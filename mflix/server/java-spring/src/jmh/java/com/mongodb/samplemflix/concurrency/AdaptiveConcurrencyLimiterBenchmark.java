@@ -0,0 +1,246 @@
+package com.mongodb.samplemflix.concurrency;
+
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Movie service calls under overload on platform threads, on virtual threads, and on virtual
+ * threads behind the {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>MongoDB is simulated: a call checks out one of {@code poolSize} connections, waiting up to
+ * {@code maxWaitMs} like the driver, and holds it for {@code commandMicros}. The limiter is fed
+ * the checkout waits and command latencies, as {@link MongoLatencyListener} does.
+ * <ul>
+ *   <li>{@code platform}: calls run on a pool of {@code servletThreads} threads, like Tomcat's,
+ *       and queue for a thread</li>
+ *   <li>{@code virtual}: each call runs on its own virtual thread and queues for a connection</li>
+ *   <li>{@code limited}: like {@code virtual}, but a call that finds the limiter full is shed with
+ *       {@link ServerOverloadedException} at once</li>
+ * </ul>
+ *
+ * <p>Each JMH thread is a client that sends its next request when the previous one is answered,
+ * and waits {@code backoffMicros} (the 503's Retry-After) after a shed one. The {@code served},
+ * {@code shed} and {@code timedOut} counters give the rate of each outcome, and after each
+ * iteration the latency of each outcome is printed, e.g.
+ * <pre>
+ * served: 77803 calls, p50 6.52 ms, p99 12.90 ms
+ * shed: 5680 calls, p50 1.02 ms, p99 24.33 ms
+ * timed out: none
+ * </pre>
+ * Queued latency grows with the number of clients in the first two modes, while the limited mode
+ * keeps admitted calls near {@code commandMicros} and sheds the rest without waiting for a
+ * connection.
+ *
+ * <p>Run with: {@code ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="AdaptiveConcurrencyLimiterBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(1000)
+@Fork(1)
+public class AdaptiveConcurrencyLimiterBenchmark {
+
+    @Param({"platform", "virtual", "limited"})
+    public String mode;
+
+    @Param({"200"})
+    public int servletThreads;
+
+    @Param({"100"})
+    public int poolSize;
+
+    @Param({"10000"})
+    public long maxWaitMs;
+
+    @Param({"5000"})
+    public long commandMicros;
+
+    @Param({"1000000"})
+    public long backoffMicros;
+
+    private ExecutorService requestExecutor;
+    private AdaptiveConcurrencyLimiter limiter;
+    private Semaphore connections;
+
+    private final LatencyHistogram servedLatency = new LatencyHistogram();
+    private final LatencyHistogram shedLatency = new LatencyHistogram();
+    private final LatencyHistogram timedOutLatency = new LatencyHistogram();
+
+    /**
+     * Outcomes of one client's requests.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Client {
+
+        public long served;
+        public long shed;
+        public long timedOut;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            served = 0;
+            shed = 0;
+            timedOut = 0;
+        }
+    }
+
+    /**
+     * Latencies in buckets about 5% wide, from 1 microsecond up.
+     */
+    static final class LatencyHistogram {
+
+        private static final double BUCKET_GROWTH = Math.log(1.05);
+
+        private final AtomicLongArray buckets = new AtomicLongArray(512);
+
+        void record(long nanos) {
+            double micros = Math.max(1, nanos / 1000.0);
+            buckets.incrementAndGet(Math.min(buckets.length() - 1, (int) (Math.log(micros) / BUCKET_GROWTH)));
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * The upper bound of the bucket holding the given percentile, in milliseconds.
+         */
+        double percentileMillis(double percentile) {
+            long rank = (long) Math.ceil(count() * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.exp((i + 1) * BUCKET_GROWTH) / 1000.0;
+                }
+            }
+            return Double.NaN;
+        }
+
+        String summary(String outcome) {
+            long count = count();
+            return count == 0 ? outcome + ": none" : String.format("%s: %d calls, p50 %.2f ms, p99 %.2f ms",
+                    outcome, count, percentileMillis(0.50), percentileMillis(0.99));
+        }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestExecutor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(servletThreads)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        connections = new Semaphore(poolSize, true);
+        limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "enabled", "limited".equals(mode));
+        ReflectionTestUtils.setField(limiter, "maxLimit", poolSize);
+        limiter.init();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        servedLatency.reset();
+        shedLatency.reset();
+        timedOutLatency.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        System.out.println();
+        System.out.println(servedLatency.summary("served"));
+        System.out.println(shedLatency.summary("shed"));
+        System.out.println(timedOutLatency.summary("timed out"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean request(Client client) throws InterruptedException {
+        long start = System.nanoTime();
+        Future<Boolean> response = requestExecutor.submit(this::call);
+        try {
+            if (response.get()) {
+                servedLatency.record(System.nanoTime() - start);
+                client.served++;
+                return true;
+            }
+            timedOutLatency.record(System.nanoTime() - start);
+            client.timedOut++;
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof ServerOverloadedException)) {
+                throw new IllegalStateException(e.getCause());
+            }
+            shedLatency.record(System.nanoTime() - start);
+            client.shed++;
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(backoffMicros));
+        }
+        return false;
+    }
+
+    /**
+     * One movie service call, behind the limiter as the concurrency-limited proxy runs it.
+     *
+     * @return false if no connection was checked out within {@code maxWaitMs}
+     */
+    private boolean call() throws InterruptedException {
+        if (!limiter.tryAcquire()) {
+            throw limiter.overloaded();
+        }
+        try {
+            long checkoutStart = System.nanoTime();
+            if (!connections.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                limiter.onPoolTimeout();
+                return false;
+            }
+            try {
+                long commandStart = System.nanoTime();
+                limiter.onPoolWait(commandStart - checkoutStart);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(commandMicros));
+                limiter.onCommandLatency("find", System.nanoTime() - commandStart);
+            } finally {
+                connections.release();
+            }
+            return true;
+        } finally {
+            limiter.release();
+        }
+    }
+}
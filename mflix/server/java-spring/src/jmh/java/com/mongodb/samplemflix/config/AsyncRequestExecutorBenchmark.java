@@ -0,0 +1,104 @@
+package com.mongodb.samplemflix.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Vector search requests served with {@code api.async.enabled} off ({@code sync}) and on
+ * ({@code async}), through the real {@link AsyncRequestExecutor}.
+ *
+ * <p>Tomcat is simulated by a pool of {@code servletThreads} threads that runs the controller
+ * method. In sync mode the method does the work inline and holds its thread for the whole
+ * request; in async mode it hands the work to a virtual thread and returns. The work is one
+ * Voyage embedding call of {@code embeddingMicros} (no connection limit) and one MongoDB command
+ * of {@code commandMicros} on one of {@code poolSize} connections.
+ *
+ * <p>Each JMH thread is a client that sends its next request when the previous one is answered.
+ * To find the maximum sustainable rate at a p99 target, raise the number of clients with
+ * {@code -t} until the p99 of the sample-time run passes the target; the throughput of the last
+ * client count below it is the mode's maximum. With the defaults, sync mode tops out near
+ * {@code servletThreads / embedding latency} (about 2,400 requests/s) and queues beyond it,
+ * while async mode keeps scaling until the connection pool is busy.
+ *
+ * <p>Run with: {@code ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="AsyncRequestExecutorBenchmark -t 400"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(400)
+@Fork(1)
+public class AsyncRequestExecutorBenchmark {
+
+    @Param({"sync", "async"})
+    public String mode;
+
+    @Param({"200"})
+    public int servletThreads;
+
+    @Param({"100"})
+    public int poolSize;
+
+    @Param({"80000"})
+    public long embeddingMicros;
+
+    @Param({"2000"})
+    public long commandMicros;
+
+    private ExecutorService servletPool;
+    private AsyncRequestExecutor asyncRequestExecutor;
+    private Semaphore connections;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        servletPool = Executors.newFixedThreadPool(servletThreads);
+        connections = new Semaphore(poolSize);
+        asyncRequestExecutor = new AsyncRequestExecutor();
+        ReflectionTestUtils.setField(asyncRequestExecutor, "enabled", "async".equals(mode));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        servletPool.shutdownNow();
+        asyncRequestExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Integer vectorSearch() throws InterruptedException, ExecutionException {
+        return CompletableFuture.supplyAsync(() -> asyncRequestExecutor.supply(this::search), servletPool)
+                .thenCompose(response -> response)
+                .get();
+    }
+
+    private Integer search() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(embeddingMicros));
+        connections.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(commandMicros));
+        } finally {
+            connections.release();
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,204 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.samplemflix.model.Movie;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A movie list request on the servlet stack ({@code servlet}) and on the {@code reactive}
+ * profile's WebFlux stack, with many open connections.
+ *
+ * <p>MongoDB is simulated: the list is read from a cursor in {@code batches} batches of
+ * {@code batchSize} movies, each taking {@code batchMicros} to arrive. On the servlet stack the
+ * request runs on one of {@code servletThreads} threads, like Tomcat's, which blocks for each
+ * batch as the sync driver does. On the reactive stack the batches arrive as a {@link Flux} that
+ * holds no thread while it waits, as the reactive driver's cursor does.
+ *
+ * <p>Each JMH thread is a client connection that sends its next request when the previous one is
+ * answered. The score is requests per millisecond. After each iteration the threads the server
+ * has started and the thread memory they commit (stacks and thread-local native memory, from
+ * Native Memory Tracking) are printed, with the memory divided by the number of connections, e.g.
+ * <pre>
+ * server threads: 200, thread memory: +21.2 MB, 21 KB per connection
+ * </pre>
+ * Add {@code -prof gc} for the heap allocated per request ({@code gc.alloc.rate.norm}).
+ *
+ * <p>Run with: {@code ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="MovieStackBenchmark -t 1000"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(1000)
+@Fork(value = 1, jvmArgsAppend = "-XX:NativeMemoryTracking=summary")
+public class MovieStackBenchmark {
+
+    private static final Pattern THREAD_MEMORY = Pattern.compile("Thread \\(reserved=\\d+KB, committed=(\\d+)KB\\)");
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    @Param({"200"})
+    public int servletThreads;
+
+    @Param({"4"})
+    public int batches;
+
+    @Param({"25"})
+    public int batchSize;
+
+    @Param({"5000"})
+    public long batchMicros;
+
+    private ExecutorService servletPool;
+    private List<List<Movie>> cursorBatches;
+    private int connections;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final AtomicLong peakThreads = new AtomicLong();
+    private final AtomicLong peakThreadMemoryKb = new AtomicLong();
+    private long baselineThreads = -1;
+    private long baselineThreadMemoryKb;
+    private volatile boolean sampling;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) {
+        connections = params.getThreads();
+        cursorBatches = new ArrayList<>(batches);
+        for (int b = 0; b < batches; b++) {
+            List<Movie> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(Movie.builder()
+                        .title("Movie " + (b * batchSize + i))
+                        .year(1990 + i)
+                        .genres(List.of("Drama"))
+                        .build());
+            }
+            cursorBatches.add(batch);
+        }
+
+        servletPool = Executors.newFixedThreadPool(servletThreads);
+    }
+
+    @Setup(Level.Iteration)
+    public void startSampling() {
+        if (baselineThreads >= 0) {
+            return;
+        }
+        // The clients are running and the pool's threads are started on first use, so the
+        // baseline holds everything but the server
+        baselineThreads = threads.getThreadCount();
+        baselineThreadMemoryKb = threadMemoryKb();
+        peakThreads.set(baselineThreads);
+        peakThreadMemoryKb.set(baselineThreadMemoryKb);
+        sampling = true;
+        Thread sampler = new Thread(this::sample, "memory-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeaks() {
+        // The sampler is counted in the peak but not in the baseline
+        long serverThreads = peakThreads.get() - baselineThreads - 1;
+        System.out.println();
+        if (baselineThreadMemoryKb < 0) {
+            System.out.printf("server threads: %d, thread memory: not available%n", serverThreads);
+            return;
+        }
+        long grownKb = Math.max(0, peakThreadMemoryKb.get() - baselineThreadMemoryKb);
+        System.out.printf("server threads: %d, thread memory: +%.1f MB, %d KB per connection%n",
+                serverThreads, grownKb / 1024.0, grownKb / connections);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sampling = false;
+        servletPool.shutdownNow();
+    }
+
+    @Benchmark
+    public long listMovies() throws InterruptedException, ExecutionException {
+        if ("servlet".equals(stack)) {
+            return CompletableFuture.supplyAsync(this::blockingList, servletPool).get();
+        }
+        return reactiveList().block();
+    }
+
+    /**
+     * The servlet stack: the request thread waits for each batch.
+     */
+    private long blockingList() {
+        long movies = 0;
+        for (List<Movie> batch : cursorBatches) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(batchMicros));
+            movies += batch.size();
+        }
+        return movies;
+    }
+
+    /**
+     * The reactive stack: each batch is a timer, and no thread is held between batches.
+     */
+    private Mono<Long> reactiveList() {
+        return Flux.fromIterable(cursorBatches)
+                .concatMap(batch -> Mono.delay(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(batchMicros)))
+                        .thenMany(Flux.fromIterable(batch)), 1)
+                .count();
+    }
+
+    private void sample() {
+        while (sampling) {
+            peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+            peakThreadMemoryKb.accumulateAndGet(threadMemoryKb(), Math::max);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+    }
+
+    /**
+     * Memory committed for threads, in KB, or -1 without Native Memory Tracking.
+     */
+    private static long threadMemoryKb() {
+        try {
+            Object summary = ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmNativeMemory",
+                    new Object[] {new String[] {"summary"}}, new String[] {String[].class.getName()});
+            Matcher matcher = THREAD_MEMORY.matcher(String.valueOf(summary));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+        } catch (JMException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.mongodb.samplemflix.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.config.IndexReadiness;
+import com.mongodb.samplemflix.config.ReadRouting;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder;
+import com.mongodb.samplemflix.migration.MovieDataMigration;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import com.mongodb.samplemflix.repository.MovieRepository;
+import com.mongodb.samplemflix.search.AutocompleteIndex;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import com.mongodb.samplemflix.search.FacetResultCache;
+import com.mongodb.samplemflix.search.LocalSearchIndex;
+import com.mongodb.samplemflix.search.SearchResultCache;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Sustained PATCH throughput of {@link MovieServiceImpl#updateMovie} with and without the
+ * {@link MovieWriteBehindBuffer}, for many callers refreshing ratings on a hot set of movies.
+ *
+ * <p>MongoDB is simulated: every command holds one of {@code poolSize} connections for one
+ * round trip of {@code rttMicros}, plus {@code perDocumentMicros} for each document it writes
+ * or returns. The direct path sends one findAndModify per update; the write-behind path sends one
+ * bulkWrite and one find per batch, so it is bounded by the flush delay rather than by the pool.
+ *
+ * <p>Run with: {@code ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="MovieWriteBehindBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(128)
+@Fork(1)
+public class MovieWriteBehindBenchmark {
+
+    @Param({"direct", "writeBehind"})
+    public String mode;
+
+    @Param({"1000"})
+    public int hotMovies;
+
+    @Param({"8"})
+    public int poolSize;
+
+    @Param({"1000"})
+    public long rttMicros;
+
+    @Param({"5"})
+    public long perDocumentMicros;
+
+    private MovieServiceImpl movieService;
+    private MovieWriteBehindBuffer buffer;
+    private Semaphore connections;
+    private String[] movieIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connections = new Semaphore(poolSize);
+        movieIds = new String[hotMovies];
+        for (int i = 0; i < hotMovies; i++) {
+            movieIds[i] = new ObjectId().toHexString();
+        }
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        @SuppressWarnings("unchecked")
+        MongoCollection<Document> collection = mock(MongoCollection.class, withSettings().stubOnly());
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenAnswer(invocation -> {
+                    command(1);
+                    return Movie.builder().id(invocation.<Query>getArgument(0).getQueryObject().getObjectId("_id")).build();
+                });
+        when(mongoTemplate.getCollection("movies")).thenReturn(collection);
+        when(collection.withWriteConcern(any(WriteConcern.class))).thenReturn(collection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            int size = invocation.<List<?>>getArgument(0).size();
+            command(size);
+            return BulkWriteResult.acknowledged(0, size, 0, size, List.of(), List.of());
+        });
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenAnswer(invocation -> {
+            List<ObjectId> ids = invocation.<Query>getArgument(0).getQueryObject()
+                    .get("_id", Document.class).getList("$in", ObjectId.class);
+            command(ids.size());
+            return ids.stream().map(id -> Movie.builder().id(id).build()).toList();
+        });
+
+        ApplicationEventPublisher eventPublisher = event -> { };
+        buffer = new MovieWriteBehindBuffer(mongoTemplate, eventPublisher);
+        ReflectionTestUtils.setField(buffer, "enabled", "writeBehind".equals(mode));
+        ReflectionTestUtils.setField(buffer, "maxDelayMs", 2L);
+        buffer.start();
+
+        movieService = new MovieServiceImpl(mock(MovieRepository.class), mongoTemplate,
+                mock(LocalSearchIndex.class), mock(AutocompleteIndex.class), mock(FacetCatalog.class),
+                mock(FacetResultCache.class), mock(SearchResultCache.class), eventPublisher,
+                mock(MovieDataMigration.class), mock(QueryShapeRecorder.class), buffer, new ReadRouting(),
+                mock(IndexReadiness.class), new AdaptiveConcurrencyLimiter());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        buffer.shutdown();
+    }
+
+    @Benchmark
+    public Movie update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UpdateMovieRequest request = UpdateMovieRequest.builder()
+                .imdb(UpdateMovieRequest.Imdb.builder()
+                        .rating(Math.round(random.nextDouble(1, 10) * 10) / 10.0)
+                        .votes(random.nextInt(1_000_000))
+                        .build())
+                .build();
+        return movieService.updateMovie(movieIds[random.nextInt(hotMovies)], request);
+    }
+
+    private void command(int documents) throws InterruptedException {
+        connections.acquire();
+        try {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(rttMicros + perDocumentMicros * documents));
+        } finally {
+            connections.release();
+        }
+    }
+}
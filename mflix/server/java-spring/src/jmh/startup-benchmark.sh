@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time-to-ready and resident memory (RSS) of the API for each build.
+#
+#   jvm      the executable jar, AOT code unused
+#   jvm-aot  the same jar with the AOT-generated bean definitions
+#   jvm-cds  AOT plus the AppCDS archive from the training run
+#   native   the GraalVM native executable
+#
+# Build first, from mflix/server/java-spring:
+#   ./mvnw -Pcds package -DskipTests            # target/cds/*.jar and application.jsa
+#   ./mvnw -Pnative native:compile -DskipTests  # target/mflix-java-spring (optional)
+#
+# Then: src/jmh/startup-benchmark.sh [runs]
+#
+# Time-to-ready runs from process launch until GET / answers; RSS is read at that point.
+# MONGODB_URI must be set, but no query runs: the driver connects in the background and the
+# startup verification does not hold up readiness. Variants that were not built are skipped.
+# Needs curl and GNU date (Linux).
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-3099}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-60}"
+TARGET="$(cd "$(dirname "$0")/../../target" && pwd)"
+CDS_DIR="$TARGET/cds"
+JAR="$(ls "$CDS_DIR"/*.jar 2>/dev/null | head -n 1 || true)"
+NATIVE="$TARGET/mflix-java-spring"
+
+if [[ -z "${MONGODB_URI:-}" ]]; then
+    echo "MONGODB_URI is not set" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the command, waits for GET / and prints "<time-to-ready ms> <rss KiB>"
+measure() {
+    local start pid ready_ms rss
+    start=$(now_ms)
+    "$@" --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "http://localhost:$PORT/"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "process exited before becoming ready: $*" >&2
+            return 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid"
+            echo "not ready after ${TIMEOUT_SECONDS}s: $*" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    ready_ms=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$ready_ms $rss"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+run_variant() {
+    local name="$1"
+    shift
+    local results=()
+    for ((run = 1; run <= RUNS; run++)); do
+        results+=("$(measure "$@")")
+    done
+    local ready rss
+    ready=$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)
+    rss=$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)
+    printf '%-8s %10s %12s\n' "$name" "$ready" "$(( rss / 1024 ))"
+}
+
+printf 'Median of %s runs\n' "$RUNS"
+printf '%-8s %10s %12s\n' "variant" "ready (ms)" "RSS (MiB)"
+
+if [[ -n "$JAR" ]]; then
+    cd "$CDS_DIR"
+    run_variant jvm java -Dspring.aot.enabled=false -jar "$JAR"
+    run_variant jvm-aot java -Dspring.aot.enabled=true -jar "$JAR"
+    if [[ -f application.jsa ]]; then
+        run_variant jvm-cds java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR"
+    fi
+else
+    echo "No jar in $CDS_DIR: build with ./mvnw -Pcds package" >&2
+fi
+
+if [[ -x "$NATIVE" ]]; then
+    run_variant native "$NATIVE"
+else
+    echo "No native executable at $NATIVE: build with ./mvnw -Pnative native:compile" >&2
+fi
@@ -1,9 +1,14 @@
 package com.mongodb.samplemflix;
 
+import com.mongodb.samplemflix.config.MflixRuntimeHints;
 import io.swagger.v3.oas.annotations.Hidden;
 import java.util.Map;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,10 +19,22 @@ import org.springframework.web.bind.annotation.RestController;
  * in a Spring Boot environment. It provides a REST API for managing movie data from
  * the sample_mflix database.
  *
+ * <p>The servlet stack (Spring MVC, sync driver) is the default. Start with
+ * {@code SPRING_PROFILES_ACTIVE=reactive} to serve the same API from WebFlux routes on the
+ * Reactive Streams driver instead; the reactive client is configured in {@code MongoConfig}.
+ *
+ * <p>For faster startup, build with {@code -Pcds} (AOT-processed jar plus a CDS archive) or
+ * {@code -Pnative} (GraalVM native executable); see the profiles in {@code pom.xml}.
+ *
  * @author MongoDB Documentation Team
  * @version 1.0
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {
+        MongoReactiveAutoConfiguration.class,
+        MongoReactiveDataAutoConfiguration.class,
+        MongoReactiveRepositoriesAutoConfiguration.class
+})
+@ImportRuntimeHints(MflixRuntimeHints.class)
 @RestController
 public class SampleMflixApplication {
 
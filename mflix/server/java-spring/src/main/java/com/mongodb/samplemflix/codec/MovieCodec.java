@@ -0,0 +1,407 @@
+package com.mongodb.samplemflix.codec;
+
+import com.mongodb.samplemflix.model.Movie;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+/**
+ * Hand-written BSON codec for {@link Movie} and its nested classes.
+ *
+ * <p>Registered with the MongoClient in {@code MongoConfig}, so collections read with
+ * {@code withDocumentClass(Movie.class)} decode each result straight from the BSON stream into
+ * the model. This skips the intermediate {@code Document} and the reflective property mapping
+ * done by Spring Data's {@code MappingMongoConverter}.
+ *
+ * <p>Decoding is tolerant of the dirty data in sample_mflix:
+ * <pre>
+ * - Numeric fields accept any BSON number, and strings with a leading number such as "2010è"
+ * - Values that cannot be converted (e.g. an empty string rating) are read as null
+ * - Unknown fields, such as plot_embedding, are skipped without being decoded
+ * </pre>
+ * Encoding writes every non-null field using the same field names as the mapped model.
+ */
+public class MovieCodec implements Codec<Movie> {
+
+    @Override
+    public Movie decode(BsonReader reader, DecoderContext decoderContext) {
+        Movie movie = new Movie();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case Movie.Fields.ID -> movie.setId(readObjectId(reader));
+                case Movie.Fields.TITLE -> movie.setTitle(readString(reader));
+                case Movie.Fields.YEAR -> movie.setYear(readInteger(reader));
+                case Movie.Fields.PLOT -> movie.setPlot(readString(reader));
+                case Movie.Fields.FULLPLOT -> movie.setFullplot(readString(reader));
+                case Movie.Fields.RELEASED -> movie.setReleased(readDate(reader));
+                case Movie.Fields.RUNTIME -> movie.setRuntime(readInteger(reader));
+                case Movie.Fields.POSTER -> movie.setPoster(readString(reader));
+                case Movie.Fields.GENRES -> movie.setGenres(readStringList(reader));
+                case Movie.Fields.DIRECTORS -> movie.setDirectors(readStringList(reader));
+                case Movie.Fields.WRITERS -> movie.setWriters(readStringList(reader));
+                case Movie.Fields.CAST -> movie.setCast(readStringList(reader));
+                case Movie.Fields.COUNTRIES -> movie.setCountries(readStringList(reader));
+                case Movie.Fields.LANGUAGES -> movie.setLanguages(readStringList(reader));
+                case Movie.Fields.RATED -> movie.setRated(readString(reader));
+                case Movie.Fields.AWARDS -> movie.setAwards(readAwards(reader));
+                case Movie.Fields.IMDB -> movie.setImdb(readImdb(reader));
+                case Movie.Fields.TOMATOES -> movie.setTomatoes(readTomatoes(reader));
+                case Movie.Fields.METACRITIC -> movie.setMetacritic(readInteger(reader));
+                case Movie.Fields.TYPE -> movie.setType(readString(reader));
+                case Movie.Fields.VERSION -> movie.setVersion(readInteger(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return movie;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Movie movie, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (movie.getId() != null) {
+            writer.writeObjectId(Movie.Fields.ID, movie.getId());
+        }
+        writeString(writer, Movie.Fields.TITLE, movie.getTitle());
+        writeInteger(writer, Movie.Fields.YEAR, movie.getYear());
+        writeString(writer, Movie.Fields.PLOT, movie.getPlot());
+        writeString(writer, Movie.Fields.FULLPLOT, movie.getFullplot());
+        writeDate(writer, Movie.Fields.RELEASED, movie.getReleased());
+        writeInteger(writer, Movie.Fields.RUNTIME, movie.getRuntime());
+        writeString(writer, Movie.Fields.POSTER, movie.getPoster());
+        writeStringList(writer, Movie.Fields.GENRES, movie.getGenres());
+        writeStringList(writer, Movie.Fields.DIRECTORS, movie.getDirectors());
+        writeStringList(writer, Movie.Fields.WRITERS, movie.getWriters());
+        writeStringList(writer, Movie.Fields.CAST, movie.getCast());
+        writeStringList(writer, Movie.Fields.COUNTRIES, movie.getCountries());
+        writeStringList(writer, Movie.Fields.LANGUAGES, movie.getLanguages());
+        writeString(writer, Movie.Fields.RATED, movie.getRated());
+        writeAwards(writer, movie.getAwards());
+        writeImdb(writer, movie.getImdb());
+        writeTomatoes(writer, movie.getTomatoes());
+        writeInteger(writer, Movie.Fields.METACRITIC, movie.getMetacritic());
+        writeString(writer, Movie.Fields.TYPE, movie.getType());
+        writeInteger(writer, Movie.Fields.VERSION, movie.getVersion());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<Movie> getEncoderClass() {
+        return Movie.class;
+    }
+
+    // ==================== NESTED DOCUMENTS ====================
+
+    private static Movie.Awards readAwards(BsonReader reader) {
+        if (!startDocument(reader)) {
+            return null;
+        }
+        Movie.Awards awards = new Movie.Awards();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "wins" -> awards.setWins(readInteger(reader));
+                case "nominations" -> awards.setNominations(readInteger(reader));
+                case "text" -> awards.setText(readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return awards;
+    }
+
+    private static Movie.Imdb readImdb(BsonReader reader) {
+        if (!startDocument(reader)) {
+            return null;
+        }
+        Movie.Imdb imdb = new Movie.Imdb();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "rating" -> imdb.setRating(readDouble(reader));
+                case "votes" -> imdb.setVotes(readInteger(reader));
+                case "id" -> imdb.setId(readInteger(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return imdb;
+    }
+
+    private static Movie.Tomatoes readTomatoes(BsonReader reader) {
+        if (!startDocument(reader)) {
+            return null;
+        }
+        Movie.Tomatoes tomatoes = new Movie.Tomatoes();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "viewer" -> tomatoes.setViewer(readViewer(reader));
+                case "critic" -> tomatoes.setCritic(readCritic(reader));
+                case "fresh" -> tomatoes.setFresh(readInteger(reader));
+                case "rotten" -> tomatoes.setRotten(readInteger(reader));
+                case "production" -> tomatoes.setProduction(readString(reader));
+                case "lastUpdated" -> tomatoes.setLastUpdated(readDate(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return tomatoes;
+    }
+
+    private static Movie.Tomatoes.Viewer readViewer(BsonReader reader) {
+        if (!startDocument(reader)) {
+            return null;
+        }
+        Movie.Tomatoes.Viewer viewer = new Movie.Tomatoes.Viewer();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "rating" -> viewer.setRating(readDouble(reader));
+                case "numReviews" -> viewer.setNumReviews(readInteger(reader));
+                case "meter" -> viewer.setMeter(readInteger(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return viewer;
+    }
+
+    private static Movie.Tomatoes.Critic readCritic(BsonReader reader) {
+        if (!startDocument(reader)) {
+            return null;
+        }
+        Movie.Tomatoes.Critic critic = new Movie.Tomatoes.Critic();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "rating" -> critic.setRating(readDouble(reader));
+                case "numReviews" -> critic.setNumReviews(readInteger(reader));
+                case "meter" -> critic.setMeter(readInteger(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return critic;
+    }
+
+    /**
+     * Starts reading an embedded document, or skips the value if it is not a document.
+     */
+    private static boolean startDocument(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return false;
+        }
+        reader.readStartDocument();
+        return true;
+    }
+
+    private static void writeAwards(BsonWriter writer, Movie.Awards awards) {
+        if (awards == null) {
+            return;
+        }
+        writer.writeStartDocument(Movie.Fields.AWARDS);
+        writeInteger(writer, "wins", awards.getWins());
+        writeInteger(writer, "nominations", awards.getNominations());
+        writeString(writer, "text", awards.getText());
+        writer.writeEndDocument();
+    }
+
+    private static void writeImdb(BsonWriter writer, Movie.Imdb imdb) {
+        if (imdb == null) {
+            return;
+        }
+        writer.writeStartDocument(Movie.Fields.IMDB);
+        writeDouble(writer, "rating", imdb.getRating());
+        writeInteger(writer, "votes", imdb.getVotes());
+        writeInteger(writer, "id", imdb.getId());
+        writer.writeEndDocument();
+    }
+
+    private static void writeTomatoes(BsonWriter writer, Movie.Tomatoes tomatoes) {
+        if (tomatoes == null) {
+            return;
+        }
+        writer.writeStartDocument(Movie.Fields.TOMATOES);
+        if (tomatoes.getViewer() != null) {
+            writer.writeStartDocument("viewer");
+            writeDouble(writer, "rating", tomatoes.getViewer().getRating());
+            writeInteger(writer, "numReviews", tomatoes.getViewer().getNumReviews());
+            writeInteger(writer, "meter", tomatoes.getViewer().getMeter());
+            writer.writeEndDocument();
+        }
+        if (tomatoes.getCritic() != null) {
+            writer.writeStartDocument("critic");
+            writeDouble(writer, "rating", tomatoes.getCritic().getRating());
+            writeInteger(writer, "numReviews", tomatoes.getCritic().getNumReviews());
+            writeInteger(writer, "meter", tomatoes.getCritic().getMeter());
+            writer.writeEndDocument();
+        }
+        writeInteger(writer, "fresh", tomatoes.getFresh());
+        writeInteger(writer, "rotten", tomatoes.getRotten());
+        writeString(writer, "production", tomatoes.getProduction());
+        writeDate(writer, "lastUpdated", tomatoes.getLastUpdated());
+        writer.writeEndDocument();
+    }
+
+    // ==================== TOLERANT VALUE READERS ====================
+
+    private static ObjectId readObjectId(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.OBJECT_ID) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.readObjectId();
+    }
+
+    private static String readString(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> reader.readString();
+            case SYMBOL -> reader.readSymbol();
+            // Some titles are stored as numbers, e.g. 1984
+            case INT32 -> String.valueOf(reader.readInt32());
+            case INT64 -> String.valueOf(reader.readInt64());
+            case DOUBLE -> String.valueOf(reader.readDouble());
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Reads a whole number stored as any BSON number, or as a string that starts with one.
+     */
+    private static Integer readInteger(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> {
+                double value = reader.readDouble();
+                yield Double.isFinite(value) ? (int) value : null;
+            }
+            case DECIMAL128 -> {
+                Decimal128 value = reader.readDecimal128();
+                yield value.isNaN() || value.isInfinite() ? null : value.bigDecimalValue().intValue();
+            }
+            case STRING -> leadingInteger(reader.readString());
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Reads a decimal number stored as any BSON number or as a numeric string.
+     */
+    private static Double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DOUBLE -> reader.readDouble();
+            case INT32 -> (double) reader.readInt32();
+            case INT64 -> (double) reader.readInt64();
+            case DECIMAL128 -> reader.readDecimal128().doubleValue();
+            case STRING -> {
+                try {
+                    yield Double.valueOf(reader.readString().trim());
+                } catch (NumberFormatException e) {
+                    yield null;
+                }
+            }
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    private static Date readDate(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DATE_TIME) {
+            reader.skipValue();
+            return null;
+        }
+        return new Date(reader.readDateTime());
+    }
+
+    private static List<String> readStringList(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return new ArrayList<>(List.of(reader.readString()));
+        }
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String value = readString(reader);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    /**
+     * Parses the number at the start of a string such as {@code "2010è"}, or null if there is none.
+     */
+    private static Integer leadingInteger(String value) {
+        String trimmed = value.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isDigit(trimmed.charAt(end))) {
+            end++;
+        }
+        if (end == 0 || end > 9) {
+            return null;
+        }
+        return Integer.parseInt(trimmed, 0, end, 10);
+    }
+
+    // ==================== VALUE WRITERS ====================
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    private static void writeInteger(BsonWriter writer, String name, Integer value) {
+        if (value != null) {
+            writer.writeInt32(name, value);
+        }
+    }
+
+    private static void writeDouble(BsonWriter writer, String name, Double value) {
+        if (value != null) {
+            writer.writeDouble(name, value);
+        }
+    }
+
+    private static void writeDate(BsonWriter writer, String name, Date value) {
+        if (value != null) {
+            writer.writeDateTime(name, value.getTime());
+        }
+    }
+
+    private static void writeStringList(BsonWriter writer, String name, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        writer.writeStartArray(name);
+        for (String value : values) {
+            if (value != null) {
+                writer.writeString(value);
+            }
+        }
+        writer.writeEndArray();
+    }
+}
@@ -0,0 +1,254 @@
+package com.mongodb.samplemflix.concurrency;
+
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit on the number of movie service calls in flight at once.
+ *
+ * <p>With virtual threads there is no Tomcat thread pool to act as a natural cap, so every
+ * request goes straight to the MongoDB connection pool (100 connections, 10 s wait). Under
+ * overload, thousands of requests would queue there and each fail only after 10 seconds.
+ * This limiter rejects the excess immediately so clients get a fast 503 they can retry.
+ *
+ * <p>The limit follows an AIMD (additive increase, multiplicative decrease) rule, driven by
+ * what the driver reports through {@link MongoLatencyListener}:
+ * <ul>
+ *   <li>Decrease by 10% when a connection checkout waits longer than
+ *       {@code api.limiter.max-pool-wait-ms}, when a checkout times out, or when the short-term
+ *       average command latency exceeds the long-term average by
+ *       {@code api.limiter.latency-tolerance}. At most one decrease per cool-down period.
+ *       Latency is averaged per {@link CommandClass}, so a burst of multi-second report
+ *       aggregations is compared with earlier aggregations, not with millisecond point reads.</li>
+ *   <li>Otherwise, increase by {@code 1/limit} per healthy sample while at least half of the
+ *       limit is in use, i.e. about +1 per round trip of the whole window.</li>
+ * </ul>
+ * The limit stays within {@code api.limiter.min-limit} and {@code api.limiter.max-limit}.
+ *
+ * <p>Disabled unless {@code api.limiter.enabled=true} (the default when
+ * {@code VIRTUAL_THREADS_ENABLED=true}); when disabled, {@link #tryAcquire()} always succeeds.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    /**
+     * Smoothing factors for the short- and long-term command latency averages.
+     */
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.01;
+
+    private static final long MIN_COOL_DOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Value("${api.limiter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.limiter.initial-limit:20}")
+    private int initialLimit = 20;
+
+    @Value("${api.limiter.min-limit:5}")
+    private int minLimit = 5;
+
+    @Value("${api.limiter.max-limit:100}")
+    private int maxLimit = 100;
+
+    @Value("${api.limiter.max-pool-wait-ms:50}")
+    private long maxPoolWaitMs = 50;
+
+    @Value("${api.limiter.latency-tolerance:2.0}")
+    private double latencyTolerance = 2.0;
+
+    /**
+     * Groups of commands with comparable latency, each with its own pair of averages.
+     */
+    public enum CommandClass {
+        /** Point and list reads: find, getMore, count, distinct and the like. */
+        READ,
+        /** insert, update, delete and findAndModify. */
+        WRITE,
+        /** Aggregation pipelines, which include the reports and Atlas Search queries. */
+        AGGREGATE;
+
+        public static CommandClass of(String commandName) {
+            return switch (commandName) {
+                case "aggregate" -> AGGREGATE;
+                case "insert", "update", "delete", "findAndModify" -> WRITE;
+                default -> READ;
+            };
+        }
+    }
+
+    /**
+     * Short- and long-term average latency of one command class.
+     */
+    private static final class LatencyAverages {
+        double shortNanos;
+        double longNanos;
+    }
+
+    LongSupplier clock = System::nanoTime;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // Guarded by this
+    private double limit;
+    private final Map<CommandClass, LatencyAverages> latencies = new EnumMap<>(CommandClass.class);
+    private long lastDecreaseNanos;
+
+    private volatile int currentLimit = Integer.MAX_VALUE;
+
+    @PostConstruct
+    public synchronized void init() {
+        for (CommandClass commandClass : CommandClass.values()) {
+            latencies.put(commandClass, new LatencyAverages());
+        }
+        setLimit(Math.clamp(initialLimit, minLimit, maxLimit));
+        lastDecreaseNanos = clock.getAsLong() - MIN_COOL_DOWN_NANOS;
+    }
+
+    /**
+     * Takes a permit if the number of calls in flight is below the current limit.
+     *
+     * @return true if the call may proceed; the caller must then call {@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs a call that reaches MongoDB under a permit.
+     *
+     * @throws ServerOverloadedException if no permit is available
+     */
+    public <T> T call(Supplier<T> work) {
+        if (!tryAcquire()) {
+            throw overloaded();
+        }
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * The exception a call is rejected with when no permit is available (503 with
+     * {@code Retry-After}).
+     */
+    public ServerOverloadedException overloaded() {
+        return new ServerOverloadedException("Too many concurrent requests (limit " + currentLimit + ")");
+    }
+
+    /**
+     * Records the round-trip time of a successful command.
+     *
+     * @param commandName the command, e.g. {@code find} or {@code aggregate}
+     */
+    public synchronized void onCommandLatency(String commandName, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        CommandClass commandClass = CommandClass.of(commandName);
+        LatencyAverages averages = latencies.get(commandClass);
+        if (averages.longNanos == 0) {
+            averages.shortNanos = nanos;
+            averages.longNanos = nanos;
+            return;
+        }
+        averages.shortNanos += SHORT_SMOOTHING * (nanos - averages.shortNanos);
+        averages.longNanos += LONG_SMOOTHING * (nanos - averages.longNanos);
+
+        if (averages.shortNanos > averages.longNanos * latencyTolerance) {
+            decrease(commandClass.name().toLowerCase() + " command latency");
+        } else if (inFlight.get() >= limit / 2) {
+            setLimit(Math.min(maxLimit, limit + 1.0 / limit));
+        }
+    }
+
+    /**
+     * Records how long a connection checkout waited for the pool.
+     */
+    public synchronized void onPoolWait(long nanos) {
+        if (enabled && nanos > TimeUnit.MILLISECONDS.toNanos(maxPoolWaitMs)) {
+            decrease("connection pool wait");
+        }
+    }
+
+    /**
+     * Records a connection checkout that timed out waiting for the pool.
+     */
+    public synchronized void onPoolTimeout() {
+        if (enabled) {
+            decrease("connection pool timeout");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private void decrease(String reason) {
+        long now = clock.getAsLong();
+        // About one point-read round trip, so a decrease can take effect before the next one
+        long coolDown = Math.max(MIN_COOL_DOWN_NANOS, (long) latencies.get(CommandClass.READ).shortNanos);
+        if (now - lastDecreaseNanos < coolDown) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        int before = currentLimit;
+        setLimit(Math.max(minLimit, limit * DECREASE_FACTOR));
+        if (currentLimit != before) {
+            logger.debug("Concurrency limit reduced {} -> {} ({})", before, currentLimit, reason);
+        }
+    }
+
+    private void setLimit(double newLimit) {
+        limit = newLimit;
+        currentLimit = (int) newLimit;
+    }
+}
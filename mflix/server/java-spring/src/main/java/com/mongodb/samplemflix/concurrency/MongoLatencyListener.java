@@ -0,0 +1,45 @@
+package com.mongodb.samplemflix.concurrency;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds driver-level timings into the {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>Registered on the MongoClient by {@code MongoConfig}. It reports:
+ * <ul>
+ *   <li>connection checkout time, i.e. how long an operation waited for the pool</li>
+ *   <li>checkout timeouts (the pool's {@code maxWaitTime} was exceeded)</li>
+ *   <li>round-trip time of each successful command, with its name so the limiter can compare
+ *       it with commands of the same kind</li>
+ * </ul>
+ */
+public class MongoLatencyListener implements CommandListener, ConnectionPoolListener {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public MongoLatencyListener(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        limiter.onPoolWait(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            limiter.onPoolTimeout();
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        limiter.onCommandLatency(event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,21 @@
+package com.mongodb.samplemflix.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that answers from memory when it can (an in-memory index, catalog or
+ * cache) and only sometimes falls back to MongoDB.
+ *
+ * <p>The concurrency-limited service proxy calls these methods without taking a permit, so they
+ * are neither rejected under load nor hold a permit a database call could use. The method takes
+ * a permit itself around its fallback, with {@link AdaptiveConcurrencyLimiter#call}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ServedFromMemory {
+}
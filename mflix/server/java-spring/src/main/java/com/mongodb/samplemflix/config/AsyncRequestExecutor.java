@@ -0,0 +1,97 @@
+package com.mongodb.samplemflix.config;
+
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.jfr.RecordedRequest;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs slow controller work (search, vector search, aggregation reports) off the servlet thread.
+ *
+ * <p>When {@code api.async.enabled=true}, each call runs on its own virtual thread and the
+ * controller returns a {@link CompletableFuture}. Spring MVC releases the Tomcat thread while
+ * the Mongo or Voyage call is in flight and writes the response when the future completes.
+ * A blocked virtual thread does not pin a carrier thread, so the sync driver can be used as-is.
+ *
+ * <p>Each call is bounded by {@code api.async.timeout-ms}, or by what is left of the request's
+ * deadline if that is sooner. On timeout the future fails with a {@link TimeoutException}
+ * (mapped to 504 DEADLINE_EXCEEDED by {@code GlobalExceptionHandler}, like any other expired
+ * deadline) and the worker is interrupted, which makes the driver abandon the in-flight
+ * operation.
+ *
+ * <p>The request's {@link RequestDeadline} goes with the work to its virtual thread, so the
+ * Mongo and Voyage calls made there are bounded by it as well. So does its
+ * {@link RecordedRequest} ID, which attributes their flight recorder events to the request.
+ *
+ * <p>When async mode is disabled (the default), the work runs inline on the servlet thread
+ * and an already-completed future is returned, so behavior matches the synchronous endpoints.
+ */
+@Component
+public class AsyncRequestExecutor {
+
+    @Value("${api.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.async.timeout-ms:30000}")
+    private long timeoutMs = 30000;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Runs the work asynchronously (or inline when async mode is disabled).
+     *
+     * @param work the controller work; exceptions it throws complete the future exceptionally
+     * @return a future holding the work's result
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        RequestDeadline deadline = RequestDeadline.current();
+        long limitMs = deadline != null
+                ? Math.max(1, Math.min(timeoutMs, deadline.remainingMillis()))
+                : timeoutMs;
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Supplier<T> bound = RecordedRequest.propagate(RequestDeadline.propagate(work));
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(bound.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.orTimeout(limitMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
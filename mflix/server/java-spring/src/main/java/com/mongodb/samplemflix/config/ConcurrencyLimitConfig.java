@@ -0,0 +1,65 @@
+package com.mongodb.samplemflix.config;
+
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.concurrency.ServedFromMemory;
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
+import com.mongodb.samplemflix.service.MovieService;
+import com.mongodb.samplemflix.service.MovieServiceImpl;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Puts the {@link AdaptiveConcurrencyLimiter} in front of {@link MovieService}.
+ *
+ * <p>Controllers receive the primary {@code MovieService} bean defined here, which is a
+ * proxy around {@link MovieServiceImpl}. Every call that reaches MongoDB takes a permit from the
+ * limiter first; when none is available the call fails immediately with
+ * {@link ServerOverloadedException} (503 with {@code Retry-After}) instead of waiting up to
+ * 10 seconds for a pooled connection. Methods marked {@link ServedFromMemory} (autocomplete,
+ * the facet catalog, cached facets) go straight through and take a permit themselves only when
+ * they fall back to MongoDB.
+ *
+ * <p>Enable virtual threads for Tomcat with {@code VIRTUAL_THREADS_ENABLED=true}; the limiter
+ * is then on by default. It can also be toggled on its own with
+ * {@code CONCURRENCY_LIMIT_ENABLED}.
+ */
+@Configuration
+@Profile("!reactive")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    @Primary
+    public MovieService concurrencyLimitedMovieService(MovieServiceImpl movieService,
+                                                       AdaptiveConcurrencyLimiter limiter) {
+        return (MovieService) Proxy.newProxyInstance(
+                MovieService.class.getClassLoader(),
+                new Class<?>[] {MovieService.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class
+                            || method.isAnnotationPresent(ServedFromMemory.class)) {
+                        return invoke(movieService, method, args);
+                    }
+                    if (!limiter.tryAcquire()) {
+                        throw limiter.overloaded();
+                    }
+                    try {
+                        return invoke(movieService, method, args);
+                    } finally {
+                        limiter.release();
+                    }
+                });
+    }
+
+    private static Object invoke(MovieService movieService, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(movieService, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
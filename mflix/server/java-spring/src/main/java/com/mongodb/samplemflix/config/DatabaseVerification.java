@@ -4,11 +4,24 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.samplemflix.config.IndexReadiness.SearchIndex;
+import com.mongodb.samplemflix.config.IndexReadiness.Status;
 import com.mongodb.samplemflix.model.Movie;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -22,12 +35,20 @@ import org.springframework.stereotype.Component;
  * 2. Verify the collection contains documents
  * 3. Check for text search indexes on plot, title, and fullplot fields
  * 4. Create text search index if missing
- * 5. Verify embedded_movies collection for vector search
- * 6. Create vector search index if missing
+ * 5. Create year index and covering grid listing indexes if missing
+ * 6. Verify embedded_movies collection for vector search
+ * 7. Create vector search index if missing
  * <p>
  * This matches the behavior of the Express.js backend's verifyRequirements() function.
  * The verification is non-blocking - the application will start even if verification fails,
  * but warnings will be logged to help developers identify configuration issues.
+ *
+ * <p>The checks run on background threads after the bean is created, so startup does not wait
+ * for their round trips. The movies, comments and embedded_movies checks, and the separate index
+ * checks on movies, are independent and run in parallel. Progress on the text, MongoDB Search and
+ * vector search indexes is published to {@link IndexReadiness}, which holds back only the
+ * endpoints that need them; MongoDB Search indexes build asynchronously on Atlas, so they are
+ * polled until they become queryable.
  */
 @Component
 public class DatabaseVerification {
@@ -39,63 +60,128 @@ public class DatabaseVerification {
     private static final String EMBEDDED_MOVIES_COLLECTION = "embedded_movies";
     private static final String TEXT_INDEX_NAME = "text_search_index";
     private static final String YEAR_INDEX_NAME = "year_index";
+    private static final String GRID_TITLE_INDEX_NAME = "grid_title_index";
+    private static final String GRID_YEAR_TITLE_INDEX_NAME = "grid_year_title_index";
+    private static final String GRID_RATING_INDEX_NAME = "grid_rating_index";
     private static final String MOVIE_ID_INDEX_NAME = "movie_id_index";
     private static final String VECTOR_INDEX_NAME = "vector_index";
     private static final String MONGODB_SEARCH_INDEX_NAME = "movieSearchIndex";
 
+    /**
+     * Threads for the verification checks; each check mostly waits on a round trip.
+     */
+    private static final int VERIFICATION_THREADS = 4;
+
     private final MongoDatabase database;
+    private final IndexReadiness indexReadiness;
+
+    @Value("${mongodb.verification.index-poll-interval-ms:5000}")
+    private long indexPollIntervalMs = 5000;
 
-    public DatabaseVerification(MongoDatabase database) {
+    @Value("${mongodb.verification.index-poll-timeout-ms:600000}")
+    private long indexPollTimeoutMs = 600_000;
+
+    private ScheduledExecutorService executor;
+    private CompletableFuture<Void> verification;
+
+    public DatabaseVerification(MongoDatabase database, IndexReadiness indexReadiness) {
         this.database = database;
+        this.indexReadiness = indexReadiness;
     }
 
     /**
-     * Runs database verification checks after the bean is constructed.
+     * Starts the database verification checks on background threads.
      *
      * <p>This method is called automatically by Spring after dependency injection
-     * is complete. It performs all verification steps and logs the results.
-     *
-     * <p>The method catches all exceptions to prevent application startup failure,
-     * but logs errors to help developers identify issues.
+     * is complete and returns without waiting for the checks.
      */
     @PostConstruct
-    public void verifyDatabase() {
-        logger.info("Starting database verification for '{}'...", database.getName());
+    public void start() {
+        executor = Executors.newScheduledThreadPool(VERIFICATION_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "database-verification");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verification = verifyDatabase();
+    }
 
-        try {
-            // Verify movies collection exists and has data
-            verifyMoviesCollection();
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
 
-            // Verify comments collection and create indexes for aggregation performance
-            verifyCommentsCollection();
+    /**
+     * The checks started by {@link #start()}; completes when they have all finished.
+     */
+    CompletableFuture<Void> verification() {
+        return verification;
+    }
 
-            // Verify embedded_movies collection and create vector search index
-            verifyEmbeddedMoviesCollection();
+    /**
+     * Runs the database verification checks in parallel and logs the results.
+     *
+     * <p>Each check catches and logs its own errors to prevent application startup failure;
+     * this allows developers to troubleshoot connection issues without preventing startup.
+     *
+     * @return completes when every check has finished; search indexes that are still building
+     *         keep being polled afterwards
+     */
+    CompletableFuture<Void> verifyDatabase() {
+        logger.info("Starting database verification for '{}'...", database.getName());
+        long start = System.nanoTime();
 
-            logger.info("Database verification completed successfully");
+        MongoCollection<Document> moviesCollection = database.getCollection(MOVIES_COLLECTION);
+        CompletableFuture<?>[] checks = {
+            // Verify movies collection exists and has data, and create its indexes
+            check("movies collection", () -> verifyMoviesCollection(moviesCollection)),
+            check("text search index", () -> createTextSearchIndex(moviesCollection)),
+            check("MongoDB Search index", () -> createMongoDBSearchIndex(moviesCollection)),
+            check("year index", () -> createYearIndex(moviesCollection)),
+            check("grid indexes", () -> createGridIndexes(moviesCollection)),
+            // Verify comments collection and create indexes for aggregation performance
+            check("comments collection", this::verifyCommentsCollection),
+            // Verify embedded_movies collection and create vector search index
+            check("embedded_movies collection", this::verifyEmbeddedMoviesCollection)
+        };
+
+        return CompletableFuture.allOf(checks).whenComplete((ignored, e) -> {
+            // Indexes a check returned early on (e.g. no embeddings) are not going to become ready
+            for (SearchIndex index : SearchIndex.values()) {
+                if (indexReadiness.status(index) == Status.PENDING) {
+                    indexReadiness.update(index, Status.UNVERIFIED);
+                }
+            }
+            logger.info("Database verification completed in {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        });
+    }
 
-        } catch (Exception e) {
-            logger.error("Database verification failed: {}", e.getMessage(), e);
-            // Don't throw exception - allow application to start even if verification fails
-            // This allows developers to troubleshoot connection issues without preventing startup
-        }
+    private CompletableFuture<Void> check(String name, Runnable check) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                check.run();
+            } catch (Exception e) {
+                // Don't rethrow - the other checks and the application carry on
+                logger.error("Database verification of the {} failed: {}", name, e.getMessage(), e);
+            }
+        }, executor);
     }
 
     /**
-     * Verifies the movies collection exists, contains data, and has required indexes.
+     * Verifies the movies collection exists and contains data.
      *
-     * <p>This method:
+     * <p>Its indexes are checked by separate, parallel checks:
 * <ol>
-*   <li>Checks if the movies collection exists (implicitly by accessing it)</li>
-*   <li>Counts documents to verify sample data is loaded</li>
-*   <li>Creates a text search index on plot, title, and fullplot fields</li>
+*   <li>a text search index on plot, title, and fullplot fields</li>
+*   <li>the MongoDB Search index</li>
+*   <li>the year index and the covering grid listing indexes</li>
 * </ol>
      * <p>The text search index enables full-text search functionality across movie
      * descriptions and titles, which is used by the search endpoint.
      */
-    private void verifyMoviesCollection() {
-        MongoCollection<Document> moviesCollection = database.getCollection(MOVIES_COLLECTION);
-
+    private void verifyMoviesCollection(MongoCollection<Document> moviesCollection) {
         // Check if collection has documents
         // Using estimatedDocumentCount() for better performance (doesn't scan all documents)
         long count = moviesCollection.estimatedDocumentCount();
@@ -108,15 +194,6 @@ public class DatabaseVerification {
                 "Visit https://www.mongodb.com/docs/atlas/sample-data/ for instructions."
             );
         }
-
-        // Create text search index for full-text search functionality
-        createTextSearchIndex(moviesCollection);
-
-        // Create MongoDB Search index for advanced search functionality
-        createMongoDBSearchIndex(moviesCollection);
-
-        // Create year index for aggregation performance
-        createYearIndex(moviesCollection);
     }
 
     /**
@@ -156,6 +233,8 @@ public class DatabaseVerification {
             }
 
             if (!textIndexExists) {
+                indexReadiness.update(SearchIndex.TEXT, Status.BUILDING);
+
                 // Create compound text index on plot, title, and fullplot fields
                 // The background option allows the index to be built without blocking other operations
                 IndexOptions indexOptions = new IndexOptions()
@@ -176,10 +255,12 @@ public class DatabaseVerification {
 
                 logger.info("Text search index '{}' created successfully for movies collection", TEXT_INDEX_NAME);
             }
+            indexReadiness.update(SearchIndex.TEXT, Status.READY);
 
         } catch (Exception e) {
             // Log error but don't fail - the application can still function without the index
             // (though text search queries will fail)
+            indexReadiness.update(SearchIndex.TEXT, Status.UNVERIFIED);
             logger.error("Could not create text search index: {}", e.getMessage());
             logger.warn("Text search functionality may not work without the index");
         }
@@ -210,6 +291,7 @@ public class DatabaseVerification {
                 if (MONGODB_SEARCH_INDEX_NAME.equals(index.getString("name"))) {
                     indexExists = true;
                     logger.info("MongoDB Search index '{}' already exists", MONGODB_SEARCH_INDEX_NAME);
+                    publishSearchIndexStatus(SearchIndex.SEARCH, moviesCollection, index, System.nanoTime());
                     break;
                 }
             }
@@ -247,10 +329,11 @@ public class DatabaseVerification {
                 database.runCommand(createIndexCommand);
 
                 logger.info("MongoDB Search index '{}' created successfully. Index may take a few moments to build.", MONGODB_SEARCH_INDEX_NAME);
-                logger.info("MongoDB Search is now ready to use on the '{}' collection", MOVIES_COLLECTION);
+                publishSearchIndexStatus(SearchIndex.SEARCH, moviesCollection, null, System.nanoTime());
             }
 
         } catch (Exception e) {
+            indexReadiness.update(SearchIndex.SEARCH, Status.UNVERIFIED);
             logger.warn("Could not create MongoDB Search index: {}", e.getMessage());
             logger.warn("If you're using Atlas, the index may already exist or there may be a permissions issue.");
             logger.warn("Search endpoint (/api/movies/search) will not work without this index.");
@@ -296,6 +379,53 @@ public class DatabaseVerification {
         }
     }
 
+    /**
+     * Creates the indexes that cover grid listing queries, if they don't already exist.
+     *
+     * <p>The grid listing projects only {@code _id}, title, year, poster and imdb.rating. Each
+     * index below holds all five, so a grid query it serves is answered from index keys with no
+     * document fetched. The leading keys follow the equality-sort-range rule for the common
+     * combinations:
+     * <ul>
+     *   <li>grid_title_index: sorted by title, optionally filtered by year or rating</li>
+     *   <li>grid_year_title_index: filtered by year and sorted by title</li>
+     *   <li>grid_rating_index: sorted by (or filtered on) rating, optionally filtered by year</li>
+     * </ul>
+     * Descending sorts scan the same indexes backwards. Genre filters cannot be covered because
+     * genres is an array, and multikey indexes cannot cover queries on array fields.
+     *
+     * @param moviesCollection the movies collection to create the indexes on
+     */
+    private void createGridIndexes(MongoCollection<Document> moviesCollection) {
+        Map<String, Bson> gridIndexes = new LinkedHashMap<>();
+        gridIndexes.put(GRID_TITLE_INDEX_NAME, Indexes.ascending(
+                Movie.Fields.TITLE, Movie.Fields.YEAR, Movie.Fields.IMDB_RATING, Movie.Fields.POSTER, Movie.Fields.ID));
+        gridIndexes.put(GRID_YEAR_TITLE_INDEX_NAME, Indexes.ascending(
+                Movie.Fields.YEAR, Movie.Fields.TITLE, Movie.Fields.IMDB_RATING, Movie.Fields.POSTER, Movie.Fields.ID));
+        gridIndexes.put(GRID_RATING_INDEX_NAME, Indexes.ascending(
+                Movie.Fields.IMDB_RATING, Movie.Fields.YEAR, Movie.Fields.TITLE, Movie.Fields.POSTER, Movie.Fields.ID));
+
+        try {
+            Set<String> existing = new HashSet<>();
+            for (Document index : moviesCollection.listIndexes()) {
+                existing.add(index.getString("name"));
+            }
+
+            gridIndexes.forEach((name, keys) -> {
+                if (existing.contains(name)) {
+                    logger.info("Grid index '{}' already exists", name);
+                    return;
+                }
+                moviesCollection.createIndex(keys, new IndexOptions().name(name).background(true));
+                logger.info("Grid index '{}' created successfully for movies collection", name);
+            });
+
+        } catch (Exception e) {
+            logger.error("Could not create grid indexes: {}", e.getMessage());
+            logger.warn("Grid listing queries will read full documents without the covering indexes");
+        }
+    }
+
     /**
      * Verifies the comments collection and creates necessary indexes.
      *
@@ -413,6 +543,7 @@ public class DatabaseVerification {
                 if (VECTOR_INDEX_NAME.equals(index.getString("name"))) {
                     indexExists = true;
                     logger.info("Vector search index '{}' already exists", VECTOR_INDEX_NAME);
+                    publishSearchIndexStatus(SearchIndex.VECTOR, embeddedMoviesCollection, index, System.nanoTime());
                     break;
                 }
             }
@@ -441,10 +572,11 @@ public class DatabaseVerification {
                 database.runCommand(createIndexCommand);
 
                 logger.info("Vector search index '{}' created successfully. Index may take a few moments to build.", VECTOR_INDEX_NAME);
-                logger.info("Vector search is now ready to use on the '{}' collection", EMBEDDED_MOVIES_COLLECTION);
+                publishSearchIndexStatus(SearchIndex.VECTOR, embeddedMoviesCollection, null, System.nanoTime());
             }
 
         } catch (Exception e) {
+            indexReadiness.update(SearchIndex.VECTOR, Status.UNVERIFIED);
             logger.error("Failed to create vector search index: {}", e.getMessage());
             logger.warn(
                 "To manually create the vector search index, visit the Atlas UI and create an index named '{}' with:\n" +
@@ -456,4 +588,58 @@ public class DatabaseVerification {
             );
         }
     }
+
+    /**
+     * Publishes the state of a MongoDB Search or vector search index, and keeps polling
+     * {@code $listSearchIndexes} while it builds.
+     *
+     * @param index the index description from {@code listSearchIndexes}, or null to fetch it
+     * @param since when the check started, to give up after {@code index-poll-timeout-ms}
+     */
+    private void publishSearchIndexStatus(SearchIndex searchIndex, MongoCollection<Document> collection,
+                                          Document index, long since) {
+        Document description = index != null ? index : findSearchIndex(collection, searchIndex.getIndexName());
+        Status status = searchIndexStatus(description);
+        indexReadiness.update(searchIndex, status);
+
+        if (status == Status.READY) {
+            logger.info("Search index '{}' is ready to use on the '{}' collection",
+                    searchIndex.getIndexName(), collection.getNamespace().getCollectionName());
+        } else if (status == Status.UNVERIFIED) {
+            logger.warn("Search index '{}' failed to build: {}", searchIndex.getIndexName(),
+                    description.get("message", "status FAILED"));
+        } else if (System.nanoTime() - since > TimeUnit.MILLISECONDS.toNanos(indexPollTimeoutMs)) {
+            indexReadiness.update(searchIndex, Status.UNVERIFIED);
+            logger.warn("Search index '{}' is still not queryable after {} ms; no longer waiting for it",
+                    searchIndex.getIndexName(), indexPollTimeoutMs);
+        } else {
+            executor.schedule(() -> {
+                try {
+                    publishSearchIndexStatus(searchIndex, collection, null, since);
+                } catch (Exception e) {
+                    indexReadiness.update(searchIndex, Status.UNVERIFIED);
+                    logger.warn("Could not check search index '{}': {}", searchIndex.getIndexName(), e.getMessage());
+                }
+            }, indexPollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Document findSearchIndex(MongoCollection<Document> collection, String name) {
+        return collection.listSearchIndexes().name(name).first();
+    }
+
+    /**
+     * Maps a {@code $listSearchIndexes} entry to a readiness status: an index serves queries once
+     * it is {@code queryable}, including while a newer definition is still building. A missing
+     * entry counts as building, since a new index can take a moment to be listed.
+     */
+    static Status searchIndexStatus(Document index) {
+        if (index == null) {
+            return Status.BUILDING;
+        }
+        if ("FAILED".equals(index.getString("status"))) {
+            return Status.UNVERIFIED;
+        }
+        return index.getBoolean("queryable", false) ? Status.READY : Status.BUILDING;
+    }
 }
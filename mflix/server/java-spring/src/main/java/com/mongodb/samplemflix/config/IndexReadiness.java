@@ -0,0 +1,102 @@
+package com.mongodb.samplemflix.config;
+
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether the indexes that search endpoints depend on are usable yet.
+ *
+ * <p>{@link DatabaseVerification} checks and creates these indexes in the background after
+ * startup, so the application serves CRUD traffic straight away. Until an index is confirmed,
+ * only the endpoints that need it are turned away, with a 503 and a {@code Retry-After} header:
+ * <ul>
+ *   <li>{@link SearchIndex#TEXT}: list, grid and browse-facet queries with a {@code q} filter</li>
+ *   <li>{@link SearchIndex#SEARCH}: {@code GET /api/movies/search} (unless served by the local
+ *       search index)</li>
+ *   <li>{@link SearchIndex#VECTOR}: {@code GET /api/movies/vector-search}</li>
+ * </ul>
+ *
+ * <p>An index whose state could not be determined (verification failed, no Atlas, the build
+ * failed) is {@link Status#UNVERIFIED} and not gated: requests go through and report whatever
+ * error the database returns, as before.
+ */
+@Component
+public class IndexReadiness {
+
+    public enum SearchIndex {
+        TEXT("Text search", "text_search_index"),
+        SEARCH("Search", "movieSearchIndex"),
+        VECTOR("Vector search", "vector_index");
+
+        private final String feature;
+        private final String indexName;
+
+        SearchIndex(String feature, String indexName) {
+            this.feature = feature;
+            this.indexName = indexName;
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+    }
+
+    public enum Status {
+        /** Not checked yet. */
+        PENDING,
+        /** Being created, or created and not queryable yet. */
+        BUILDING,
+        READY,
+        UNVERIFIED;
+
+        boolean isSettled() {
+            return this != PENDING && this != BUILDING;
+        }
+    }
+
+    @Value("${mongodb.verification.gate-endpoints:true}")
+    private boolean gateEndpoints = true;
+
+    private final Map<SearchIndex, Status> statuses = new EnumMap<>(SearchIndex.class);
+
+    public IndexReadiness() {
+        for (SearchIndex index : SearchIndex.values()) {
+            statuses.put(index, Status.PENDING);
+        }
+    }
+
+    public synchronized Status status(SearchIndex index) {
+        return statuses.get(index);
+    }
+
+    synchronized void update(SearchIndex index, Status status) {
+        statuses.put(index, status);
+    }
+
+    /**
+     * Whether verification has finished with every index, one way or the other.
+     */
+    public synchronized boolean isSettled() {
+        return statuses.values().stream().allMatch(Status::isSettled);
+    }
+
+    /**
+     * Turns the request away while the index it needs is still being checked or built.
+     *
+     * @throws IndexNotReadyException if the index is pending or building
+     */
+    public void require(SearchIndex index) {
+        if (!gateEndpoints) {
+            return;
+        }
+        Status status = status(index);
+        if (!status.isSettled()) {
+            throw new IndexNotReadyException(String.format(
+                    "%s unavailable: the '%s' index is still being %s. Please retry shortly",
+                    index.feature, index.indexName, status == Status.PENDING ? "verified" : "built"));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mongodb.samplemflix.config;
+
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
+import com.mongodb.samplemflix.model.dto.BatchInsertResponse;
+import com.mongodb.samplemflix.model.dto.BatchUpdateResponse;
+import com.mongodb.samplemflix.model.dto.BulkOperationResult;
+import com.mongodb.samplemflix.model.dto.BulkWriteOperation;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.DeleteResponse;
+import com.mongodb.samplemflix.model.dto.DirectorStatisticsResult;
+import com.mongodb.samplemflix.model.dto.FacetBucket;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
+import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
+import com.mongodb.samplemflix.model.dto.SearchMoviesResponse;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import com.mongodb.samplemflix.model.dto.VectorSearchResult;
+import com.mongodb.samplemflix.model.response.ErrorResponse;
+import com.mongodb.samplemflix.model.response.SuccessResponse;
+import com.mongodb.samplemflix.repository.MovieRepository;
+import java.util.List;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection the native image needs that Spring's AOT engine cannot infer on its own.
+ *
+ * <p>AOT registers the beans it sees, but not every type that Jackson or the Spring Data
+ * mapping layer reaches by reflection at runtime:
+ * <ul>
+ *   <li>{@link #BINDING_TYPES}: request and response bodies. Controllers return them wrapped in
+ *       {@code ResponseEntity<SuccessResponse<...>>}, and AOT does not follow the generic type
+ *       arguments, so each is registered for Jackson binding (properties, nested types).</li>
+ *   <li>{@link #MAPPED_TYPES}: classes {@code MongoTemplate} maps documents into. The mapping
+ *       converter instantiates them and sets fields directly.</li>
+ *   <li>{@link MovieRepository}: its proxy is generated by AOT, but the query methods are
+ *       looked up by reflection on the interface.</li>
+ * </ul>
+ *
+ * <p>Only used when building with {@code -Pnative}; on the JVM, hints are ignored.
+ */
+public class MflixRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> BINDING_TYPES = List.of(
+            Movie.class,
+            AutocompleteSuggestion.class,
+            BatchInsertResponse.class,
+            BatchUpdateResponse.class,
+            BulkOperationResult.class,
+            BulkWriteOperation.class,
+            BulkWriteRequest.class,
+            BulkWriteResponse.class,
+            CreateMovieRequest.class,
+            DeleteResponse.class,
+            DirectorStatisticsResult.class,
+            FacetBucket.class,
+            FacetValueCount.class,
+            MovieFacetsResult.class,
+            MovieSearchQuery.class,
+            MovieSearchRequest.class,
+            MovieWithCommentsResult.class,
+            MoviesByYearResult.class,
+            SearchMoviesResponse.class,
+            UpdateMovieRequest.class,
+            VectorSearchResult.class,
+            ErrorResponse.class,
+            SuccessResponse.class);
+
+    static final List<Class<?>> MAPPED_TYPES = List.of(
+            Movie.class,
+            Movie.Awards.class,
+            Movie.Imdb.class,
+            Movie.Tomatoes.class,
+            Movie.Tomatoes.Viewer.class,
+            Movie.Tomatoes.Critic.class,
+            DirectorStatisticsResult.class,
+            MoviesByYearResult.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), BINDING_TYPES.toArray(Class<?>[]::new));
+
+        for (Class<?> type : MAPPED_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        hints.reflection().registerType(MovieRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
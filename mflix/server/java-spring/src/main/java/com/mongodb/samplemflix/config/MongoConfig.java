@@ -4,11 +4,27 @@ import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.samplemflix.codec.MovieCodec;
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.concurrency.MongoLatencyListener;
+import com.mongodb.samplemflix.deadline.DeadlineMongoDatabaseFactory;
+import com.mongodb.samplemflix.deadline.DeadlineReactiveMongoDatabaseFactory;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.jfr.MongoCommandEventListener;
 import java.util.concurrent.TimeUnit;
+import org.bson.codecs.configuration.CodecRegistries;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 import org.springframework.lang.NonNull;
 
@@ -20,11 +36,18 @@ import org.springframework.lang.NonNull;
  *
  * <p>Key features:
 * <ul>
-*   <li>Connection pooling with configurable settings (max 100 connections, min 10)</li>
+*   <li>Connection pooling with configurable settings (max 100 connections, min 10), the
+*       minimum opened in parallel at startup by {@link StartupWarmup}</li>
 *   <li>Connection timeout configuration (10 seconds for connect and read)</li>
-*   <li>Automatic POJO mapping (no manual codec configuration needed)</li>
+*   <li>Per-request deadlines: operations started during a request get its remaining time as
+*       their timeout ({@code maxTimeMS}), see {@link RequestDeadline}</li>
+*   <li>Automatic POJO mapping, plus a hand-written {@link MovieCodec} for the movie read paths</li>
 *   <li>Repository scanning and auto-configuration</li>
 *   <li>MongoTemplate bean creation for complex queries</li>
+*   <li>With the {@code reactive} profile, a Reactive Streams client and ReactiveMongoTemplate
+*       using the same settings and mapping. That client serves the requests and holds the warm
+*       pool; the sync client is kept for startup and background work (index verification, the
+*       data migration, loading the in-memory indexes) with a small pool and no minimum</li>
 * </ul>
  * <p>Spring Data MongoDB automatically:
 * <ul>
@@ -44,6 +67,20 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.database}")
     private String databaseName;
 
+    @Value("${mongodb.warmup.connections:10}")
+    private int warmupConnections = 10;
+
+    /** Pool size of the sync client when it only runs background work (reactive profile). */
+    private static final int BACKGROUND_POOL_MAX_SIZE = 10;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Environment environment;
+
+    public MongoConfig(AdaptiveConcurrencyLimiter concurrencyLimiter, Environment environment) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.environment = environment;
+    }
+
     @Override
     protected String getDatabaseName() {
         return databaseName;
@@ -51,6 +88,16 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Override
     protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        applyClientSettings(builder, !environment.acceptsProfiles(Profiles.of("reactive")));
+    }
+
+    /**
+     * Settings shared by the sync and reactive clients.
+     *
+     * @param servesRequests whether the client serves API requests; only that client keeps the
+     *                       warm pool minimum and reports latency to the concurrency limiter
+     */
+    private void applyClientSettings(MongoClientSettings.Builder builder, boolean servesRequests) {
         // Validate connection string is not empty
         if (mongoUri == null || mongoUri.trim().isEmpty()) {
             throw new IllegalArgumentException(
@@ -67,8 +114,9 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
                 .applicationName("sample-app-java-mflix")
                 // Configure connection pool for optimal performance
                 .applyToConnectionPoolSettings(poolBuilder ->
-                    poolBuilder.maxSize(100)                                    // Maximum connections in pool
-                           .minSize(5)                                          // Minimum connections to maintain
+                    poolBuilder.maxSize(servesRequests ? 100 : BACKGROUND_POOL_MAX_SIZE) // Maximum connections in pool
+                           .minSize(servesRequests ? warmupConnections : 0)     // Minimum connections to maintain, opened by the warm-up
+                           .maxConnecting(Math.max(2, warmupConnections))       // Let the warm-up open them all at once (driver default 2)
                            .maxConnectionIdleTime(60000, TimeUnit.MILLISECONDS) // Release idle connections after 60s
                            .maxWaitTime(10000, TimeUnit.MILLISECONDS)           // Wait up to 10s for available connection
                            .maintenanceInitialDelay(0, TimeUnit.MILLISECONDS)   // Start maintenance immediately
@@ -77,7 +125,7 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
                 // Configure socket timeouts to prevent hanging connections
                 .applyToSocketSettings(socketBuilder ->
                     socketBuilder.connectTimeout(10000, TimeUnit.MILLISECONDS)  // 10s to establish connection
-                           .readTimeout(60000, TimeUnit.MILLISECONDS)           // 60s to wait for server response (increased for aggregations)
+                           .readTimeout(60000, TimeUnit.MILLISECONDS)           // 60s backstop; requests are bounded by their deadline
                 )
                 // Configure server selection timeout
                 .applyToClusterSettings(clusterBuilder ->
@@ -85,7 +133,32 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
                 )
                 // Retry writes for better reliability
                 .retryWrites(true)
-                .retryReads(true);
+                .retryReads(true)
+                // Decode Movie results with the hand-written codec instead of reflective mapping
+                .codecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromCodecs(new MovieCodec()),
+                        MongoClientSettings.getDefaultCodecRegistry()));
+
+        // Record each command for the flight recorder; a no-op unless mflix.MongoCommand is enabled
+        builder.addCommandListener(new MongoCommandEventListener());
+
+        // Report pool wait and command latency to the concurrency limiter when it is active
+        if (servesRequests && concurrencyLimiter.isEnabled()) {
+            MongoLatencyListener latencyListener = new MongoLatencyListener(concurrencyLimiter);
+            builder.addCommandListener(latencyListener)
+                    .applyToConnectionPoolSettings(poolBuilder -> poolBuilder.addConnectionPoolListener(latencyListener));
+        }
+    }
+
+    /**
+     * Database factory for MongoTemplate (and the repositories) that applies the current request's
+     * deadline to each operation.
+     */
+    @Bean
+    @Override
+    @NonNull
+    public MongoDatabaseFactory mongoDbFactory() {
+        return new DeadlineMongoDatabaseFactory(super.mongoDbFactory());
     }
 
     /**
@@ -119,4 +192,35 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
         return client.getDatabase(databaseName);
     }
+
+    /**
+     * Reactive Streams MongoClient for the {@code reactive} profile.
+     *
+     * <p>Uses the same connection string, pool and timeout settings the sync client has without
+     * this profile. Spring Boot's own reactive Mongo auto-configuration is excluded in
+     * {@code SampleMflixApplication} so no reactive client is opened when the servlet stack is in
+     * use.
+     */
+    @Bean(destroyMethod = "close")
+    @Profile("reactive")
+    public com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        applyClientSettings(builder, true);
+        return MongoClients.create(builder.build());
+    }
+
+    /**
+     * ReactiveMongoTemplate sharing the sync template's converter, so both stacks map
+     * documents the same way, and applying request deadlines like the sync template.
+     */
+    @Bean
+    @Profile("reactive")
+    public ReactiveMongoTemplate reactiveMongoTemplate(
+            com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient,
+            MappingMongoConverter mappingMongoConverter) {
+        return new ReactiveMongoTemplate(
+                new DeadlineReactiveMongoDatabaseFactory(
+                        new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, databaseName)),
+                mappingMongoConverter);
+    }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.bson.RawBsonDocument;
 import org.bson.types.ObjectId;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +18,8 @@ import org.springframework.core.io.buffer.DefaultDataBufferFactory;
  * <p>This configuration disables the default timestamp serialization for dates and registers a
  * custom serializer for MongoDB's ObjectId to convert it to a string representation.
  *
- * <p>It also registers a JavaTimeModule to handle Java 8 date and time types.
+ * <p>It also registers a JavaTimeModule to handle Java 8 date and time types, and a serializer
+ * that transcodes {@link RawBsonDocument} results directly to JSON for the passthrough read path.
  */
 
 @Configuration
@@ -31,6 +33,7 @@ public class ObjectMapperConfig {
                         .registerModule(new JavaTimeModule());
         SimpleModule module = new SimpleModule();
         module.addSerializer(ObjectId.class, new ObjectIdSerializer());
+        module.addSerializer(RawBsonDocument.class, new RawBsonDocumentSerializer());
         mapper.registerModule(module);
         return mapper;
     }
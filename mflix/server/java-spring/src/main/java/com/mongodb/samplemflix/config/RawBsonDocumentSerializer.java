@@ -0,0 +1,100 @@
+package com.mongodb.samplemflix.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+
+/**
+ * Serializer that transcodes a {@link RawBsonDocument} straight to JSON.
+ *
+ * <p>The document's BSON bytes are walked with a {@link BsonBinaryReader} and each value is
+ * written to the {@link JsonGenerator} as it is read, so no {@code Document}, {@code Movie} or
+ * nested objects are built on the way to the response buffer.
+ *
+ * <p>Values follow the same rules as the POJO path: ObjectIds are written as hex strings (like
+ * {@link ObjectIdSerializer}) and dates go through the ObjectMapper's date handling, which
+ * writes ISO 8601 strings. Values are written with their stored BSON type, so a field stored
+ * as a double is written as a double even if the {@code Movie} field is an Integer.
+ */
+public class RawBsonDocumentSerializer extends StdSerializer<RawBsonDocument> {
+
+    public RawBsonDocumentSerializer() {
+        super(RawBsonDocument.class);
+    }
+
+    @Override
+    public void serialize(RawBsonDocument value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        try (BsonBinaryReader reader = new BsonBinaryReader(value.getByteBuffer().asNIO())) {
+            reader.readStartDocument();
+            writeFields(reader, gen, provider);
+            reader.readEndDocument();
+        }
+    }
+
+    private static void writeFields(BsonReader reader, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            gen.writeFieldName(reader.readName());
+            writeValue(reader, gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeValue(BsonReader reader, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT -> {
+                reader.readStartDocument();
+                writeFields(reader, gen, provider);
+                reader.readEndDocument();
+            }
+            case ARRAY -> {
+                reader.readStartArray();
+                gen.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    writeValue(reader, gen, provider);
+                }
+                gen.writeEndArray();
+                reader.readEndArray();
+            }
+            case STRING -> gen.writeString(reader.readString());
+            case INT32 -> gen.writeNumber(reader.readInt32());
+            case INT64 -> gen.writeNumber(reader.readInt64());
+            case DOUBLE -> gen.writeNumber(reader.readDouble());
+            case DECIMAL128 -> writeDecimal(reader.readDecimal128(), gen);
+            case BOOLEAN -> gen.writeBoolean(reader.readBoolean());
+            case OBJECT_ID -> gen.writeString(reader.readObjectId().toHexString());
+            case DATE_TIME -> provider.defaultSerializeDateValue(reader.readDateTime(), gen);
+            case TIMESTAMP -> provider.defaultSerializeDateValue(reader.readTimestamp().getTime() * 1000L, gen);
+            case BINARY -> gen.writeBinary(reader.readBinaryData().getData());
+            case REGULAR_EXPRESSION -> gen.writeString(reader.readRegularExpression().getPattern());
+            case SYMBOL -> gen.writeString(reader.readSymbol());
+            case JAVASCRIPT -> gen.writeString(reader.readJavaScript());
+            case NULL -> {
+                reader.readNull();
+                gen.writeNull();
+            }
+            default -> {
+                // Undefined, MinKey, MaxKey, DBPointer and scoped code have no JSON equivalent
+                reader.skipValue();
+                gen.writeNull();
+            }
+        }
+    }
+
+    private static void writeDecimal(Decimal128 value, JsonGenerator gen) throws IOException {
+        if (value.isNaN() || value.isInfinite()) {
+            gen.writeString(value.toString());
+        } else {
+            gen.writeNumber(value.bigDecimalValue());
+        }
+    }
+}
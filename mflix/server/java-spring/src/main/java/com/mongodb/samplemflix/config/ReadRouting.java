@@ -0,0 +1,187 @@
+package com.mongodb.samplemflix.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.ReadPreferenceHedgeOptions;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.client.MongoCollection;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read preferences for two classes of read operation, so they can be sent to other members of
+ * the replica set than the primary that serves everything else.
+ *
+ * <ul>
+ *   <li><b>Reports</b> ({@code /api/movies/reportingByYear}, {@code reportingByDirector} and
+ *       {@code reportingByComments}): full-collection aggregations that are fine with slightly
+ *       stale data. Send them to secondaries, or to dedicated analytics nodes by tag, e.g.
+ *       {@code secondary} with tags {@code nodeType:ANALYTICS}.</li>
+ *   <li><b>Point reads</b> ({@code GET /api/movies/{id}}): single-document lookups where latency
+ *       matters more than seeing the latest write. With {@code hedge=true} a sharded cluster's
+ *       mongos sends each read to two members and returns the first answer; replica set
+ *       connections ignore it.</li>
+ * </ul>
+ *
+ * <p>Both default to {@code primary}, which keeps the client-wide read preference. Each class is
+ * configured under {@code mongodb.read-routing.<class>.*}:
+ * <ul>
+ *   <li>{@code read-preference}: {@code primary}, {@code primaryPreferred}, {@code secondary},
+ *       {@code secondaryPreferred} or {@code nearest}</li>
+ *   <li>{@code tags}: tag sets tried in order, separated by {@code |}, each a comma-separated
+ *       list of {@code name:value} pairs, e.g. {@code nodeType:ANALYTICS,region:EU|nodeType:ANALYTICS}.
+ *       Add a trailing {@code |} to fall back to any eligible member.</li>
+ *   <li>{@code max-staleness-seconds}: skip secondaries lagging further behind (at least 90),
+ *       or -1 for no limit</li>
+ * </ul>
+ *
+ * <p>Invalid combinations (tags, staleness or hedging with {@code primary}) fail at startup.
+ */
+@Component
+public class ReadRouting {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadRouting.class);
+
+    // Smallest maxStalenessSeconds a server accepts
+    static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    @Value("${mongodb.read-routing.reports.read-preference:primary}")
+    private String reportsMode = "primary";
+
+    @Value("${mongodb.read-routing.reports.tags:}")
+    private String reportsTags = "";
+
+    @Value("${mongodb.read-routing.reports.max-staleness-seconds:-1}")
+    private long reportsMaxStalenessSeconds = -1;
+
+    @Value("${mongodb.read-routing.point-reads.read-preference:primary}")
+    private String pointReadsMode = "primary";
+
+    @Value("${mongodb.read-routing.point-reads.tags:}")
+    private String pointReadsTags = "";
+
+    @Value("${mongodb.read-routing.point-reads.max-staleness-seconds:-1}")
+    private long pointReadsMaxStalenessSeconds = -1;
+
+    @Value("${mongodb.read-routing.point-reads.hedge:false}")
+    private boolean pointReadsHedge;
+
+    private ReadPreference reports = ReadPreference.primary();
+    private ReadPreference pointReads = ReadPreference.primary();
+
+    @PostConstruct
+    void init() {
+        reports = readPreference("reports", reportsMode, reportsTags, reportsMaxStalenessSeconds, false);
+        pointReads = readPreference("point-reads", pointReadsMode, pointReadsTags, pointReadsMaxStalenessSeconds,
+                pointReadsHedge);
+        if (!isPrimary(reports) || !isPrimary(pointReads)) {
+            logger.info("Read routing: reports on {}, point reads on {}", reports, pointReads);
+        }
+    }
+
+    public ReadPreference reports() {
+        return reports;
+    }
+
+    public ReadPreference pointReads() {
+        return pointReads;
+    }
+
+    /**
+     * The aggregation with the reports read preference, or unchanged when reports read from the primary.
+     */
+    public Aggregation report(Aggregation aggregation) {
+        if (isPrimary(reports)) {
+            return aggregation;
+        }
+        return aggregation.withOptions(AggregationOptions.builder()
+                .readPreference(reports)
+                .build());
+    }
+
+    /**
+     * The query with the point-read read preference, or unchanged when point reads use the primary.
+     */
+    public Query pointRead(Query query) {
+        return isPrimary(pointReads) ? query : query.withReadPreference(pointReads);
+    }
+
+    /**
+     * The collection with the point-read read preference, or unchanged when point reads use the primary.
+     */
+    public <T> MongoCollection<T> pointRead(MongoCollection<T> collection) {
+        return isPrimary(pointReads) ? collection : collection.withReadPreference(pointReads);
+    }
+
+    public boolean routesPointReads() {
+        return !isPrimary(pointReads);
+    }
+
+    private static boolean isPrimary(ReadPreference readPreference) {
+        return ReadPreference.primary().equals(readPreference);
+    }
+
+    static ReadPreference readPreference(String operations, String mode, String tags, long maxStalenessSeconds,
+                                         boolean hedge) {
+        String property = "mongodb.read-routing." + operations;
+        List<TagSet> tagSets = parseTagSets(property, tags);
+
+        if ("primary".equalsIgnoreCase(mode.trim())) {
+            if (!tagSets.isEmpty() || maxStalenessSeconds >= 0 || hedge) {
+                throw new IllegalArgumentException(property
+                        + ": tags, max-staleness-seconds and hedge cannot be used with read preference primary");
+            }
+            return ReadPreference.primary();
+        }
+        if (maxStalenessSeconds >= 0 && maxStalenessSeconds < MIN_MAX_STALENESS_SECONDS) {
+            throw new IllegalArgumentException(property + ".max-staleness-seconds must be at least "
+                    + MIN_MAX_STALENESS_SECONDS + " (or -1 for no limit), got " + maxStalenessSeconds);
+        }
+
+        TaggableReadPreference readPreference;
+        try {
+            readPreference = maxStalenessSeconds < 0
+                    ? ReadPreference.valueOf(mode.trim(), tagSets)
+                    : ReadPreference.valueOf(mode.trim(), tagSets, maxStalenessSeconds, TimeUnit.SECONDS);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(property + ".read-preference: " + e.getMessage(), e);
+        }
+        if (hedge) {
+            readPreference = readPreference.withHedgeOptions(ReadPreferenceHedgeOptions.builder().enabled(true).build());
+        }
+        return readPreference;
+    }
+
+    // "a:1,b:2|c:3|" -> [{a:1, b:2}, {c:3}, {}]
+    private static List<TagSet> parseTagSets(String property, String tags) {
+        List<TagSet> tagSets = new ArrayList<>();
+        if (tags == null || tags.isBlank()) {
+            return tagSets;
+        }
+        for (String set : tags.split("\\|", -1)) {
+            List<Tag> tagList = new ArrayList<>();
+            for (String pair : set.split(",")) {
+                if (pair.isBlank()) {
+                    continue;
+                }
+                int separator = pair.indexOf(':');
+                if (separator <= 0 || separator == pair.length() - 1) {
+                    throw new IllegalArgumentException(property + ".tags: expected name:value, got '" + pair.trim() + "'");
+                }
+                tagList.add(new Tag(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim()));
+            }
+            tagSets.add(new TagSet(tagList));
+        }
+        return tagSets;
+    }
+}
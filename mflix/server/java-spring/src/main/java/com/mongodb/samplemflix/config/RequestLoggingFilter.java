@@ -99,6 +99,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                 || path.startsWith("/api-docs")
                 || path.startsWith("/v3/api-docs")
                 || path.equals("/favicon.ico")
+                || path.equals("/ready")
                 || path.startsWith("/actuator");
     }
 }
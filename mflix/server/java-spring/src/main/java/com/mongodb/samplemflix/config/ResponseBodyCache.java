@@ -0,0 +1,249 @@
+package com.mongodb.samplemflix.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds serialized response bodies for hot read endpoints whose payload only changes when movies
+ * are written ({@code /api/movies/genres}, {@code /api/movies/aggregations/reportingByYear}).
+ *
+ * <p>Each entry keeps the JSON bytes as written by the application's ObjectMapper and, for bodies
+ * of at least {@value #GZIP_MIN_BYTES} bytes, a gzip copy. A hit is answered without touching
+ * the database or the ObjectMapper:
+ * <ul>
+ *   <li>a matching {@code If-None-Match} gets {@code 304 Not Modified} with no body</li>
+ *   <li>otherwise the stored bytes are returned, gzipped if the client accepts it</li>
+ * </ul>
+ *
+ * <p>The ETag is {@code "<key>-<version>-<crc32>"}, where the version is a counter bumped on
+ * every movie write through the API. The gzip body is a different representation, so it is
+ * tagged {@code "<key>-<version>-<crc32>-gzip"}; {@code If-None-Match} accepts either tag. A
+ * bump makes every entry stale, so the next request recomputes the body and gets a new ETag.
+ * Entries also expire after {@code api.response-cache.ttl-seconds} so writes made outside this
+ * service (e.g. mongosh) eventually become visible. The cached body keeps the timestamp of the
+ * request that built it.
+ *
+ * <p>Concurrent misses on the same key compute the body once; the others wait and reuse it.
+ * A body computed while a write happened is returned but not stored.
+ */
+@Component
+public class ResponseBodyCache {
+
+    static final int GZIP_MIN_BYTES = 1024;
+
+    private static final String GZIP = "gzip";
+
+    @Value("${api.response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${api.response-cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    LongSupplier clock = System::nanoTime;
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<String, CachedBody> entries = new ConcurrentHashMap<>();
+    // Keys are endpoint constants, so one lock per key stays bounded
+    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * A serialized body and the data version it was built from.
+     *
+     * @param gzip the gzipped body, or null if the body is too small to be worth compressing
+     */
+    record CachedBody(long version, long storedAt, String etag, byte[] json, byte[] gzip) {
+    }
+
+    public ResponseBodyCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Answers the request from the cache.
+     *
+     * @param key the endpoint's cache key
+     * @param requestHeaders headers of the incoming request
+     * @return the 200 or 304 response, or null if there is no current entry for the key
+     */
+    public ResponseEntity<byte[]> lookup(String key, HttpHeaders requestHeaders) {
+        if (!enabled) {
+            return null;
+        }
+        CachedBody cached = current(key);
+        return cached != null ? toResponse(cached, requestHeaders) : null;
+    }
+
+    /**
+     * Answers the request from the cache, computing and storing the body on a miss.
+     *
+     * @param key the endpoint's cache key
+     * @param requestHeaders headers of the incoming request
+     * @param body builds the response body; only called on a miss
+     * @return the 200 or 304 response
+     */
+    public ResponseEntity<byte[]> respond(String key, HttpHeaders requestHeaders, Supplier<?> body) {
+        if (!enabled) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(serialize(body.get()));
+        }
+
+        CachedBody cached = current(key);
+        if (cached == null) {
+            ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                // Another request may have built the entry while this one waited
+                cached = current(key);
+                if (cached == null) {
+                    cached = compute(key, body);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return toResponse(cached, requestHeaders);
+    }
+
+    /**
+     * Marks every entry stale after a movie write.
+     */
+    @EventListener
+    public void onMovieChange(MovieChangeEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    private CachedBody current(String key) {
+        CachedBody cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.version() != version.get()
+                || clock.getAsLong() - cached.storedAt() > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    private CachedBody compute(String key, Supplier<?> body) {
+        // Captured before the query runs, so a write during it leaves the entry stale
+        long startVersion = version.get();
+        byte[] json = serialize(body.get());
+
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        String etag = "\"" + key + "-" + startVersion + "-" + Long.toHexString(crc.getValue()) + "\"";
+        byte[] gzip = json.length >= GZIP_MIN_BYTES ? gzip(json) : null;
+
+        CachedBody cached = new CachedBody(startVersion, clock.getAsLong(), etag, json, gzip);
+        if (startVersion == version.get()) {
+            entries.put(key, cached);
+        }
+        return cached;
+    }
+
+    private ResponseEntity<byte[]> toResponse(CachedBody cached, HttpHeaders requestHeaders) {
+        boolean gzip = cached.gzip() != null && acceptsGzip(requestHeaders);
+        String etag = gzip ? gzipETag(cached.etag()) : cached.etag();
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (matches(ifNoneMatch, cached.etag()) || (cached.gzip() != null
+                && matches(ifNoneMatch, gzipETag(cached.etag())))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(cached.gzip());
+        }
+        return response.body(cached.json());
+    }
+
+    /**
+     * Strong ETags must differ between content codings, so the gzip body gets its own tag.
+     */
+    private static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-" + GZIP + "\"";
+    }
+
+    /**
+     * Compares ETags the way If-None-Match requires: weakly, so a {@code W/} prefix added by a
+     * proxy still matches.
+     */
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String value : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                    return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response body", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
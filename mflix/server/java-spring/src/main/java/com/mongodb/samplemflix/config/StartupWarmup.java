@@ -0,0 +1,306 @@
+package com.mongodb.samplemflix.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.service.MovieService;
+import com.mongodb.samplemflix.service.ReactiveMovieService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Warms the application up after startup, before it reports itself ready.
+ *
+ * <p>Without this, the first requests after a deploy pay for connection handshakes (TCP, TLS,
+ * authentication), cold server plan and WiredTiger caches, and interpreted code. The warm-up
+ * runs these phases in the background once the application has started:
+ * <ol>
+ *   <li>{@link Phase#CONNECTIONS}: open {@code mongodb.warmup.connections} pooled connections in
+ *       parallel, one ping each, on the pool that serves requests (the reactive client with the
+ *       {@code reactive} profile). {@code MongoConfig} keeps them as the pool minimum.</li>
+ *   <li>{@link Phase#QUERIES}: run the hot query shapes once through the movie service that
+ *       serves requests: the default movie list (mapped, and raw on the servlet stack, which is
+ *       the only one with raw endpoints), a movie by ID and, unless disabled, the three reports.
+ *       This caches their plans on the server and pulls the documents and indexes they touch
+ *       into memory.</li>
+ *   <li>{@link Phase#JIT}: decode the fetched page with the movie codec and serialize it with the
+ *       application's ObjectMapper, {@code mongodb.warmup.jit-iterations} times, so the hot
+ *       mapping and serialization code is compiled before real traffic arrives.</li>
+ * </ol>
+ *
+ * <p>{@code GET /ready} answers 503 with the progress until the warm-up is {@link Phase#DONE}.
+ * The warm-up is best effort: a failed step is logged and skipped, and after
+ * {@code mongodb.warmup.timeout-ms} the application reports ready regardless.
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    public enum Phase {
+        PENDING,
+        CONNECTIONS,
+        QUERIES,
+        JIT,
+        DONE
+    }
+
+    private final MongoDatabase database;
+    private final ObjectProvider<com.mongodb.reactivestreams.client.MongoClient> reactiveClient;
+    private final MovieService movieService;
+    private final ReactiveMovieService reactiveMovieService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${mongodb.warmup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${mongodb.warmup.connections:10}")
+    private int connections = 10;
+
+    @Value("${mongodb.warmup.reports:true}")
+    private boolean reports = true;
+
+    @Value("${mongodb.warmup.jit-iterations:200}")
+    private int jitIterations = 200;
+
+    @Value("${mongodb.warmup.timeout-ms:30000}")
+    private long timeoutMs = 30000;
+
+    private volatile Phase phase = Phase.PENDING;
+    private final AtomicInteger completedSteps = new AtomicInteger();
+    private final AtomicInteger failedSteps = new AtomicInteger();
+    private volatile int totalSteps;
+    private volatile long startedAt;
+    private volatile long elapsedMs;
+
+    private ExecutorService executor;
+    private CompletableFuture<Void> warmup;
+
+    public StartupWarmup(MongoDatabase database,
+                         ObjectProvider<com.mongodb.reactivestreams.client.MongoClient> reactiveClient,
+                         ObjectProvider<MovieService> movieService,
+                         ObjectProvider<ReactiveMovieService> reactiveMovieService,
+                         ObjectMapper objectMapper) {
+        this.database = database;
+        this.reactiveClient = reactiveClient;
+        // Only one of the two exists: the reactive profile swaps the movie service
+        this.movieService = movieService.getIfAvailable();
+        this.reactiveMovieService = reactiveMovieService.getIfAvailable();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts the warm-up on background threads once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            phase = Phase.DONE;
+            return;
+        }
+        startedAt = System.nanoTime();
+        int querySteps = (movieService != null ? 3 : 2) + (reports ? 3 : 0);
+        totalSteps = connections + querySteps + 1;
+        // One thread runs the phases, the others hold the concurrent pings
+        executor = Executors.newFixedThreadPool(connections + 1, runnable -> {
+            Thread thread = new Thread(runnable, "startup-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        warmup = CompletableFuture.runAsync(this::warmUp, executor)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> finish(error));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether the warm-up has finished (or was disabled, failed or timed out).
+     */
+    public boolean isComplete() {
+        return phase == Phase.DONE;
+    }
+
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("phase", phase);
+        progress.put("completedSteps", completedSteps.get());
+        progress.put("failedSteps", failedSteps.get());
+        progress.put("totalSteps", totalSteps);
+        progress.put("elapsedMs", phase == Phase.DONE ? elapsedMs : millisSince(startedAt));
+        return progress;
+    }
+
+    /**
+     * The warm-up started by {@link #start()}; completes when it has finished.
+     */
+    CompletableFuture<Void> warmup() {
+        return warmup;
+    }
+
+    private void warmUp() {
+        phase = Phase.CONNECTIONS;
+        openConnections();
+
+        phase = Phase.QUERIES;
+        List<Movie> movies;
+        List<RawBsonDocument> rawMovies;
+        if (movieService != null) {
+            movies = step("movie list", () -> movieService.getAllMovies(new MovieSearchQuery()), List.of());
+            rawMovies = step("raw movie list", () -> movieService.getAllMoviesRaw(new MovieSearchQuery()), List.of());
+            if (!movies.isEmpty()) {
+                step("movie by ID", () -> movieService.getMovieById(movies.get(0).getId().toHexString()), null);
+            } else {
+                skip("movie by ID");
+            }
+            if (reports) {
+                step("movies by year report", movieService::getMoviesByYearWithStats, null);
+                step("directors report", () -> movieService.getDirectorsWithMostMovies(20), null);
+                step("recent comments report", () -> movieService.getMoviesWithMostRecentComments(10, null), null);
+            }
+        } else {
+            movies = step("movie list",
+                    () -> reactiveMovieService.getAllMovies(new MovieSearchQuery()).collectList().block(), List.of());
+            rawMovies = List.of();
+            if (!movies.isEmpty()) {
+                step("movie by ID",
+                        () -> reactiveMovieService.getMovieById(movies.get(0).getId().toHexString()).block(), null);
+            } else {
+                skip("movie by ID");
+            }
+            if (reports) {
+                step("movies by year report",
+                        () -> reactiveMovieService.getMoviesByYearWithStats().collectList().block(), null);
+                step("directors report",
+                        () -> reactiveMovieService.getDirectorsWithMostMovies(20).collectList().block(), null);
+                step("recent comments report",
+                        () -> reactiveMovieService.getMoviesWithMostRecentComments(10, null).collectList().block(), null);
+            }
+        }
+
+        phase = Phase.JIT;
+        step("mapping and serialization", () -> {
+            exerciseMapping(movies, rawMovies);
+            return null;
+        }, null);
+    }
+
+    /**
+     * Pings on {@code connections} concurrent requests. With no idle connections in the pool and
+     * {@code maxConnecting} at least as large, each request opens a connection of its own.
+     */
+    private void openConnections() {
+        com.mongodb.reactivestreams.client.MongoClient reactive = reactiveClient.getIfAvailable();
+        if (reactive != null) {
+            com.mongodb.reactivestreams.client.MongoDatabase reactiveDatabase =
+                    reactive.getDatabase(database.getName());
+            Flux.range(0, connections)
+                    .flatMap(i -> Mono.from(reactiveDatabase.runCommand(new Document("ping", 1)))
+                            .doOnSuccess(ignored -> completedSteps.incrementAndGet())
+                            .onErrorResume(e -> {
+                                failed("connection", e);
+                                return Mono.empty();
+                            }), connections)
+                    .blockLast();
+            return;
+        }
+
+        CountDownLatch startTogether = new CountDownLatch(1);
+        List<CompletableFuture<Void>> pings = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            pings.add(CompletableFuture.runAsync(() -> {
+                try {
+                    startTogether.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                step("connection", () -> database.runCommand(new Document("ping", 1)), null);
+            }, executor));
+        }
+        startTogether.countDown();
+        CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void exerciseMapping(List<Movie> movies, List<RawBsonDocument> rawMovies) {
+        Codec<Movie> codec = database.getCodecRegistry().get(Movie.class);
+        try {
+            for (int i = 0; i < jitIterations && !Thread.currentThread().isInterrupted(); i++) {
+                for (RawBsonDocument raw : rawMovies) {
+                    raw.decode(codec);
+                }
+                objectMapper.writeValueAsBytes(movies);
+                objectMapper.writeValueAsBytes(rawMovies);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T step(String name, Supplier<T> action, T fallback) {
+        try {
+            T result = action.get();
+            completedSteps.incrementAndGet();
+            return result;
+        } catch (RuntimeException e) {
+            failed(name, e);
+            return fallback;
+        }
+    }
+
+    private void skip(String name) {
+        failedSteps.incrementAndGet();
+        logger.debug("Warm-up step '{}' skipped", name);
+    }
+
+    private void failed(String name, Throwable error) {
+        failedSteps.incrementAndGet();
+        logger.warn("Warm-up step '{}' failed: {}", name, error.getMessage());
+    }
+
+    private void finish(Throwable error) {
+        elapsedMs = millisSince(startedAt);
+        phase = Phase.DONE;
+        if (error != null) {
+            logger.warn("Warm-up did not finish within {} ms; reporting ready anyway", timeoutMs);
+            executor.shutdownNow();
+        } else {
+            logger.info("Warm-up completed in {} ms: {} of {} steps succeeded",
+                    elapsedMs, completedSteps.get(), totalSteps);
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -5,10 +5,12 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
@@ -17,11 +19,25 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * <p>This configuration customizes Spring MVC behavior, including:
  * <ul>
  *   <li>Trailing slash handling via custom filter</li>
+ *   <li>Async request timeout for endpoints that return a CompletableFuture</li>
  * </ul>
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Value("${api.async.timeout-ms:30000}")
+    private long asyncTimeoutMs;
+
+    /**
+     * Sets the servlet-level async timeout slightly above {@link AsyncRequestExecutor}'s own
+     * timeout, so the executor normally fails the future first with a descriptive error and
+     * this only acts as a backstop.
+     */
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs + 5000);
+    }
+
     /**
      * Filter to handle trailing slashes in URLs.
      *
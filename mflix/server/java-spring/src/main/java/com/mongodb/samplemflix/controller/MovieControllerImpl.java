@@ -1,11 +1,21 @@
 package com.mongodb.samplemflix.controller;
 
+import com.mongodb.samplemflix.config.AsyncRequestExecutor;
+import com.mongodb.samplemflix.config.ResponseBodyCache;
+import com.mongodb.samplemflix.deadline.DeadlineBudgets;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.ValidationException;
 import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
 import com.mongodb.samplemflix.model.dto.BatchInsertResponse;
 import com.mongodb.samplemflix.model.dto.BatchUpdateResponse;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
 import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
 import com.mongodb.samplemflix.model.dto.DeleteResponse;
 import com.mongodb.samplemflix.model.dto.DirectorStatisticsResult;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
 import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
 import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
 import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
@@ -21,8 +31,14 @@ import jakarta.validation.Valid;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,12 +49,16 @@ import org.springframework.web.bind.annotation.*;
  * <pre>
  * - GET /api/movies - Get all movies with filtering, sorting, and pagination
  * - GET /api/movies/{id} - Get a single movie by ID
+ * - GET /api/movies/genres - Get all distinct genres
+ * - GET /api/movies/facets - Genre, year and rating distributions of the movies matching the list filters
+ * - GET /api/movies/facets/{field} - Count movies per genre, country, language or rating
  * - POST /api/movies - Create a new movie
  * - POST /api/movies/batch - Create multiple movies
  * - PATCH /api/movies/{id} - Update a movie
  * - PATCH /api/movies - Update multiple movies
  * - DELETE /api/movies/{id} - Delete a movie
  * - DELETE /api/movies - Delete multiple movies
+ * - POST /api/movies/bulk - Run mixed insert, update, replace and delete operations in one request
  * - DELETE /api/movies/{id}/find-and-delete - Find and delete a movie
  * - GET /api/movies/aggregations/reportingByComments - Aggregate movies with most comments
  * - GET /api/movies/aggregations/reportingByYear - Aggregate movies by year with statistics
@@ -46,17 +66,53 @@ import org.springframework.web.bind.annotation.*;
  * - GET /api/movies/search - Text search using MongoDB Search Index across multiple fields (plot, fullplot, directors, writers, cast)
  * - GET /api/movies/vector-search - Vector search using Voyage AI embeddings to find movies with similar plots
  * - GET /api/movies/find-similar-movies - Vector search to find similar movies based on plot embeddings
+ * - GET /api/movies/autocomplete - Type-ahead suggestions for movie titles and people names
  * </pre>
+ *
+ * <p>The search, vector search, similar-movies, browse facets and aggregation endpoints return a
+ * {@link CompletableFuture}. With {@code api.async.enabled=true} they run on virtual threads
+ * and release the servlet thread while waiting on MongoDB or Voyage AI; see
+ * {@link AsyncRequestExecutor}.
+ *
+ * <p>The genres and reporting-by-year endpoints are served from {@link ResponseBodyCache}: repeat
+ * requests get the stored JSON (or gzip) bytes, and requests with a current
+ * {@code If-None-Match} ETag get {@code 304 Not Modified}.
+ *
+ * <p>With {@code api.response.passthrough.enabled=true}, the list, get-by-ID and search endpoints
+ * return {@link RawBsonDocument} results, which are transcoded from BSON to JSON without being
+ * mapped to {@link Movie} objects first. Fields missing from a document are omitted rather than
+ * written as null. {@code GET /api/movies?view=grid} always returns raw documents, trimmed to the
+ * fields a grid view shows.
+ *
+ * <p>Single-movie reads and updates return the movie's version as an ETag. {@code PATCH} and
+ * {@code DELETE /api/movies/{id}} accept it in {@code If-Match} and answer
+ * {@code 412 Precondition Failed} if another request changed the movie in the meantime; see
+ * {@link MovieETags}.
+ *
+ * <p>Inactive with the {@code reactive} profile, where {@link ReactiveMovieRoutes} serves the
+ * same API.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/movies")
 @Tag(name = "Movies", description = "Movie management endpoints for CRUD operations, search, and aggregations")
 public class MovieControllerImpl {
+
+    private static final String GENRES_CACHE_KEY = "genres";
+    private static final String MOVIES_BY_YEAR_CACHE_KEY = "reportingByYear";
     
     private final MovieService movieService;
+    private final AsyncRequestExecutor asyncRequestExecutor;
+    private final ResponseBodyCache responseBodyCache;
+
+    @Value("${api.response.passthrough.enabled:false}")
+    private boolean passthroughEnabled;
     
-    public MovieControllerImpl(MovieService movieService) {
+    public MovieControllerImpl(MovieService movieService, AsyncRequestExecutor asyncRequestExecutor,
+                               ResponseBodyCache responseBodyCache) {
         this.movieService = movieService;
+        this.asyncRequestExecutor = asyncRequestExecutor;
+        this.responseBodyCache = responseBodyCache;
     }
     
     @Operation(
@@ -66,7 +122,7 @@ public class MovieControllerImpl {
                      "across plot, title, and fullplot fields."
     )
     @GetMapping
-    public ResponseEntity<SuccessResponse<List<Movie>>> getAllMovies(
+    public ResponseEntity<SuccessResponse<List<?>>> getAllMovies(
             @Parameter(description = "Text search query (searches plot, title, fullplot)")
             @RequestParam(required = false) String q,
             @Parameter(description = "Filter by genre (case-insensitive partial match)")
@@ -84,7 +140,15 @@ public class MovieControllerImpl {
             @Parameter(description = "Field to sort by (default: title)")
             @RequestParam(defaultValue = "title") String sortBy,
             @Parameter(description = "Sort order: 'asc' or 'desc' (default: asc)")
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @Parameter(description = "Response shape: 'full' movies, or 'grid' with only _id, title, year, " +
+                    "poster and imdb.rating, answered from covering indexes (default: full)")
+            @RequestParam(defaultValue = "full") String view) {
+
+        boolean grid = "grid".equalsIgnoreCase(view);
+        if (!grid && !"full".equalsIgnoreCase(view)) {
+            throw new ValidationException("Parameter 'view' must be 'full' or 'grid'");
+        }
 
         MovieSearchQuery query = MovieSearchQuery.builder()
                 .q(q)
@@ -98,11 +162,18 @@ public class MovieControllerImpl {
                 .sortOrder(sortOrder)
                 .build();
 
-        List<Movie> movies = movieService.getAllMovies(query);
+        List<?> movies;
+        if (grid) {
+            movies = movieService.getMovieGrid(query);
+        } else if (passthroughEnabled) {
+            movies = movieService.getAllMoviesRaw(query);
+        } else {
+            movies = movieService.getAllMovies(query);
+        }
 
         String message = "Found " + movies.size() + " movies";
 
-        SuccessResponse<List<Movie>> response = SuccessResponse.<List<Movie>>builder()
+        SuccessResponse<List<?>> response = SuccessResponse.<List<?>>builder()
                 .success(true)
                 .message(message)
                 .data(movies)
@@ -115,16 +186,84 @@ public class MovieControllerImpl {
     @Operation(
         summary = "Get all distinct genres",
         description = "Retrieve a list of all unique genre values from the movies collection. " +
-                     "Demonstrates the distinct() operation. Returns genres sorted alphabetically."
+                     "Demonstrates the distinct() operation. Returns genres sorted alphabetically. " +
+                     "Responses carry an ETag; send it in If-None-Match to get 304 Not Modified while no movie has changed."
     )
-    @GetMapping("/genres")
-    public ResponseEntity<SuccessResponse<List<String>>> getDistinctGenres() {
-        List<String> genres = movieService.getDistinctGenres();
+    @GetMapping(value = "/genres", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getDistinctGenres(
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        return responseBodyCache.respond(GENRES_CACHE_KEY, headers, () -> {
+            List<String> genres = movieService.getDistinctGenres();
+
+            return SuccessResponse.<List<String>>builder()
+                    .success(true)
+                    .message("Found " + genres.size() + " distinct genres")
+                    .data(genres)
+                    .timestamp(Instant.now().toString())
+                    .build();
+        });
+    }
 
-        SuccessResponse<List<String>> response = SuccessResponse.<List<String>>builder()
+    @Operation(
+        summary = "Browse facets for the list filters",
+        description = "Returns the total, genre counts, and year and rating distributions of the movies matching the " +
+                     "same filters as GET /api/movies, computed in a single $facet aggregation and cached per filter set. " +
+                     "Fixed mode buckets years by decade and ratings in two-point bands with $bucket; auto mode uses " +
+                     "$bucketAuto to split both into evenly filled ranges."
+    )
+    @GetMapping("/facets")
+    public CompletableFuture<ResponseEntity<SuccessResponse<MovieFacetsResult>>> getBrowseFacets(
+            @Parameter(description = "Text search query (searches plot, title, fullplot)")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Filter by genre (case-insensitive partial match)")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Filter by exact year")
+            @RequestParam(required = false) Integer year,
+            @Parameter(description = "Minimum IMDB rating (inclusive)")
+            @RequestParam(required = false) Double minRating,
+            @Parameter(description = "Maximum IMDB rating (inclusive)")
+            @RequestParam(required = false) Double maxRating,
+            @Parameter(description = "Bucket mode: 'fixed' (decades, two-point rating bands) or 'auto' ($bucketAuto) (default: fixed)")
+            @RequestParam(defaultValue = "fixed") String mode,
+            @Parameter(description = "Number of buckets in auto mode (default: 5, min: 2, max: 20)")
+            @RequestParam(defaultValue = "5") Integer buckets) {
+        MovieSearchQuery query = MovieSearchQuery.builder()
+                .q(q)
+                .genre(genre)
+                .year(year)
+                .minRating(minRating)
+                .maxRating(maxRating)
+                .build();
+
+        return asyncRequestExecutor.supply(() -> {
+            MovieFacetsResult facets = movieService.getBrowseFacets(query, mode, buckets);
+
+            SuccessResponse<MovieFacetsResult> response = SuccessResponse.<MovieFacetsResult>builder()
+                    .success(true)
+                    .message(String.format("Computed facets for %d movies", facets.getTotal()))
+                    .data(facets)
+                    .timestamp(Instant.now().toString())
+                    .build();
+
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @Operation(
+        summary = "Count movies per facet value",
+        description = "Returns every value of a facet field (genres, countries, languages, rated) with the number of " +
+                     "movies that have it, most common first. Served from an in-memory catalog kept current on every write."
+    )
+    @GetMapping("/facets/{field}")
+    public ResponseEntity<SuccessResponse<List<FacetValueCount>>> getFacetValueCounts(
+            @Parameter(description = "Facet field: genres, countries, languages or rated")
+            @PathVariable String field) {
+        List<FacetValueCount> counts = movieService.getFacetValueCounts(field);
+
+        SuccessResponse<List<FacetValueCount>> response = SuccessResponse.<List<FacetValueCount>>builder()
                 .success(true)
-                .message("Found " + genres.size() + " distinct genres")
-                .data(genres)
+                .message(String.format("Found %d distinct %s", counts.size(), field))
+                .data(counts)
                 .timestamp(Instant.now().toString())
                 .build();
 
@@ -133,22 +272,25 @@ public class MovieControllerImpl {
 
     @Operation(
         summary = "Get a single movie by ID",
-        description = "Retrieve a single movie by its MongoDB ObjectId."
+        description = "Retrieve a single movie by its MongoDB ObjectId. The ETag header carries the movie's " +
+                     "version for conditional updates and deletes."
     )
     @GetMapping("/{id}")
-    public ResponseEntity<SuccessResponse<Movie>> getMovieById(
+    public ResponseEntity<SuccessResponse<Object>> getMovieById(
             @Parameter(description = "Movie ObjectId (24-character hex string)", required = true)
             @PathVariable String id) {
-        Movie movie = movieService.getMovieById(id);
+        Object movie = passthroughEnabled
+                ? movieService.getMovieByIdRaw(id)
+                : movieService.getMovieById(id);
         
-        SuccessResponse<Movie> response = SuccessResponse.<Movie>builder()
+        SuccessResponse<Object> response = SuccessResponse.<Object>builder()
                 .success(true)
                 .message("Movie retrieved successfully")
                 .data(movie)
                 .timestamp(Instant.now().toString())
                 .build();
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(MovieETags.of(movie)).body(response);
     }
     
     @Operation(
@@ -199,15 +341,19 @@ public class MovieControllerImpl {
 
     @Operation(
         summary = "Update a movie by ID",
-        description = "Update a single movie document by its ObjectId using updateOne with $set operator."
+        description = "Update a single movie document by its ObjectId using findOneAndUpdate with $set operator; " +
+                     "fields sent as null are removed with $unset. " +
+                     "With If-Match, the update only applies if the movie still has that ETag (412 otherwise)."
     )
     @PatchMapping("/{id}")
     public ResponseEntity<SuccessResponse<Movie>> updateMovie(
             @Parameter(description = "Movie ObjectId to update", required = true)
             @PathVariable String id,
+            @Parameter(description = "ETag from a previous read; the update fails with 412 if the movie changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated movie data (only provided fields will be updated)", required = true)
             @RequestBody UpdateMovieRequest request) {
-        Movie movie = movieService.updateMovie(id, request);
+        Movie movie = movieService.updateMovie(id, request, MovieETags.expectedVersion(ifMatch));
 
         SuccessResponse<Movie> response = SuccessResponse.<Movie>builder()
                 .success(true)
@@ -216,7 +362,7 @@ public class MovieControllerImpl {
                 .timestamp(Instant.now().toString())
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(MovieETags.of(movie)).body(response);
     }
     
     @Operation(
@@ -268,13 +414,16 @@ public class MovieControllerImpl {
     
     @Operation(
         summary = "Delete a movie by ID",
-        description = "Delete a single movie document by its ObjectId using deleteOne."
+        description = "Delete a single movie document by its ObjectId using deleteOne. " +
+                     "With If-Match, the movie is only deleted if it still has that ETag (412 otherwise)."
     )
     @DeleteMapping("/{id}")
     public ResponseEntity<SuccessResponse<DeleteResponse>> deleteMovie(
             @Parameter(description = "Movie ObjectId to delete", required = true)
-            @PathVariable String id) {
-        DeleteResponse result = movieService.deleteMovie(id);
+            @PathVariable String id,
+            @Parameter(description = "ETag from a previous read; the delete fails with 412 if the movie changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DeleteResponse result = movieService.deleteMovie(id, MovieETags.expectedVersion(ifMatch));
 
         SuccessResponse<DeleteResponse> response = SuccessResponse.<DeleteResponse>builder()
                 .success(true)
@@ -310,6 +459,30 @@ public class MovieControllerImpl {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Run mixed write operations in bulk",
+        description = "Run insertOne, updateOne, updateMany, replaceOne, deleteOne and deleteMany operations " +
+                     "as MongoDB bulkWrite calls. Ordered requests (the default) stop at the first failure; " +
+                     "the result reports each operation as ok, failed or skipped."
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<SuccessResponse<BulkWriteResponse>> bulkWrite(
+            @Parameter(description = "Request body with 'operations' array and optional 'ordered' flag", required = true)
+            @RequestBody BulkWriteRequest request) {
+        BulkWriteResponse result = movieService.bulkWrite(request);
+
+        SuccessResponse<BulkWriteResponse> response = SuccessResponse.<BulkWriteResponse>builder()
+                .success(true)
+                .message("Bulk write completed. Inserted " + result.getInsertedCount() + ", matched " +
+                        result.getMatchedCount() + ", modified " + result.getModifiedCount() + ", deleted " +
+                        result.getDeletedCount() + " documents; " + result.getFailedCount() + " operations failed.")
+                .data(result)
+                .timestamp(Instant.now().toString())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     // Aggregation endpoints for reporting
 
     @Operation(
@@ -318,54 +491,61 @@ public class MovieControllerImpl {
                      "Demonstrates how to combine data from the movies and comments collections."
     )
     @GetMapping("/aggregations/reportingByComments")
-    public ResponseEntity<SuccessResponse<List<MovieWithCommentsResult>>> getMoviesWithMostRecentComments(
+    public CompletableFuture<ResponseEntity<SuccessResponse<List<MovieWithCommentsResult>>>> getMoviesWithMostRecentComments(
             @Parameter(description = "Maximum number of movies to return (default: 10, max: 50)")
             @RequestParam(defaultValue = "10") Integer limit,
             @Parameter(description = "Optional movie ID to filter by specific movie")
             @RequestParam(required = false) String movieId) {
-
-        List<MovieWithCommentsResult> results = movieService.getMoviesWithMostRecentComments(limit, movieId);
-
-        // Calculate total comments across all movies
-        int totalComments = results.stream()
-                .mapToInt(result -> result.getTotalComments() != null ? result.getTotalComments() : 0)
-                .sum();
-
-        String message = movieId != null
-                ? String.format("Found %d comments from movie", totalComments)
-                : String.format("Found %d comments from %d movie%s",
-                        totalComments, results.size(), results.size() != 1 ? "s" : "");
-
-        SuccessResponse<List<MovieWithCommentsResult>> response =
-                SuccessResponse.<List<MovieWithCommentsResult>>builder()
-                        .success(true)
-                        .message(message)
-                        .data(results)
-                        .timestamp(Instant.now().toString())
-                        .build();
-
-        return ResponseEntity.ok(response);
+        return asyncRequestExecutor.supply(() -> {
+            List<MovieWithCommentsResult> results = movieService.getMoviesWithMostRecentComments(limit, movieId);
+
+            // Calculate total comments across all movies
+            int totalComments = results.stream()
+                    .mapToInt(result -> result.getTotalComments() != null ? result.getTotalComments() : 0)
+                    .sum();
+
+            String message = movieId != null
+                    ? String.format("Found %d comments from movie", totalComments)
+                    : String.format("Found %d comments from %d movie%s",
+                            totalComments, results.size(), results.size() != 1 ? "s" : "");
+
+            SuccessResponse<List<MovieWithCommentsResult>> response =
+                    SuccessResponse.<List<MovieWithCommentsResult>>builder()
+                            .success(true)
+                            .message(message)
+                            .data(results)
+                            .timestamp(Instant.now().toString())
+                            .build();
+
+            return ResponseEntity.ok(response);
+        });
     }
 
     @Operation(
         summary = "Aggregate movies by year with statistics",
         description = "Aggregates movies by year with statistics including movie count and average rating. " +
-                     "Demonstrates MongoDB $group operation for statistical aggregation."
+                     "Demonstrates MongoDB $group operation for statistical aggregation. " +
+                     "Responses carry an ETag; send it in If-None-Match to get 304 Not Modified while no movie has changed."
     )
-    @GetMapping("/aggregations/reportingByYear")
-    public ResponseEntity<SuccessResponse<List<MoviesByYearResult>>> getMoviesByYearWithStats() {
-
-        List<MoviesByYearResult> results = movieService.getMoviesByYearWithStats();
-
-        SuccessResponse<List<MoviesByYearResult>> response =
-                SuccessResponse.<List<MoviesByYearResult>>builder()
-                        .success(true)
-                        .message(String.format("Aggregated statistics for %d years", results.size()))
-                        .data(results)
-                        .timestamp(Instant.now().toString())
-                        .build();
-
-        return ResponseEntity.ok(response);
+    @GetMapping(value = "/aggregations/reportingByYear", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<byte[]>> getMoviesByYearWithStats(
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        // Cache hits skip the async executor entirely
+        ResponseEntity<byte[]> cached = responseBodyCache.lookup(MOVIES_BY_YEAR_CACHE_KEY, headers);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return asyncRequestExecutor.supply(() -> responseBodyCache.respond(MOVIES_BY_YEAR_CACHE_KEY, headers, () -> {
+            List<MoviesByYearResult> results = movieService.getMoviesByYearWithStats();
+
+            return SuccessResponse.<List<MoviesByYearResult>>builder()
+                    .success(true)
+                    .message(String.format("Aggregated statistics for %d years", results.size()))
+                    .data(results)
+                    .timestamp(Instant.now().toString())
+                    .build();
+        }));
     }
 
     @Operation(
@@ -374,21 +554,22 @@ public class MovieControllerImpl {
                      "Demonstrates MongoDB $unwind operation for array flattening and aggregation."
     )
     @GetMapping("/aggregations/reportingByDirectors")
-    public ResponseEntity<SuccessResponse<List<DirectorStatisticsResult>>> getDirectorsWithMostMovies(
+    public CompletableFuture<ResponseEntity<SuccessResponse<List<DirectorStatisticsResult>>>> getDirectorsWithMostMovies(
             @Parameter(description = "Maximum number of directors to return (default: 20, max: 100)")
             @RequestParam(defaultValue = "20") Integer limit) {
-
-        List<DirectorStatisticsResult> results = movieService.getDirectorsWithMostMovies(limit);
-
-        SuccessResponse<List<DirectorStatisticsResult>> response =
-                SuccessResponse.<List<DirectorStatisticsResult>>builder()
-                        .success(true)
-                        .message(String.format("Found %d directors with most movies", results.size()))
-                        .data(results)
-                        .timestamp(Instant.now().toString())
-                        .build();
-
-        return ResponseEntity.ok(response);
+        return asyncRequestExecutor.supply(() -> {
+            List<DirectorStatisticsResult> results = movieService.getDirectorsWithMostMovies(limit);
+
+            SuccessResponse<List<DirectorStatisticsResult>> response =
+                    SuccessResponse.<List<DirectorStatisticsResult>>builder()
+                            .success(true)
+                            .message(String.format("Found %d directors with most movies", results.size()))
+                            .data(results)
+                            .timestamp(Instant.now().toString())
+                            .build();
+
+            return ResponseEntity.ok(response);
+        });
     }
 
     // MongoDB Search endpoints
@@ -401,7 +582,7 @@ public class MovieControllerImpl {
                      "Plot and fullplot use phrase operator for exact matching, while directors, writers, and cast use text operator with fuzzy matching."
     )
     @GetMapping("/search")
-    public ResponseEntity<SuccessResponse<SearchMoviesResponse>> searchMovies(
+    public CompletableFuture<ResponseEntity<SuccessResponse<SearchMoviesResponse>>> searchMovies(
             @Parameter(description = "Text to search in the plot field (phrase matching)")
             @RequestParam(required = false) String plot,
             @Parameter(description = "Text to search in the fullplot field (phrase matching)")
@@ -418,35 +599,38 @@ public class MovieControllerImpl {
             @RequestParam(defaultValue = "0") Integer skip,
             @Parameter(description = "Compound operator: must, should, mustNot, or filter (default: must)")
             @RequestParam(defaultValue = "must") String searchOperator) {
-
-        com.mongodb.samplemflix.model.dto.MovieSearchRequest searchRequest =
-            com.mongodb.samplemflix.model.dto.MovieSearchRequest.builder()
-                .plot(plot)
-                .fullplot(fullplot)
-                .directors(directors)
-                .writers(writers)
-                .cast(cast)
-                .limit(limit)
-                .skip(skip)
-                .searchOperator(searchOperator)
-                .build();
-
-        List<Movie> movies = movieService.searchMovies(searchRequest);
-
-        // Wrap results in SearchMoviesResponse
-        SearchMoviesResponse searchResponse = SearchMoviesResponse.builder()
-                .movies(movies)
-                .totalCount(movies.size())
-                .build();
-
-        SuccessResponse<SearchMoviesResponse> response = SuccessResponse.<SearchMoviesResponse>builder()
-                .success(true)
-                .message(String.format("Found %d movies matching the search criteria", movies.size()))
-                .data(searchResponse)
-                .timestamp(Instant.now().toString())
-                .build();
-
-        return ResponseEntity.ok(response);
+        return asyncRequestExecutor.supply(() -> {
+            com.mongodb.samplemflix.model.dto.MovieSearchRequest searchRequest =
+                com.mongodb.samplemflix.model.dto.MovieSearchRequest.builder()
+                    .plot(plot)
+                    .fullplot(fullplot)
+                    .directors(directors)
+                    .writers(writers)
+                    .cast(cast)
+                    .limit(limit)
+                    .skip(skip)
+                    .searchOperator(searchOperator)
+                    .build();
+
+            List<?> movies = passthroughEnabled
+                    ? movieService.searchMoviesRaw(searchRequest)
+                    : movieService.searchMovies(searchRequest);
+
+            // Wrap results in SearchMoviesResponse
+            SearchMoviesResponse searchResponse = SearchMoviesResponse.builder()
+                    .movies(movies)
+                    .totalCount(movies.size())
+                    .build();
+
+            SuccessResponse<SearchMoviesResponse> response = SuccessResponse.<SearchMoviesResponse>builder()
+                    .success(true)
+                    .message(String.format("Found %d movies matching the search criteria", movies.size()))
+                    .data(searchResponse)
+                    .timestamp(Instant.now().toString())
+                    .build();
+
+            return ResponseEntity.ok(response);
+        });
     }
 
     @Operation(
@@ -456,22 +640,32 @@ public class MovieControllerImpl {
                      "This endpoint generates an embedding for the search query and finds movies with similar plot embeddings."
     )
     @GetMapping("/vector-search")
-    public ResponseEntity<SuccessResponse<List<VectorSearchResult>>> vectorSearchMovies(
+    public CompletableFuture<ResponseEntity<SuccessResponse<List<VectorSearchResult>>>> vectorSearchMovies(
             @Parameter(description = "Search query text to find movies with similar plots", required = true)
             @RequestParam String q,
             @Parameter(description = "Maximum number of results to return (default: 10, max: 50)")
             @RequestParam(defaultValue = "10") Integer limit) {
-
-        List<VectorSearchResult> results = movieService.vectorSearchMovies(q, limit);
-
-        SuccessResponse<List<VectorSearchResult>> response = SuccessResponse.<List<VectorSearchResult>>builder()
-                .success(true)
-                .message(String.format("Found %d similar movies for query: '%s'", results.size(), q))
-                .data(results)
-                .timestamp(Instant.now().toString())
-                .build();
-
-        return ResponseEntity.ok(response);
+        return asyncRequestExecutor.supply(() -> {
+            List<VectorSearchResult> results = movieService.vectorSearchMovies(q, limit);
+
+            // When the deadline ran out before the movie details were loaded, the results only
+            // carry their IDs and scores
+            RequestDeadline deadline = RequestDeadline.current();
+            boolean partial = deadline != null && deadline.isPartial();
+            String message = String.format("Found %d similar movies for query: '%s'", results.size(), q);
+
+            SuccessResponse<List<VectorSearchResult>> response = SuccessResponse.<List<VectorSearchResult>>builder()
+                    .success(true)
+                    .message(partial ? message + " (partial results: movie details timed out)" : message)
+                    .data(results)
+                    .timestamp(Instant.now().toString())
+                    .build();
+
+            if (partial) {
+                return ResponseEntity.ok().header(DeadlineBudgets.PARTIAL_RESULTS_HEADER, "true").body(response);
+            }
+            return ResponseEntity.ok(response);
+        });
     }
 
     @Operation(
@@ -480,18 +674,43 @@ public class MovieControllerImpl {
                      "Demonstrates how to use vector search to find movies with similar plots based on semantic similarity."
     )
     @GetMapping("/find-similar-movies")
-    public ResponseEntity<SuccessResponse<List<Movie>>> findSimilarMovies(
+    public CompletableFuture<ResponseEntity<SuccessResponse<List<Movie>>>> findSimilarMovies(
             @Parameter(description = "ID of the movie to find similar movies for", required = true)
             @RequestParam String movieId,
             @Parameter(description = "Maximum number of similar movies to return (default: 10, max: 50)")
             @RequestParam(defaultValue = "10") Integer limit) {
+        return asyncRequestExecutor.supply(() -> {
+            List<Movie> movies = movieService.findSimilarMovies(movieId, limit);
+
+            SuccessResponse<List<Movie>> response = SuccessResponse.<List<Movie>>builder()
+                    .success(true)
+                    .message(String.format("Found %d similar movies", movies.size()))
+                    .data(movies)
+                    .timestamp(Instant.now().toString())
+                    .build();
+
+            return ResponseEntity.ok(response);
+        });
+    }
 
-        List<Movie> movies = movieService.findSimilarMovies(movieId, limit);
+    @Operation(
+        summary = "Autocomplete movie titles and people names",
+        description = "Returns type-ahead suggestions for movie titles, directors, and cast members whose name has a word " +
+                     "starting with the query. Suggestions come from an in-memory prefix index and are ranked by IMDB votes."
+    )
+    @GetMapping("/autocomplete")
+    public ResponseEntity<SuccessResponse<List<AutocompleteSuggestion>>> autocomplete(
+            @Parameter(description = "Text typed so far", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions to return (default: 10, max: 10)")
+            @RequestParam(defaultValue = "10") Integer limit) {
 
-        SuccessResponse<List<Movie>> response = SuccessResponse.<List<Movie>>builder()
+        List<AutocompleteSuggestion> suggestions = movieService.autocomplete(q, limit);
+
+        SuccessResponse<List<AutocompleteSuggestion>> response = SuccessResponse.<List<AutocompleteSuggestion>>builder()
                 .success(true)
-                .message(String.format("Found %d similar movies", movies.size()))
-                .data(movies)
+                .message(String.format("Found %d suggestions", suggestions.size()))
+                .data(suggestions)
                 .timestamp(Instant.now().toString())
                 .build();
 
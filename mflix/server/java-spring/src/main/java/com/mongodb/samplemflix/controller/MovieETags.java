@@ -0,0 +1,66 @@
+package com.mongodb.samplemflix.controller;
+
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.model.Movie;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+/**
+ * ETags for single movies, shared by {@link MovieControllerImpl} and {@link ReactiveMovieHandler}.
+ *
+ * <p>A movie's ETag is its {@value Movie.Fields#VERSION} in quotes, e.g. {@code "3"}; movies that
+ * were never updated are at version 0. Clients send the ETag back in {@code If-Match} on
+ * {@code PATCH} and {@code DELETE /api/movies/{id}} to write only if nobody changed the movie
+ * in between.
+ */
+final class MovieETags {
+
+    private MovieETags() {
+    }
+
+    /**
+     * ETag of a movie returned by the POJO or the passthrough read path.
+     */
+    static String of(Object movie) {
+        if (movie instanceof Movie mapped) {
+            return of(mapped.getVersion());
+        }
+        if (movie instanceof RawBsonDocument raw) {
+            BsonValue version = raw.get(Movie.Fields.VERSION);
+            return of(version != null && version.isNumber() ? version.asNumber().intValue() : null);
+        }
+        return null;
+    }
+
+    private static String of(Integer version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    /**
+     * Parses an If-Match header into the expected version.
+     *
+     * @return the version, or null when the header is absent or {@code *} (write unconditionally)
+     * @throws ValidationException if the header is not a single movie ETag
+     */
+    static Integer expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // Weak validators are not allowed in If-Match, but the version means the same thing
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                int version = Integer.parseInt(tag.substring(1, tag.length() - 1));
+                if (version >= 0) {
+                    return version;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the validation error
+            }
+        }
+        throw new ValidationException("If-Match must be a single ETag returned by GET /api/movies/{id}");
+    }
+}
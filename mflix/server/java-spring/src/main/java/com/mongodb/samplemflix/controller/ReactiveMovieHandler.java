@@ -0,0 +1,334 @@
+package com.mongodb.samplemflix.controller;
+
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.model.dto.SearchMoviesResponse;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import com.mongodb.samplemflix.model.response.SuccessResponse;
+import com.mongodb.samplemflix.service.ReactiveMovieService;
+import java.time.Instant;
+import java.util.Map;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handler functions for the movie API, mirroring {@link MovieControllerImpl}.
+ *
+ * <p>Responses use the same {@link SuccessResponse} envelope and messages as the servlet
+ * controller. The list and search endpoints additionally stream their results as
+ * newline-delimited JSON when the client sends {@code Accept: application/x-ndjson}; the
+ * export endpoint always streams. Streamed results are written as the cursor produces them,
+ * and the cursor only fetches more as the connection drains (backpressure), so memory per
+ * connection stays flat regardless of result size.
+ *
+ * <p>Routes are declared in {@link ReactiveMovieRoutes}.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveMovieHandler {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {};
+
+    private final ReactiveMovieService movieService;
+
+    public ReactiveMovieHandler(ReactiveMovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    public Mono<ServerResponse> getAllMovies(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            MovieSearchQuery query = movieSearchQuery(request);
+            Flux<Movie> movies = movieService.getAllMovies(query);
+
+            if (wantsStream(request)) {
+                return stream(movies, Movie.class);
+            }
+            return movies.collectList()
+                    .flatMap(list -> ok("Found " + list.size() + " movies", list));
+        });
+    }
+
+    public Mono<ServerResponse> exportMovies(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> stream(movieService.exportMovies(movieSearchQuery(request)), Movie.class));
+    }
+
+    public Mono<ServerResponse> getDistinctGenres(ServerRequest request) {
+        return movieService.getDistinctGenres()
+                .flatMap(genres -> ok("Found " + genres.size() + " distinct genres", genres));
+    }
+
+    public Mono<ServerResponse> getBrowseFacets(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            return movieService.getBrowseFacets(movieSearchQuery(request), request.queryParam("mode").orElse("fixed"),
+                            intParam(request, "buckets", 5))
+                    .flatMap(facets -> ok(String.format("Computed facets for %d movies", facets.getTotal()), facets));
+        });
+    }
+
+    public Mono<ServerResponse> getFacetValueCounts(ServerRequest request) {
+        String field = request.pathVariable("field");
+        return movieService.getFacetValueCounts(field)
+                .collectList()
+                .flatMap(counts -> ok(String.format("Found %d distinct %s", counts.size(), field), counts));
+    }
+
+    public Mono<ServerResponse> getMovieById(ServerRequest request) {
+        return movieService.getMovieById(request.pathVariable("id"))
+                .flatMap(movie -> ok("Movie retrieved successfully", movie, MovieETags.of(movie)));
+    }
+
+    public Mono<ServerResponse> createMovie(ServerRequest request) {
+        return request.bodyToMono(CreateMovieRequest.class)
+                .switchIfEmpty(Mono.error(() -> new ValidationException("Request body is required")))
+                .flatMap(body -> movieService.createMovie(body)
+                        .flatMap(movie -> created("Movie '" + body.getTitle() + "' created successfully", movie)));
+    }
+
+    public Mono<ServerResponse> createMoviesBatch(ServerRequest request) {
+        return request.bodyToFlux(CreateMovieRequest.class)
+                .collectList()
+                .flatMap(movieService::createMoviesBatch)
+                .flatMap(result -> created("Successfully created " + result.getInsertedCount() + " movies", result));
+    }
+
+    public Mono<ServerResponse> updateMovie(ServerRequest request) {
+        return request.bodyToMono(UpdateMovieRequest.class)
+                .defaultIfEmpty(new UpdateMovieRequest())
+                .flatMap(body -> movieService.updateMovie(request.pathVariable("id"), body,
+                        MovieETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH))))
+                .flatMap(movie -> ok("Movie updated successfully", movie, MovieETags.of(movie)));
+    }
+
+    public Mono<ServerResponse> updateMoviesBatch(ServerRequest request) {
+        return request.bodyToMono(JSON_OBJECT)
+                .defaultIfEmpty(Map.of())
+                .flatMap(body -> movieService.updateMoviesBatch(document(body, "filter"), document(body, "update")))
+                .flatMap(result -> ok("Update operation completed. Matched " + result.getMatchedCount() +
+                        " documents, modified " + result.getModifiedCount() + " documents.", result));
+    }
+
+    public Mono<ServerResponse> findAndDeleteMovie(ServerRequest request) {
+        return movieService.findAndDeleteMovie(request.pathVariable("id"))
+                .flatMap(movie -> ok("Movie found and deleted successfully", movie));
+    }
+
+    public Mono<ServerResponse> deleteMovie(ServerRequest request) {
+        // Deferred so that an invalid If-Match reaches the route error handler
+        return Mono.defer(() -> movieService.deleteMovie(request.pathVariable("id"),
+                        MovieETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH))))
+                .flatMap(result -> ok("Movie deleted successfully", result));
+    }
+
+    public Mono<ServerResponse> deleteMoviesBatch(ServerRequest request) {
+        return request.bodyToMono(JSON_OBJECT)
+                .defaultIfEmpty(Map.of())
+                .flatMap(body -> movieService.deleteMoviesBatch(document(body, "filter")))
+                .flatMap(result -> ok("Delete operation completed. Removed " + result.getDeletedCount() +
+                        " documents.", result));
+    }
+
+    public Mono<ServerResponse> bulkWrite(ServerRequest request) {
+        return request.bodyToMono(BulkWriteRequest.class)
+                .defaultIfEmpty(new BulkWriteRequest())
+                .flatMap(movieService::bulkWrite)
+                .flatMap(result -> ok("Bulk write completed. Inserted " + result.getInsertedCount() + ", matched " +
+                        result.getMatchedCount() + ", modified " + result.getModifiedCount() + ", deleted " +
+                        result.getDeletedCount() + " documents; " + result.getFailedCount() + " operations failed.",
+                        result));
+    }
+
+    // Aggregation endpoints for reporting
+
+    public Mono<ServerResponse> getMoviesWithMostRecentComments(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            String movieId = request.queryParam("movieId").orElse(null);
+
+            return movieService.getMoviesWithMostRecentComments(intParam(request, "limit", 10), movieId)
+                    .collectList()
+                    .flatMap(results -> {
+                        // Calculate total comments across all movies
+                        int totalComments = results.stream()
+                                .mapToInt(result -> result.getTotalComments() != null ? result.getTotalComments() : 0)
+                                .sum();
+
+                        String message = movieId != null
+                                ? String.format("Found %d comments from movie", totalComments)
+                                : String.format("Found %d comments from %d movie%s",
+                                        totalComments, results.size(), results.size() != 1 ? "s" : "");
+                        return ok(message, results);
+                    });
+        });
+    }
+
+    public Mono<ServerResponse> getMoviesByYearWithStats(ServerRequest request) {
+        return movieService.getMoviesByYearWithStats()
+                .collectList()
+                .flatMap(results -> ok(String.format("Aggregated statistics for %d years", results.size()), results));
+    }
+
+    public Mono<ServerResponse> getDirectorsWithMostMovies(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            return movieService.getDirectorsWithMostMovies(intParam(request, "limit", 20))
+                    .collectList()
+                    .flatMap(results -> ok(String.format("Found %d directors with most movies", results.size()), results));
+        });
+    }
+
+    // Search endpoints
+
+    public Mono<ServerResponse> searchMovies(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            MovieSearchRequest searchRequest = MovieSearchRequest.builder()
+                    .plot(request.queryParam("plot").orElse(null))
+                    .fullplot(request.queryParam("fullplot").orElse(null))
+                    .directors(request.queryParam("directors").orElse(null))
+                    .writers(request.queryParam("writers").orElse(null))
+                    .cast(request.queryParam("cast").orElse(null))
+                    .limit(intParam(request, "limit", 20))
+                    .skip(intParam(request, "skip", 0))
+                    .searchOperator(request.queryParam("searchOperator").orElse("must"))
+                    .build();
+            Flux<Movie> movies = movieService.searchMovies(searchRequest);
+
+            if (wantsStream(request)) {
+                return stream(movies, Movie.class);
+            }
+            return movies.collectList()
+                    .flatMap(list -> ok(String.format("Found %d movies matching the search criteria", list.size()),
+                            SearchMoviesResponse.builder()
+                                    .movies(list)
+                                    .totalCount(list.size())
+                                    .build()));
+        });
+    }
+
+    public Mono<ServerResponse> vectorSearchMovies(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            String q = requiredParam(request, "q");
+
+            return movieService.vectorSearchMovies(q, intParam(request, "limit", 10))
+                    .collectList()
+                    .flatMap(results -> ok(String.format("Found %d similar movies for query: '%s'", results.size(), q),
+                            results));
+        });
+    }
+
+    public Mono<ServerResponse> findSimilarMovies(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            return movieService.findSimilarMovies(requiredParam(request, "movieId"), intParam(request, "limit", 10))
+                    .collectList()
+                    .flatMap(movies -> ok(String.format("Found %d similar movies", movies.size()), movies));
+        });
+    }
+
+    public Mono<ServerResponse> autocomplete(ServerRequest request) {
+        // Deferred so that parameter validation errors reach the route error handler
+        return Mono.defer(() -> {
+            return movieService.autocomplete(requiredParam(request, "q"), intParam(request, "limit", 10))
+                    .flatMap(suggestions -> ok(String.format("Found %d suggestions", suggestions.size()), suggestions));
+        });
+    }
+
+    private static MovieSearchQuery movieSearchQuery(ServerRequest request) {
+        return MovieSearchQuery.builder()
+                .q(request.queryParam("q").orElse(null))
+                .genre(request.queryParam("genre").orElse(null))
+                .year(request.queryParam("year").map(value -> parseInt("year", value)).orElse(null))
+                .minRating(request.queryParam("minRating").map(value -> parseDouble("minRating", value)).orElse(null))
+                .maxRating(request.queryParam("maxRating").map(value -> parseDouble("maxRating", value)).orElse(null))
+                .limit(intParam(request, "limit", 20))
+                .skip(intParam(request, "skip", 0))
+                .sortBy(request.queryParam("sortBy").orElse(null))
+                .sortOrder(request.queryParam("sortOrder").orElse("asc"))
+                .build();
+    }
+
+    /**
+     * Whether the client asked for a newline-delimited JSON stream instead of the envelope.
+     */
+    private static boolean wantsStream(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
+    private static <T> Mono<ServerResponse> stream(Flux<T> results, Class<T> type) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, type);
+    }
+
+    private static <T> Mono<ServerResponse> ok(String message, T data) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(envelope(message, data));
+    }
+
+    private static <T> Mono<ServerResponse> ok(String message, T data, String eTag) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).eTag(eTag).bodyValue(envelope(message, data));
+    }
+
+    private static <T> Mono<ServerResponse> created(String message, T data) {
+        return ServerResponse.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(envelope(message, data));
+    }
+
+    private static <T> SuccessResponse<T> envelope(String message, T data) {
+        return SuccessResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timestamp(Instant.now().toString())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Document document(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        return value instanceof Map ? new Document((Map<String, Object>) value) : null;
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name).orElseThrow(() ->
+                new ValidationException(String.format("Required parameter '%s' is missing", name)));
+    }
+
+    private static Integer intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(value -> parseInt(name, value)).orElse(defaultValue);
+    }
+
+    private static Integer parseInt(String name, String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(String.format("Parameter '%s' must be an integer", name));
+        }
+    }
+
+    private static Double parseDouble(String name, String value) {
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(String.format("Parameter '%s' must be a number", name));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mongodb.samplemflix.controller;
+
+import com.mongodb.samplemflix.exception.ReactiveExceptionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Functional WebFlux routes for the movie API, active with the {@code reactive} profile.
+ *
+ * <p>Paths, parameters and response bodies match {@link MovieControllerImpl}, so clients work
+ * against either stack unchanged. One route is reactive-only:
+ * <pre>
+ * - GET /api/movies/export - Stream all movies matching the list filters as NDJSON
+ * </pre>
+ * Fixed paths are registered before {@code /{id}} so they are not taken for movie IDs.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveMovieRoutes {
+
+    private static final String MOVIES = "/api/movies";
+
+    @Bean
+    public RouterFunction<ServerResponse> movieRoutes(ReactiveMovieHandler handler,
+                                                      ReactiveExceptionHandler exceptionHandler) {
+        return RouterFunctions.route()
+                .GET(MOVIES, handler::getAllMovies)
+                .GET(MOVIES + "/export", handler::exportMovies)
+                .GET(MOVIES + "/genres", handler::getDistinctGenres)
+                .GET(MOVIES + "/facets", handler::getBrowseFacets)
+                .GET(MOVIES + "/facets/{field}", handler::getFacetValueCounts)
+                .GET(MOVIES + "/aggregations/reportingByComments", handler::getMoviesWithMostRecentComments)
+                .GET(MOVIES + "/aggregations/reportingByYear", handler::getMoviesByYearWithStats)
+                .GET(MOVIES + "/aggregations/reportingByDirectors", handler::getDirectorsWithMostMovies)
+                .GET(MOVIES + "/search", handler::searchMovies)
+                .GET(MOVIES + "/vector-search", handler::vectorSearchMovies)
+                .GET(MOVIES + "/find-similar-movies", handler::findSimilarMovies)
+                .GET(MOVIES + "/autocomplete", handler::autocomplete)
+                .GET(MOVIES + "/{id}", handler::getMovieById)
+                .POST(MOVIES, handler::createMovie)
+                .POST(MOVIES + "/batch", handler::createMoviesBatch)
+                .POST(MOVIES + "/bulk", handler::bulkWrite)
+                .PATCH(MOVIES + "/{id}", handler::updateMovie)
+                .PATCH(MOVIES, handler::updateMoviesBatch)
+                .DELETE(MOVIES + "/{id}/find-and-delete", handler::findAndDeleteMovie)
+                .DELETE(MOVIES + "/{id}", handler::deleteMovie)
+                .DELETE(MOVIES, handler::deleteMoviesBatch)
+                .onError(Throwable.class, exceptionHandler::handle)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.mongodb.samplemflix.controller;
+
+import com.mongodb.samplemflix.config.StartupWarmup;
+import io.swagger.v3.oas.annotations.Hidden;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Readiness probe for load balancers and orchestrators, served by both stacks.
+ *
+ * <p>{@code GET /ready} answers 200 once the application accepts traffic and the
+ * {@link StartupWarmup} has finished, and 503 with the warm-up progress until then. Point the
+ * readiness probe here rather than at {@code /} so new instances only get traffic once their
+ * connections, caches and hot code paths are warm.
+ */
+@Hidden
+@RestController
+public class ReadinessController {
+
+    private final ApplicationAvailability availability;
+    private final StartupWarmup warmup;
+
+    public ReadinessController(ApplicationAvailability availability, StartupWarmup warmup) {
+        this.availability = availability;
+        this.warmup = warmup;
+    }
+
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        boolean ready = availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC
+                && warmup.isComplete();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", ready ? "ready" : "warming up");
+        body.put("warmup", warmup.progress());
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+}
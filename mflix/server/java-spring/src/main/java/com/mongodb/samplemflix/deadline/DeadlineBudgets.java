@@ -0,0 +1,110 @@
+package com.mongodb.samplemflix.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time budgets for each class of API endpoint, in milliseconds.
+ *
+ * <ul>
+ *   <li>{@code reports}: {@code /api/movies/aggregations/**}</li>
+ *   <li>{@code search}: {@code /api/movies/search} and {@code /api/movies/facets/**}</li>
+ *   <li>{@code vector-search}: {@code /api/movies/vector-search} and {@code find-similar-movies},
+ *       including the Voyage AI embedding call</li>
+ *   <li>{@code bulk}: {@code /api/movies/bulk} and {@code /api/movies/batch}</li>
+ *   <li>{@code export}: {@code /api/movies/export}, which streams the whole result set and so
+ *       needs the cursor to stay open for the full download</li>
+ *   <li>{@code default}: every other {@code /api} endpoint</li>
+ * </ul>
+ *
+ * <p>A caller can ask for a shorter budget with the {@link #TIMEOUT_HEADER} header, e.g. a
+ * gateway passing on what is left of its own timeout; longer values are capped at the
+ * endpoint's budget. Responses that hold only part of their results because the budget ran out
+ * are marked with the {@link #PARTIAL_RESULTS_HEADER} header.
+ */
+@Component
+public class DeadlineBudgets {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    public static final String PARTIAL_RESULTS_HEADER = "X-Partial-Results";
+
+    @Value("${api.deadline.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${api.deadline.default-ms:10000}")
+    private long defaultMs = 10000;
+
+    @Value("${api.deadline.search-ms:5000}")
+    private long searchMs = 5000;
+
+    @Value("${api.deadline.vector-search-ms:10000}")
+    private long vectorSearchMs = 10000;
+
+    @Value("${api.deadline.reports-ms:25000}")
+    private long reportsMs = 25000;
+
+    @Value("${api.deadline.bulk-ms:60000}")
+    private long bulkMs = 60000;
+
+    @Value("${api.deadline.export-ms:300000}")
+    private long exportMs = 300000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the deadline for a request.
+     *
+     * @param path the request path
+     * @param requestedTimeout the {@link #TIMEOUT_HEADER} value, or null
+     * @return the deadline, or null when deadlines are disabled or the path is not an API endpoint
+     */
+    public RequestDeadline start(String path, String requestedTimeout) {
+        if (!enabled || path == null || !path.startsWith("/api/")) {
+            return null;
+        }
+        String budget = budgetFor(path);
+        long budgetMs = switch (budget) {
+            case "reports" -> reportsMs;
+            case "search" -> searchMs;
+            case "vector-search" -> vectorSearchMs;
+            case "bulk" -> bulkMs;
+            case "export" -> exportMs;
+            default -> defaultMs;
+        };
+        return RequestDeadline.start(budget, Math.min(budgetMs, requested(requestedTimeout, budgetMs)));
+    }
+
+    static String budgetFor(String path) {
+        if (path.startsWith("/api/movies/aggregations/")) {
+            return "reports";
+        }
+        if (path.equals("/api/movies/search") || path.startsWith("/api/movies/facets")) {
+            return "search";
+        }
+        if (path.equals("/api/movies/vector-search") || path.equals("/api/movies/find-similar-movies")) {
+            return "vector-search";
+        }
+        if (path.equals("/api/movies/bulk") || path.equals("/api/movies/batch")) {
+            return "bulk";
+        }
+        if (path.equals("/api/movies/export")) {
+            return "export";
+        }
+        return "default";
+    }
+
+    private static long requested(String header, long budgetMs) {
+        if (header == null || header.isBlank()) {
+            return budgetMs;
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? requested : budgetMs;
+        } catch (NumberFormatException e) {
+            return budgetMs;
+        }
+    }
+}
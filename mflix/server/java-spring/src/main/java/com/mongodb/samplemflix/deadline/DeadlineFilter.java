@@ -0,0 +1,46 @@
+package com.mongodb.samplemflix.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Starts the request's deadline from its endpoint budget and binds it to the handling thread.
+ */
+@Component
+@Profile("!reactive")
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineBudgets budgets;
+
+    public DeadlineFilter(DeadlineBudgets budgets) {
+        this.budgets = budgets;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestDeadline deadline = budgets.start(request.getRequestURI(),
+                request.getHeader(DeadlineBudgets.TIMEOUT_HEADER));
+        if (deadline == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline previous = RequestDeadline.bind(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.mongodb.samplemflix.deadline;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import java.util.concurrent.TimeUnit;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Applies the current {@link RequestDeadline} to every database handed out to
+ * {@code MongoTemplate}, and through it to repositories and {@code getCollection} callers.
+ *
+ * <p>{@code MongoTemplate} asks the factory for the database on each operation, so each one gets
+ * the time left at the moment it starts as the driver's operation timeout. The driver then sends
+ * the remaining time as {@code maxTimeMS} on every command of the operation (including the
+ * {@code getMore}s of a cursor), and also bounds server selection, connection checkout and the
+ * socket read with it. When the time runs out the server stops the operation and the driver
+ * throws {@code MongoOperationTimeoutException}.
+ *
+ * <p>Operations outside a request (startup checks, index builds, the write-behind flusher) have no
+ * deadline and keep the client-wide timeouts.
+ */
+public class DeadlineMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final MongoDatabaseFactory delegate;
+
+    public DeadlineMongoDatabaseFactory(MongoDatabaseFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return withDeadline(delegate.getMongoDatabase());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return withDeadline(delegate.getMongoDatabase(dbName));
+    }
+
+    /**
+     * The database with the remaining time of the current thread's deadline as its timeout.
+     *
+     * @throws com.mongodb.samplemflix.exception.DeadlineExceededException if the deadline has
+     *         already passed, so no command is sent
+     */
+    static MongoDatabase withDeadline(MongoDatabase database) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return database;
+        }
+        deadline.check();
+        return database.withTimeout(deadline.timeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return new DeadlineMongoDatabaseFactory(delegate.withSession(session));
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+}
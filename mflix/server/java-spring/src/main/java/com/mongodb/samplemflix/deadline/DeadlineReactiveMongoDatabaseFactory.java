@@ -0,0 +1,68 @@
+package com.mongodb.samplemflix.deadline;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import java.util.concurrent.TimeUnit;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link DeadlineMongoDatabaseFactory}: takes the deadline from the
+ * Reactor context of the subscriber instead of the current thread.
+ */
+public class DeadlineReactiveMongoDatabaseFactory implements ReactiveMongoDatabaseFactory {
+
+    private final ReactiveMongoDatabaseFactory delegate;
+
+    public DeadlineReactiveMongoDatabaseFactory(ReactiveMongoDatabaseFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase() throws DataAccessException {
+        return withDeadline(delegate.getMongoDatabase());
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase(String dbName) throws DataAccessException {
+        return withDeadline(delegate.getMongoDatabase(dbName));
+    }
+
+    private static Mono<MongoDatabase> withDeadline(Mono<MongoDatabase> database) {
+        return Mono.deferContextual(context -> RequestDeadline.from(context)
+                .map(deadline -> database.map(db -> {
+                    deadline.check();
+                    return db.withTimeout(deadline.timeoutMillis(), TimeUnit.MILLISECONDS);
+                }))
+                .orElse(database));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public Mono<ClientSession> getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public ReactiveMongoDatabaseFactory withSession(ClientSession session) {
+        return new DeadlineReactiveMongoDatabaseFactory(delegate.withSession(session));
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mongodb.samplemflix.deadline;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link DeadlineFilter}: starts the request's deadline and puts it in
+ * the Reactor context of the handler, where the database factory and the Voyage AI call read it.
+ */
+@Component
+@Profile("reactive")
+public class DeadlineWebFilter implements WebFilter {
+
+    private final DeadlineBudgets budgets;
+
+    public DeadlineWebFilter(DeadlineBudgets budgets) {
+        this.budgets = budgets;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        RequestDeadline deadline = budgets.start(exchange.getRequest().getPath().value(),
+                exchange.getRequest().getHeaders().getFirst(DeadlineBudgets.TIMEOUT_HEADER));
+        if (deadline == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(context -> context.put(RequestDeadline.CONTEXT_KEY, deadline));
+    }
+}
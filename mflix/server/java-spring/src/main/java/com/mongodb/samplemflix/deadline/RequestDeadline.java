@@ -0,0 +1,175 @@
+package com.mongodb.samplemflix.deadline;
+
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import reactor.util.context.ContextView;
+
+/**
+ * The point in time by which a request has to be answered, and how much of its budget is left.
+ *
+ * <p>A deadline is started by {@link DeadlineFilter} (Spring MVC) or {@link DeadlineWebFilter}
+ * (WebFlux) from the endpoint's budget in {@link DeadlineBudgets}, and bound to the request:
+ * <ul>
+ *   <li>on the servlet stack, to the thread handling the request ({@link #current()});
+ *       {@code AsyncRequestExecutor} carries it over to its worker threads</li>
+ *   <li>on the reactive stack, to the Reactor context under {@link #CONTEXT_KEY}</li>
+ * </ul>
+ *
+ * <p>Every MongoDB operation started while a deadline is bound gets the remaining time as its
+ * operation timeout (see {@link DeadlineMongoDatabaseFactory}), which the driver sends as
+ * {@code maxTimeMS}, so the server stops the operation when the client stops waiting for it.
+ */
+public final class RequestDeadline {
+
+    public static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String budget;
+    private final long budgetMs;
+    private final long expiresAtNanos;
+    private final LongSupplier clock;
+    private volatile boolean partial;
+
+    RequestDeadline(String budget, long budgetMs, LongSupplier clock) {
+        this.budget = budget;
+        this.budgetMs = budgetMs;
+        this.clock = clock;
+        this.expiresAtNanos = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+    }
+
+    /**
+     * Starts a deadline {@code budgetMs} milliseconds from now.
+     *
+     * @param budget the name of the budget it was taken from, for error messages
+     */
+    public static RequestDeadline start(String budget, long budgetMs) {
+        return new RequestDeadline(budget, budgetMs, System::nanoTime);
+    }
+
+    /**
+     * The deadline bound to the current thread, or null outside a request.
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * The deadline in a Reactor context, if the request has one.
+     */
+    public static Optional<RequestDeadline> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    /**
+     * Binds the deadline to the current thread.
+     *
+     * @return the deadline bound before, to pass to {@link #restore} when the work is done
+     */
+    public static RequestDeadline bind(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    public static void restore(RequestDeadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Runs the work with the deadline bound to the current thread, restoring the previous one after.
+     */
+    public static <T> T call(RequestDeadline deadline, Supplier<T> work) {
+        RequestDeadline previous = bind(deadline);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps the work so that it runs with the current thread's deadline, wherever it is executed.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        RequestDeadline deadline = current();
+        return deadline == null ? work : () -> call(deadline, work);
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - clock.getAsLong()));
+    }
+
+    /**
+     * The remaining time to use as an operation timeout: never below 1 ms, because a timeout of 0
+     * means "no timeout" to the driver and is rejected by {@code HttpClient}.
+     */
+    public long timeoutMillis() {
+        return Math.max(1, remainingMillis());
+    }
+
+    public Duration timeout() {
+        return Duration.ofMillis(timeoutMillis());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - clock.getAsLong() <= 0;
+    }
+
+    /**
+     * Fails fast before starting more work once the budget is used up.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check() {
+        if (isExpired()) {
+            throw exceeded(null);
+        }
+    }
+
+    /**
+     * The exception to report this deadline as exceeded, with the timeout that detected it.
+     */
+    public DeadlineExceededException exceeded(Throwable cause) {
+        return new DeadlineExceededException(String.format(
+                "Request did not complete within its %d ms %s budget", budgetMs, budget), cause);
+    }
+
+    /**
+     * The exception for an operation that timed out on the current thread, naming its request
+     * budget when there is one.
+     */
+    public static DeadlineExceededException timedOut(Throwable cause) {
+        RequestDeadline deadline = current();
+        return deadline != null
+                ? deadline.exceeded(cause)
+                : new DeadlineExceededException("Operation timed out", cause);
+    }
+
+    /**
+     * Records that the response holds only part of the results because the budget ran out.
+     */
+    public void markPartial() {
+        partial = true;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public String getBudget() {
+        return budget;
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+}
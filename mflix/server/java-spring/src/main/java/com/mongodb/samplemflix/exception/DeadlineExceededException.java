@@ -0,0 +1,57 @@
+package com.mongodb.samplemflix.exception;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exception thrown when a request runs out of its time budget.
+ *
+ * This exception results in a 504 Gateway Timeout response.
+ * Typically occurs when:
+ * - A MongoDB operation is stopped by the server after the request's remaining time (maxTimeMS)
+ * - The Voyage AI embedding call does not answer within the remaining time
+ * - The budget is already used up before the next step starts
+ * - An async request outlives {@code api.async.timeout-ms} ({@link TimeoutException})
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Whether the exception, or one of its causes, reports an operation that ran out of time:
+     * this exception, a driver timeout raised by {@code maxTimeMS} / the operation timeout, or
+     * the async executor's {@link TimeoutException}. Spring Data wraps the driver exceptions, so
+     * the whole cause chain is checked.
+     */
+    public static boolean isTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException
+                    || cause instanceof MongoOperationTimeoutException
+                    || cause instanceof MongoExecutionTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The error detail reported for a timeout matched by {@link #isTimeout}.
+     */
+    public static String detail(Throwable ex) {
+        if (ex instanceof DeadlineExceededException) {
+            return ex.getMessage();
+        }
+        if (ex instanceof TimeoutException) {
+            return "The request did not complete within the configured timeout";
+        }
+        return "The database operation was stopped when the request ran out of time";
+    }
+}
@@ -0,0 +1,21 @@
+package com.mongodb.samplemflix.exception;
+
+/**
+ * Exception thrown when an endpoint needs an index that is still being verified or built.
+ * 
+ * This exception results in a 503 Service Unavailable response with a Retry-After header,
+ * unlike {@link ServiceUnavailableException}, which reports a configuration problem that
+ * retrying will not fix.
+ * Typically occurs when:
+ * - A search endpoint is called while its index is still being created after startup
+ * - Autocomplete is called before the suggestion index has been loaded
+ */
+public class IndexNotReadyException extends ServiceUnavailableException {
+
+    /** Seconds a client should wait before retrying; index builds take a while. */
+    public static final String RETRY_AFTER_SECONDS = "5";
+
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
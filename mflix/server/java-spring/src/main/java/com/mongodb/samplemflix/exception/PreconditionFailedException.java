@@ -0,0 +1,16 @@
+package com.mongodb.samplemflix.exception;
+
+/**
+ * Exception thrown when a conditional write's If-Match ETag no longer matches the movie.
+ * 
+ * This exception results in a 412 Precondition Failed response.
+ * Typically occurs when:
+ * - Another request updated the movie after the client read it
+ * - The client sent an ETag from a different movie
+ */
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,115 @@
+package com.mongodb.samplemflix.exception;
+
+import com.mongodb.MongoWriteException;
+import com.mongodb.samplemflix.model.response.ErrorResponse;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Error handler for the functional WebFlux routes.
+ *
+ * <p>{@code @ControllerAdvice} does not apply to router functions, so this class maps the same
+ * exceptions to the same status codes and {@link ErrorResponse} bodies as
+ * {@link GlobalExceptionHandler}. Keep the two in sync when adding an exception type.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    public Mono<ServerResponse> handle(Throwable ex, ServerRequest request) {
+        if (ex instanceof ResourceNotFoundException) {
+            logger.error("Resource not found: {}", ex.getMessage());
+            return respond(HttpStatus.NOT_FOUND, ex.getMessage(), ex.getMessage(), "RESOURCE_NOT_FOUND", null);
+        }
+        if (ex instanceof PreconditionFailedException) {
+            logger.warn("Precondition failed: {}", ex.getMessage());
+            return respond(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), ex.getMessage(), "PRECONDITION_FAILED", null);
+        }
+        if (ex instanceof ValidationException) {
+            logger.error("Validation error: {}", ex.getMessage());
+            return respond(HttpStatus.BAD_REQUEST, "Validation failed", ex.getMessage(), "VALIDATION_ERROR", null);
+        }
+        if (ex instanceof ServerWebInputException inputException) {
+            logger.error("Invalid request: {}", ex.getMessage());
+            String message = inputException.getReason() != null ? inputException.getReason() : "Invalid request";
+            return respond(HttpStatus.BAD_REQUEST, message, message, "VALIDATION_ERROR", null);
+        }
+        if (ex instanceof IndexNotReadyException) {
+            logger.warn("Index not ready: {}", ex.getMessage());
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, IndexNotReadyException.RETRY_AFTER_SECONDS)
+                    .bodyValue(body(ex.getMessage(), ex.getMessage(), "INDEX_NOT_READY", null));
+        }
+        if (ex instanceof ServiceUnavailableException) {
+            logger.error("Service unavailable: {}", ex.getMessage());
+            return respond(HttpStatus.BAD_REQUEST, ex.getMessage(), ex.getMessage(), "SERVICE_UNAVAILABLE", null);
+        }
+        if (ex instanceof VoyageAuthException) {
+            logger.error("Voyage AI authentication error: {}", ex.getMessage());
+            return respond(HttpStatus.UNAUTHORIZED, ex.getMessage(), ex.getMessage(), "VOYAGE_AUTH_ERROR",
+                    "Please verify your VOYAGE_API_KEY is correct in the .env file");
+        }
+        if (ex instanceof VoyageAPIException) {
+            logger.error("Voyage AI API error: {}", ex.getMessage());
+            return respond(HttpStatus.SERVICE_UNAVAILABLE, "Vector search service unavailable", ex.getMessage(),
+                    "VOYAGE_API_ERROR", null);
+        }
+        if (ex instanceof ServerOverloadedException) {
+            logger.warn("Request rejected: {}", ex.getMessage());
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .bodyValue(body("Server is busy, please retry", ex.getMessage(), "SERVER_OVERLOADED", null));
+        }
+        if (DeadlineExceededException.isTimeout(ex)) {
+            logger.warn("Deadline exceeded: {} ({})", request.path(), ex.getMessage());
+            return respond(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded",
+                    DeadlineExceededException.detail(ex), "DEADLINE_EXCEEDED", null);
+        }
+        if (ex instanceof DatabaseOperationException) {
+            logger.error("Database operation error: {}", ex.getMessage());
+            return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Database operation failed", ex.getMessage(),
+                    "DATABASE_OPERATION_ERROR", null);
+        }
+        if (ex instanceof MongoWriteException writeException) {
+            logger.error("MongoDB write error: {}", ex.getMessage());
+            int code = writeException.getError().getCode();
+            if (code == 11000) {
+                return respond(HttpStatus.CONFLICT, "Duplicate key error", "Duplicate key error", "DUPLICATE_KEY", code);
+            }
+            return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Database error", "Database error", "DATABASE_ERROR", code);
+        }
+
+        logger.error("Unexpected error occurred", ex);
+        String message = ex.getMessage() != null ? ex.getMessage() : "Internal server error";
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, message, message, "INTERNAL_ERROR", null);
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatus status, String message, String detail, String code,
+                                                Object details) {
+        return ServerResponse.status(status).bodyValue(body(message, detail, code, details));
+    }
+
+    private static ErrorResponse body(String message, String detail, String code, Object details) {
+        return ErrorResponse.builder()
+                .success(false)
+                .message(message)
+                .error(ErrorResponse.ErrorDetails.builder()
+                        .message(detail)
+                        .code(code)
+                        .details(details)
+                        .build())
+                .timestamp(Instant.now().toString())
+                .build();
+    }
+}
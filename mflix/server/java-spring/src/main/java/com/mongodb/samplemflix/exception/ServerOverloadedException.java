@@ -0,0 +1,16 @@
+package com.mongodb.samplemflix.exception;
+
+/**
+ * Exception thrown when a request is shed by the concurrency limiter.
+ * 
+ * This exception results in a 503 Service Unavailable response with a Retry-After header.
+ * Typically occurs when:
+ * - More movie service calls are in flight than the adaptive limit allows
+ * - The database is slow or its connection pool is saturated
+ */
+public class ServerOverloadedException extends RuntimeException {
+    
+    public ServerOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,246 @@
+package com.mongodb.samplemflix.indexing;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder.RecordedShape;
+import com.mongodb.samplemflix.model.Movie;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reviews the hottest movie query shapes and recommends, or creates, the indexes they are missing.
+ *
+ * <p>{@code DatabaseVerification} creates the indexes every deployment needs. List queries can
+ * combine genre, year and rating filters with any sort field, so which other indexes pay off
+ * depends on the traffic. Every {@code mongodb.index-advisor.interval-seconds} this component:
+ * <ol>
+ *   <li>Takes the {@code top-shapes} most executed shapes from {@link QueryShapeRecorder}, skipping
+ *       shapes executed fewer than {@code min-executions} times</li>
+ *   <li>Runs {@code explain} (query planner only, nothing is executed) on a sample query of each</li>
+ *   <li>Flags shapes whose winning plan has a {@code COLLSCAN} or a blocking {@code SORT} stage and
+ *       logs the compound index that serves them, built with the equality-sort-range rule
+ *       (see {@link QueryShape#indexKeys()})</li>
+ *   <li>If {@code auto-create} is true, creates that index, at most one per review</li>
+ * </ol>
+ *
+ * <p>Created indexes are named with the {@value #INDEX_PREFIX} prefix and limited to
+ * {@code max-indexes}, counted from the collection's index list so the budget holds across
+ * restarts. Only fields of the {@link Movie} model are indexed; shapes that sort on anything else
+ * are recommended but never created.
+ */
+@Component
+public class IndexAdvisor {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdvisor.class);
+
+    static final String INDEX_PREFIX = "advisor_";
+
+    private static final String MOVIES_COLLECTION = "movies";
+
+    /**
+     * Top-level fields of the movie model; paths below them (imdb.rating) are indexable too.
+     */
+    private static final Set<String> MODEL_FIELDS = Set.of(
+            Movie.Fields.ID, Movie.Fields.TITLE, Movie.Fields.YEAR, Movie.Fields.PLOT, Movie.Fields.FULLPLOT,
+            Movie.Fields.RELEASED, Movie.Fields.RUNTIME, Movie.Fields.POSTER, Movie.Fields.GENRES,
+            Movie.Fields.DIRECTORS, Movie.Fields.WRITERS, Movie.Fields.CAST, Movie.Fields.COUNTRIES,
+            Movie.Fields.LANGUAGES, Movie.Fields.RATED, Movie.Fields.AWARDS, Movie.Fields.IMDB,
+            Movie.Fields.TOMATOES, Movie.Fields.METACRITIC, Movie.Fields.TYPE
+    );
+
+    /**
+     * Plan stages that mean the query reads more than the matching documents, or sorts in memory.
+     */
+    private static final Set<String> PROBLEM_STAGES = Set.of("COLLSCAN", "SORT");
+
+    private final MongoDatabase database;
+    private final QueryShapeRecorder recorder;
+
+    @Value("${mongodb.index-advisor.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${mongodb.index-advisor.auto-create:false}")
+    private boolean autoCreate;
+
+    @Value("${mongodb.index-advisor.interval-seconds:300}")
+    private long intervalSeconds = 300;
+
+    @Value("${mongodb.index-advisor.top-shapes:5}")
+    private int topShapes = 5;
+
+    @Value("${mongodb.index-advisor.min-executions:20}")
+    private long minExecutions = 20;
+
+    @Value("${mongodb.index-advisor.max-indexes:3}")
+    private int maxIndexes = 3;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * A shape whose plan needs an index.
+     *
+     * @param stages the winning plan's stage names, from the root down
+     * @param created whether this review created the index
+     */
+    public record Recommendation(QueryShape shape, long executions, List<String> stages, Document indexKeys,
+                                 boolean created) {
+    }
+
+    public IndexAdvisor(MongoDatabase database, QueryShapeRecorder recorder) {
+        this.database = database;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Schedules the periodic review if the advisor is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "index-advisor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reviewSafely, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void reviewSafely() {
+        try {
+            review();
+        } catch (Exception e) {
+            // A failed review must not cancel the schedule
+            logger.error("Index review failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Explains the hottest shapes since the previous review and acts on those that need an index.
+     *
+     * @return the recommendations made by this review
+     */
+    List<Recommendation> review() {
+        List<Recommendation> recommendations = new ArrayList<>();
+        boolean createdOne = false;
+
+        for (RecordedShape recorded : recorder.drainHottest(topShapes, minExecutions)) {
+            QueryShape shape = recorded.shape();
+            if (!shape.isIndexable()) {
+                continue;
+            }
+
+            Document explain = database.runCommand(explainCommand(recorded));
+            List<String> stages = planStages(explain);
+            if (stages.stream().noneMatch(PROBLEM_STAGES::contains)) {
+                continue;
+            }
+
+            Document keys = shape.indexKeys();
+            logger.warn("Query shape {} ran {} times with plan {}; recommended index {}",
+                    shape, recorded.executions(), stages, keys.toJson());
+
+            boolean created = false;
+            if (autoCreate && !createdOne) {
+                created = createIndex(shape, keys);
+                createdOne = created;
+            }
+            recommendations.add(new Recommendation(shape, recorded.executions(), stages, keys, created));
+        }
+        return recommendations;
+    }
+
+    private boolean createIndex(QueryShape shape, Document keys) {
+        if (!shape.fields().stream().allMatch(field -> MODEL_FIELDS.contains(field.split("\\.", 2)[0]))) {
+            logger.info("Not creating index {}: it has fields outside the movie model", keys.toJson());
+            return false;
+        }
+
+        MongoCollection<Document> movies = database.getCollection(MOVIES_COLLECTION);
+        List<Document> indexes = movies.listIndexes().into(new ArrayList<>());
+        List<?> keyList = List.copyOf(keys.entrySet());
+        if (indexes.stream().anyMatch(index -> keyList.equals(List.copyOf(index.get("key", Document.class).entrySet())))) {
+            // The planner chose another plan; a second copy of the index would not change that
+            return false;
+        }
+        long advisorIndexes = indexes.stream()
+                .filter(index -> index.getString("name").startsWith(INDEX_PREFIX))
+                .count();
+        if (advisorIndexes >= maxIndexes) {
+            logger.warn("Not creating index {}: the budget of {} advisor indexes is used up",
+                    keys.toJson(), maxIndexes);
+            return false;
+        }
+
+        String name = INDEX_PREFIX + keys.entrySet().stream()
+                .map(entry -> entry.getKey() + "_" + entry.getValue())
+                .collect(Collectors.joining("_"));
+        movies.createIndex(keys, new IndexOptions().name(name));
+        logger.info("Created index '{}' on {}", name, keys.toJson());
+        return true;
+    }
+
+    private static Document explainCommand(RecordedShape recorded) {
+        Document find = new Document("find", MOVIES_COLLECTION)
+                .append("filter", recorded.filter() != null ? recorded.filter() : new Document());
+        if (recorded.sort() != null && !recorded.sort().isEmpty()) {
+            find.append("sort", recorded.sort());
+        }
+        return new Document("explain", find).append("verbosity", "queryPlanner");
+    }
+
+    /**
+     * Collects the stage names of the winning plan in an explain result, from the root down.
+     *
+     * <p>Handles the classic plan layout ({@code inputStage}/{@code inputStages}), the slot-based
+     * engine's {@code queryPlan} wrapper and sharded results ({@code shards}).
+     */
+    static List<String> planStages(Document explain) {
+        Set<String> stages = new LinkedHashSet<>();
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        if (queryPlanner != null) {
+            collectStages(queryPlanner.get("winningPlan"), stages);
+        }
+        return List.copyOf(stages);
+    }
+
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof List<?> list) {
+            list.forEach(child -> collectStages(child, stages));
+            return;
+        }
+        if (!(node instanceof Document plan)) {
+            return;
+        }
+        if (plan.get("stage") instanceof String stage) {
+            stages.add(stage);
+        }
+        collectStages(plan.get("queryPlan"), stages);
+        collectStages(plan.get("inputStage"), stages);
+        collectStages(plan.get("inputStages"), stages);
+        collectStages(plan.get("shards"), stages);
+        collectStages(plan.get("winningPlan"), stages);
+    }
+}
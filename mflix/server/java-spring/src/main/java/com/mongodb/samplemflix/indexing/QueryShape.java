@@ -0,0 +1,130 @@
+package com.mongodb.samplemflix.indexing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import org.bson.Document;
+
+/**
+ * The shape of a find query: which fields it filters on, how, and how it sorts, without the values.
+ *
+ * <p>Queries that differ only in their values (year 1999 vs 2010) share a shape, so they are
+ * served by the same index. Each filtered field is classified the way the query planner uses it:
+ * <ul>
+ *   <li>equality: a plain value, {@code $eq} or {@code $in}</li>
+ *   <li>range: comparison operators, {@code $ne}, {@code $exists} and regular expressions, which
+ *       all scan a range of index keys</li>
+ * </ul>
+ * A {@code $text} query is always served by the text index, so its shape is not indexable.
+ *
+ * @param equality fields matched by equality, in name order
+ * @param range fields matched by a range, in name order
+ * @param sort sort keys, in sort order
+ * @param text whether the query uses {@code $text}
+ */
+public record QueryShape(List<String> equality, List<String> range, List<SortKey> sort, boolean text) {
+
+    /**
+     * A sort field and its direction (1 or -1).
+     */
+    public record SortKey(String field, int direction) {
+    }
+
+    /**
+     * Derives the shape of a query from its filter and sort documents.
+     */
+    public static QueryShape of(Document filter, Document sort) {
+        TreeSet<String> equality = new TreeSet<>();
+        TreeSet<String> range = new TreeSet<>();
+        boolean text = classify(filter, equality, range);
+        range.removeAll(equality);
+
+        List<SortKey> sortKeys = new ArrayList<>();
+        if (sort != null) {
+            sort.forEach((field, direction) -> {
+                // {$meta: "textScore"} sorts are not index sorts
+                if (direction instanceof Number number) {
+                    sortKeys.add(new SortKey(field, number.intValue() < 0 ? -1 : 1));
+                }
+            });
+        }
+
+        return new QueryShape(List.copyOf(equality), List.copyOf(range), List.copyOf(sortKeys), text);
+    }
+
+    private static boolean classify(Document filter, TreeSet<String> equality, TreeSet<String> range) {
+        boolean text = false;
+        if (filter == null) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String field = entry.getKey();
+            Object value = entry.getValue();
+
+            if ("$text".equals(field)) {
+                text = true;
+            } else if ("$and".equals(field) && value instanceof List<?> clauses) {
+                for (Object clause : clauses) {
+                    if (clause instanceof Document document) {
+                        text |= classify(document, equality, range);
+                    }
+                }
+            } else if (field.startsWith("$")) {
+                // $or, $nor and $expr are planned per branch or not at all; leave them out
+                continue;
+            } else if (isRange(value)) {
+                range.add(field);
+            } else {
+                equality.add(field);
+            }
+        }
+        return text;
+    }
+
+    private static boolean isRange(Object value) {
+        if (value instanceof Pattern) {
+            return true;
+        }
+        if (value instanceof Document operators && !operators.isEmpty()
+                && operators.keySet().iterator().next().startsWith("$")) {
+            return !operators.keySet().stream().allMatch(op -> "$eq".equals(op) || "$in".equals(op));
+        }
+        return false;
+    }
+
+    /**
+     * Whether a compound index can serve this shape.
+     */
+    public boolean isIndexable() {
+        return !text && !(equality.isEmpty() && range.isEmpty() && sort.isEmpty());
+    }
+
+    /**
+     * Every field the shape filters or sorts on.
+     */
+    public List<String> fields() {
+        return List.copyOf(indexKeys().keySet());
+    }
+
+    /**
+     * Keys of the index that serves this shape, following the equality-sort-range rule:
+     * equality fields first so the scan starts at one key prefix, then the sort fields so
+     * results come out of the index already ordered, then the range fields.
+     */
+    public Document indexKeys() {
+        Document keys = new Document();
+        equality.forEach(field -> keys.put(field, 1));
+        sort.forEach(key -> keys.putIfAbsent(key.field(), key.direction()));
+        range.forEach(field -> keys.putIfAbsent(field, 1));
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return "{equality=" + equality + ", range=" + range + ", sort=" + sort.stream()
+                .map(key -> key.field() + ":" + key.direction())
+                .toList() + (text ? ", text" : "") + "}";
+    }
+}
@@ -0,0 +1,90 @@
+package com.mongodb.samplemflix.indexing;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts how often each {@link QueryShape} is issued against the movies collection.
+ *
+ * <p>The movie services record every list query here. {@link IndexAdvisor} periodically drains
+ * the hottest shapes, so counts cover the time since the previous review. The last query seen for
+ * each shape is kept as a sample to run {@code explain} on.
+ *
+ * <p>Sort fields come from the request, so the number of distinct shapes is capped at
+ * {@link #MAX_SHAPES} per window; shapes beyond the cap are not counted.
+ */
+@Component
+public class QueryShapeRecorder {
+
+    static final int MAX_SHAPES = 1000;
+
+    @Value("${mongodb.index-advisor.enabled:true}")
+    private boolean enabled = true;
+
+    private volatile ConcurrentHashMap<QueryShape, Sample> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * A shape with its execution count in the last window and a sample query.
+     */
+    public record RecordedShape(QueryShape shape, long executions, Document filter, Document sort) {
+    }
+
+    /**
+     * Records one execution of a query.
+     */
+    public void record(Query query) {
+        if (enabled) {
+            record(query.getQueryObject(), query.getSortObject());
+        }
+    }
+
+    void record(Document filter, Document sort) {
+        ConcurrentHashMap<QueryShape, Sample> current = shapes;
+        QueryShape shape = QueryShape.of(filter, sort);
+        Sample sample = current.get(shape);
+        if (sample == null) {
+            if (current.size() >= MAX_SHAPES) {
+                return;
+            }
+            sample = current.computeIfAbsent(shape, key -> new Sample());
+        }
+        sample.query = new Document[] {filter, sort};
+        sample.count.increment();
+    }
+
+    /**
+     * Returns the most executed shapes since the previous call and starts a new window.
+     *
+     * @param limit maximum number of shapes returned
+     * @param minExecutions shapes executed fewer times than this are left out
+     * @return shapes ordered by execution count, most executed first
+     */
+    public List<RecordedShape> drainHottest(int limit, long minExecutions) {
+        ConcurrentHashMap<QueryShape, Sample> drained = shapes;
+        shapes = new ConcurrentHashMap<>();
+
+        return drained.entrySet().stream()
+                .filter(entry -> entry.getValue().query != null)
+                .map(entry -> {
+                    Document[] query = entry.getValue().query;
+                    return new RecordedShape(entry.getKey(), entry.getValue().count.sum(), query[0], query[1]);
+                })
+                .filter(recorded -> recorded.executions() >= minExecutions)
+                .sorted(Comparator.comparingLong(RecordedShape::executions).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static final class Sample {
+        private final LongAdder count = new LongAdder();
+        // Filter and sort are replaced together, so a review never pairs the filter of one query
+        // with the sort of another
+        private volatile Document[] query;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mongodb.samplemflix.jfr;
+
+import java.util.List;
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+/**
+ * One aggregation pipeline run by {@code MovieServiceImpl}, including reading its results.
+ *
+ * <p>The pipeline's {@link PipelineShape} is only computed for events the recording keeps, so
+ * the only cost while recording is off is checking whether the event is enabled.
+ */
+@Name(AggregationEvent.NAME)
+@Label("Aggregation Pipeline")
+@Category({"MFlix", "MongoDB"})
+@Description("An aggregation pipeline and the time to run it and read its results")
+@Enabled(false)
+@StackTrace(false)
+public final class AggregationEvent extends jdk.jfr.Event {
+
+    static final String NAME = "mflix.Aggregation";
+
+    @Label("Request ID")
+    long requestId;
+
+    @Label("Operation")
+    @Description("The service method that ran the pipeline")
+    String operation;
+
+    @Label("Collection")
+    String collection;
+
+    @Label("Stages")
+    String stages;
+
+    @Label("Pipeline Shape")
+    @Description("Hash of the pipeline without its values; equal for runs of the same query shape")
+    String shapeHash;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Runs the work, recording it as an aggregation of the given Spring Data pipeline.
+     */
+    public static <T> T record(String operation, String collection, Aggregation aggregation, Supplier<T> work) {
+        return record(operation, collection, () -> aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT), work);
+    }
+
+    /**
+     * Runs the work, recording it as an aggregation of the pipeline.
+     *
+     * @param pipeline supplies the pipeline; only called when the event is committed
+     */
+    public static <T> T record(String operation, String collection, Supplier<List<Document>> pipeline,
+                               Supplier<T> work) {
+        AggregationEvent event = new AggregationEvent();
+        if (!event.isEnabled()) {
+            return work.get();
+        }
+        event.begin();
+        try {
+            T result = work.get();
+            event.succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.requestId = RecordedRequest.currentId();
+                event.operation = operation;
+                event.collection = collection;
+                PipelineShape shape = PipelineShape.of(pipeline.get());
+                event.stages = shape.describe();
+                event.shapeHash = shape.hash();
+                event.commit();
+            }
+        }
+    }
+}
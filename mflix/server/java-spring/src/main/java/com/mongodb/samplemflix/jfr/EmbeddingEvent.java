@@ -0,0 +1,77 @@
+package com.mongodb.samplemflix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to the Voyage AI embeddings API.
+ *
+ * <p>Both transports record it the same way:
+ * <pre>
+ * EmbeddingEvent event = EmbeddingEvent.begin(1, text.length());
+ * try {
+ *     response = send(request);
+ *     event.responded(response.statusCode());
+ * } finally {
+ *     event.finish(requestId);
+ * }
+ * </pre>
+ */
+@Name(EmbeddingEvent.NAME)
+@Label("Voyage AI Embedding")
+@Category("MFlix")
+@Description("A call to the Voyage AI embeddings API")
+@Enabled(false)
+@StackTrace(false)
+public final class EmbeddingEvent extends jdk.jfr.Event {
+
+    static final String NAME = "mflix.Embedding";
+
+    @Label("Request ID")
+    long requestId;
+
+    @Label("Inputs")
+    int inputs;
+
+    @Label("Input Characters")
+    int inputChars;
+
+    @Label("HTTP Status")
+    @Description("The API's response status, or 0 when no response arrived")
+    int httpStatus;
+
+    /**
+     * Starts timing a call with the given number of texts and their total length.
+     */
+    public static EmbeddingEvent begin(int inputs, int inputChars) {
+        EmbeddingEvent event = new EmbeddingEvent();
+        if (event.isEnabled()) {
+            event.inputs = inputs;
+            event.inputChars = inputChars;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void responded(int status) {
+        httpStatus = status;
+    }
+
+    /**
+     * Ends the call and commits the event if the recording wants it.
+     */
+    public void finish(long requestId) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.requestId = requestId;
+            commit();
+        }
+    }
+}
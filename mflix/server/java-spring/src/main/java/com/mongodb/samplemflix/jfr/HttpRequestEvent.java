@@ -0,0 +1,40 @@
+package com.mongodb.samplemflix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP request handled by a controller or route, from the filter chain to the response.
+ *
+ * <p>Disabled unless the recording uses {@code jfr/mflix.jfc}; see {@link RecordingSummary}.
+ */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category("MFlix")
+@Description("An API request, with its route pattern and response status")
+@Enabled(false)
+@StackTrace(false)
+public final class HttpRequestEvent extends jdk.jfr.Event {
+
+    static final String NAME = "mflix.HttpRequest";
+
+    @Label("Request ID")
+    long requestId;
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("The matched route pattern, e.g. /api/movies/{id}")
+    String route;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,42 @@
+package com.mongodb.samplemflix.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One command sent to MongoDB, recorded by {@link MongoCommandEventListener}.
+ */
+@Name(MongoCommandEvent.NAME)
+@Label("MongoDB Command")
+@Category({"MFlix", "MongoDB"})
+@Description("A command sent by the driver, from sending it to receiving the reply")
+@Enabled(false)
+@StackTrace(false)
+public final class MongoCommandEvent extends jdk.jfr.Event {
+
+    static final String NAME = "mflix.MongoCommand";
+
+    @Label("Request ID")
+    long requestId;
+
+    @Label("Command")
+    String commandName;
+
+    @Label("Database")
+    String databaseName;
+
+    @Label("Collection")
+    String collection;
+
+    @Label("Reply Size")
+    @DataAmount
+    long replyBytes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
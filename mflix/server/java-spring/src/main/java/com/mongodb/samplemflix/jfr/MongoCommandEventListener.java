@@ -0,0 +1,108 @@
+package com.mongodb.samplemflix.jfr;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+/**
+ * Records each MongoDB command as a {@link MongoCommandEvent}.
+ *
+ * <p>Registered on every MongoClient by {@code MongoConfig}. An event is started when the driver
+ * sends a command and committed when the reply or failure arrives, which may be on another
+ * thread with the reactive driver. While the event is disabled the listener only checks that.
+ *
+ * <p>The request ID is read on the thread that starts the command. The synchronous driver starts
+ * commands on the request's thread, so its commands are attributed to their request; the
+ * reactive driver's are recorded with request ID 0.
+ */
+public class MongoCommandEventListener implements CommandListener {
+
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    private final Map<Integer, MongoCommandEvent> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent startedEvent) {
+        MongoCommandEvent event = new MongoCommandEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.requestId = RecordedRequest.currentId();
+        event.commandName = startedEvent.getCommandName();
+        event.databaseName = startedEvent.getDatabaseName();
+        event.collection = collection(startedEvent.getCommand(), startedEvent.getCommandName());
+        event.begin();
+        inFlight.put(startedEvent.getRequestId(), event);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent succeededEvent) {
+        MongoCommandEvent event = finish(succeededEvent);
+        if (event != null) {
+            event.succeeded = true;
+            event.replyBytes = size(succeededEvent.getResponse());
+            event.commit();
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent failedEvent) {
+        MongoCommandEvent event = finish(failedEvent);
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /**
+     * Ends the started event, returning it only if the recording keeps it.
+     */
+    private MongoCommandEvent finish(CommandEvent driverEvent) {
+        MongoCommandEvent event = inFlight.remove(driverEvent.getRequestId());
+        if (event == null) {
+            return null;
+        }
+        event.end();
+        return event.shouldCommit() ? event : null;
+    }
+
+    /**
+     * The collection a command targets: the value of its command name field ({@code find},
+     * {@code aggregate}, {@code insert}, ...) or, for {@code getMore}, its {@code collection}.
+     */
+    static String collection(BsonDocument command, String commandName) {
+        BsonValue target = command.get(commandName);
+        if (target == null || !target.isString()) {
+            target = command.get("collection");
+        }
+        return target != null && target.isString() ? target.asString().getValue() : null;
+    }
+
+    /**
+     * The encoded size of a reply. Replies read from the wire keep their bytes, so the size is
+     * the document's leading int32; anything else is encoded to measure it.
+     */
+    static long size(BsonDocument reply) {
+        if (reply == null) {
+            return 0;
+        }
+        if (reply instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        try (BsonReader reader = reply.asBsonReader()) {
+            if (reader instanceof BsonBinaryReader binaryReader) {
+                return binaryReader.getBsonInput().readInt32();
+            }
+        }
+        return new RawBsonDocument(reply, DOCUMENT_CODEC).getByteBuffer().remaining();
+    }
+}
@@ -0,0 +1,81 @@
+package com.mongodb.samplemflix.jfr;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+
+/**
+ * The shape of an aggregation pipeline: its stages and their structure, without the values.
+ *
+ * <p>Like {@code QueryShape} for find queries, pipelines that differ only in their values (a
+ * search term, a limit, a query vector) share a shape. Operators, field names and field paths
+ * ({@code "$year"}) are kept; every other value becomes {@code ?}, and an array of values
+ * becomes {@code [?]} whatever its length. The shape is identified by a 64-bit FNV-1a hash of
+ * that canonical form.
+ *
+ * @param stages the stage operators, in pipeline order
+ * @param hash the hash of the canonical form, as 16 hex digits
+ */
+public record PipelineShape(List<String> stages, String hash) {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Derives the shape of a pipeline.
+     */
+    public static PipelineShape of(List<Document> pipeline) {
+        List<String> stages = new ArrayList<>(pipeline.size());
+        StringBuilder canonical = new StringBuilder();
+        for (Document stage : pipeline) {
+            stages.add(stage.isEmpty() ? "?" : stage.keySet().iterator().next());
+            appendShape(stage, canonical);
+        }
+        return new PipelineShape(List.copyOf(stages), String.format("%016x", fnv1a(canonical)));
+    }
+
+    /**
+     * The stages joined for display, e.g. {@code $search > $skip > $limit > $project}.
+     */
+    public String describe() {
+        return String.join(" > ", stages);
+    }
+
+    private static void appendShape(Object value, StringBuilder out) {
+        if (value instanceof Map<?, ?> document) {
+            out.append('{');
+            for (Map.Entry<?, ?> entry : document.entrySet()) {
+                out.append(entry.getKey()).append(':');
+                appendShape(entry.getValue(), out);
+                out.append(',');
+            }
+            out.append('}');
+        } else if (value instanceof List<?> list) {
+            if (list.stream().noneMatch(element -> element instanceof Map || element instanceof List)) {
+                out.append("[?]");
+                return;
+            }
+            out.append('[');
+            for (Object element : list) {
+                appendShape(element, out);
+                out.append(',');
+            }
+            out.append(']');
+        } else if (value instanceof String string && string.startsWith("$")) {
+            out.append(string);
+        } else {
+            out.append('?');
+        }
+    }
+
+    private static long fnv1a(CharSequence text) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : text.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,88 @@
+package com.mongodb.samplemflix.jfr;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import reactor.util.context.ContextView;
+
+/**
+ * The ID that ties the flight recorder events of one HTTP request together.
+ *
+ * <p>{@link RequestEventFilter} (Spring MVC) and {@link RequestEventWebFilter} (WebFlux) take a
+ * new ID for each request while {@link HttpRequestEvent} is enabled, and bind it like the
+ * request's deadline:
+ * <ul>
+ *   <li>on the servlet stack, to the thread handling the request ({@link #currentId()});
+ *       {@code AsyncRequestExecutor} carries it over to its worker threads</li>
+ *   <li>on the reactive stack, to the Reactor context under {@link #CONTEXT_KEY}</li>
+ * </ul>
+ * The MongoDB command, aggregation and embedding events record it, so {@link RecordingSummary}
+ * can attribute their time to the route that caused it. Outside a request, or while recording
+ * is off, the ID is 0.
+ */
+public final class RecordedRequest {
+
+    public static final String CONTEXT_KEY = RecordedRequest.class.getName();
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private RecordedRequest() {
+    }
+
+    static long nextId() {
+        return IDS.incrementAndGet();
+    }
+
+    /**
+     * The ID of the request handled by the current thread, or 0 when there is none.
+     */
+    public static long currentId() {
+        Long id = CURRENT.get();
+        return id != null ? id : 0;
+    }
+
+    /**
+     * The request ID in a Reactor context, or 0 when there is none.
+     */
+    public static long from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, 0L);
+    }
+
+    /**
+     * Binds the request ID to the current thread.
+     *
+     * @return the ID bound before, to pass to {@link #restore} when the work is done
+     */
+    static long bind(long requestId) {
+        long previous = currentId();
+        CURRENT.set(requestId);
+        return previous;
+    }
+
+    static void restore(long previous) {
+        if (previous == 0) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps the work so that it runs with the current thread's request ID, wherever it is executed.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        long requestId = currentId();
+        if (requestId == 0) {
+            return work;
+        }
+        return () -> {
+            long previous = bind(requestId);
+            try {
+                return work.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.mongodb.samplemflix.jfr;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes a flight recording of the API into a breakdown per route.
+ *
+ * <p>Record with the bundled settings, which enable the MFlix events on top of the JDK defaults:
+ * <pre>
+ * java -XX:StartFlightRecording:settings=default,settings=src/main/resources/jfr/mflix.jfc,filename=mflix.jfr \
+ *      -jar target/mflix-java-spring-*.jar
+ * </pre>
+ * then summarize the dump with
+ * <pre>
+ * java -cp target/classes com.mongodb.samplemflix.jfr.RecordingSummary mflix.jfr
+ * </pre>
+ *
+ * <p>For each route it reports the request count, server errors (5xx), latency percentiles and,
+ * per request, the time spent in MongoDB commands, aggregation pipelines and Voyage AI calls
+ * with the reply bytes read. Those events are joined to their route by {@link RecordedRequest}
+ * ID; events recorded outside a request (background jobs, and MongoDB commands of the reactive
+ * driver) are totalled separately. A second table ranks the aggregation pipeline shapes by their
+ * total time.
+ */
+public final class RecordingSummary {
+
+    static final String UNATTRIBUTED = "(no request)";
+
+    private final Map<String, RouteStats> routes = new LinkedHashMap<>();
+    private final Map<String, ShapeStats> shapes = new LinkedHashMap<>();
+
+    private RecordingSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: RecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+        read(Path.of(args[0])).print(System.out);
+    }
+
+    /**
+     * Reads the MFlix events of a recording.
+     */
+    public static RecordingSummary read(Path recording) throws IOException {
+        return of(RecordingFile.readAllEvents(recording));
+    }
+
+    static RecordingSummary of(List<RecordedEvent> events) {
+        RecordingSummary summary = new RecordingSummary();
+
+        // Routes first, so the other events can be joined to them by request ID
+        Map<Long, RouteStats> byRequest = new HashMap<>();
+        for (RecordedEvent event : events) {
+            if (is(event, HttpRequestEvent.NAME)) {
+                String route = event.getString("method") + " " + event.getString("route");
+                RouteStats stats = summary.routes.computeIfAbsent(route, RouteStats::new);
+                stats.add(event.getDuration(), event.getInt("status"));
+                byRequest.put(event.getLong("requestId"), stats);
+            }
+        }
+
+        for (RecordedEvent event : events) {
+            if (is(event, HttpRequestEvent.NAME)) {
+                continue;
+            }
+            long requestId = event.hasField("requestId") ? event.getLong("requestId") : 0;
+            RouteStats stats = byRequest.get(requestId);
+            if (stats == null) {
+                stats = summary.routes.computeIfAbsent(UNATTRIBUTED, RouteStats::new);
+            }
+            long nanos = event.getDuration().toNanos();
+            if (is(event, MongoCommandEvent.NAME)) {
+                stats.mongo.add(nanos);
+                stats.replyBytes += event.getLong("replyBytes");
+            } else if (is(event, AggregationEvent.NAME)) {
+                stats.aggregations.add(nanos);
+                String operation = event.getString("operation");
+                String hash = event.getString("shapeHash");
+                summary.shapes.computeIfAbsent(operation + " " + hash,
+                        key -> new ShapeStats(operation, hash, event.getString("stages")))
+                        .add(event.getDuration());
+            } else if (is(event, EmbeddingEvent.NAME)) {
+                stats.embeddings.add(nanos);
+            }
+        }
+        return summary;
+    }
+
+    private static boolean is(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals(name);
+    }
+
+    /**
+     * Routes by total request time, then the requestless totals.
+     */
+    List<RouteStats> routes() {
+        List<RouteStats> sorted = new ArrayList<>(routes.values());
+        sorted.sort(Comparator.comparing((RouteStats stats) -> stats.route.equals(UNATTRIBUTED))
+                .thenComparing(Comparator.comparingLong(RouteStats::totalNanos).reversed()));
+        return sorted;
+    }
+
+    List<ShapeStats> shapes() {
+        List<ShapeStats> sorted = new ArrayList<>(shapes.values());
+        sorted.sort(Comparator.comparingLong(ShapeStats::totalNanos).reversed());
+        return sorted;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-40s %7s %6s %9s %9s %9s | %-18s %-18s %-18s %10s%n", "route", "count", "5xx",
+                "p50 ms", "p95 ms", "max ms", "mongo ms (cmds)", "agg ms (n)", "voyage ms (n)", "reply KiB");
+        out.println("Per request: mongo, agg, voyage and reply are means over the route's requests");
+        for (RouteStats stats : routes()) {
+            // Requestless work is a total, not a per-request mean
+            int per = Math.max(1, stats.durations.size());
+            out.printf("%-40s %7d %6d %9s %9s %9s | %-18s %-18s %-18s %10.1f%n",
+                    stats.route, stats.durations.size(), stats.serverErrors,
+                    millis(stats.percentile(0.50)), millis(stats.percentile(0.95)), millis(stats.percentile(1.0)),
+                    stats.mongo.describe(per), stats.aggregations.describe(per), stats.embeddings.describe(per),
+                    stats.replyBytes / 1024.0 / per);
+        }
+
+        if (!shapes.isEmpty()) {
+            out.println();
+            out.printf("%-32s %-16s %7s %9s %10s  %s%n", "aggregation", "shape", "count", "p50 ms", "total ms",
+                    "stages");
+            for (ShapeStats shape : shapes()) {
+                out.printf("%-32s %-16s %7d %9s %10s  %s%n", shape.operation, shape.hash, shape.durations.size(),
+                        millis(percentile(shape.durations, 0.50)), millis(shape.totalNanos()), shape.stages);
+            }
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * The nearest-rank percentile of the durations, in nanoseconds.
+     */
+    static long percentile(List<Long> nanos, double percentile) {
+        if (nanos.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(nanos);
+        sorted.sort(null);
+        int rank = (int) Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    /**
+     * The requests of one route and the work attributed to them.
+     */
+    static final class RouteStats {
+        final String route;
+        final List<Long> durations = new ArrayList<>();
+        int serverErrors;
+        final Timing mongo = new Timing();
+        final Timing aggregations = new Timing();
+        final Timing embeddings = new Timing();
+        long replyBytes;
+
+        RouteStats(String route) {
+            this.route = route;
+        }
+
+        void add(Duration duration, int status) {
+            durations.add(duration.toNanos());
+            if (status >= 500) {
+                serverErrors++;
+            }
+        }
+
+        long percentile(double percentile) {
+            return RecordingSummary.percentile(durations, percentile);
+        }
+
+        long totalNanos() {
+            return durations.stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    /**
+     * Count and total time of one kind of event.
+     */
+    static final class Timing {
+        int count;
+        long nanos;
+
+        void add(long eventNanos) {
+            count++;
+            nanos += eventNanos;
+        }
+
+        String describe(int requests) {
+            return String.format("%.1f (%.1f)", nanos / 1_000_000.0 / requests, (double) count / requests);
+        }
+    }
+
+    /**
+     * The runs of one aggregation pipeline shape.
+     */
+    static final class ShapeStats {
+        final String operation;
+        final String hash;
+        final String stages;
+        final List<Long> durations = new ArrayList<>();
+
+        ShapeStats(String operation, String hash, String stages) {
+            this.operation = operation;
+            this.hash = hash;
+            this.stages = stages;
+        }
+
+        void add(Duration duration) {
+            durations.add(duration.toNanos());
+        }
+
+        long totalNanos() {
+            return durations.stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mongodb.samplemflix.jfr;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records each request as an {@link HttpRequestEvent} and binds its {@link RecordedRequest} ID
+ * to the handling thread.
+ *
+ * <p>Async requests ({@code api.async.enabled=true}) are committed when the response is
+ * complete, not when the servlet thread is released. While the event is disabled the filter
+ * does nothing else.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long requestId = RecordedRequest.nextId();
+        long previous = RecordedRequest.bind(requestId);
+        event.begin();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            RecordedRequest.restore(previous);
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent asyncEvent) {
+                        commit(event, requestId, request, response.getStatus());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent asyncEvent) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent asyncEvent) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent asyncEvent) {
+                    }
+                });
+            } else {
+                // An exception escaping the chain becomes a 500 in the container
+                commit(event, requestId, request, failed ? 500 : response.getStatus());
+            }
+        }
+    }
+
+    private static void commit(HttpRequestEvent event, long requestId, HttpServletRequest request, int status) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestId = requestId;
+            event.method = request.getMethod();
+            event.route = route(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+            event.path = request.getRequestURI();
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /**
+     * The matched route pattern, or {@code <unmatched>} for requests no handler matched (404s),
+     * so that arbitrary paths do not each become a route of their own.
+     */
+    static String route(Object pattern) {
+        return pattern != null ? pattern.toString() : "<unmatched>";
+    }
+}
@@ -0,0 +1,52 @@
+package com.mongodb.samplemflix.jfr;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link RequestEventFilter}: records each request as an
+ * {@link HttpRequestEvent} and puts its {@link RecordedRequest} ID in the Reactor context.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestEventWebFilter implements WebFilter {
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (!event.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long requestId = RecordedRequest.nextId();
+        return Mono.defer(() -> {
+                    event.begin();
+                    return chain.filter(exchange);
+                })
+                .doFinally(signal -> {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        event.requestId = requestId;
+                        event.method = exchange.getRequest().getMethod().name();
+                        event.route = RequestEventFilter.route(
+                                exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+                        event.path = exchange.getRequest().getPath().value();
+                        event.status = status != null ? status.value() : 200;
+                        event.commit();
+                    }
+                })
+                .contextWrite(context -> context.put(RecordedRequest.CONTEXT_KEY, requestId));
+    }
+}
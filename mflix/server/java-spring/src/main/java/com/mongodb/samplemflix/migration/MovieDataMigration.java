@@ -0,0 +1,370 @@
+package com.mongodb.samplemflix.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.samplemflix.codec.MovieCodec;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.bson.BsonDocument;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Online migration that normalizes mistyped fields in the movies collection.
+ *
+ * <p>sample_mflix stores some years as strings such as "2010è" and some IMDB ratings and vote
+ * counts as empty strings. Until that is fixed, the report pipelines have to filter on
+ * {@code $type} and the vector search hydration has to null out non-int years per document.
+ * Once every movie is clean, the services switch to plain range predicates that can use
+ * {@code year_index} (see {@link #isNormalized()}).
+ *
+ * <p>Normalized fields:
+ * <ul>
+ *   <li>year: stored as an int; strings and other numbers are converted, unparsable values removed</li>
+ *   <li>imdb.rating: stored as a number; numeric strings are converted, empty strings removed</li>
+ *   <li>imdb.votes: stored as an int; converted or removed like year</li>
+ * </ul>
+ * Values are converted with the same rules {@link MovieCodec} applies when reading, so the API
+ * returns the same movies before and after the migration.
+ *
+ * <p>Lifecycle:
+ * <ol>
+ *   <li>At startup the progress document in the {@code migrations} collection is read on a
+ *       background thread. If a previous run completed and no dirty movie remains, the data is
+ *       reported as normalized without doing any work</li>
+ *   <li>Otherwise, if {@code mongodb.migration.enabled} is true, dirty movies are fixed in
+ *       {@code _id} order, in batches of {@code mongodb.migration.batch-size} with a pause of
+ *       {@code mongodb.migration.batch-delay-ms} between them so the migration does not compete
+ *       with API traffic. The last migrated {@code _id} is saved after each batch, so a restart
+ *       resumes where the previous run stopped</li>
+ *   <li>After the pass, a {@code $jsonSchema} validator is added to the collection to keep these
+ *       fields clean and the collection is checked for dirty movies again, rescanning from the
+ *       start until none is found (up to {@link #MAX_PASSES} passes). Then the run is marked
+ *       completed and a bulk {@link MovieChangeEvent} is published so in-memory indexes pick up
+ *       the converted values</li>
+ * </ol>
+ *
+ * <p>Each update is guarded by the values it was computed from, so a movie written by the API
+ * while the migration runs is left alone and picked up again by the rescan if still dirty. The
+ * data is only reported as normalized while the validator is in place, since without it the API
+ * can store a mistyped value again.
+ */
+@Component
+public class MovieDataMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieDataMigration.class);
+
+    static final String MIGRATION_ID = "normalize-movie-fields-v1";
+
+    private static final String MOVIES_COLLECTION = "movies";
+    private static final String MIGRATIONS_COLLECTION = "migrations";
+    private static final String IMDB_VOTES = "imdb.votes";
+
+    /**
+     * Passes over the collection before giving up on movies that stay dirty.
+     */
+    static final int MAX_PASSES = 3;
+
+    /**
+     * Movies with at least one field stored with a type other than its normalized type.
+     */
+    static final Bson DIRTY_FILTER = Filters.or(
+            Filters.and(Filters.exists(Movie.Fields.YEAR), Filters.not(Filters.type(Movie.Fields.YEAR, BsonType.INT32))),
+            Filters.and(Filters.exists(Movie.Fields.IMDB_RATING), Filters.not(Filters.type(Movie.Fields.IMDB_RATING, "number"))),
+            Filters.and(Filters.exists(IMDB_VOTES), Filters.not(Filters.type(IMDB_VOTES, BsonType.INT32)))
+    );
+
+    private final MongoDatabase database;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieCodec movieCodec = new MovieCodec();
+
+    @Value("${mongodb.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${mongodb.migration.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${mongodb.migration.batch-delay-ms:100}")
+    private long batchDelayMs = 100;
+
+    private ExecutorService executor;
+
+    private volatile boolean normalized;
+
+    public MovieDataMigration(MongoDatabase database, ApplicationEventPublisher eventPublisher) {
+        this.database = database;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Checks the migration status, and resumes the migration if enabled, on a background thread.
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "movie-data-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether every movie has an int (or no) year and a numeric (or no) IMDB rating, so queries
+     * can use plain range predicates instead of {@code $type} checks.
+     */
+    public boolean isNormalized() {
+        return normalized;
+    }
+
+    void run() {
+        try {
+            Document progress = migrations().find(Filters.eq("_id", MIGRATION_ID)).first();
+            if (progress != null && progress.getBoolean("completed", false)) {
+                // A dataset reloaded after the migration ran is dirty again, so check before trusting it
+                if (hasDirtyMovies()) {
+                    logger.warn("Migration '{}' completed earlier but dirty movies were found again", MIGRATION_ID);
+                } else if (hasValidator()) {
+                    normalized = true;
+                    logger.info("Movie data is normalized (migration '{}' completed)", MIGRATION_ID);
+                    return;
+                } else {
+                    // Without the validator the API can write mistyped values again at any time
+                    logger.warn("Migration '{}' completed earlier but the movies collection has no schema validator",
+                            MIGRATION_ID);
+                }
+                progress = null;
+            }
+
+            if (!enabled) {
+                logger.info("Movie data is not normalized; set MIGRATION_ENABLED=true to run migration '{}'",
+                        MIGRATION_ID);
+                return;
+            }
+
+            migrate(progress);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Migration '{}' stopped; it will resume on the next start", MIGRATION_ID);
+        } catch (Exception e) {
+            // Leave the data as it is: the queries keep working on dirty data
+            logger.error("Migration '{}' failed: {}", MIGRATION_ID, e.getMessage(), e);
+        }
+    }
+
+    private void migrate(Document progress) throws InterruptedException {
+        ObjectId lastId = progress != null ? progress.getObjectId("lastId") : null;
+        long modified = progress != null ? progress.get("modified", Number.class).longValue() : 0;
+        long start = System.nanoTime();
+        boolean validated = false;
+
+        logger.info("Running migration '{}'{}", MIGRATION_ID, lastId != null ? " from _id " + lastId : "");
+
+        for (int pass = 1; ; pass++) {
+            while (true) {
+                Bson filter = lastId != null ? Filters.and(Filters.gt("_id", lastId), DIRTY_FILTER) : DIRTY_FILTER;
+                List<RawBsonDocument> batch = movies().find(filter)
+                        .projection(Projections.include(Movie.Fields.YEAR, Movie.Fields.IMDB))
+                        .sort(Sorts.ascending("_id"))
+                        .limit(batchSize)
+                        .into(new ArrayList<>(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                List<WriteModel<RawBsonDocument>> updates = new ArrayList<>(batch.size());
+                for (RawBsonDocument movie : batch) {
+                    UpdateOneModel<RawBsonDocument> update = normalize(movie);
+                    if (update != null) {
+                        updates.add(update);
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    modified += movies().bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+                }
+
+                lastId = batch.get(batch.size() - 1).getObjectId("_id").getValue();
+                saveProgress(lastId, modified, false);
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchDelayMs);
+            }
+
+            // Keep API writes clean from here on, so the rescans below run out of work
+            if (!validated) {
+                validated = addValidator();
+            }
+            // An update guarded by values the API changed matched nothing, so a movie written during
+            // the pass can still be dirty behind lastId
+            if (!hasDirtyMovies()) {
+                break;
+            }
+            if (pass == MAX_PASSES) {
+                // Leave it incomplete so the next start rescans, rather than spin on a movie that cannot be fixed
+                saveProgress(null, modified, false);
+                logger.warn("Dirty movies remain after {} passes of migration '{}'; it will rescan on the next start",
+                        MAX_PASSES, MIGRATION_ID);
+                return;
+            }
+            logger.info("Dirty movies remain after pass {} of migration '{}'; rescanning from the start",
+                    pass, MIGRATION_ID);
+            lastId = null;
+            Thread.sleep(batchDelayMs);
+        }
+
+        saveProgress(lastId, modified, true);
+        normalized = validated;
+
+        if (validated) {
+            logger.info("Migration '{}' completed: {} movies normalized in {} ms",
+                    MIGRATION_ID, modified, (System.nanoTime() - start) / 1_000_000);
+        } else {
+            logger.warn("Migration '{}' completed: {} movies normalized in {} ms, but without the schema "
+                    + "validator queries keep their type checks",
+                    MIGRATION_ID, modified, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        if (modified > 0) {
+            eventPublisher.publishEvent(MovieChangeEvent.bulk());
+        }
+    }
+
+    /**
+     * Builds the update that normalizes one movie, or returns null if it is already clean.
+     *
+     * <p>The filter matches the movie's current values, so the update is skipped if the movie
+     * changed since it was read.
+     */
+    UpdateOneModel<RawBsonDocument> normalize(RawBsonDocument document) {
+        Movie movie = document.decode(movieCodec);
+        BsonDocument imdb = document.isDocument(Movie.Fields.IMDB) ? document.getDocument(Movie.Fields.IMDB) : null;
+
+        List<Bson> guards = new ArrayList<>();
+        List<Bson> changes = new ArrayList<>();
+        guards.add(Filters.eq("_id", document.get("_id")));
+
+        normalizeField(Movie.Fields.YEAR, document.get(Movie.Fields.YEAR), false,
+                movie.getYear(), guards, changes);
+        if (imdb != null) {
+            Movie.Imdb mapped = movie.getImdb();
+            normalizeField(Movie.Fields.IMDB_RATING, imdb.get("rating"), true,
+                    mapped != null ? mapped.getRating() : null, guards, changes);
+            normalizeField(IMDB_VOTES, imdb.get("votes"), false,
+                    mapped != null ? mapped.getVotes() : null, guards, changes);
+        }
+
+        if (changes.isEmpty()) {
+            return null;
+        }
+        // a normalized document is a new revision, so ETags taken before the migration go stale
+        changes.add(Updates.inc(Movie.Fields.VERSION, 1));
+        return new UpdateOneModel<>(Filters.and(guards), Updates.combine(changes));
+    }
+
+    private static void normalizeField(String field, BsonValue stored, boolean anyNumber, Object value,
+                                       List<Bson> guards, List<Bson> changes) {
+        if (stored == null || stored.isInt32() || (anyNumber && stored.isNumber())) {
+            return;
+        }
+        guards.add(Filters.eq(field, stored));
+        changes.add(value != null ? Updates.set(field, value) : Updates.unset(field));
+    }
+
+    /**
+     * Schema validator that keeps the normalized fields clean. Null is allowed so partial
+     * updates and documents without the field still validate.
+     */
+    static Document validator() {
+        return new Document("$jsonSchema", new Document("bsonType", "object")
+                .append("properties", new Document()
+                        .append(Movie.Fields.YEAR, new Document("bsonType", List.of("int", "null")))
+                        .append(Movie.Fields.IMDB, new Document("bsonType", "object")
+                                .append("properties", new Document()
+                                        .append("rating", new Document("bsonType", List.of("number", "null")))
+                                        .append("votes", new Document("bsonType", List.of("int", "null")))))));
+    }
+
+    /**
+     * Adds the schema validator, returning whether it is in place.
+     */
+    private boolean addValidator() {
+        try {
+            // "moderate" lets documents that somehow stayed invalid still be updated (and fixed)
+            database.runCommand(new Document("collMod", MOVIES_COLLECTION)
+                    .append("validator", validator())
+                    .append("validationLevel", "moderate"));
+            logger.info("Schema validator added to the movies collection");
+            return true;
+        } catch (Exception e) {
+            // collMod needs the dbAdmin role; the data is migrated but not reported as normalized
+            logger.warn("Could not add schema validator to the movies collection: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasValidator() {
+        Document collection = database.listCollections().filter(Filters.eq("name", MOVIES_COLLECTION)).first();
+        Document options = collection != null ? collection.get("options", Document.class) : null;
+        Document validator = options != null ? options.get("validator", Document.class) : null;
+        return validator != null && validator.containsKey("$jsonSchema");
+    }
+
+    private boolean hasDirtyMovies() {
+        return movies().find(DIRTY_FILTER).projection(Projections.include("_id")).first() != null;
+    }
+
+    private void saveProgress(ObjectId lastId, long modified, boolean completed) {
+        Document progress = new Document("_id", MIGRATION_ID)
+                .append("lastId", lastId)
+                .append("modified", modified)
+                .append("completed", completed)
+                .append("updatedAt", new Date());
+        migrations().replaceOne(Filters.eq("_id", MIGRATION_ID), progress, new ReplaceOptions().upsert(true));
+    }
+
+    private MongoCollection<RawBsonDocument> movies() {
+        return database.getCollection(MOVIES_COLLECTION, RawBsonDocument.class);
+    }
+
+    private MongoCollection<Document> migrations() {
+        return database.getCollection(MIGRATIONS_COLLECTION);
+    }
+}
@@ -62,9 +62,11 @@ public class Movie {
         public static final String AWARDS = "awards";
         public static final String IMDB = "imdb";
         public static final String IMDB_RATING = "imdb.rating";
+        public static final String IMDB_VOTES = "imdb.votes";
         public static final String TOMATOES = "tomatoes";
         public static final String METACRITIC = "metacritic";
         public static final String TYPE = "type";
+        public static final String VERSION = "version";
 
         private Fields() {
             // Private constructor to prevent instantiation
@@ -174,6 +176,12 @@ public class Movie {
      */
     private String type;
 
+    /**
+     * Write counter for optimistic concurrency, incremented by every update made through the API.
+     * Absent (null) on movies that were never updated, which counts as version 0.
+     */
+    private Integer version;
+
     /**
      * Nested class representing awards information.
      */
@@ -0,0 +1,44 @@
+package com.mongodb.samplemflix.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single autocomplete suggestion.
+ *
+ * <p>A suggestion is either a movie title or a person (director or cast member).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestion {
+
+    /**
+     * Text to display: the movie title or the person's name.
+     */
+    private String text;
+
+    /**
+     * Suggestion type: "title" or "person".
+     */
+    private String type;
+
+    /**
+     * Movie ObjectId as a string (titles only).
+     */
+    private String movieId;
+
+    /**
+     * Movie release year (titles only).
+     */
+    private Integer year;
+
+    /**
+     * Popularity used for ranking: IMDB votes for a title, total IMDB votes across
+     * all movies for a person.
+     */
+    private Long popularity;
+}
@@ -0,0 +1,47 @@
+package com.mongodb.samplemflix.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one operation of a bulk write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOperationResult {
+
+    public static final String STATUS_OK = "ok";
+    public static final String STATUS_FAILED = "failed";
+    public static final String STATUS_SKIPPED = "skipped";
+
+    /**
+     * Position of the operation in the request.
+     */
+    private int index;
+
+    /**
+     * Operation type, e.g. "updateMany".
+     */
+    private String type;
+
+    /**
+     * "ok", "failed", or "skipped" for operations after a failure in an ordered bulk write.
+     */
+    private String status;
+
+    /**
+     * ID of the inserted movie (insertOne only).
+     */
+    private String insertedId;
+
+    /**
+     * Server error message (failed operations only).
+     */
+    private String error;
+}
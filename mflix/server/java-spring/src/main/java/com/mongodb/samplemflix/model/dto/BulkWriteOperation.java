@@ -0,0 +1,47 @@
+package com.mongodb.samplemflix.model.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One operation of a {@code POST /api/movies/bulk} request.
+ *
+ * <p>Which fields are used depends on the type:
+ * <pre>
+ * - insertOne:              document
+ * - updateOne, updateMany:  filter, update
+ * - replaceOne:             filter, document
+ * - deleteOne, deleteMany:  filter
+ * </pre>
+ * Filters accept the same operators as the batch update and delete endpoints, and updates are
+ * applied with {@code $set}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteOperation {
+
+    /**
+     * Operation type: insertOne, updateOne, updateMany, replaceOne, deleteOne or deleteMany.
+     */
+    private String type;
+
+    /**
+     * Filter selecting the movies to update, replace or delete.
+     */
+    private Map<String, Object> filter;
+
+    /**
+     * Fields to set (updateOne and updateMany).
+     */
+    private Map<String, Object> update;
+
+    /**
+     * Movie to insert (insertOne) or replacement movie (replaceOne).
+     */
+    private CreateMovieRequest document;
+}
@@ -0,0 +1,28 @@
+package com.mongodb.samplemflix.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for {@code POST /api/movies/bulk}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteRequest {
+
+    /**
+     * Whether the operations run in order and stop at the first failure (default: true).
+     * Unordered operations all run, and each failure is reported on its own operation.
+     */
+    private Boolean ordered;
+
+    /**
+     * Operations to run.
+     */
+    private List<BulkWriteOperation> operations;
+}
@@ -0,0 +1,27 @@
+package com.mongodb.samplemflix.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for {@code POST /api/movies/bulk}.
+ *
+ * <p>The counts are totals over all operations that ran; MongoDB reports matched, modified and
+ * deleted counts per bulk write, not per operation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteResponse {
+    private boolean ordered;
+    private long insertedCount;
+    private long matchedCount;
+    private long modifiedCount;
+    private long deletedCount;
+    private long failedCount;
+    private List<BulkOperationResult> results;
+}
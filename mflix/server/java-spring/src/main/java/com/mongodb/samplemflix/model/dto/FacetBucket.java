@@ -0,0 +1,39 @@
+package com.mongodb.samplemflix.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one range of a numeric facet (year or IMDB rating) in the browse facets result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetBucket {
+
+    /**
+     * Lower bound of the range (inclusive).
+     */
+    private Number min;
+
+    /**
+     * Upper bound of the range: exclusive for fixed buckets, the highest value in the bucket
+     * for automatic buckets.
+     */
+    private Number max;
+
+    /**
+     * Number of movies in the range.
+     */
+    private Long count;
+
+    /**
+     * Average IMDB rating of the movies in the range (year buckets only).
+     */
+    private Double averageRating;
+}
@@ -0,0 +1,27 @@
+package com.mongodb.samplemflix.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one value of a facet field (genre, country, language or rating) and the number of
+ * movies that have it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValueCount {
+
+    /**
+     * Facet value, e.g. "Drama" for genres or "PG-13" for rated.
+     */
+    private String value;
+
+    /**
+     * Number of movies with this value.
+     */
+    private Long count;
+}
@@ -0,0 +1,38 @@
+package com.mongodb.samplemflix.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the browse facets result: distributions of the movies matching a set of list filters,
+ * computed in a single $facet aggregation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieFacetsResult {
+
+    /**
+     * Number of movies matching the filters.
+     */
+    private Long total;
+
+    /**
+     * Genres of the matching movies with their counts, most common first.
+     */
+    private List<FacetValueCount> genres;
+
+    /**
+     * Year ranges: decades in fixed mode, evenly filled ranges in auto mode.
+     */
+    private List<FacetBucket> years;
+
+    /**
+     * IMDB rating ranges: two-point bands in fixed mode, evenly filled ranges in auto mode.
+     */
+    private List<FacetBucket> ratings;
+}
@@ -20,9 +20,10 @@ import lombok.NoArgsConstructor;
 public class SearchMoviesResponse {
     
     /**
-     * List of movies matching the search criteria.
+     * List of movies matching the search criteria: {@link Movie} objects, or raw BSON documents
+     * when the passthrough read path is enabled.
      */
-    private List<Movie> movies;
+    private List<?> movies;
     
     /**
      * Total count of movies matching the search criteria.
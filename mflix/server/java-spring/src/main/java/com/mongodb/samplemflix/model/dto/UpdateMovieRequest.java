@@ -1,9 +1,14 @@
 package com.mongodb.samplemflix.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 /**
@@ -11,7 +16,11 @@ import lombok.NoArgsConstructor;
  *
  * <p>This DTO is used for PATCH /api/movies/{id} requests.
  * All fields are optional since partial updates are allowed.
- * Any field that is null will not be updated in the database.
+ * A field left out of the request body is not updated; a field sent as an explicit
+ * {@code null} is removed from the movie.
+ *
+ * <p>The setters record explicit nulls: Jackson only calls a setter for a property that is
+ * present in the body, so the two cases can be told apart after deserialization.
  */
 @Data
 @Builder
@@ -83,4 +92,130 @@ public class UpdateMovieRequest {
      * Poster image URL (optional).
      */
     private String poster;
+
+    /**
+     * IMDB rating information (optional); only the fields present are updated.
+     */
+    private Imdb imdb;
+
+    /**
+     * Properties sent as an explicit null.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final Set<String> explicitNulls = new HashSet<>();
+
+    /**
+     * Whether the property was sent as an explicit null, i.e. should be removed.
+     */
+    public boolean isExplicitNull(String property) {
+        return explicitNulls.contains(property);
+    }
+
+    public void setTitle(String title) {
+        this.title = track(explicitNulls, "title", title);
+    }
+
+    public void setYear(Integer year) {
+        this.year = track(explicitNulls, "year", year);
+    }
+
+    public void setPlot(String plot) {
+        this.plot = track(explicitNulls, "plot", plot);
+    }
+
+    public void setFullplot(String fullplot) {
+        this.fullplot = track(explicitNulls, "fullplot", fullplot);
+    }
+
+    public void setGenres(List<String> genres) {
+        this.genres = track(explicitNulls, "genres", genres);
+    }
+
+    public void setDirectors(List<String> directors) {
+        this.directors = track(explicitNulls, "directors", directors);
+    }
+
+    public void setWriters(List<String> writers) {
+        this.writers = track(explicitNulls, "writers", writers);
+    }
+
+    public void setCast(List<String> cast) {
+        this.cast = track(explicitNulls, "cast", cast);
+    }
+
+    public void setCountries(List<String> countries) {
+        this.countries = track(explicitNulls, "countries", countries);
+    }
+
+    public void setLanguages(List<String> languages) {
+        this.languages = track(explicitNulls, "languages", languages);
+    }
+
+    public void setRated(String rated) {
+        this.rated = track(explicitNulls, "rated", rated);
+    }
+
+    public void setRuntime(Integer runtime) {
+        this.runtime = track(explicitNulls, "runtime", runtime);
+    }
+
+    public void setPoster(String poster) {
+        this.poster = track(explicitNulls, "poster", poster);
+    }
+
+    public void setImdb(Imdb imdb) {
+        this.imdb = track(explicitNulls, "imdb", imdb);
+    }
+
+    private static <T> T track(Set<String> explicitNulls, String property, T value) {
+        if (value == null) {
+            explicitNulls.add(property);
+        } else {
+            explicitNulls.remove(property);
+        }
+        return value;
+    }
+
+    /**
+     * Partial update of the nested IMDB information, e.g. {@code {"imdb": {"rating": 7.9}}}.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Imdb {
+
+        /**
+         * IMDB rating (optional).
+         */
+        private Double rating;
+
+        /**
+         * Number of IMDB votes (optional).
+         */
+        private Integer votes;
+
+        /**
+         * Properties sent as an explicit null.
+         */
+        @JsonIgnore
+        @Getter(AccessLevel.NONE)
+        private final Set<String> explicitNulls = new HashSet<>();
+
+        /**
+         * Whether the property was sent as an explicit null, i.e. should be removed.
+         */
+        public boolean isExplicitNull(String property) {
+            return explicitNulls.contains(property);
+        }
+
+        public void setRating(Double rating) {
+            this.rating = track(explicitNulls, "rating", rating);
+        }
+
+        public void setVotes(Integer votes) {
+            this.votes = track(explicitNulls, "votes", votes);
+        }
+    }
 }
@@ -0,0 +1,551 @@
+package com.mongodb.samplemflix.search;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory type-ahead index over movie titles and people names (directors and cast).
+ *
+ * <p>Suggestions live in a {@link PrefixTrie} whose nodes cache their ten most popular
+ * entries, so a lookup costs one walk down the typed prefix and never touches MongoDB.
+ * Popularity is {@code imdb.votes}: a title is weighted by its own votes and a person by the
+ * sum of votes across their movies.
+ *
+ * <p>Every suggestion is reachable from the start of any word, so "knight" finds
+ * "The Dark Knight" and "nolan" finds "Christopher Nolan". Keys are accent- and
+ * case-insensitive.
+ *
+ * <p>Lifecycle:
+ * <ol>
+ *   <li>At startup the movies collection is scanned on a background thread; until the scan
+ *       finishes {@link #isReady()} returns false</li>
+ *   <li>Single-movie writes ({@link MovieChangeEvent} with saved movies or deleted IDs) are
+ *       applied incrementally</li>
+ *   <li>Filter-based batch writes change an unknown set of movies, so they schedule a full
+ *       rebuild. Events that arrive during a rebuild are replayed on the new index</li>
+ * </ol>
+ *
+ * <p>Memory is bounded by {@code autocomplete.max-keys}: the build admits suggestions in
+ * descending popularity until the budget is spent, and incremental inserts that push the
+ * index past the budget by more than 10% trigger a rebuild that trims it back.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    private static final String MOVIES_COLLECTION = "movies";
+
+    /**
+     * Maximum number of suggestions returned by a lookup (and cached per trie node).
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * Shortest word suffix indexed as its own key; single letters would only add noise.
+     */
+    private static final int MIN_SUFFIX_LENGTH = 2;
+
+    private static final long REBUILD_DELAY_MS = 1000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static final String TYPE_TITLE = "title";
+    static final String TYPE_PERSON = "person";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${autocomplete.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${autocomplete.max-keys:500000}")
+    private int maxKeys = 500_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+
+    // Guarded by lock
+    private State state = new State();
+    private List<MovieChangeEvent> pendingEvents;
+
+    private volatile boolean ready;
+
+    public AutocompleteIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Starts the initial build on a background thread if autocomplete is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autocomplete-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lock.writeLock().lock();
+        try {
+            // Capture writes that land before the first scan starts
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        scheduleRebuild(0);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the initial build has finished and the index can serve lookups.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the most popular titles and people whose name has a word starting with the query.
+     *
+     * @param query the text typed so far
+     * @param limit maximum number of suggestions, at most {@link #MAX_SUGGESTIONS}
+     * @return suggestions ordered by popularity, most popular first
+     */
+    public List<AutocompleteSuggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return state.trie.lookup(prefix).stream()
+                    .limit(limit)
+                    .map(Entry::toSuggestion)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps the index in step with writes made through the movie service.
+     */
+    @EventListener
+    public void onMovieChange(MovieChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isBulk()) {
+            scheduleRebuild(REBUILD_DELAY_MS);
+            return;
+        }
+
+        boolean overBudget;
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(state, event);
+            overBudget = state.trie.keyCount() > maxKeys + maxKeys / 10;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (overBudget) {
+            scheduleRebuild(REBUILD_DELAY_MS);
+        }
+    }
+
+    /**
+     * Returns size statistics for the index.
+     */
+    public IndexStats stats() {
+        lock.readLock().lock();
+        try {
+            return new IndexStats(state.movies.size(), state.people.size(), state.trie.keyCount());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Schedules a rebuild unless one is already waiting, so a burst of batch writes
+     * produces a single rebuild.
+     */
+    private void scheduleRebuild(long delayMs) {
+        if (executor != null && rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        long start = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents == null) {
+                pendingEvents = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State rebuilt;
+        try {
+            rebuilt = build(scan());
+        } catch (Exception e) {
+            logger.error("Failed to build autocomplete index: {}", e.getMessage(), e);
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Replay writes that raced with the scan; applying an event twice is harmless
+            pendingEvents.forEach(event -> apply(rebuilt, event));
+            pendingEvents = null;
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        IndexStats stats = stats();
+        logger.info("Autocomplete index built: {} titles, {} people, {} keys in {} ms",
+                stats.titles(), stats.people(), stats.keys(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<MovieSource> scan() {
+        List<MovieSource> sources = new ArrayList<>();
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(MOVIES_COLLECTION).find()
+                .projection(Projections.include(Movie.Fields.TITLE, Movie.Fields.YEAR,
+                        Movie.Fields.IMDB + ".votes", Movie.Fields.DIRECTORS, Movie.Fields.CAST))
+                .batchSize(2000)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                MovieSource source = MovieSource.from(cursor.next());
+                if (source != null) {
+                    sources.add(source);
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Builds a fresh index, admitting the most popular suggestions first until the key
+     * budget is spent.
+     */
+    State build(List<MovieSource> sources) {
+        State built = new State();
+        sources.forEach(built::track);
+
+        List<Entry> candidates = new ArrayList<>(built.movies.size() + built.people.size());
+        built.movies.values().forEach(movie -> candidates.add(movie.title));
+        candidates.addAll(built.people.values());
+        candidates.sort(Comparator.comparingLong(Entry::weight).reversed());
+
+        for (Entry entry : candidates) {
+            if (built.trie.keyCount() + entry.keys.size() > maxKeys) {
+                continue;
+            }
+            built.admit(entry);
+        }
+        return built;
+    }
+
+    private static void apply(State target, MovieChangeEvent event) {
+        event.getDeletedIds().forEach(target::removeMovie);
+        for (Movie movie : event.getSavedMovies()) {
+            MovieSource source = MovieSource.from(movie);
+            if (source != null) {
+                target.removeMovie(source.id());
+                target.addMovie(source);
+            }
+        }
+    }
+
+    /**
+     * Folds a string to its lookup form: accents removed, lower case, punctuation collapsed
+     * to single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Returns the normalized text plus every suffix that starts at a word boundary.
+     */
+    static List<String> keysFor(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            String suffix = normalized.substring(i + 1);
+            if (suffix.length() >= MIN_SUFFIX_LENGTH) {
+                keys.add(suffix);
+            }
+        }
+        return List.copyOf(keys);
+    }
+
+    /**
+     * Reads a count that the sample data sometimes stores as a string (e.g. {@code "1,234"}
+     * or {@code ""}); anything unreadable counts as zero.
+     */
+    static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String s) {
+            String digits = s.replaceAll("[^0-9]", "");
+            if (!digits.isEmpty() && digits.length() < 19) {
+                return Long.parseLong(digits);
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Reads a year that may be stored as a number or as a string such as {@code "2010è"}.
+     */
+    static Integer toYear(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String s && s.length() >= 4 && s.substring(0, 4).chars().allMatch(Character::isDigit)) {
+            return Integer.parseInt(s.substring(0, 4));
+        }
+        return null;
+    }
+
+    /**
+     * Size statistics: tracked titles, tracked people, and keys held in the trie.
+     */
+    public record IndexStats(int titles, int people, int keys) {
+    }
+
+    /**
+     * The fields of a movie that autocomplete needs, read tolerantly from either a raw
+     * document or a mapped {@link Movie}.
+     */
+    record MovieSource(ObjectId id, String title, Integer year, long votes, List<String> people) {
+
+        static MovieSource from(Document document) {
+            Object id = document.get(Movie.Fields.ID);
+            if (!(id instanceof ObjectId objectId)) {
+                return null;
+            }
+            Object title = document.get(Movie.Fields.TITLE);
+            Object imdb = document.get(Movie.Fields.IMDB);
+            long votes = imdb instanceof Document imdbDocument ? toLong(imdbDocument.get("votes")) : 0L;
+
+            Set<String> people = new LinkedHashSet<>();
+            addNames(people, document.get(Movie.Fields.DIRECTORS));
+            addNames(people, document.get(Movie.Fields.CAST));
+
+            return new MovieSource(objectId, title instanceof String s ? s : null,
+                    toYear(document.get(Movie.Fields.YEAR)), votes, List.copyOf(people));
+        }
+
+        static MovieSource from(Movie movie) {
+            if (movie.getId() == null) {
+                return null;
+            }
+            long votes = movie.getImdb() != null && movie.getImdb().getVotes() != null
+                    ? movie.getImdb().getVotes() : 0L;
+
+            Set<String> people = new LinkedHashSet<>();
+            addNames(people, movie.getDirectors());
+            addNames(people, movie.getCast());
+
+            return new MovieSource(movie.getId(), movie.getTitle(), movie.getYear(), votes, List.copyOf(people));
+        }
+
+        private static void addNames(Set<String> people, Object value) {
+            if (value instanceof List<?> list) {
+                for (Object element : list) {
+                    if (element instanceof String name && !name.isBlank()) {
+                        people.add(name.trim());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A suggestion stored in the trie. People entries are shared by all their movies, and
+     * their weight changes as movies are added or removed.
+     */
+    static final class Entry {
+
+        final String text;
+        final String type;
+        final ObjectId movieId;
+        final Integer year;
+        final List<String> keys;
+        long weight;
+        int movieCount;
+        boolean admitted;
+
+        Entry(String text, String type, ObjectId movieId, Integer year, long weight) {
+            this.text = text;
+            this.type = type;
+            this.movieId = movieId;
+            this.year = year;
+            this.weight = weight;
+            this.keys = keysFor(text);
+        }
+
+        long weight() {
+            return weight;
+        }
+
+        AutocompleteSuggestion toSuggestion() {
+            return AutocompleteSuggestion.builder()
+                    .text(text)
+                    .type(type)
+                    .movieId(movieId != null ? movieId.toHexString() : null)
+                    .year(year)
+                    .popularity(weight)
+                    .build();
+        }
+    }
+
+    private record TrackedMovie(Entry title, List<String> people, long votes) {
+    }
+
+    /**
+     * One generation of the index: the trie plus the bookkeeping needed to update it.
+     * Rebuilds create a new State and swap it in.
+     */
+    static final class State {
+
+        final PrefixTrie<Entry> trie = new PrefixTrie<>(MAX_SUGGESTIONS, Entry::weight,
+                Comparator.comparing((Entry entry) -> entry.text).thenComparing(entry -> entry.type));
+        final Map<ObjectId, TrackedMovie> movies = new HashMap<>();
+        final Map<String, Entry> people = new HashMap<>();
+
+        /**
+         * Records a movie and its people without touching the trie (used during the build).
+         */
+        void track(MovieSource source) {
+            Entry title = source.title() != null && !source.title().isBlank()
+                    ? new Entry(source.title(), TYPE_TITLE, source.id(), source.year(), source.votes())
+                    : null;
+            movies.put(source.id(), new TrackedMovie(title, source.people(), source.votes()));
+            for (String name : source.people()) {
+                Entry person = people.computeIfAbsent(name,
+                        n -> new Entry(n, TYPE_PERSON, null, null, 0));
+                person.weight += source.votes();
+                person.movieCount++;
+            }
+        }
+
+        void admit(Entry entry) {
+            if (entry == null || entry.keys.isEmpty()) {
+                return;
+            }
+            entry.keys.forEach(key -> trie.insert(key, entry));
+            entry.admitted = true;
+        }
+
+        private void withdraw(Entry entry) {
+            if (entry != null && entry.admitted) {
+                entry.keys.forEach(key -> trie.remove(key, entry));
+                entry.admitted = false;
+            }
+        }
+
+        void addMovie(MovieSource source) {
+            track(source);
+            admit(movies.get(source.id()).title());
+            for (String name : source.people()) {
+                // Re-insert so the cached top-k lists see the new weight
+                Entry person = people.get(name);
+                withdraw(person);
+                admit(person);
+            }
+        }
+
+        void removeMovie(ObjectId id) {
+            TrackedMovie movie = movies.remove(id);
+            if (movie == null) {
+                return;
+            }
+            withdraw(movie.title());
+            for (String name : movie.people()) {
+                Entry person = people.get(name);
+                if (person == null) {
+                    continue;
+                }
+                boolean wasAdmitted = person.admitted;
+                withdraw(person);
+                person.weight -= movie.votes();
+                person.movieCount--;
+                if (person.movieCount <= 0) {
+                    people.remove(name);
+                } else if (wasAdmitted) {
+                    admit(person);
+                }
+            }
+        }
+    }
+}
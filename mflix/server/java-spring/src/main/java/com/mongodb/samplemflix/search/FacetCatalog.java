@@ -0,0 +1,343 @@
+package com.mongodb.samplemflix.search;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory catalogue of the distinct values of the movie facet fields ({@value Movie.Fields#GENRES},
+ * {@value Movie.Fields#COUNTRIES}, {@value Movie.Fields#LANGUAGES}, {@value Movie.Fields#RATED})
+ * with the number of movies that have each value.
+ *
+ * <p>Every value carries a reference count. A movie counts once per value, however often the value
+ * repeats in its array, and a value whose count drops to zero is removed, so deleting the last
+ * Film-Noir movie drops "Film-Noir" from the genre list. Lookups never touch MongoDB.
+ *
+ * <p>Lifecycle, the same as {@link AutocompleteIndex}:
+ * <ol>
+ *   <li>At startup the movies collection is scanned on a background thread; until the scan
+ *       finishes {@link #isReady()} returns false and callers fall back to querying MongoDB</li>
+ *   <li>Single-movie writes ({@link MovieChangeEvent} with saved movies or deleted IDs) are
+ *       applied incrementally: the movie's previous values are released and its new values
+ *       counted</li>
+ *   <li>Filter-based batch writes change an unknown set of movies, so they schedule a full
+ *       rebuild. Events that arrive during a rebuild are replayed on the new catalogue</li>
+ * </ol>
+ */
+@Component
+public class FacetCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetCatalog.class);
+
+    private static final String MOVIES_COLLECTION = "movies";
+
+    private static final long REBUILD_DELAY_MS = 1000;
+
+    /**
+     * Fields the catalogue tracks, in response order.
+     */
+    public static final List<String> FIELDS = List.of(
+            Movie.Fields.GENRES, Movie.Fields.COUNTRIES, Movie.Fields.LANGUAGES, Movie.Fields.RATED);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${facet-catalog.enabled:true}")
+    private boolean enabled = true;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+
+    // Guarded by lock
+    private State state = new State();
+    private List<MovieChangeEvent> pendingEvents;
+
+    private volatile boolean ready;
+
+    public FacetCatalog(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Starts the initial scan on a background thread if the catalogue is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "facet-catalog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lock.writeLock().lock();
+        try {
+            // Capture writes that land before the first scan starts
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        scheduleRebuild(0);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the initial scan has finished and the catalogue can serve lookups.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the distinct values of a facet field, sorted alphabetically.
+     *
+     * @param field one of {@link #FIELDS}
+     */
+    public List<String> values(String field) {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(state.counts(field).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the values of a facet field with their movie counts, most common first
+     * (ties alphabetically).
+     *
+     * @param field one of {@link #FIELDS}
+     */
+    public List<FacetValueCount> counts(String field) {
+        List<FacetValueCount> counts = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            state.counts(field).forEach((value, count) -> counts.add(new FacetValueCount(value, count)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Stable sort keeps the alphabetical order of the TreeMap among equal counts
+        counts.sort(Comparator.comparingLong(FacetValueCount::getCount).reversed());
+        return counts;
+    }
+
+    /**
+     * Keeps the catalogue in step with writes made through the movie service.
+     */
+    @EventListener
+    public void onMovieChange(MovieChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isBulk()) {
+            scheduleRebuild(REBUILD_DELAY_MS);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(state, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Schedules a rebuild unless one is already waiting, so a burst of batch writes
+     * produces a single rebuild.
+     */
+    private void scheduleRebuild(long delayMs) {
+        if (executor != null && rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        long start = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents == null) {
+                pendingEvents = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State rebuilt;
+        try {
+            rebuilt = build(scan());
+        } catch (Exception e) {
+            logger.error("Failed to build facet catalog: {}", e.getMessage(), e);
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Replay writes that raced with the scan; applying an event twice is harmless
+            pendingEvents.forEach(event -> apply(rebuilt, event));
+            pendingEvents = null;
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        logger.info("Facet catalog built: {} movies, {} genres in {} ms", rebuilt.movies.size(),
+                rebuilt.counts(Movie.Fields.GENRES).size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<MovieFacets> scan() {
+        List<MovieFacets> movies = new ArrayList<>();
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(MOVIES_COLLECTION).find()
+                .projection(Projections.include(FIELDS))
+                .batchSize(2000)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                MovieFacets facets = MovieFacets.from(cursor.next());
+                if (facets != null) {
+                    movies.add(facets);
+                }
+            }
+        }
+        return movies;
+    }
+
+    static State build(List<MovieFacets> movies) {
+        State built = new State();
+        movies.forEach(built::addMovie);
+        return built;
+    }
+
+    private static void apply(State target, MovieChangeEvent event) {
+        event.getDeletedIds().forEach(target::removeMovie);
+        for (Movie movie : event.getSavedMovies()) {
+            MovieFacets facets = MovieFacets.from(movie);
+            if (facets != null) {
+                target.removeMovie(facets.id());
+                target.addMovie(facets);
+            }
+        }
+    }
+
+    /**
+     * The facet values of one movie, read tolerantly from either a raw document or a mapped
+     * {@link Movie}. Values are trimmed, blanks dropped and duplicates collapsed; the lists
+     * are parallel to {@link #FIELDS}.
+     */
+    record MovieFacets(ObjectId id, List<List<String>> values) {
+
+        static MovieFacets from(Document document) {
+            if (!(document.get(Movie.Fields.ID) instanceof ObjectId id)) {
+                return null;
+            }
+            return new MovieFacets(id, FIELDS.stream().map(field -> clean(document.get(field))).toList());
+        }
+
+        static MovieFacets from(Movie movie) {
+            if (movie.getId() == null) {
+                return null;
+            }
+            return new MovieFacets(movie.getId(), List.of(clean(movie.getGenres()), clean(movie.getCountries()),
+                    clean(movie.getLanguages()), clean(movie.getRated())));
+        }
+
+        private static List<String> clean(Object value) {
+            Set<String> values = new LinkedHashSet<>();
+            if (value instanceof List<?> list) {
+                list.forEach(element -> addValue(values, element));
+            } else {
+                addValue(values, value);
+            }
+            return List.copyOf(values);
+        }
+
+        private static void addValue(Set<String> values, Object value) {
+            if (value instanceof String s && !s.isBlank()) {
+                values.add(s.trim());
+            }
+        }
+    }
+
+    /**
+     * One generation of the catalogue: per-field value counts plus each movie's values, which
+     * are needed to release them on update or delete. Rebuilds create a new State and swap it in.
+     */
+    static final class State {
+
+        final Map<ObjectId, MovieFacets> movies = new HashMap<>();
+        final List<TreeMap<String, Long>> counts = FIELDS.stream().map(field -> new TreeMap<String, Long>()).toList();
+
+        TreeMap<String, Long> counts(String field) {
+            return counts.get(FIELDS.indexOf(field));
+        }
+
+        void addMovie(MovieFacets facets) {
+            movies.put(facets.id(), facets);
+            for (int i = 0; i < FIELDS.size(); i++) {
+                TreeMap<String, Long> fieldCounts = counts.get(i);
+                facets.values().get(i).forEach(value -> fieldCounts.merge(value, 1L, Long::sum));
+            }
+        }
+
+        void removeMovie(ObjectId id) {
+            MovieFacets facets = movies.remove(id);
+            if (facets == null) {
+                return;
+            }
+            for (int i = 0; i < FIELDS.size(); i++) {
+                TreeMap<String, Long> fieldCounts = counts.get(i);
+                // A null result removes the value once its last movie is gone
+                facets.values().get(i).forEach(value ->
+                        fieldCounts.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null));
+            }
+        }
+    }
+}
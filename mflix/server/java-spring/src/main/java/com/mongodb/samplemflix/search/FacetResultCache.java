@@ -0,0 +1,138 @@
+package com.mongodb.samplemflix.search;
+
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of browse facet results for {@code GET /api/movies/facets}.
+ *
+ * <p>Entries are keyed by the filter signature ({@link Key}): the list filters in canonical form
+ * plus the bucket mode and count. Text and genre filters are trimmed and lower-cased, since text
+ * search and the genre regex both ignore case. Paging and sort parameters do not affect facets
+ * and are not part of the key.
+ *
+ * <p>Bounds, as in {@link SearchResultCache}:
+ * <ul>
+ *   <li>{@code facets.cache.max-entries}: least recently used entries are evicted first</li>
+ *   <li>{@code facets.cache.ttl-seconds}: entries expire so writes made outside this
+ *       service eventually become visible</li>
+ * </ul>
+ * Any write through the movie service clears the cache, and a generation counter keeps a
+ * result computed before the write from being stored after it.
+ */
+@Component
+public class FacetResultCache {
+
+    @Value("${facets.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${facets.cache.max-entries:500}")
+    private int maxEntries = 500;
+
+    @Value("${facets.cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    LongSupplier clock = System::nanoTime;
+
+    // Guarded by this
+    private final LinkedHashMap<Key, CachedFacets> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedFacets> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private long generation;
+
+    /**
+     * Canonical filter signature of a browse facets request.
+     */
+    public record Key(String q, String genre, Integer year, Double minRating, Double maxRating,
+                      String mode, int buckets) {
+    }
+
+    private record CachedFacets(MovieFacetsResult result, long storedAt) {
+    }
+
+    /**
+     * Builds the cache key for a request.
+     *
+     * @param query the list filters; paging and sort are ignored
+     * @param mode the validated bucket mode
+     * @param buckets the clamped automatic bucket count
+     */
+    public static Key key(MovieSearchQuery query, String mode, int buckets) {
+        return new Key(canonical(query.getQ()), canonical(query.getGenre()), query.getYear(),
+                query.getMinRating(), query.getMaxRating(), mode, buckets);
+    }
+
+    private static String canonical(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached result for the key, or null on a miss or expired entry.
+     */
+    public synchronized MovieFacetsResult get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedFacets cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (clock.getAsLong() - cached.storedAt() > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            entries.remove(key);
+            return null;
+        }
+        return cached.result();
+    }
+
+    /**
+     * Current generation; capture it before running the aggregation and pass it to {@link #put}.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores a result unless the cache was invalidated since {@code generation}.
+     */
+    public synchronized void put(Key key, long generation, MovieFacetsResult result) {
+        if (enabled && generation == this.generation) {
+            entries.put(key, new CachedFacets(result, clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Clears every entry after a movie write.
+     */
+    @EventListener
+    public void onMovieChange(MovieChangeEvent event) {
+        invalidateAll();
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,322 @@
+package com.mongodb.samplemflix.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index for a single movie field (e.g. {@code plot} or {@code cast}).
+ *
+ * <p>Holds a sorted term dictionary, a compressed {@link PostingsList} per term, and the
+ * per-document field lengths needed for BM25 scoring. The sorted dictionary makes the
+ * fuzzy-match prefix requirement cheap: only terms sharing the prefix are examined.
+ *
+ * <p>Query methods return a map of document ordinal to score. Deleted documents are
+ * skipped using the tombstone set owned by {@link LocalSearchIndex}.
+ */
+final class FieldIndex {
+
+    /**
+     * BM25 term frequency saturation (Lucene default).
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * BM25 length normalization (Lucene default).
+     */
+    private static final double B = 0.75;
+
+    /**
+     * Maximum number of dictionary terms a fuzzy term expands to (Atlas Search default).
+     */
+    static final int MAX_FUZZY_EXPANSIONS = 50;
+
+    private final String name;
+    private final NavigableMap<String, PostingsList> terms = new TreeMap<>();
+    private int[] lengths = new int[1024];
+    private int docCount;
+    private long totalLength;
+
+    FieldIndex(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Adds the analyzed field of a document to the index.
+     */
+    void add(int doc, TextAnalyzer.AnalyzedField field) {
+        if (field.length() == 0) {
+            return;
+        }
+        if (doc >= lengths.length) {
+            lengths = Arrays.copyOf(lengths, Math.max(lengths.length * 2, doc + 1));
+        }
+        lengths[doc] = field.length();
+        docCount++;
+        totalLength += field.length();
+
+        field.terms().forEach((term, positions) ->
+                terms.computeIfAbsent(term, t -> new PostingsList()).append(doc, positions));
+    }
+
+    /**
+     * Removes a document from the length statistics.
+     *
+     * <p>Postings are left in place; the document is filtered out through the tombstone set
+     * until the next compaction.
+     */
+    void remove(int doc) {
+        if (doc < lengths.length && lengths[doc] > 0) {
+            docCount--;
+            totalLength -= lengths[doc];
+            lengths[doc] = 0;
+        }
+    }
+
+    /**
+     * Rewrites all postings after compaction, dropping removed documents.
+     */
+    void remap(int[] remap, int newDocCount) {
+        int[] newLengths = new int[Math.max(newDocCount, 1024)];
+        for (int oldDoc = 0; oldDoc < remap.length && oldDoc < lengths.length; oldDoc++) {
+            if (remap[oldDoc] >= 0) {
+                newLengths[remap[oldDoc]] = lengths[oldDoc];
+            }
+        }
+        lengths = newLengths;
+
+        terms.replaceAll((term, postings) -> postings.remap(remap));
+        terms.values().removeIf(postings -> postings.docFreq() == 0);
+    }
+
+    void trim() {
+        terms.values().forEach(PostingsList::trim);
+    }
+
+    /**
+     * Scores documents containing the term.
+     */
+    Map<Integer, Double> term(String term, BitSet deleted) {
+        Map<Integer, Double> scores = new HashMap<>();
+        PostingsList postings = terms.get(term);
+        if (postings == null) {
+            return scores;
+        }
+        double idf = idf(postings.docFreq());
+        PostingsList.Cursor cursor = postings.cursor();
+        while (cursor.next()) {
+            if (!deleted.get(cursor.doc())) {
+                scores.put(cursor.doc(), idf * tfNorm(cursor.freq(), cursor.doc()));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Scores documents containing every term, mirroring the Atlas {@code text} operator with
+     * {@code matchCriteria: "all"}.
+     *
+     * <p>With {@code fuzzy} enabled, each query term matches any dictionary term within one
+     * edit that shares the first {@code prefixLength} characters. A document's score for a
+     * query term is the best score among the expansions it contains.
+     */
+    Map<Integer, Double> allTerms(List<String> queryTerms, boolean fuzzy, int prefixLength, BitSet deleted) {
+        Map<Integer, Double> result = null;
+        for (String queryTerm : queryTerms) {
+            Map<Integer, Double> termScores = new HashMap<>();
+            List<String> expansions = fuzzy ? fuzzyExpand(queryTerm, prefixLength) : List.of(queryTerm);
+            for (String expansion : expansions) {
+                term(expansion, deleted).forEach((doc, score) -> termScores.merge(doc, score, Math::max));
+            }
+            result = result == null ? termScores : intersectAndSum(result, termScores);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result != null ? result : new HashMap<>();
+    }
+
+    /**
+     * Scores documents containing the terms as a consecutive phrase, mirroring the Atlas
+     * {@code phrase} operator with the default {@code slop} of 0.
+     */
+    Map<Integer, Double> phrase(List<String> queryTerms, BitSet deleted) {
+        Map<Integer, Double> scores = new HashMap<>();
+        if (queryTerms.isEmpty()) {
+            return scores;
+        }
+        if (queryTerms.size() == 1) {
+            return term(queryTerms.get(0), deleted);
+        }
+
+        // Collect positions of each phrase term per document
+        List<Map<Integer, int[]>> termPositions = new ArrayList<>(queryTerms.size());
+        double idfSum = 0;
+        for (String queryTerm : queryTerms) {
+            PostingsList postings = terms.get(queryTerm);
+            if (postings == null) {
+                return scores;
+            }
+            idfSum += idf(postings.docFreq());
+            termPositions.add(null);
+        }
+
+        // Start from the rarest term so the candidate set is as small as possible
+        Integer[] order = new Integer[queryTerms.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> terms.get(queryTerms.get(i)).docFreq()));
+
+        Map<Integer, int[]> candidates = null;
+        for (int index : order) {
+            Map<Integer, int[]> positions = new HashMap<>();
+            PostingsList.Cursor cursor = terms.get(queryTerms.get(index)).cursor();
+            while (cursor.next()) {
+                int doc = cursor.doc();
+                if (!deleted.get(doc) && (candidates == null || candidates.containsKey(doc))) {
+                    positions.put(doc, cursor.positions());
+                }
+            }
+            termPositions.set(index, positions);
+            candidates = positions;
+            if (candidates.isEmpty()) {
+                return scores;
+            }
+        }
+
+        for (Integer doc : candidates.keySet()) {
+            int phraseFreq = phraseFrequency(doc, termPositions);
+            if (phraseFreq > 0) {
+                scores.put(doc, idfSum * tfNorm(phraseFreq, doc));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Expands a query term to dictionary terms within one edit (including the term itself).
+     *
+     * @param queryTerm the analyzed query term
+     * @param prefixLength number of leading characters that must match exactly
+     * @return up to {@link #MAX_FUZZY_EXPANSIONS} terms, exact match and most frequent first
+     */
+    List<String> fuzzyExpand(String queryTerm, int prefixLength) {
+        String prefix = queryTerm.substring(0, Math.min(prefixLength, queryTerm.length()));
+        List<String> matches = new ArrayList<>();
+
+        for (String candidate : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+            if (Math.abs(candidate.length() - queryTerm.length()) <= 1
+                    && withinOneEdit(queryTerm, candidate)) {
+                matches.add(candidate);
+            }
+        }
+
+        matches.sort(Comparator.<String>comparingInt(t -> t.equals(queryTerm) ? 0 : 1)
+                .thenComparing(t -> -terms.get(t).docFreq()));
+        return matches.size() > MAX_FUZZY_EXPANSIONS ? matches.subList(0, MAX_FUZZY_EXPANSIONS) : matches;
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Approximate heap usage of this field's index in bytes.
+     */
+    long estimatedSizeInBytes() {
+        long bytes = 4L * lengths.length;
+        for (Map.Entry<String, PostingsList> entry : terms.entrySet()) {
+            // TreeMap entry + String + PostingsList object headers, plus the payloads
+            bytes += 40 + 40 + 2L * entry.getKey().length() + 32 + entry.getValue().sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns true if the strings are within one insertion, deletion, substitution,
+     * or adjacent transposition of each other.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (Math.abs(lengthA - lengthB) > 1) {
+            return false;
+        }
+
+        int i = 0;
+        while (i < lengthA && i < lengthB && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+
+        if (lengthA == lengthB) {
+            // Substitution
+            if (a.regionMatches(i + 1, b, i + 1, lengthA - i - 1)) {
+                return true;
+            }
+            // Adjacent transposition
+            return i + 1 < lengthA
+                    && a.charAt(i) == b.charAt(i + 1)
+                    && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, lengthA - i - 2);
+        }
+
+        // Insertion or deletion
+        return lengthA > lengthB
+                ? a.regionMatches(i + 1, b, i, lengthB - i)
+                : b.regionMatches(i + 1, a, i, lengthA - i);
+    }
+
+    private int phraseFrequency(int doc, List<Map<Integer, int[]>> termPositions) {
+        int[] first = termPositions.get(0).get(doc);
+        int frequency = 0;
+        for (int start : first) {
+            boolean match = true;
+            for (int offset = 1; offset < termPositions.size() && match; offset++) {
+                match = Arrays.binarySearch(termPositions.get(offset).get(doc), start + offset) >= 0;
+            }
+            if (match) {
+                frequency++;
+            }
+        }
+        return frequency;
+    }
+
+    private double idf(int docFreq) {
+        // docFreq still counts deleted documents until compaction, so keep N >= docFreq
+        int n = Math.max(docCount, docFreq);
+        return Math.log(1 + (n - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    private double tfNorm(int freq, int doc) {
+        double averageLength = docCount > 0 ? (double) totalLength / docCount : 1.0;
+        int length = doc < lengths.length ? lengths[doc] : 0;
+        return (freq * (K1 + 1)) / (freq + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static Map<Integer, Double> intersectAndSum(Map<Integer, Double> left, Map<Integer, Double> right) {
+        Map<Integer, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Integer, Double> larger = smaller == left ? right : left;
+        Map<Integer, Double> result = new HashMap<>();
+        smaller.forEach((doc, score) -> {
+            Double other = larger.get(doc);
+            if (other != null) {
+                result.put(doc, score + other);
+            }
+        });
+        return result;
+    }
+}
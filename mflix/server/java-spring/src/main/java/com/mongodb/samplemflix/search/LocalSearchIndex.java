@@ -0,0 +1,583 @@
+package com.mongodb.samplemflix.search;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process full-text index over the movies collection.
+ *
+ * <p>This is a local alternative to the Atlas {@code movieSearchIndex}, used by
+ * {@code MovieServiceImpl.searchMovies} when {@code search.local.enabled=true}. It makes the
+ * search endpoint work against a plain mongod and removes the network hop to the search
+ * nodes. It indexes the same five fields as the Atlas index definition in
+ * {@code DatabaseVerification}: plot, fullplot, directors, writers, and cast.
+ *
+ * <p>Query semantics mirror the {@code $search} stage built by the service:
+ * <ul>
+ *   <li>plot / fullplot: {@code phrase} operator</li>
+ *   <li>directors / writers / cast: compound {@code should} of phrase, text (all terms),
+ *       and fuzzy text (maxEdits 1, prefixLength 2), with minimumShouldMatch 1</li>
+ *   <li>The clauses are combined with the request's must/should/mustNot/filter operator</li>
+ *   <li>Scores use BM25, as in Atlas Search</li>
+ * </ul>
+ *
+ * <p>Lifecycle:
+ * <ol>
+ *   <li>At startup a change stream is opened, then the collection is scanned and indexed
+ *       in parallel batches on a background thread</li>
+ *   <li>Once the scan completes, change stream events are applied incrementally</li>
+ *   <li>Until the first build finishes, {@link #isReady()} returns false and the service
+ *       keeps using Atlas Search</li>
+ * </ol>
+ * Change streams require a replica set. On a standalone mongod the index is built once
+ * and a warning is logged that it will not see later writes.
+ */
+@Component
+public class LocalSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSearchIndex.class);
+
+    private static final String MOVIES_COLLECTION = "movies";
+
+    /**
+     * Fields indexed locally, matching the Atlas movieSearchIndex definition.
+     */
+    static final List<String> INDEXED_FIELDS = List.of(
+            Movie.Fields.PLOT,
+            Movie.Fields.FULLPLOT,
+            Movie.Fields.DIRECTORS,
+            Movie.Fields.WRITERS,
+            Movie.Fields.CAST
+    );
+
+    /**
+     * Fuzzy settings used for people-name fields (same as the Atlas query).
+     */
+    private static final int FUZZY_PREFIX_LENGTH = 2;
+
+    private static final int BUILD_BATCH_SIZE = 2000;
+
+    /**
+     * Compact when more than this fraction of ordinals belong to deleted documents.
+     */
+    private static final double COMPACTION_THRESHOLD = 0.25;
+
+    /**
+     * Error code returned when change streams are not supported (standalone server).
+     */
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${search.local.enabled:false}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, FieldIndex> fields = new LinkedHashMap<>();
+    private final List<ObjectId> ordinalToId = new ArrayList<>();
+    private final Map<ObjectId, Integer> idToOrdinal = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+
+    private volatile boolean ready;
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> changeStream;
+    private Thread worker;
+
+    public LocalSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        INDEXED_FIELDS.forEach(field -> fields.put(field, new FieldIndex(field)));
+    }
+
+    /**
+     * Starts the background build if the local engine is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::buildAndFollow, "local-search-index");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream;
+        if (cursor != null) {
+            cursor.close();
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Whether the local engine is enabled by configuration.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the initial build has finished and the index can serve queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Executes a search request against the local index.
+     *
+     * <p>The request must already be validated by the service (at least one search field,
+     * a valid operator, clamped skip and limit).
+     *
+     * @param request the search request
+     * @param operator the compound operator: must, should, mustNot, or filter
+     * @param skip number of hits to skip
+     * @param limit maximum number of hits to return
+     * @return the ranked hits for the requested page
+     */
+    public List<SearchHit> search(MovieSearchRequest request, String operator, int skip, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Double>> clauses = new ArrayList<>();
+            addPhraseClause(clauses, Movie.Fields.PLOT, request.getPlot());
+            addPhraseClause(clauses, Movie.Fields.FULLPLOT, request.getFullplot());
+            addPeopleClause(clauses, Movie.Fields.DIRECTORS, request.getDirectors());
+            addPeopleClause(clauses, Movie.Fields.WRITERS, request.getWriters());
+            addPeopleClause(clauses, Movie.Fields.CAST, request.getCast());
+
+            Map<Integer, Double> matches = combine(clauses, operator);
+
+            return matches.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(skip)
+                    .limit(limit)
+                    .map(entry -> new SearchHit(ordinalToId.get(entry.getKey()), entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a movie in the index.
+     *
+     * @param movie the movie document (only the indexed fields and _id are read)
+     */
+    public void index(Document movie) {
+        ObjectId id = movie.getObjectId(Movie.Fields.ID);
+        if (id == null) {
+            return;
+        }
+        Map<String, TextAnalyzer.AnalyzedField> analyzed = analyze(movie);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, analyzed);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a movie from the index.
+     *
+     * @param id the movie _id
+     */
+    public void remove(ObjectId id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns size statistics for the index.
+     */
+    public IndexStats stats() {
+        lock.readLock().lock();
+        try {
+            int terms = 0;
+            long bytes = 0;
+            for (FieldIndex field : fields.values()) {
+                terms += field.termCount();
+                bytes += field.estimatedSizeInBytes();
+            }
+            // Ordinal table: ObjectId objects plus HashMap entries
+            bytes += (long) ordinalToId.size() * (24 + 48);
+            return new IndexStats(idToOrdinal.size(), terms, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Opens the change stream, runs the initial build, then applies change events until stopped.
+     */
+    private void buildAndFollow() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(MOVIES_COLLECTION);
+
+        // Open the change stream before scanning so no write made during the build is missed.
+        // Re-applying an event for a document the scan already saw is harmless.
+        try {
+            changeStream = openChangeStream(collection, null);
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                logger.warn("Change streams are not supported by this deployment (standalone mongod). " +
+                        "The local search index will not reflect writes made after startup.");
+            } else {
+                logger.warn("Could not open change stream for local search index: {}", e.getMessage());
+            }
+        }
+
+        try {
+            build(collection);
+        } catch (Exception e) {
+            logger.error("Failed to build local search index: {}", e.getMessage(), e);
+            return;
+        }
+
+        follow(collection);
+    }
+
+    private void build(MongoCollection<Document> collection) {
+        long start = System.nanoTime();
+        List<String> projection = new ArrayList<>(INDEXED_FIELDS);
+        projection.add(Movie.Fields.ID);
+
+        try (MongoCursor<Document> cursor = collection.find()
+                .projection(Projections.include(projection))
+                .batchSize(BUILD_BATCH_SIZE)
+                .cursor()) {
+            List<Document> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+            while (cursor.hasNext() && running) {
+                batch.add(cursor.next());
+                if (batch.size() == BUILD_BATCH_SIZE) {
+                    indexBatch(batch);
+                    batch.clear();
+                }
+            }
+            indexBatch(batch);
+        }
+
+        lock.writeLock().lock();
+        try {
+            fields.values().forEach(FieldIndex::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        IndexStats stats = stats();
+        logger.info("Local search index built: {} documents, {} terms, ~{} KB in {} ms",
+                stats.documents(), stats.terms(), stats.estimatedBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Analyzes a batch of documents in parallel, then adds them to the index in scan order.
+     */
+    private void indexBatch(List<Document> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Map<String, TextAnalyzer.AnalyzedField>> analyzed = batch.parallelStream()
+                .map(LocalSearchIndex::analyze)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                ObjectId id = batch.get(i).getObjectId(Movie.Fields.ID);
+                if (id != null) {
+                    removeLocked(id);
+                    addLocked(id, analyzed.get(i));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void follow(MongoCollection<Document> collection) {
+        BsonDocument resumeToken = null;
+        while (running) {
+            MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream;
+            if (cursor == null) {
+                return;
+            }
+            try {
+                while (running) {
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+                    if (event == null) {
+                        continue;
+                    }
+                    resumeToken = event.getResumeToken();
+                    apply(event);
+                }
+            } catch (MongoException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Local search index change stream interrupted, resuming: {}", e.getMessage());
+                cursor.close();
+                changeStream = resume(collection, resumeToken);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> resume(
+            MongoCollection<Document> collection, BsonDocument resumeToken) {
+        while (running) {
+            try {
+                Thread.sleep(5000);
+                return openChangeStream(collection, resumeToken);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (MongoException e) {
+                logger.warn("Could not resume local search index change stream: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static MongoChangeStreamCursor<ChangeStreamDocument<Document>> openChangeStream(
+            MongoCollection<Document> collection, BsonDocument resumeToken) {
+        ChangeStreamIterable<Document> watch = collection.watch(List.of(Aggregates.match(
+                        Filters.in("operationType", "insert", "update", "replace", "delete"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            watch = watch.resumeAfter(resumeToken);
+        }
+        return watch.cursor();
+    }
+
+    private void apply(ChangeStreamDocument<Document> event) {
+        OperationType type = event.getOperationType();
+        if (type == null || event.getDocumentKey() == null) {
+            return;
+        }
+        ObjectId id = event.getDocumentKey().getObjectId(Movie.Fields.ID).getValue();
+
+        switch (type) {
+            case INSERT, UPDATE, REPLACE -> {
+                Document fullDocument = event.getFullDocument();
+                if (fullDocument != null) {
+                    index(fullDocument);
+                } else {
+                    // The document was deleted before the update lookup ran
+                    remove(id);
+                }
+            }
+            case DELETE -> remove(id);
+            default -> {
+                // Ignore drop/rename/invalidate; the next restart rebuilds the index
+            }
+        }
+    }
+
+    private void addPhraseClause(List<Map<Integer, Double>> clauses, String field, String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return;
+        }
+        clauses.add(fields.get(field).phrase(TextAnalyzer.tokenize(query.trim()), deleted));
+    }
+
+    /**
+     * Builds the people-name clause: should [phrase, text all, fuzzy text all].
+     */
+    private void addPeopleClause(List<Map<Integer, Double>> clauses, String field, String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return;
+        }
+        FieldIndex index = fields.get(field);
+        List<String> terms = TextAnalyzer.tokenize(query.trim());
+
+        Map<Integer, Double> scores = new HashMap<>(index.phrase(terms, deleted));
+        index.allTerms(terms, false, 0, deleted).forEach((doc, score) -> scores.merge(doc, score, Double::sum));
+        index.allTerms(terms, true, FUZZY_PREFIX_LENGTH, deleted)
+                .forEach((doc, score) -> scores.merge(doc, score, Double::sum));
+        clauses.add(scores);
+    }
+
+    /**
+     * Combines clause results with Atlas Search compound semantics.
+     */
+    private Map<Integer, Double> combine(List<Map<Integer, Double>> clauses, String operator) {
+        Map<Integer, Double> result = new HashMap<>();
+        if (clauses.isEmpty()) {
+            return result;
+        }
+        switch (operator) {
+            case "should" -> clauses.forEach(clause ->
+                    clause.forEach((doc, score) -> result.merge(doc, score, Double::sum)));
+            case "mustNot" -> {
+                // Every live document that matches none of the clauses, with a constant score
+                for (int doc = 0; doc < ordinalToId.size(); doc++) {
+                    if (deleted.get(doc)) {
+                        continue;
+                    }
+                    final int candidate = doc;
+                    if (clauses.stream().noneMatch(clause -> clause.containsKey(candidate))) {
+                        result.put(doc, 0.0);
+                    }
+                }
+            }
+            default -> {
+                // must and filter both require every clause to match; filter does not score
+                boolean scoring = "must".equals(operator);
+                Map<Integer, Double> first = clauses.get(0);
+                first.forEach((doc, score) -> {
+                    double total = score;
+                    for (int i = 1; i < clauses.size(); i++) {
+                        Double other = clauses.get(i).get(doc);
+                        if (other == null) {
+                            return;
+                        }
+                        total += other;
+                    }
+                    result.put(doc, scoring ? total : 0.0);
+                });
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, TextAnalyzer.AnalyzedField> analyze(Document movie) {
+        Map<String, TextAnalyzer.AnalyzedField> analyzed = new HashMap<>();
+        for (String field : INDEXED_FIELDS) {
+            List<String> values = stringValues(movie.get(field));
+            if (!values.isEmpty()) {
+                analyzed.put(field, TextAnalyzer.analyze(values));
+            }
+        }
+        return analyzed;
+    }
+
+    /**
+     * Extracts string values from a field, tolerating unexpected types in the sample data.
+     */
+    private static List<String> stringValues(Object value) {
+        if (value instanceof String s) {
+            return List.of(s);
+        }
+        if (value instanceof List<?> list) {
+            List<String> values = new ArrayList<>(list.size());
+            for (Object element : list) {
+                if (element instanceof String s) {
+                    values.add(s);
+                }
+            }
+            return values;
+        }
+        return List.of();
+    }
+
+    private void addLocked(ObjectId id, Map<String, TextAnalyzer.AnalyzedField> analyzed) {
+        int ordinal = ordinalToId.size();
+        ordinalToId.add(id);
+        idToOrdinal.put(id, ordinal);
+        analyzed.forEach((field, terms) -> fields.get(field).add(ordinal, terms));
+    }
+
+    private void removeLocked(ObjectId id) {
+        Integer ordinal = idToOrdinal.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        deletedCount++;
+        fields.values().forEach(field -> field.remove(ordinal));
+    }
+
+    /**
+     * Renumbers live documents and rewrites the postings once enough documents are deleted.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount < 1000 || deletedCount < ordinalToId.size() * COMPACTION_THRESHOLD) {
+            return;
+        }
+        int[] remap = new int[ordinalToId.size()];
+        List<ObjectId> live = new ArrayList<>(ordinalToId.size() - deletedCount);
+        for (int doc = 0; doc < remap.length; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = live.size();
+                live.add(ordinalToId.get(doc));
+            }
+        }
+        fields.values().forEach(field -> field.remap(remap, live.size()));
+
+        ordinalToId.clear();
+        ordinalToId.addAll(live);
+        idToOrdinal.clear();
+        for (int doc = 0; doc < live.size(); doc++) {
+            idToOrdinal.put(live.get(doc), doc);
+        }
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    /**
+     * A ranked search result.
+     *
+     * @param id the movie _id
+     * @param score the BM25 score (0 for filter and mustNot queries)
+     */
+    public record SearchHit(ObjectId id, double score) {
+    }
+
+    /**
+     * Index size statistics.
+     *
+     * @param documents number of live documents
+     * @param terms number of distinct terms across all fields
+     * @param estimatedBytes approximate heap usage
+     */
+    public record IndexStats(int documents, int terms, long estimatedBytes) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.mongodb.samplemflix.search;
+
+import java.util.Arrays;
+
+/**
+ * Compressed postings for a single term in a single field.
+ *
+ * <p>Each posting is stored as a sequence of variable-length integers:
+ * <pre>
+ * docDelta, freq, posDelta_1, posDelta_2, ..., posDelta_freq
+ * </pre>
+ * Document ordinals and positions are delta-encoded, so most values fit in one byte.
+ * Ordinals must be appended in increasing order, which holds because the index always
+ * assigns new documents (including re-indexed updates) the next free ordinal.
+ *
+ * <p>This class is not thread-safe; {@link LocalSearchIndex} guards it with a read/write lock.
+ */
+final class PostingsList {
+
+    private byte[] bytes = new byte[8];
+    private int size;
+    private int lastDoc = -1;
+    private int docFreq;
+
+    /**
+     * Appends a posting for the given document.
+     *
+     * @param doc the document ordinal (must be greater than any previously appended ordinal)
+     * @param positions the term positions within the field, in ascending order
+     */
+    void append(int doc, int[] positions) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Postings must be appended in ordinal order");
+        }
+        writeVInt(doc - lastDoc);
+        writeVInt(positions.length);
+        int lastPosition = 0;
+        for (int position : positions) {
+            writeVInt(position - lastPosition);
+            lastPosition = position;
+        }
+        lastDoc = doc;
+        docFreq++;
+    }
+
+    /**
+     * Number of documents in this list, including documents that have since been deleted.
+     */
+    int docFreq() {
+        return docFreq;
+    }
+
+    /**
+     * Number of bytes used by the encoded postings.
+     */
+    int sizeInBytes() {
+        return size;
+    }
+
+    /**
+     * Returns a cursor over the postings.
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Rewrites the postings with new document ordinals.
+     *
+     * <p>Used by compaction. The remapping must preserve order; documents mapped to
+     * {@code -1} are dropped.
+     *
+     * @param remap old ordinal to new ordinal, or -1 for removed documents
+     * @return the rewritten list (empty if every document was removed)
+     */
+    PostingsList remap(int[] remap) {
+        PostingsList rewritten = new PostingsList();
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            int newDoc = remap[cursor.doc()];
+            if (newDoc >= 0) {
+                rewritten.append(newDoc, cursor.positions());
+            }
+        }
+        rewritten.trim();
+        return rewritten;
+    }
+
+    /**
+     * Releases unused capacity after a bulk build.
+     */
+    void trim() {
+        if (bytes.length > size) {
+            bytes = Arrays.copyOf(bytes, Math.max(size, 1));
+        }
+    }
+
+    private void writeVInt(int value) {
+        if (size + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Forward-only cursor over the postings.
+     *
+     * <p>Call {@link #next()} to advance; positions are decoded lazily and must be read
+     * (if at all) before the next call to {@code next()}.
+     */
+    final class Cursor {
+
+        private int offset;
+        private int doc = -1;
+        private int freq;
+        private int positionsOffset;
+        private boolean positionsRead = true;
+
+        boolean next() {
+            if (!positionsRead) {
+                skipPositions();
+            }
+            if (offset >= size) {
+                return false;
+            }
+            doc += readVInt();
+            freq = readVInt();
+            positionsOffset = offset;
+            positionsRead = false;
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        int[] positions() {
+            int[] positions = new int[freq];
+            offset = positionsOffset;
+            int position = 0;
+            for (int i = 0; i < freq; i++) {
+                position += readVInt();
+                positions[i] = position;
+            }
+            positionsRead = true;
+            return positions;
+        }
+
+        private void skipPositions() {
+            offset = positionsOffset;
+            for (int i = 0; i < freq; i++) {
+                while ((bytes[offset++] & 0x80) != 0) {
+                    // Continuation byte
+                }
+            }
+            positionsRead = true;
+        }
+
+        private int readVInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
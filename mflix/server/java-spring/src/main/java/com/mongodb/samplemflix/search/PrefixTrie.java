@@ -0,0 +1,297 @@
+package com.mongodb.samplemflix.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compressed (radix) trie that answers "top-k values under this prefix" in O(prefix length).
+ *
+ * <p>Chains of single-child nodes are collapsed into one edge label, so the number of nodes
+ * is bounded by twice the number of keys. Every node caches the top {@code k} values of its
+ * subtree, ordered by weight, so a lookup only walks the prefix and returns the cached list;
+ * it never scans the subtree.
+ *
+ * <p>Insertions and removals update the cached lists along the affected path only.
+ *
+ * <p>This class is not thread-safe; {@link AutocompleteIndex} guards it with a read/write lock.
+ *
+ * @param <V> value type; values are compared by identity, so the same value can be stored
+ *            under several keys and is still returned once per lookup
+ */
+final class PrefixTrie<V> {
+
+    private final int k;
+    private final Comparator<V> order;
+    private final Node<V> root = new Node<>("");
+    private int keyCount;
+
+    /**
+     * @param k number of values cached per node (the maximum lookup size)
+     * @param weight popularity of a value; higher weights are returned first
+     * @param tieBreaker ordering among values with equal weight
+     */
+    PrefixTrie(int k, ToLongFunction<V> weight, Comparator<V> tieBreaker) {
+        this.k = k;
+        this.order = Comparator.comparingLong(weight).reversed().thenComparing(tieBreaker);
+    }
+
+    /**
+     * Adds a value under the key.
+     */
+    void insert(String key, V value) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int i = 0;
+
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node<V> leaf = new Node<>(key.substring(i));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                i = key.length();
+                break;
+            }
+
+            Node<V> child = node.children[index];
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge: node -> mid(label[0:common]) -> child(label[common:])
+                Node<V> mid = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.children = newChildArray(child);
+                mid.top = child.top;
+                node.children[index] = mid;
+                child = mid;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+
+        if (!contains(node.values, value)) {
+            if (node.values.length == 0) {
+                keyCount++;
+            }
+            node.values = append(node.values, value);
+        }
+        refresh(path);
+    }
+
+    /**
+     * Removes a value from the key, pruning nodes that become empty.
+     */
+    void remove(String key, V value) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int i = 0;
+
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node<V> child = node.children[index];
+            if (!key.startsWith(child.label, i)) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+
+        int position = indexOf(node.values, value);
+        if (position < 0) {
+            return;
+        }
+        node.values = removeAt(node.values, position);
+        if (node.values.length == 0) {
+            keyCount--;
+        }
+
+        // Prune empty leaves and merge pass-through nodes, bottom-up
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node<V> current = path.get(depth);
+            Node<V> parent = path.get(depth - 1);
+            if (current.values.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+                path.remove(depth);
+            } else if (current.values.length == 0 && current.children.length == 1) {
+                Node<V> only = current.children[0];
+                current.label = current.label + only.label;
+                current.children = only.children;
+                current.values = only.values;
+                current.top = only.top;
+            }
+        }
+        refresh(path);
+    }
+
+    /**
+     * Returns up to {@code k} values stored under keys starting with the prefix.
+     */
+    List<V> lookup(String prefix) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            Node<V> child = node.children[index];
+            int remaining = prefix.length() - i;
+            if (remaining <= child.label.length()) {
+                return child.label.startsWith(prefix.substring(i)) ? List.of(child.top) : List.of();
+            }
+            if (!prefix.startsWith(child.label, i)) {
+                return List.of();
+            }
+            node = child;
+            i += child.label.length();
+        }
+        return List.of(node.top);
+    }
+
+    /**
+     * Number of distinct keys holding at least one value.
+     */
+    int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Recomputes cached top-k lists from the deepest node on the path up to the root.
+     */
+    private void refresh(List<Node<V>> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node<V> node = path.get(depth);
+            node.top = computeTop(node);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V[] computeTop(Node<V> node) {
+        Map<V, Boolean> seen = new IdentityHashMap<>();
+        List<V> candidates = new ArrayList<>();
+        for (V value : node.values) {
+            if (seen.put(value, Boolean.TRUE) == null) {
+                candidates.add(value);
+            }
+        }
+        for (Node<V> child : node.children) {
+            for (V value : child.top) {
+                if (seen.put(value, Boolean.TRUE) == null) {
+                    candidates.add(value);
+                }
+            }
+        }
+        candidates.sort(order);
+        return (V[]) candidates.subList(0, Math.min(k, candidates.size())).toArray();
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static <V> boolean contains(V[] values, V value) {
+        return indexOf(values, value) >= 0;
+    }
+
+    private static <V> int indexOf(V[] values, V value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <V> V[] append(V[] values, V value) {
+        V[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static <V> V[] removeAt(V[] values, int index) {
+        V[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Node<V>[] newChildArray(Node<V> child) {
+        Node<V>[] children = new Node[1];
+        children[0] = child;
+        return children;
+    }
+
+    /**
+     * Trie node. Children are kept sorted by the first character of their label.
+     */
+    private static final class Node<V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Object[] NO_VALUES = new Object[0];
+
+        String label;
+        Node<V>[] children;
+        V[] values;
+        V[] top;
+
+        @SuppressWarnings("unchecked")
+        Node(String label) {
+            this.label = label;
+            this.children = NO_CHILDREN;
+            this.values = (V[]) NO_VALUES;
+            this.top = (V[]) NO_VALUES;
+        }
+
+        /**
+         * Binary search by first character; returns {@code -(insertionPoint + 1)} if absent.
+         */
+        int childIndex(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node<V> child) {
+            Node<V>[] result = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, index, result, index + 1, children.length - index);
+            result[index] = child;
+            children = result;
+        }
+
+        void removeChild(Node<V> child) {
+            int index = childIndex(child.label.charAt(0));
+            if (index >= 0) {
+                children = removeAt(children, index);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.mongodb.samplemflix.search;
+
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of ranked search hits for {@code GET /api/movies/search}.
+ *
+ * <p>Entries are keyed by a canonical form of the request ({@link Key}): text fields are
+ * trimmed, whitespace-collapsed and lower-cased, which matches how the search analyzer
+ * treats them, so {@code "Tom  Hanks"} and {@code "tom hanks"} share an entry. Each entry
+ * holds only the page of movie IDs and scores; the service hydrates them with a single
+ * {@code $in} query, so cached results always show current field values.
+ *
+ * <p>Bounds:
+ * <ul>
+ *   <li>{@code search.cache.max-entries}: least recently used entries are evicted first</li>
+ *   <li>{@code search.cache.ttl-seconds}: entries expire so writes made outside this
+ *       service (e.g. mongosh) eventually become visible</li>
+ * </ul>
+ * Any write through the movie service clears the whole cache, since a single write can
+ * change the ranking of any query.
+ *
+ * <p>A generation counter guards against a race where a search started before a write
+ * stores its (now stale) result after the cache was cleared.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    /**
+     * Log hit ratio and saved time every this many lookups.
+     */
+    private static final long STATS_LOG_INTERVAL = 1000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${search.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${search.cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    @Value("${search.cache.ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    LongSupplier clock = System::nanoTime;
+
+    // Guarded by this
+    private final LinkedHashMap<Key, CachedHits> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedHits> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    /**
+     * Builds the canonical cache key for a validated request.
+     *
+     * @param request the search request
+     * @param operator the resolved compound operator
+     * @param skip the clamped skip
+     * @param limit the clamped limit
+     */
+    public static Key key(MovieSearchRequest request, String operator, int skip, int limit) {
+        return new Key(
+                canonical(request.getPlot()),
+                canonical(request.getFullplot()),
+                canonical(request.getDirectors()),
+                canonical(request.getWriters()),
+                canonical(request.getCast()),
+                operator, skip, limit);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached hits for the key, or null on a miss or expired entry.
+     */
+    public CachedHits get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedHits cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null && clock.getAsLong() - cached.storedAt() > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            logStatsPeriodically();
+        }
+        return cached;
+    }
+
+    /**
+     * Current generation; capture it before running a search and pass it to {@link #put}.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores the hits for a key unless the cache was invalidated since {@code generation}.
+     *
+     * @param key the canonical request
+     * @param generation the value of {@link #generation()} when the search started
+     * @param ids the movie IDs, in rank order
+     * @param scores the search scores, parallel to {@code ids}
+     * @param backendNanos time the search took, credited as saved on each hit
+     */
+    public void put(Key key, long generation, List<ObjectId> ids, double[] scores, long backendNanos) {
+        if (!enabled) {
+            return;
+        }
+        CachedHits cached = new CachedHits(ids.toArray(new ObjectId[0]), scores, backendNanos, clock.getAsLong());
+        synchronized (this) {
+            if (generation == this.generation) {
+                entries.put(key, cached);
+            }
+        }
+    }
+
+    /**
+     * Records a cache hit once the cached IDs have been hydrated.
+     *
+     * @param cached the hit returned by {@link #get}
+     * @param hydrationNanos time spent fetching the cached IDs
+     */
+    public void recordHit(CachedHits cached, long hydrationNanos) {
+        hits.incrementAndGet();
+        savedNanos.addAndGet(Math.max(0, cached.backendNanos() - hydrationNanos));
+        logStatsPeriodically();
+    }
+
+    /**
+     * Clears every entry after a movie write.
+     */
+    @EventListener
+    public void onMovieChange(MovieChangeEvent event) {
+        invalidateAll();
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), TimeUnit.NANOSECONDS.toMillis(savedNanos.get()));
+    }
+
+    @PreDestroy
+    public void logStats() {
+        if (enabled) {
+            CacheStats stats = stats();
+            logger.info("Search result cache: {} hits, {} misses ({}% hit ratio), ~{} ms of search time saved",
+                    stats.hits(), stats.misses(), Math.round(stats.hitRatio() * 100), stats.savedMillis());
+        }
+    }
+
+    private void logStatsPeriodically() {
+        if ((hits.get() + misses.get()) % STATS_LOG_INTERVAL == 0) {
+            logStats();
+        }
+    }
+
+    private static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String collapsed = WHITESPACE.matcher(value.trim()).replaceAll(" ");
+        return collapsed.isEmpty() ? null : collapsed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Canonical search request. Empty fields are null, so omitted and blank parameters match.
+     */
+    public record Key(String plot, String fullplot, String directors, String writers, String cast,
+                      String operator, int skip, int limit) {
+    }
+
+    /**
+     * A cached page of hits, stored as parallel arrays to keep entries small.
+     */
+    public record CachedHits(ObjectId[] ids, double[] scores, long backendNanos, long storedAt) {
+
+        public List<ObjectId> idList() {
+            return List.of(ids);
+        }
+    }
+
+    /**
+     * Lifetime hit and miss counts, and the search time hits avoided.
+     */
+    public record CacheStats(long hits, long misses, long savedMillis) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.mongodb.samplemflix.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tokenizer used by the local search index.
+ *
+ * <p>This is a small approximation of the {@code lucene.standard} analyzer that the
+ * Atlas {@code movieSearchIndex} is configured with:
+ * <ul>
+ *   <li>Splits on anything that is not a letter or digit (apostrophes inside a word are kept)</li>
+ *   <li>Lowercases every token</li>
+ *   <li>Does not remove stop words (matching the Lucene default)</li>
+ * </ul>
+ *
+ * <p>Array fields (directors, writers, cast) are analyzed element by element with a large
+ * position gap between elements, so phrase queries only match within a single array element.
+ */
+final class TextAnalyzer {
+
+    /**
+     * Position gap inserted between array elements.
+     */
+    static final int ARRAY_POSITION_GAP = 100;
+
+    /**
+     * Tokens longer than this are dropped, like Lucene's max token length.
+     */
+    private static final int MAX_TOKEN_LENGTH = 255;
+
+    private TextAnalyzer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Splits text into lowercase tokens.
+     *
+     * @param text the text to analyze (may be null)
+     * @return the tokens in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean tokenChar = i < length && isTokenChar(text, i);
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                addToken(tokens, text, start, i);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Analyzes the values of a single document field for indexing.
+     *
+     * <p>The returned map preserves first-occurrence order and holds the positions of
+     * every occurrence of each term.
+     *
+     * @param values the field values (a single element for string fields)
+     * @return the analyzed field, never null
+     */
+    static AnalyzedField analyze(List<String> values) {
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        int position = 0;
+        int length = 0;
+
+        for (String value : values) {
+            for (String token : tokenize(value)) {
+                positions.computeIfAbsent(token, t -> new ArrayList<>(2)).add(position++);
+                length++;
+            }
+            position += ARRAY_POSITION_GAP;
+        }
+
+        Map<String, int[]> terms = new LinkedHashMap<>(positions.size() * 2);
+        positions.forEach((term, list) -> {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            terms.put(term, array);
+        });
+        return new AnalyzedField(terms, length);
+    }
+
+    private static boolean isTokenChar(String text, int i) {
+        char c = text.charAt(i);
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        // Keep apostrophes that sit between two letters ("don't", "O'Brien")
+        return (c == '\'' || c == '’')
+                && i > 0 && i < text.length() - 1
+                && Character.isLetter(text.charAt(i - 1))
+                && Character.isLetter(text.charAt(i + 1));
+    }
+
+    private static void addToken(List<String> tokens, String text, int start, int end) {
+        if (end - start <= MAX_TOKEN_LENGTH) {
+            tokens.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Result of analyzing one field of one document.
+     *
+     * @param terms term to positions, in first-occurrence order
+     * @param length number of tokens in the field (used for BM25 length normalization)
+     */
+    record AnalyzedField(Map<String, int[]> terms, int length) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.samplemflix.model.dto.BulkOperationResult;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+
+/**
+ * Collects the outcome of a chunked bulk write for {@link MovieServiceImpl} and
+ * {@link ReactiveMovieServiceImpl}.
+ *
+ * <p>The validated operations are split into chunks, and each chunk is sent as one driver
+ * {@code bulkWrite}. Chunks run one after another: a chunk that reports write errors fails only
+ * the operations it names, and in an ordered bulk write it also ends the request, leaving the
+ * remaining operations skipped.
+ */
+final class BulkWriteTally {
+
+    private final List<MovieQueries.BulkOperation> operations;
+    private final boolean ordered;
+    private final BulkOperationResult[] results;
+
+    private long insertedCount;
+    private long matchedCount;
+    private long modifiedCount;
+    private long deletedCount;
+
+    BulkWriteTally(List<MovieQueries.BulkOperation> operations, boolean ordered) {
+        this.operations = operations;
+        this.ordered = ordered;
+        this.results = new BulkOperationResult[operations.size()];
+    }
+
+    /**
+     * Splits the operations into consecutive chunks of at most {@code chunkSize}.
+     */
+    List<List<MovieQueries.BulkOperation>> chunks(int chunkSize) {
+        int size = Math.max(chunkSize, 1);
+        List<List<MovieQueries.BulkOperation>> chunks = new ArrayList<>();
+        for (int from = 0; from < operations.size(); from += size) {
+            chunks.add(operations.subList(from, Math.min(from + size, operations.size())));
+        }
+        return chunks;
+    }
+
+    static List<WriteModel<Document>> models(List<MovieQueries.BulkOperation> chunk) {
+        return chunk.stream().map(MovieQueries.BulkOperation::model).toList();
+    }
+
+    /**
+     * Records a chunk whose operations all succeeded.
+     */
+    void succeeded(List<MovieQueries.BulkOperation> chunk, BulkWriteResult result) {
+        addCounts(result);
+        chunk.forEach(operation -> results[operation.index()] = result(operation, BulkOperationResult.STATUS_OK, null));
+    }
+
+    /**
+     * Records a chunk that reported write errors.
+     *
+     * @return whether the remaining chunks should still run
+     * @throws MongoBulkWriteException if the chunk failed without write errors (a write concern
+     *         error), since then no operation can be blamed
+     */
+    boolean failed(List<MovieQueries.BulkOperation> chunk, MongoBulkWriteException e) {
+        if (e.getWriteErrors().isEmpty()) {
+            throw e;
+        }
+        addCounts(e.getWriteResult());
+
+        // Error indexes are positions within the chunk
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        e.getWriteErrors().forEach(error -> errors.put(error.getIndex(), error));
+        int firstError = e.getWriteErrors().get(0).getIndex();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            MovieQueries.BulkOperation operation = chunk.get(i);
+            BulkWriteError error = errors.get(i);
+            if (error != null) {
+                results[operation.index()] = result(operation, BulkOperationResult.STATUS_FAILED, error.getMessage());
+            } else if (!ordered || i < firstError) {
+                results[operation.index()] = result(operation, BulkOperationResult.STATUS_OK, null);
+            }
+        }
+        return !ordered;
+    }
+
+    /**
+     * Whether any operation changed the collection, so caches must be invalidated.
+     */
+    boolean hasWrites() {
+        return insertedCount + modifiedCount + deletedCount > 0;
+    }
+
+    BulkWriteResponse response() {
+        List<BulkOperationResult> list = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            list.add(results[i] != null
+                    ? results[i]
+                    : result(operations.get(i), BulkOperationResult.STATUS_SKIPPED, null));
+        }
+
+        return BulkWriteResponse.builder()
+                .ordered(ordered)
+                .insertedCount(insertedCount)
+                .matchedCount(matchedCount)
+                .modifiedCount(modifiedCount)
+                .deletedCount(deletedCount)
+                .failedCount(Arrays.stream(results)
+                        .filter(result -> result != null && BulkOperationResult.STATUS_FAILED.equals(result.getStatus()))
+                        .count())
+                .results(list)
+                .build();
+    }
+
+    private void addCounts(BulkWriteResult result) {
+        insertedCount += result.getInsertedCount();
+        matchedCount += result.getMatchedCount();
+        modifiedCount += result.getModifiedCount();
+        deletedCount += result.getDeletedCount();
+    }
+
+    private static BulkOperationResult result(MovieQueries.BulkOperation operation, String status, String error) {
+        boolean inserted = operation.insertedId() != null && BulkOperationResult.STATUS_OK.equals(status);
+        return BulkOperationResult.builder()
+                .index(operation.index())
+                .type(operation.type())
+                .status(status)
+                .insertedId(inserted ? operation.insertedId().toHexString() : null)
+                .error(error)
+                .build();
+    }
+}
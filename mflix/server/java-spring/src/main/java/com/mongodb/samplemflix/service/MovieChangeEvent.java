@@ -0,0 +1,56 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.samplemflix.model.Movie;
+import java.util.List;
+import org.bson.types.ObjectId;
+
+/**
+ * Application event published by {@link MovieServiceImpl} after every successful write.
+ *
+ * <p>In-memory structures derived from the movies collection (such as the autocomplete index)
+ * listen for this event with {@code @EventListener} to stay current without polling.
+ *
+ * <p>There are three kinds of change:
+ * <ul>
+ *   <li>saved: movies were inserted or updated; the event carries the new state</li>
+ *   <li>deleted: movies were removed; the event carries their IDs</li>
+ *   <li>bulk: a filter-based batch update or delete changed an unknown set of movies;
+ *       listeners should treat everything they hold as potentially stale</li>
+ * </ul>
+ */
+public final class MovieChangeEvent {
+
+    private final List<Movie> savedMovies;
+    private final List<ObjectId> deletedIds;
+    private final boolean bulk;
+
+    private MovieChangeEvent(List<Movie> savedMovies, List<ObjectId> deletedIds, boolean bulk) {
+        this.savedMovies = savedMovies;
+        this.deletedIds = deletedIds;
+        this.bulk = bulk;
+    }
+
+    public static MovieChangeEvent saved(List<Movie> movies) {
+        return new MovieChangeEvent(List.copyOf(movies), List.of(), false);
+    }
+
+    public static MovieChangeEvent deleted(ObjectId id) {
+        return new MovieChangeEvent(List.of(), List.of(id), false);
+    }
+
+    public static MovieChangeEvent bulk() {
+        return new MovieChangeEvent(List.of(), List.of(), true);
+    }
+
+    public List<Movie> getSavedMovies() {
+        return savedMovies;
+    }
+
+    public List<ObjectId> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public boolean isBulk() {
+        return bulk;
+    }
+}
@@ -0,0 +1,1201 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.BulkWriteOperation;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.FacetBucket;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import com.mongodb.samplemflix.model.dto.VectorSearchResult;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.bson.BsonNumber;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Queries, pipelines and result mapping shared by {@link MovieServiceImpl} and
+ * {@link ReactiveMovieServiceImpl}.
+ *
+ * <p>Both services build exactly the same MongoDB commands and only differ in how they execute
+ * them (sync {@code MongoTemplate} vs {@code ReactiveMongoTemplate}), so validation, defaults
+ * and limits behave identically on either stack.
+ */
+final class MovieQueries {
+
+    /**
+     * Fields returned by search and similar-movie results.
+     */
+    private static final String[] RESULT_FIELDS = {
+            Movie.Fields.TITLE, Movie.Fields.YEAR, Movie.Fields.PLOT, Movie.Fields.FULLPLOT,
+            Movie.Fields.RELEASED, Movie.Fields.RUNTIME, Movie.Fields.POSTER, Movie.Fields.GENRES,
+            Movie.Fields.DIRECTORS, Movie.Fields.WRITERS, Movie.Fields.CAST, Movie.Fields.COUNTRIES,
+            Movie.Fields.LANGUAGES, Movie.Fields.RATED, Movie.Fields.AWARDS, Movie.Fields.IMDB
+    };
+
+    /**
+     * Fields of the {@link Movie} model, including its nested objects. Used by the passthrough read
+     * path so raw documents carry the same fields the POJO path would return.
+     */
+    private static final String[] MOVIE_FIELDS = {
+            Movie.Fields.TITLE, Movie.Fields.YEAR, Movie.Fields.PLOT, Movie.Fields.FULLPLOT,
+            Movie.Fields.RELEASED, Movie.Fields.RUNTIME, Movie.Fields.POSTER, Movie.Fields.GENRES,
+            Movie.Fields.DIRECTORS, Movie.Fields.WRITERS, Movie.Fields.CAST, Movie.Fields.COUNTRIES,
+            Movie.Fields.LANGUAGES, Movie.Fields.RATED,
+            "awards.wins", "awards.nominations", "awards.text",
+            "imdb.rating", "imdb.votes", "imdb.id",
+            "tomatoes.viewer.rating", "tomatoes.viewer.numReviews", "tomatoes.viewer.meter",
+            "tomatoes.critic.rating", "tomatoes.critic.numReviews", "tomatoes.critic.meter",
+            "tomatoes.fresh", "tomatoes.rotten", "tomatoes.production", "tomatoes.lastUpdated",
+            Movie.Fields.METACRITIC, Movie.Fields.TYPE, Movie.Fields.VERSION
+    };
+
+    /**
+     * Fields returned by the grid listing. Every one of them is a key of the grid indexes, so
+     * grid queries can be covered.
+     */
+    private static final String[] GRID_FIELDS = {
+            Movie.Fields.TITLE, Movie.Fields.YEAR, Movie.Fields.POSTER, Movie.Fields.IMDB_RATING
+    };
+
+    static final String VERSION_MISMATCH_MESSAGE =
+            "Movie has been modified since it was read; fetch it again to get the current ETag";
+
+    static final String FACET_MODE_FIXED = "fixed";
+    static final String FACET_MODE_AUTO = "auto";
+
+    /**
+     * Decade boundaries for fixed year buckets.
+     */
+    private static final List<Integer> DECADE_BOUNDARIES = IntStream.rangeClosed(188, 203)
+            .mapToObj(decade -> decade * 10)
+            .toList();
+
+    /**
+     * Two-point rating bands for fixed rating buckets, as in the $bucket aggregation example; the
+     * last boundary is just above 10 so a perfect rating falls in the top band.
+     */
+    private static final List<Double> RATING_BOUNDARIES = List.of(0.0, 2.0, 4.0, 6.0, 8.0, 10.1);
+
+    private static final String OTHER_BUCKET = "other";
+
+    private MovieQueries() {
+    }
+
+    // ==================== CRUD ====================
+
+    /**
+     * Builds the paged, sorted query for {@code GET /api/movies}.
+     */
+    static Query listQuery(MovieSearchQuery query) {
+        Query mongoQuery = buildQuery(query);
+
+        int limit = Math.clamp(query.getLimit() != null ? query.getLimit() : 20, 1, 100);
+        int skip = Math.max(query.getSkip() != null ? query.getSkip() : 0, 0);
+
+        mongoQuery.skip(skip).limit(limit);
+        mongoQuery.with(buildSort(query.getSortBy(), query.getSortOrder()));
+        return mongoQuery;
+    }
+
+    /**
+     * Whether the query has a {@code q} filter, which runs as {@code $text} on the text index.
+     */
+    static boolean hasTextFilter(MovieSearchQuery query) {
+        return query.getQ() != null && !query.getQ().trim().isEmpty();
+    }
+
+    /**
+     * Builds a Spring Data MongoDB Query from the search parameters.
+     */
+    static Query buildQuery(MovieSearchQuery query) {
+        Query mongoQuery = new Query();
+
+        // Text search
+        if (hasTextFilter(query)) {
+            TextCriteria textCriteria = TextCriteria.forDefaultLanguage().matching(query.getQ());
+            mongoQuery.addCriteria(textCriteria);
+        }
+
+        // Genre filter (case-insensitive regex)
+        if (query.getGenre() != null && !query.getGenre().trim().isEmpty()) {
+            mongoQuery.addCriteria(Criteria.where(Movie.Fields.GENRES)
+                    .regex(Pattern.compile(query.getGenre(), Pattern.CASE_INSENSITIVE)));
+        }
+
+        // Year filter
+        if (query.getYear() != null) {
+            mongoQuery.addCriteria(Criteria.where(Movie.Fields.YEAR).is(query.getYear()));
+        }
+
+        // Rating range filter
+        if (query.getMinRating() != null || query.getMaxRating() != null) {
+            Criteria ratingCriteria = Criteria.where(Movie.Fields.IMDB_RATING);
+            if (query.getMinRating() != null) {
+                ratingCriteria = ratingCriteria.gte(query.getMinRating());
+            }
+            if (query.getMaxRating() != null) {
+                ratingCriteria = ratingCriteria.lte(query.getMaxRating());
+            }
+            mongoQuery.addCriteria(ratingCriteria);
+        }
+
+        return mongoQuery;
+    }
+
+    /**
+     * Builds a Spring Data Sort object from sort parameters.
+     */
+    static Sort buildSort(String sortBy, String sortOrder) {
+        String field = sortBy != null && !sortBy.trim().isEmpty() ? sortBy : Movie.Fields.TITLE;
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, field);
+    }
+
+    /**
+     * Validates a create request and maps it to a new Movie.
+     *
+     * @param label prefix for the validation message, e.g. "Movie at index 3: "
+     */
+    static Movie toMovie(CreateMovieRequest request, String label) {
+        requireTitle(request, label);
+
+        return Movie.builder()
+                .title(request.getTitle())
+                .year(request.getYear())
+                .plot(request.getPlot())
+                .fullplot(request.getFullplot())
+                .genres(request.getGenres())
+                .directors(request.getDirectors())
+                .writers(request.getWriters())
+                .cast(request.getCast())
+                .countries(request.getCountries())
+                .languages(request.getLanguages())
+                .rated(request.getRated())
+                .runtime(request.getRuntime())
+                .poster(request.getPoster())
+                .build();
+    }
+
+    private static void requireTitle(CreateMovieRequest request, String label) {
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            throw new ValidationException(label + "Title is required");
+        }
+    }
+
+    /**
+     * Checks if the update request neither sets nor removes any field.
+     */
+    static boolean isUpdateRequestEmpty(UpdateMovieRequest request) {
+        return MovieRequestFields.isEmpty(request);
+    }
+
+    /**
+     * Builds a Spring Data MongoDB Update object from the update request: {@code $set} for the
+     * fields it sets and {@code $unset} for the fields it sends as null. Also increments the
+     * movie's {@value Movie.Fields#VERSION}.
+     */
+    static Update buildUpdate(UpdateMovieRequest request) {
+        return MovieRequestFields.update(request).inc(Movie.Fields.VERSION, 1);
+    }
+
+    /**
+     * Builds the filter for a single-movie write. With an expected version the filter only
+     * matches while the movie is still at that version, so the write and the version check are
+     * one atomic operation. Movies without a version field are at version 0.
+     *
+     * @param expectedVersion version from the client's If-Match ETag, or null for an unconditional write
+     */
+    static Query versionedQuery(ObjectId id, Integer expectedVersion) {
+        Criteria criteria = Criteria.where(Movie.Fields.ID).is(id);
+        if (expectedVersion != null) {
+            criteria = expectedVersion == 0
+                    ? criteria.and(Movie.Fields.VERSION).in(Arrays.asList(0, null))
+                    : criteria.and(Movie.Fields.VERSION).is(expectedVersion);
+        }
+        return new Query(criteria);
+    }
+
+    /**
+     * Converts a batch filter Document to a Spring Data Query.
+     */
+    static Query filterQuery(Document filter) {
+        Query query = new Query();
+        filter.forEach((key, value) -> query.addCriteria(buildCriteriaFromValue(key, value)));
+        return query;
+    }
+
+    /**
+     * Converts a batch update Document to a Spring Data Update of {@code $set} operations, and
+     * increments the {@value Movie.Fields#VERSION} of every updated movie so pending conditional
+     * writes see the change.
+     */
+    static Update setUpdate(Document update) {
+        if (update.containsKey(Movie.Fields.VERSION)) {
+            throw new ValidationException("The version field is managed by the server and cannot be updated");
+        }
+        Update mongoUpdate = new Update();
+        update.forEach(mongoUpdate::set);
+        return mongoUpdate.inc(Movie.Fields.VERSION, 1);
+    }
+
+    /**
+     * Builds a Spring Data Criteria from a filter key-value pair.
+     * Handles MongoDB query operators like $in, $gt, $lt, etc.
+     *
+     * @param key The field name (e.g., "_id")
+     * @param value The filter value (can be a simple value or a Document with operators)
+     * @return Criteria object for the query
+     */
+    @SuppressWarnings("unchecked")
+    static Criteria buildCriteriaFromValue(String key, Object value) {
+        Criteria criteria = Criteria.where(key);
+
+        // If value is a Document (Map), it might contain MongoDB operators
+        if (value instanceof Map) {
+            Map<String, Object> operatorMap = (Map<String, Object>) value;
+
+            // Handle each MongoDB operator
+            for (Map.Entry<String, Object> entry : operatorMap.entrySet()) {
+                String operator = entry.getKey();
+                Object operatorValue = entry.getValue();
+
+                switch (operator) {
+                    case "$in":
+                        // Convert string IDs to ObjectIds if the field is _id
+                        if ("_id".equals(key) && operatorValue instanceof List) {
+                            List<?> values = (List<?>) operatorValue;
+                            List<ObjectId> objectIds = values.stream()
+                                    .map(id -> new ObjectId(id.toString()))
+                                    .collect(Collectors.toList());
+                            criteria = criteria.in(objectIds);
+                        } else {
+                            criteria = criteria.in((List<?>) operatorValue);
+                        }
+                        break;
+                    case "$nin":
+                        criteria = criteria.nin((List<?>) operatorValue);
+                        break;
+                    case "$gt":
+                        criteria = criteria.gt(operatorValue);
+                        break;
+                    case "$gte":
+                        criteria = criteria.gte(operatorValue);
+                        break;
+                    case "$lt":
+                        criteria = criteria.lt(operatorValue);
+                        break;
+                    case "$lte":
+                        criteria = criteria.lte(operatorValue);
+                        break;
+                    case "$ne":
+                        criteria = criteria.ne(operatorValue);
+                        break;
+                    case "$regex":
+                        criteria = criteria.regex(operatorValue.toString());
+                        break;
+                    case "$exists":
+                        criteria = criteria.exists((Boolean) operatorValue);
+                        break;
+                    default:
+                        // For unknown operators, use the value as-is
+                        criteria = criteria.is(value);
+                        break;
+                }
+            }
+        } else {
+            // Simple equality check
+            // Convert string ID to ObjectId if the field is _id
+            if ("_id".equals(key) && value instanceof String) {
+                criteria = criteria.is(new ObjectId(value.toString()));
+            } else {
+                criteria = criteria.is(value);
+            }
+        }
+
+        return criteria;
+    }
+
+    // ==================== BULK WRITE ====================
+
+    static final List<String> BULK_OPERATION_TYPES = List.of(
+            "insertOne", "updateOne", "updateMany", "replaceOne", "deleteOne", "deleteMany");
+
+    /**
+     * A validated bulk operation: its position in the request, the driver write model and, for
+     * inserts, the ID assigned before the write.
+     */
+    record BulkOperation(int index, String type, WriteModel<Document> model, ObjectId insertedId) {
+    }
+
+    /**
+     * Validates every operation of a bulk write request and converts it to a driver write model.
+     * Nothing is written unless all operations are valid.
+     *
+     * @param maxOperations upper bound on the number of operations in one request
+     */
+    static List<BulkOperation> bulkOperations(BulkWriteRequest request, int maxOperations) {
+        if (request == null || request.getOperations() == null || request.getOperations().isEmpty()) {
+            throw new ValidationException("Request body must include a non-empty 'operations' array");
+        }
+        if (request.getOperations().size() > maxOperations) {
+            throw new ValidationException("A bulk write can contain at most " + maxOperations + " operations");
+        }
+
+        List<BulkOperation> operations = new ArrayList<>(request.getOperations().size());
+        for (int i = 0; i < request.getOperations().size(); i++) {
+            operations.add(bulkOperation(request.getOperations().get(i), i));
+        }
+        return operations;
+    }
+
+    private static BulkOperation bulkOperation(BulkWriteOperation operation, int index) {
+        String label = "Operation at index " + index + ": ";
+        if (operation == null || !BULK_OPERATION_TYPES.contains(operation.getType())) {
+            throw new ValidationException(label + "Type must be one of: " + String.join(", ", BULK_OPERATION_TYPES));
+        }
+
+        String type = operation.getType();
+        try {
+            return switch (type) {
+                case "insertOne" -> {
+                    Document document = movieDocument(operation.getDocument(), label);
+                    ObjectId id = new ObjectId();
+                    document.put(Movie.Fields.ID, id);
+                    yield new BulkOperation(index, type, new InsertOneModel<>(document), id);
+                }
+                case "updateOne", "updateMany" -> {
+                    if (operation.getFilter() == null || operation.getUpdate() == null) {
+                        throw new ValidationException(label + "Both filter and update objects are required");
+                    }
+                    if (operation.getUpdate().isEmpty()) {
+                        throw new ValidationException(label + "Update object cannot be empty");
+                    }
+                    Document filter = bulkFilter(operation);
+                    Document update = setUpdate(new Document(operation.getUpdate())).getUpdateObject();
+                    WriteModel<Document> model = "updateOne".equals(type)
+                            ? new UpdateOneModel<>(filter, update)
+                            : new UpdateManyModel<>(filter, update);
+                    yield new BulkOperation(index, type, model, null);
+                }
+                case "replaceOne" -> {
+                    if (operation.getFilter() == null) {
+                        throw new ValidationException(label + "Filter object is required");
+                    }
+                    Document filter = bulkFilter(operation);
+                    Document replacement = movieDocument(operation.getDocument(), label);
+                    yield new BulkOperation(index, type,
+                            new UpdateOneModel<>(filter, versionedReplacement(replacement)), null);
+                }
+                default -> {
+                    // Same guard as the batch delete endpoint
+                    if (operation.getFilter() == null || operation.getFilter().isEmpty()) {
+                        throw new ValidationException(label + "Filter object is required and cannot be empty");
+                    }
+                    Document filter = bulkFilter(operation);
+                    WriteModel<Document> model = "deleteOne".equals(type)
+                            ? new DeleteOneModel<>(filter)
+                            : new DeleteManyModel<>(filter);
+                    yield new BulkOperation(index, type, model, null);
+                }
+            };
+        } catch (IllegalArgumentException | ClassCastException e) {
+            // Malformed filter values, e.g. an invalid ObjectId string
+            throw new ValidationException(label + "Invalid filter: " + e.getMessage());
+        }
+    }
+
+    private static Document bulkFilter(BulkWriteOperation operation) {
+        return filterQuery(new Document(operation.getFilter())).getQueryObject();
+    }
+
+    /**
+     * Replaces a movie with the given fields through an update pipeline that keeps its
+     * {@value Movie.Fields#VERSION} and increments it, like every other write. A plain replace
+     * would reset the version to 0, so ETags taken before the replace would match again.
+     *
+     * <p>The values are wrapped in {@code $literal}, so a string starting with {@code $} stays a
+     * string instead of being read as a field path.
+     */
+    static List<Document> versionedReplacement(Document replacement) {
+        Document newRoot = new Document(Movie.Fields.ID, "$" + Movie.Fields.ID);
+        replacement.forEach((field, value) -> {
+            if (!Movie.Fields.ID.equals(field) && !Movie.Fields.VERSION.equals(field)) {
+                newRoot.append(field, new Document("$literal", value));
+            }
+        });
+        newRoot.append(Movie.Fields.VERSION, new Document("$add", Arrays.asList(
+                new Document("$ifNull", Arrays.asList("$" + Movie.Fields.VERSION, 0)), 1)));
+        return List.of(new Document("$replaceWith", newRoot));
+    }
+
+    private static Document movieDocument(CreateMovieRequest request, String label) {
+        if (request == null) {
+            throw new ValidationException(label + "Document object is required");
+        }
+        requireTitle(request, label);
+        return MovieRequestFields.document(request);
+    }
+
+    // ==================== AGGREGATION REPORTS ====================
+
+    /**
+     * Matches movies with a valid year.
+     *
+     * <p>Until the normalization migration has run, year may hold strings such as "2010è", so only
+     * int years are matched with a {@code $type} check. Once the data is normalized every year is
+     * an int and a range predicate matches the same movies (comparisons only match numbers) while
+     * giving the planner bounds on {@code year_index}.
+     *
+     * @param normalized whether the movie data has been normalized
+     */
+    static Criteria hasValidYear(boolean normalized) {
+        return normalized
+                ? Criteria.where(Movie.Fields.YEAR).gte(Integer.MIN_VALUE)
+                : Criteria.where(Movie.Fields.YEAR).type(16);
+    }
+
+    /**
+     * Builds the movies-with-most-recent-comments pipeline.
+     */
+    static Aggregation recentCommentsAggregation(Integer limit, String movieId, boolean normalized) {
+        // Validate and set default limit
+        int resultLimit = Math.clamp(limit != null ? limit : 10, 1, 50);
+
+        // Build match criteria
+        Criteria matchCriteria = hasValidYear(normalized);
+
+        // Add movie ID filter if provided
+        if (movieId != null && !movieId.trim().isEmpty()) {
+            if (!ObjectId.isValid(movieId)) {
+                throw new ValidationException("Invalid movie ID format");
+            }
+            matchCriteria = matchCriteria.and(Movie.Fields.ID).is(new ObjectId(movieId));
+        }
+
+        // Use the validated limit from the request parameter
+        // The limit has already been validated and clamped to 1-50 range
+        int finalLimit = resultLimit;
+
+        // Build aggregation pipeline
+        // This demonstrates $lookup (join), $addFields, $sort, and $project operations
+        // Note: We perform $lookup on all matching movies, then sort and limit
+        // This ensures we get the movies with the MOST RECENT comments, not just the first N movies
+        return Aggregation.newAggregation(
+                // STAGE 1: Match movies with valid year data (and optional movie ID filter)
+                // Tip: Use $match early in the pipeline to reduce the dataset size
+                Aggregation.match(matchCriteria),
+
+                // STAGE 2: Lookup (join) with comments collection
+                // This performs a left outer join, giving each movie a 'comments' array
+                Aggregation.lookup("comments", "_id", "movie_id", "comments"),
+
+                // STAGE 3: Filter to only movies that have comments
+                // This converts the left join to an inner join
+                Aggregation.match(Criteria.where("comments").ne(List.of())),
+
+                // STAGE 4: Add computed fields
+                // Calculate totalComments and mostRecentCommentDate for sorting
+                Aggregation.project()
+                        .and(Movie.Fields.ID).as("_id")
+                        .and(Movie.Fields.TITLE).as("title")
+                        .and(Movie.Fields.YEAR).as("year")
+                        .and(Movie.Fields.PLOT).as("plot")
+                        .and(Movie.Fields.POSTER).as("poster")
+                        .and(Movie.Fields.GENRES).as("genres")
+                        .and(Movie.Fields.IMDB).as("imdb")
+                        .and("comments").as("comments")
+                        .and(ArrayOperators.Size.lengthOfArray("comments")).as("totalComments")
+                        .and(ArrayOperators.ArrayElemAt.arrayOf("comments.date").elementAt(0)).as("mostRecentCommentDate"),
+
+                // STAGE 5: Sort by most recent comment date (descending)
+                // This ensures we get movies with the MOST RECENT comment activity
+                Aggregation.sort(Sort.Direction.DESC, "mostRecentCommentDate"),
+
+                // STAGE 6: Limit results
+                // Apply limit AFTER sorting to get the correct top N movies by recent comment activity
+                // Uses the limit from the request parameter (default: 10, max: 50)
+                Aggregation.limit(finalLimit),
+
+                // STAGE 7: Project final output with recent comments slice
+                // Shape the response and include only the 5 most recent comments per movie
+                Aggregation.project()
+                        .and(ConditionalOperators.ifNull("_id").then("")).as("_id")
+                        .and("title").as("title")
+                        .and("year").as("year")
+                        .and("plot").as("plot")
+                        .and("poster").as("poster")
+                        .and("genres").as("genres")
+                        .and("imdb.rating").as("imdbRating")
+                        .and(ArrayOperators.Slice.sliceArrayOf("comments").itemCount(5)).as("recentComments")
+                        .and("totalComments").as("totalComments")
+                        .and("mostRecentCommentDate").as("mostRecentCommentDate")
+        );
+    }
+
+    /**
+     * Builds the per-year statistics pipeline.
+     */
+    static Aggregation moviesByYearAggregation(boolean normalized) {
+        // Build aggregation pipeline
+        // This demonstrates $group with statistical operators and $project for data shaping
+        return Aggregation.newAggregation(
+                // STAGE 1: Match movies with valid year data
+                Aggregation.match(hasValidYear(normalized)),
+
+                // STAGE 2: Group by year and calculate statistics
+                Aggregation.group(Movie.Fields.YEAR)
+                        .count().as("movieCount")
+                        .avg(Movie.Fields.IMDB_RATING).as("averageRating")
+                        .max(Movie.Fields.IMDB_RATING).as("highestRating")
+                        .min(Movie.Fields.IMDB_RATING).as("lowestRating")
+                        .sum("imdb.votes").as("totalVotes"),
+
+                // STAGE 3: Project final output with renamed fields
+                Aggregation.project()
+                        .and("_id").as("year")
+                        .and("movieCount").as("movieCount")
+                        .and("averageRating").as("averageRating")
+                        .and("highestRating").as("highestRating")
+                        .and("lowestRating").as("lowestRating")
+                        .and("totalVotes").as("totalVotes")
+                        .andExclude("_id"),
+
+                // STAGE 4: Sort by year (descending)
+                Aggregation.sort(Sort.Direction.DESC, "year")
+        );
+    }
+
+    /**
+     * Builds the directors-with-most-movies pipeline.
+     */
+    static Aggregation directorsAggregation(Integer limit, boolean normalized) {
+        // Validate and set default limit
+        int resultLimit = Math.clamp(limit != null ? limit : 20, 1, 100);
+
+        // Build aggregation pipeline
+        // This demonstrates $unwind for array flattening and $group for aggregation
+        return Aggregation.newAggregation(
+                // STAGE 1: Match movies with directors and valid year
+                Aggregation.match(
+                        hasValidYear(normalized)
+                                .and(Movie.Fields.DIRECTORS).exists(true).ne(null).ne(List.of())
+                ),
+
+                // STAGE 2: Unwind directors array
+                Aggregation.unwind(Movie.Fields.DIRECTORS),
+
+                // STAGE 3: Filter out null/empty director names
+                Aggregation.match(
+                        Criteria.where(Movie.Fields.DIRECTORS).ne(null).ne("")
+                ),
+
+                // STAGE 4: Group by director and calculate statistics
+                Aggregation.group(Movie.Fields.DIRECTORS)
+                        .count().as("movieCount")
+                        .avg(Movie.Fields.IMDB_RATING).as("averageRating"),
+
+                // STAGE 5: Sort by movie count (descending)
+                Aggregation.sort(Sort.Direction.DESC, "movieCount"),
+
+                // STAGE 6: Limit results
+                Aggregation.limit(resultLimit),
+
+                // STAGE 7: Project final output
+                Aggregation.project()
+                        .and("_id").as("director")
+                        .and("movieCount").as("movieCount")
+                        .and("averageRating").as("averageRating")
+                        .andExclude("_id")
+        );
+    }
+
+    /**
+     * Validates that a field is one of the facet fields tracked by {@link FacetCatalog}.
+     */
+    static void validateFacetField(String field) {
+        if (!FacetCatalog.FIELDS.contains(field)) {
+            throw new ValidationException("Facet field must be one of: " + String.join(", ", FacetCatalog.FIELDS));
+        }
+    }
+
+    /**
+     * Builds the per-value movie count pipeline for a facet field (genres, countries, languages,
+     * rated), used while the in-memory facet catalog is unavailable.
+     */
+    static Aggregation facetValueCountsAggregation(String field) {
+        return Aggregation.newAggregation(
+                // STAGE 1: One document per value; a scalar such as rated passes through as is
+                Aggregation.unwind(field),
+
+                // STAGE 2: Skip non-string and empty values
+                Aggregation.match(Criteria.where(field).type(2).ne("")),
+
+                // STAGE 3: Count movies per value
+                Aggregation.group(field).count().as("count"),
+
+                // STAGE 4: Most common first, ties alphabetically
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by(Sort.Direction.ASC, "_id"))),
+
+                // STAGE 5: Project final output
+                Aggregation.project()
+                        .and("_id").as("value")
+                        .and("count").as("count")
+                        .andExclude("_id")
+        );
+    }
+
+    /**
+     * Rounds an average rating to 2 decimal places.
+     */
+    static Double roundRating(Double rating) {
+        return rating != null ? Math.round(rating * 100.0) / 100.0 : null;
+    }
+
+    /**
+     * Helper method to map Document to MovieWithCommentsResult.
+     */
+    static MovieWithCommentsResult toMovieWithCommentsResult(Document doc) {
+        // Extract IMDB rating (just the number)
+        Double imdbRating = doc.getDouble("imdbRating");
+
+        // Extract recent comments
+        List<MovieWithCommentsResult.CommentInfo> recentComments = null;
+        @SuppressWarnings("unchecked")
+        List<Document> commentsDoc = (List<Document>) doc.get("recentComments");
+        if (commentsDoc != null) {
+            recentComments = commentsDoc.stream()
+                    .map(commentDoc -> MovieWithCommentsResult.CommentInfo.builder()
+                            .id(commentDoc.getObjectId("_id") != null ?
+                                    commentDoc.getObjectId("_id").toHexString() : null)
+                            .name(commentDoc.getString("name"))
+                            .email(commentDoc.getString("email"))
+                            .text(commentDoc.getString("text"))
+                            .date(commentDoc.getDate("date"))
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
+        // Extract movie ID - handle both String and ObjectId types
+        String movieId = null;
+        Object idObj = doc.get("_id");
+        if (idObj instanceof String) {
+            movieId = (String) idObj;
+        } else if (idObj instanceof ObjectId) {
+            movieId = ((ObjectId) idObj).toHexString();
+        }
+
+        return MovieWithCommentsResult.builder()
+                ._id(movieId)
+                .title(doc.getString("title"))
+                .year(doc.get("year") instanceof Integer year ? year : null)
+                .plot(doc.getString("plot"))
+                .poster(doc.getString("poster"))
+                .genres(doc.getList("genres", String.class))
+                .imdbRating(imdbRating)
+                .recentComments(recentComments)
+                .totalComments(doc.getInteger("totalComments"))
+                .mostRecentCommentDate(doc.getDate("mostRecentCommentDate"))
+                .build();
+    }
+
+    // ==================== BROWSE FACETS ====================
+
+    /**
+     * Validates the browse facets mode and returns it in canonical form.
+     */
+    static String facetMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return FACET_MODE_FIXED;
+        }
+        if (!FACET_MODE_FIXED.equalsIgnoreCase(mode) && !FACET_MODE_AUTO.equalsIgnoreCase(mode)) {
+            throw new ValidationException("Parameter 'mode' must be 'fixed' or 'auto'");
+        }
+        return mode.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Clamps the number of automatic buckets.
+     */
+    static int facetBuckets(Integer buckets) {
+        return Math.clamp(buckets != null ? buckets : 5, 2, 20);
+    }
+
+    /**
+     * Builds the browse facets pipeline: one $match with the list filters, then one $facet that
+     * computes the total, the genre counts, and the year and rating distributions in a single pass.
+     *
+     * <p>In fixed mode years are grouped by decade and ratings in two-point bands with $bucket.
+     * In auto mode $bucketAuto picks {@code buckets} ranges holding roughly equal numbers of movies.
+     */
+    static Aggregation browseFacetsAggregation(MovieSearchQuery query, String mode, int buckets, boolean normalized) {
+        Document filter = buildQuery(query).getQueryObject();
+        boolean auto = FACET_MODE_AUTO.equals(mode);
+
+        AggregationOperation yearBuckets = auto
+                ? Aggregation.bucketAuto(Movie.Fields.YEAR, buckets)
+                        .andOutputCount().as("count")
+                        .andOutput(Movie.Fields.IMDB_RATING).avg().as("averageRating")
+                : Aggregation.bucket(Movie.Fields.YEAR)
+                        .withBoundaries(DECADE_BOUNDARIES.toArray())
+                        .withDefaultBucket(OTHER_BUCKET)
+                        .andOutputCount().as("count")
+                        .andOutput(Movie.Fields.IMDB_RATING).avg().as("averageRating");
+        AggregationOperation ratingBuckets = auto
+                ? Aggregation.bucketAuto(Movie.Fields.IMDB_RATING, buckets)
+                        .andOutputCount().as("count")
+                : Aggregation.bucket(Movie.Fields.IMDB_RATING)
+                        .withBoundaries(RATING_BOUNDARIES.toArray())
+                        .withDefaultBucket(OTHER_BUCKET)
+                        .andOutputCount().as("count");
+
+        return Aggregation.newAggregation(
+                // STAGE 1: The same filters as GET /api/movies; $text must be in the first stage
+                context -> new Document("$match", filter),
+
+                // STAGE 2: Every distribution over the matching movies in one pass
+                Aggregation.facet(Aggregation.count().as("count")).as("total")
+                        .and(
+                                Aggregation.unwind(Movie.Fields.GENRES),
+                                Aggregation.match(Criteria.where(Movie.Fields.GENRES).type(2).ne("")),
+                                Aggregation.sortByCount(Movie.Fields.GENRES)
+                        ).as("genres")
+                        .and(Aggregation.match(hasValidYear(normalized)), yearBuckets).as("years")
+                        // gte(0) only matches numbers, which skips the empty-string ratings
+                        .and(Aggregation.match(Criteria.where(Movie.Fields.IMDB_RATING).gte(0)), ratingBuckets).as("ratings")
+        );
+    }
+
+    /**
+     * Maps the single document produced by {@link #browseFacetsAggregation}.
+     */
+    static MovieFacetsResult toFacetsResult(Document facets, String mode) {
+        List<Document> total = facets.getList("total", Document.class, List.of());
+        List<FacetValueCount> genres = facets.getList("genres", Document.class, List.of()).stream()
+                .map(genre -> new FacetValueCount(genre.getString("_id"), genre.get("count", Number.class).longValue()))
+                .sorted(Comparator.comparingLong(FacetValueCount::getCount).reversed()
+                        .thenComparing(FacetValueCount::getValue))
+                .toList();
+        boolean auto = FACET_MODE_AUTO.equals(mode);
+
+        return MovieFacetsResult.builder()
+                .total(total.isEmpty() ? 0L : total.get(0).get("count", Number.class).longValue())
+                .genres(genres)
+                .years(toBuckets(facets.getList("years", Document.class, List.of()), auto, DECADE_BOUNDARIES))
+                .ratings(toBuckets(facets.getList("ratings", Document.class, List.of()), auto, RATING_BOUNDARIES))
+                .build();
+    }
+
+    private static List<FacetBucket> toBuckets(List<Document> buckets, boolean auto, List<? extends Number> boundaries) {
+        List<FacetBucket> result = new ArrayList<>();
+        for (Document bucket : buckets) {
+            Number min;
+            Number max;
+            if (auto) {
+                Document range = bucket.get("_id", Document.class);
+                min = range.get("min", Number.class);
+                max = range.get("max", Number.class);
+            } else if (bucket.get("_id") instanceof Number lower) {
+                // $bucket reports the lower boundary; the upper one is the next boundary
+                int index = boundaries.indexOf(lower);
+                min = lower;
+                max = index >= 0 && index + 1 < boundaries.size() ? boundaries.get(index + 1) : null;
+            } else {
+                // The default bucket holds values outside the boundaries, such as a 1870s year
+                continue;
+            }
+            Number averageRating = bucket.get("averageRating", Number.class);
+            result.add(FacetBucket.builder()
+                    .min(min)
+                    .max(max)
+                    .count(bucket.get("count", Number.class).longValue())
+                    .averageRating(averageRating != null ? roundRating(averageRating.doubleValue()) : null)
+                    .build());
+        }
+        return result;
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Validates a search request and returns its compound operator.
+     */
+    static String searchOperator(MovieSearchRequest searchRequest) {
+        // Validate that at least one search field is provided
+        if (!searchRequest.hasSearchFields()) {
+            throw new ValidationException("At least one search parameter must be provided");
+        }
+
+        // Validate search operator
+        String operator = searchRequest.getSearchOperator() != null ?
+                searchRequest.getSearchOperator() : "must";
+
+        if (!operator.equals("must") && !operator.equals("should") &&
+            !operator.equals("mustNot") && !operator.equals("filter")) {
+            throw new ValidationException(
+                "Invalid search_operator '" + operator + "'. " +
+                "The search_operator must be one of: must, should, mustNot, filter"
+            );
+        }
+        return operator;
+    }
+
+    static int searchLimit(MovieSearchRequest searchRequest) {
+        return Math.clamp(searchRequest.getLimit() != null ? searchRequest.getLimit() : 20, 1, 100);
+    }
+
+    static int searchSkip(MovieSearchRequest searchRequest) {
+        return Math.max(searchRequest.getSkip() != null ? searchRequest.getSkip() : 0, 0);
+    }
+
+    /**
+     * Builds the Atlas {@code $search} pipeline for a validated request.
+     */
+    static List<Document> searchPipeline(MovieSearchRequest searchRequest, String operator, int skip, int limit) {
+        // Project only the fields needed in the response
+        Document projectStage = new Document("$project", resultProjection()
+                .append("score", new Document("$meta", "searchScore"))
+        );
+
+        return List.of(searchStage(searchRequest, operator), new Document("$skip", skip),
+                new Document("$limit", limit), projectStage);
+    }
+
+    /**
+     * Builds an Atlas {@code $search} pipeline that returns only the ranked IDs and scores.
+     *
+     * <p>Used by the passthrough read path, which fetches the documents themselves by ID.
+     */
+    static List<Document> searchIdsPipeline(MovieSearchRequest searchRequest, String operator, int skip, int limit) {
+        Document projectStage = new Document("$project", new Document(Movie.Fields.ID, 1)
+                .append("score", new Document("$meta", "searchScore"))
+        );
+
+        return List.of(searchStage(searchRequest, operator), new Document("$skip", skip),
+                new Document("$limit", limit), projectStage);
+    }
+
+    private static Document searchStage(MovieSearchRequest searchRequest, String operator) {
+        // Build search phrases list
+        List<Document> searchPhrases = new ArrayList<>();
+
+        // Add plot search if provided (using phrase operator)
+        if (searchRequest.getPlot() != null && !searchRequest.getPlot().trim().isEmpty()) {
+            searchPhrases.add(new Document("phrase", new Document()
+                    .append("query", searchRequest.getPlot().trim())
+                    .append("path", Movie.Fields.PLOT)
+            ));
+        }
+
+        // Add fullplot search if provided (using phrase operator)
+        if (searchRequest.getFullplot() != null && !searchRequest.getFullplot().trim().isEmpty()) {
+            searchPhrases.add(new Document("phrase", new Document()
+                    .append("query", searchRequest.getFullplot().trim())
+                    .append("path", Movie.Fields.FULLPLOT)
+            ));
+        }
+
+        // Add directors search if provided
+        // Use compound operator with "should" clauses to create a scoring hierarchy:
+        // 1. phrase match (highest score) - exact phrase in same array element
+        // 2. text match without fuzzy (high score) - all terms present, exact spelling
+        // 3. text match with fuzzy (lower score) - typo-tolerant fallback; update fuzzy settings as needed
+        // For more details, see: https://www.mongodb.com/docs/atlas/atlas-search/operators-collectors/text/
+        if (searchRequest.getDirectors() != null && !searchRequest.getDirectors().trim().isEmpty()) {
+            searchPhrases.add(peopleClause(searchRequest.getDirectors().trim(), Movie.Fields.DIRECTORS));
+        }
+
+        // Add writers search if provided (see directors comments for compound scoring hierarchy)
+        if (searchRequest.getWriters() != null && !searchRequest.getWriters().trim().isEmpty()) {
+            searchPhrases.add(peopleClause(searchRequest.getWriters().trim(), Movie.Fields.WRITERS));
+        }
+
+        // Add cast search if provided (see directors comments for compound scoring hierarchy)
+        if (searchRequest.getCast() != null && !searchRequest.getCast().trim().isEmpty()) {
+            searchPhrases.add(peopleClause(searchRequest.getCast().trim(), Movie.Fields.CAST));
+        }
+
+        // Build the $search aggregation stage with compound operator
+        return new Document("$search", new Document()
+                .append("index", "movieSearchIndex")
+                .append("compound", new Document(operator, searchPhrases))
+        );
+    }
+
+    private static Document peopleClause(String query, String path) {
+        return new Document("compound", new Document()
+                .append("should", Arrays.asList(
+                        // Highest score: exact phrase match
+                        new Document("phrase", new Document()
+                                .append("query", query)
+                                .append("path", path)),
+                        // High score: exact text match (all terms, no fuzzy)
+                        new Document("text", new Document()
+                                .append("query", query)
+                                .append("path", path)
+                                .append("matchCriteria", "all")),
+                        // Lower score: fuzzy match (typo tolerance)
+                        new Document("text", new Document()
+                                .append("query", query)
+                                .append("path", path)
+                                .append("matchCriteria", "all")
+                                // Fuzzy settings: allow up to 1 edit, require first 2 characters to match
+                                .append("fuzzy", new Document()
+                                        .append("maxEdits", 1)
+                                        .append("prefixLength", 2)))
+                ))
+                .append("minimumShouldMatch", 1));
+    }
+
+    /**
+     * Reads the {@code score} field of a search result, or 0 if it is missing.
+     */
+    static double score(Document result) {
+        return result.get("score") instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    /**
+     * Reads the {@code score} field of a raw search result, or 0 if it is missing.
+     */
+    static double score(RawBsonDocument result) {
+        return result.get("score") instanceof BsonNumber number ? number.doubleValue() : 0.0;
+    }
+
+    /**
+     * Query that fetches movies by ID, projecting the same fields as the $search pipeline.
+     */
+    static Query moviesByIdsQuery(List<ObjectId> movieIds) {
+        Query query = new Query(Criteria.where(Movie.Fields.ID).in(movieIds));
+        query.fields().include(RESULT_FIELDS);
+        return query;
+    }
+
+    /**
+     * Filter matching any of the given movie IDs.
+     */
+    static Document idsFilter(List<ObjectId> movieIds) {
+        return new Document(Movie.Fields.ID, new Document("$in", movieIds));
+    }
+
+    /**
+     * Projection of the grid listing fields.
+     */
+    static Document gridProjection() {
+        Document projection = new Document(Movie.Fields.ID, 1);
+        for (String field : GRID_FIELDS) {
+            projection.append(field, 1);
+        }
+        return projection;
+    }
+
+    /**
+     * Projection of the {@link Movie} fields, for reading raw documents.
+     */
+    static Document movieProjection() {
+        Document projection = new Document(Movie.Fields.ID, 1);
+        for (String field : MOVIE_FIELDS) {
+            projection.append(field, 1);
+        }
+        return projection;
+    }
+
+    /**
+     * Orders raw documents to match the given IDs, dropping IDs that no longer exist.
+     */
+    static List<RawBsonDocument> inRawIdOrder(List<ObjectId> movieIds, Iterable<RawBsonDocument> movies) {
+        Map<ObjectId, RawBsonDocument> moviesById = new HashMap<>();
+        movies.forEach(movie -> moviesById.put(movie.getObjectId(Movie.Fields.ID).getValue(), movie));
+
+        return movieIds.stream()
+                .map(moviesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Orders fetched movies to match the given IDs, dropping IDs that no longer exist.
+     */
+    static List<Movie> inIdOrder(List<ObjectId> movieIds, Iterable<Movie> movies) {
+        Map<ObjectId, Movie> moviesById = new HashMap<>();
+        movies.forEach(movie -> moviesById.put(movie.getId(), movie));
+
+        return movieIds.stream()
+                .map(moviesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // ==================== VECTOR SEARCH ====================
+
+    static int vectorLimit(Integer limit) {
+        return Math.clamp(limit != null ? limit : 10, 1, 50);
+    }
+
+    /**
+     * Builds the plot-embedding similarity pipeline for {@code find-similar-movies}.
+     */
+    static List<Document> similarMoviesPipeline(ObjectId sourceId, List<Double> plotEmbedding, int limit) {
+        // Build the $vectorSearch aggregation stage
+        // Note: This requires MongoDB Atlas with a vector search index configured
+        Document vectorSearchStage = new Document("$vectorSearch", new Document()
+                .append("index", "plotEmbeddingIndex")
+                .append("path", "plot_embedding")
+                .append("queryVector", plotEmbedding)
+                .append("numCandidates", limit * 20) // We recommend searching 20 times higher than the limit to improve result relevance
+                .append("limit", limit + 1) // +1 to exclude the source movie
+        );
+
+        // Filter out the source movie
+        Document matchStage = new Document("$match",
+                new Document(Movie.Fields.ID, new Document("$ne", sourceId))
+        );
+
+        // Limit to final result count
+        Document limitStage = new Document("$limit", limit);
+
+        // Project only the fields needed in the response
+        Document projectStage = new Document("$project", resultProjection()
+                .append("score", new Document("$meta", "vectorSearchScore"))
+        );
+
+        return List.of(vectorSearchStage, matchStage, limitStage, projectStage);
+    }
+
+    /**
+     * Builds the embedded_movies {@code $vectorSearch} pipeline that returns IDs and scores.
+     */
+    static List<Document> vectorSearchPipeline(List<Double> queryVector, int limit) {
+        // Build the $vectorSearch aggregation stage
+        Document vectorSearchStage = new Document("$vectorSearch", new Document()
+                .append("index", "vector_index")
+                .append("path", "plot_embedding_voyage_3_large")
+                .append("queryVector", queryVector)
+                .append("numCandidates", limit * 20)  // We recommend searching 20 times higher than the limit to improve result relevance
+                .append("limit", limit)
+        );
+
+        // Project only the fields we need from embedded_movies: _id and score
+        Document projectStage = new Document("$project", new Document()
+                .append("_id", 1)
+                .append("score", new Document("$meta", "vectorSearchScore"))
+        );
+
+        return List.of(vectorSearchStage, projectStage);
+    }
+
+    /**
+     * Builds the movies pipeline that hydrates vector search hits, safely handling dirty year data
+     * unless the data has been normalized.
+     */
+    static List<Document> vectorHitMoviesPipeline(List<ObjectId> movieIds, boolean normalized) {
+        // Build aggregation pipeline to safely convert year field
+        Document matchStage = new Document("$match", new Document("_id", new Document("$in", movieIds)));
+
+        // Project stage to safely convert year to integer, handling dirty data
+        Document projectStage = new Document("$project", new Document()
+                .append("_id", 1)
+                .append("title", 1)
+                .append("plot", 1)
+                .append("poster", 1)
+                .append("genres", 1)
+                .append("directors", 1)
+                .append("cast", 1)
+                // Safely convert year to integer, handling strings and dirty data
+                // Normalized data only holds int years, so year is projected as stored
+                .append("year", normalized ? 1 : new Document("$cond", new Document()
+                        .append("if", new Document("$and", Arrays.asList(
+                                new Document("$ne", Arrays.asList("$year", null)),
+                                new Document("$eq", Arrays.asList(new Document("$type", "$year"), "int"))
+                        )))
+                        .append("then", "$year")
+                        .append("else", null)
+                ))
+        );
+
+        return List.of(matchStage, projectStage);
+    }
+
+    /**
+     * Maps a hydrated vector search hit, or returns null if it has no ID or no score.
+     */
+    static VectorSearchResult toVectorSearchResult(Document doc, Map<String, Double> scoreMap) {
+        ObjectId movieIdObj = doc.getObjectId("_id");
+        if (movieIdObj == null) {
+            return null;
+        }
+
+        String movieIdStr = movieIdObj.toString();
+        Double score = scoreMap.get(movieIdStr);
+        if (score == null) {  // Only include movies that have vector scores
+            return null;
+        }
+
+        return VectorSearchResult.builder()
+                .id(movieIdStr)
+                .title(doc.getString("title"))
+                .plot(doc.getString("plot"))
+                .poster(doc.getString("poster"))
+                // Null for dirty data, even if a string year was written after the migration
+                .year(doc.get("year") instanceof Integer year ? year : null)
+                // Safely get list fields, defaulting to null if not present
+                .genres(doc.getList("genres", String.class))
+                .directors(doc.getList("directors", String.class))
+                .cast(doc.getList("cast", String.class))
+                .score(score)
+                .build();
+    }
+
+    /**
+     * Vector search hits with only their ID and score, in ranking order, for when the movie
+     * details could not be loaded within the request's deadline.
+     */
+    static List<VectorSearchResult> vectorHitsWithoutDetails(List<ObjectId> movieIds, Map<String, Double> scoreMap) {
+        return movieIds.stream()
+                .map(ObjectId::toString)
+                .map(id -> VectorSearchResult.builder().id(id).score(scoreMap.get(id)).build())
+                .toList();
+    }
+
+    /**
+     * Projection of the fields returned by search and similar-movie results.
+     */
+    static Document resultProjection() {
+        Document projection = new Document(Movie.Fields.ID, 1);
+        for (String field : RESULT_FIELDS) {
+            projection.append(field, 1);
+        }
+        return projection;
+    }
+}
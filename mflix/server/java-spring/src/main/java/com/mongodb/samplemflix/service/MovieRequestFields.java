@@ -0,0 +1,139 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Mapping from the movie request DTOs to document fields, written out once per property.
+ *
+ * <p>Each property is listed with its getter and its document path, so building a write is a
+ * loop over plain method calls: no Jackson {@code convertValue} round trip to a {@code Map} and
+ * no reflective mapping. Paths may be nested, e.g. {@value Movie.Fields#IMDB_RATING}.
+ *
+ * <p>For a PATCH, a property that is absent from the body is left unchanged, a value is
+ * {@code $set} at its path and an explicit {@code null} is {@code $unset}.
+ *
+ * <p>Adding a property to a request DTO means adding it here as well; {@code MovieRequestFieldsTest}
+ * checks that every property is mapped.
+ */
+final class MovieRequestFields {
+
+    /**
+     * A request property: its document path, how to read its value, and whether the client sent
+     * it as an explicit null.
+     */
+    record Field<R>(String path, Function<R, Object> value, Predicate<R> explicitNull) {
+    }
+
+    private static final UpdateMovieRequest.Imdb NO_IMDB = new UpdateMovieRequest.Imdb();
+
+    static final List<Field<UpdateMovieRequest>> UPDATE_FIELDS = List.of(
+            updateField(Movie.Fields.TITLE, UpdateMovieRequest::getTitle),
+            updateField(Movie.Fields.YEAR, UpdateMovieRequest::getYear),
+            updateField(Movie.Fields.PLOT, UpdateMovieRequest::getPlot),
+            updateField(Movie.Fields.FULLPLOT, UpdateMovieRequest::getFullplot),
+            updateField(Movie.Fields.GENRES, UpdateMovieRequest::getGenres),
+            updateField(Movie.Fields.DIRECTORS, UpdateMovieRequest::getDirectors),
+            updateField(Movie.Fields.WRITERS, UpdateMovieRequest::getWriters),
+            updateField(Movie.Fields.CAST, UpdateMovieRequest::getCast),
+            updateField(Movie.Fields.COUNTRIES, UpdateMovieRequest::getCountries),
+            updateField(Movie.Fields.LANGUAGES, UpdateMovieRequest::getLanguages),
+            updateField(Movie.Fields.RATED, UpdateMovieRequest::getRated),
+            updateField(Movie.Fields.RUNTIME, UpdateMovieRequest::getRuntime),
+            updateField(Movie.Fields.POSTER, UpdateMovieRequest::getPoster),
+            // The imdb object itself can only be removed; its values are set one path at a time
+            new Field<UpdateMovieRequest>(Movie.Fields.IMDB, request -> null,
+                    request -> request.isExplicitNull(Movie.Fields.IMDB)),
+            new Field<UpdateMovieRequest>(Movie.Fields.IMDB_RATING, request -> imdb(request).getRating(),
+                    request -> imdb(request).isExplicitNull("rating")),
+            new Field<UpdateMovieRequest>(Movie.Fields.IMDB_VOTES, request -> imdb(request).getVotes(),
+                    request -> imdb(request).isExplicitNull("votes"))
+    );
+
+    static final List<Field<CreateMovieRequest>> CREATE_FIELDS = List.of(
+            createField(Movie.Fields.TITLE, CreateMovieRequest::getTitle),
+            createField(Movie.Fields.YEAR, CreateMovieRequest::getYear),
+            createField(Movie.Fields.PLOT, CreateMovieRequest::getPlot),
+            createField(Movie.Fields.FULLPLOT, CreateMovieRequest::getFullplot),
+            createField(Movie.Fields.GENRES, CreateMovieRequest::getGenres),
+            createField(Movie.Fields.DIRECTORS, CreateMovieRequest::getDirectors),
+            createField(Movie.Fields.WRITERS, CreateMovieRequest::getWriters),
+            createField(Movie.Fields.CAST, CreateMovieRequest::getCast),
+            createField(Movie.Fields.COUNTRIES, CreateMovieRequest::getCountries),
+            createField(Movie.Fields.LANGUAGES, CreateMovieRequest::getLanguages),
+            createField(Movie.Fields.RATED, CreateMovieRequest::getRated),
+            createField(Movie.Fields.RUNTIME, CreateMovieRequest::getRuntime),
+            createField(Movie.Fields.POSTER, CreateMovieRequest::getPoster)
+    );
+
+    private MovieRequestFields() {
+    }
+
+    private static Field<UpdateMovieRequest> updateField(String path, Function<UpdateMovieRequest, Object> value) {
+        return new Field<>(path, value, request -> request.isExplicitNull(path));
+    }
+
+    private static Field<CreateMovieRequest> createField(String path, Function<CreateMovieRequest, Object> value) {
+        // Create requests insert a new document, so a null simply leaves the field out
+        return new Field<>(path, value, request -> false);
+    }
+
+    private static UpdateMovieRequest.Imdb imdb(UpdateMovieRequest request) {
+        return request.getImdb() != null ? request.getImdb() : NO_IMDB;
+    }
+
+    /**
+     * Whether the request neither sets nor removes any field.
+     */
+    static boolean isEmpty(UpdateMovieRequest request) {
+        for (Field<UpdateMovieRequest> field : UPDATE_FIELDS) {
+            if (field.value().apply(request) != null || field.explicitNull().test(request)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the {@code $set} and {@code $unset} operations of a PATCH request.
+     *
+     * @throws ValidationException if the request removes the title
+     */
+    static Update update(UpdateMovieRequest request) {
+        if (request.isExplicitNull(Movie.Fields.TITLE)) {
+            throw new ValidationException("Title cannot be removed");
+        }
+
+        Update update = new Update();
+        for (Field<UpdateMovieRequest> field : UPDATE_FIELDS) {
+            Object value = field.value().apply(request);
+            if (value != null) {
+                update.set(field.path(), value);
+            } else if (field.explicitNull().test(request)) {
+                update.unset(field.path());
+            }
+        }
+        return update;
+    }
+
+    /**
+     * Builds the document for a new movie from its non-null fields.
+     */
+    static Document document(CreateMovieRequest request) {
+        Document document = new Document();
+        for (Field<CreateMovieRequest> field : CREATE_FIELDS) {
+            Object value = field.value().apply(request);
+            if (value != null) {
+                document.put(field.path(), value);
+            }
+        }
+        return document;
+    }
+}
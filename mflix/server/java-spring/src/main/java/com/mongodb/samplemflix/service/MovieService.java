@@ -1,11 +1,17 @@
 package com.mongodb.samplemflix.service;
 
+import com.mongodb.samplemflix.concurrency.ServedFromMemory;
 import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
 import com.mongodb.samplemflix.model.dto.BatchInsertResponse;
 import com.mongodb.samplemflix.model.dto.BatchUpdateResponse;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
 import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
 import com.mongodb.samplemflix.model.dto.DeleteResponse;
 import com.mongodb.samplemflix.model.dto.DirectorStatisticsResult;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
 import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
 import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
 import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
@@ -13,6 +19,7 @@ import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
 import com.mongodb.samplemflix.model.dto.VectorSearchResult;
 import java.util.List;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 
 /**
  * Service interface for movie business logic.
@@ -27,22 +34,78 @@ public interface MovieService {
      *
      * @return List of unique genre strings, sorted alphabetically
      */
+    @ServedFromMemory
     List<String> getDistinctGenres();
 
+    /**
+     * Counts the movies per value of a facet field.
+     * Served from the in-memory facet catalog once it is built, otherwise aggregated.
+     *
+     * @param field One of genres, countries, languages, rated
+     * @return Values with their movie counts, most common first
+     */
+    @ServedFromMemory
+    List<FacetValueCount> getFacetValueCounts(String field);
+
+    /**
+     * Computes the genre, year and rating distributions of the movies matching the list filters
+     * in a single $facet aggregation. Results are cached per filter signature until the next write.
+     *
+     * @param query List filters (q, genre, year, minRating, maxRating); paging and sort are ignored
+     * @param mode "fixed" for decade and two-point rating buckets, "auto" for $bucketAuto ranges
+     * @param buckets Number of automatic buckets (default: 5, min: 2, max: 20)
+     * @return Total, genre counts, and year and rating buckets
+     */
+    @ServedFromMemory
+    MovieFacetsResult getBrowseFacets(MovieSearchQuery query, String mode, Integer buckets);
+
     Movie getMovieById(String id);
 
     Movie createMovie(CreateMovieRequest request);
 
     BatchInsertResponse createMoviesBatch(List<CreateMovieRequest> requests);
 
-    Movie updateMovie(String id, UpdateMovieRequest request);
+    default Movie updateMovie(String id, UpdateMovieRequest request) {
+        return updateMovie(id, request, null);
+    }
+
+    /**
+     * Updates a movie with a single findAndModify and returns the updated movie.
+     *
+     * @param expectedVersion Version from the client's If-Match ETag; when set, the update only
+     *                        applies while the movie is still at that version
+     * @throws com.mongodb.samplemflix.exception.PreconditionFailedException if the movie exists
+     *         but is no longer at the expected version
+     */
+    Movie updateMovie(String id, UpdateMovieRequest request, Integer expectedVersion);
 
     BatchUpdateResponse updateMoviesBatch(Document filter, Document update);
 
-    DeleteResponse deleteMovie(String id);
+    default DeleteResponse deleteMovie(String id) {
+        return deleteMovie(id, null);
+    }
+
+    /**
+     * Deletes a movie with a single deleteOne.
+     *
+     * @param expectedVersion Version from the client's If-Match ETag, or null to delete unconditionally
+     */
+    DeleteResponse deleteMovie(String id, Integer expectedVersion);
 
     DeleteResponse deleteMoviesBatch(Document filter);
 
+    /**
+     * Runs a mix of insert, update, replace and delete operations as driver bulk writes.
+     *
+     * <p>All operations are validated before anything is written. Large requests are sent in
+     * chunks of {@code api.bulk.chunk-size} operations; an ordered request stops at the first
+     * failing operation and reports the rest as skipped.
+     *
+     * @param request Operations and the ordered flag (default: true)
+     * @return Total counts and the outcome of each operation
+     */
+    BulkWriteResponse bulkWrite(BulkWriteRequest request);
+
     Movie findAndDeleteMovie(String id);
 
     // Aggregation endpoints for reporting
@@ -117,4 +180,43 @@ public interface MovieService {
      * @return List of vector search results with movie information and similarity scores
      */
     List<VectorSearchResult> vectorSearchMovies(String query, Integer limit);
+
+    /**
+     * Suggests movie titles and people names for type-ahead search.
+     * Served from an in-memory prefix index, so no database query runs per keystroke.
+     *
+     * @param query Text typed so far; matched against the start of any word
+     * @param limit Maximum number of suggestions to return (default: 10, max: 10)
+     * @return Suggestions ordered by IMDB votes, most popular first
+     */
+    @ServedFromMemory
+    List<AutocompleteSuggestion> autocomplete(String query, Integer limit);
+
+    // Passthrough reads: raw BSON documents for direct transcoding to JSON
+
+    /**
+     * Same query as {@link #getAllMovies}, returning the raw documents projected to the
+     * {@link Movie} fields instead of mapped POJOs.
+     */
+    List<RawBsonDocument> getAllMoviesRaw(MovieSearchQuery query);
+
+    /**
+     * Same lookup as {@link #getMovieById}, returning the raw document.
+     */
+    RawBsonDocument getMovieByIdRaw(String id);
+
+    /**
+     * Same search as {@link #searchMovies}, returning the raw documents in rank order.
+     */
+    List<RawBsonDocument> searchMoviesRaw(com.mongodb.samplemflix.model.dto.MovieSearchRequest searchRequest);
+
+    /**
+     * Same query as {@link #getAllMovies}, returning only the fields a grid view shows:
+     * {@code _id}, title, year, poster and imdb.rating.
+     *
+     * <p>Without text or genre filters, and sorted by title or rating, the query is covered by
+     * the grid indexes that {@code DatabaseVerification} creates, so it is answered from the
+     * index alone without reading any documents.
+     */
+    List<RawBsonDocument> getMovieGrid(MovieSearchQuery query);
 }
@@ -1,43 +1,64 @@
 package com.mongodb.samplemflix.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.config.IndexReadiness;
+import com.mongodb.samplemflix.config.IndexReadiness.SearchIndex;
+import com.mongodb.samplemflix.config.ReadRouting;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
 import com.mongodb.samplemflix.exception.DatabaseOperationException;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import com.mongodb.samplemflix.exception.PreconditionFailedException;
 import com.mongodb.samplemflix.exception.ResourceNotFoundException;
 import com.mongodb.samplemflix.exception.ServiceUnavailableException;
 import com.mongodb.samplemflix.exception.ValidationException;
 import com.mongodb.samplemflix.exception.VoyageAPIException;
 import com.mongodb.samplemflix.exception.VoyageAuthException;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder;
+import com.mongodb.samplemflix.jfr.AggregationEvent;
+import com.mongodb.samplemflix.jfr.EmbeddingEvent;
+import com.mongodb.samplemflix.jfr.RecordedRequest;
+import com.mongodb.samplemflix.migration.MovieDataMigration;
 import com.mongodb.samplemflix.model.Movie;
 import com.mongodb.samplemflix.model.dto.*;
 import com.mongodb.samplemflix.repository.MovieRepository;
+import com.mongodb.samplemflix.search.AutocompleteIndex;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import com.mongodb.samplemflix.search.FacetResultCache;
+import com.mongodb.samplemflix.search.LocalSearchIndex;
+import com.mongodb.samplemflix.search.SearchResultCache;
 import java.io.IOException;
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
-import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
-import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
@@ -56,46 +77,88 @@ import org.springframework.stereotype.Service;
  * - MovieRepository (Spring Data) for simple CRUD operations
  * - MongoTemplate for complex queries and batch operations
  * </pre>
+ * Not created with the {@code reactive} profile, where {@link ReactiveMovieServiceImpl} serves
+ * the same API.
  */
 @Service
+@Profile("!reactive")
 public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
     private final MongoTemplate mongoTemplate;
-    private final ObjectMapper objectMapper;
+    private final LocalSearchIndex localSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final FacetCatalog facetCatalog;
+    private final FacetResultCache facetResultCache;
+    private final SearchResultCache searchResultCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieDataMigration dataMigration;
+    private final QueryShapeRecorder queryShapes;
+    private final MovieWriteBehindBuffer writeBehind;
+    private final ReadRouting readRouting;
+    private final IndexReadiness indexReadiness;
+    private final AdaptiveConcurrencyLimiter limiter;
 
     @Value("${voyage.api.key:#{null}}")
     private String voyageApiKey;
 
-    public MovieServiceImpl(MovieRepository movieRepository, MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+    @Value("${mongodb.movie-codec.enabled:true}")
+    private boolean movieCodecEnabled;
+
+    @Value("${api.bulk.max-operations:10000}")
+    private int bulkMaxOperations = 10000;
+
+    @Value("${api.bulk.chunk-size:1000}")
+    private int bulkChunkSize = 1000;
+
+    public MovieServiceImpl(MovieRepository movieRepository, MongoTemplate mongoTemplate,
+                            LocalSearchIndex localSearchIndex, AutocompleteIndex autocompleteIndex,
+                            FacetCatalog facetCatalog, FacetResultCache facetResultCache,
+                            SearchResultCache searchResultCache, ApplicationEventPublisher eventPublisher,
+                            MovieDataMigration dataMigration, QueryShapeRecorder queryShapes,
+                            MovieWriteBehindBuffer writeBehind, ReadRouting readRouting,
+                            IndexReadiness indexReadiness, AdaptiveConcurrencyLimiter limiter) {
         this.movieRepository = movieRepository;
         this.mongoTemplate = mongoTemplate;
-        this.objectMapper = objectMapper;
+        this.localSearchIndex = localSearchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.facetCatalog = facetCatalog;
+        this.facetResultCache = facetResultCache;
+        this.searchResultCache = searchResultCache;
+        this.eventPublisher = eventPublisher;
+        this.dataMigration = dataMigration;
+        this.queryShapes = queryShapes;
+        this.writeBehind = writeBehind;
+        this.readRouting = readRouting;
+        this.indexReadiness = indexReadiness;
+        this.limiter = limiter;
     }
     
     @Override
     public List<Movie> getAllMovies(MovieSearchQuery query) {
-        Query mongoQuery = buildQuery(query);
-
-        int limit = Math.clamp(query.getLimit() != null ? query.getLimit() : 20, 1, 100);
-        int skip = Math.max(query.getSkip() != null ? query.getSkip() : 0, 0);
-
-        mongoQuery.skip(skip).limit(limit);
-        mongoQuery.with(buildSort(query.getSortBy(), query.getSortOrder()));
-
+        requireTextIndex(query);
+        Query mongoQuery = MovieQueries.listQuery(query);
+        queryShapes.record(mongoQuery);
+        if (movieCodecEnabled) {
+            return findMovies(Movie.class, mongoQuery);
+        }
         return mongoTemplate.find(mongoQuery, Movie.class);
     }
 
     @Override
     public List<String> getDistinctGenres() {
-        // Use MongoTemplate's findDistinct to get all unique values from the genres array field
+        if (facetCatalog.isReady()) {
+            return facetCatalog.values(Movie.Fields.GENRES);
+        }
+
+        // Until the catalog is built, use MongoTemplate's findDistinct to get all unique values from the genres array field
         // MongoDB automatically flattens array fields when using distinct()
-        List<String> genres = mongoTemplate.findDistinct(
+        List<String> genres = limiter.call(() -> mongoTemplate.findDistinct(
                 new Query(),
                 Movie.Fields.GENRES,
                 Movie.class,
                 String.class
-        );
+        ));
 
         // Filter out null/empty values and sort alphabetically
         return genres.stream()
@@ -109,6 +172,17 @@ public class MovieServiceImpl implements MovieService {
         if (!ObjectId.isValid(id)) {
             throw new ValidationException("Invalid movie ID format");
         }
+        if (movieCodecEnabled) {
+            return findMovieById(Movie.class, id);
+        }
+        if (readRouting.routesPointReads()) {
+            Movie movie = mongoTemplate.findOne(
+                    readRouting.pointRead(Query.query(Criteria.where(Movie.Fields.ID).is(new ObjectId(id)))), Movie.class);
+            if (movie == null) {
+                throw new ResourceNotFoundException("Movie not found");
+            }
+            return movie;
+        }
         
         return movieRepository.findById(new ObjectId(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Movie not found"));
@@ -116,28 +190,12 @@ public class MovieServiceImpl implements MovieService {
     
     @Override
     public Movie createMovie(CreateMovieRequest request) {
-        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
-            throw new ValidationException("Title is required");
-        }
-
-        Movie movie = Movie.builder()
-                .title(request.getTitle())
-                .year(request.getYear())
-                .plot(request.getPlot())
-                .fullplot(request.getFullplot())
-                .genres(request.getGenres())
-                .directors(request.getDirectors())
-                .writers(request.getWriters())
-                .cast(request.getCast())
-                .countries(request.getCountries())
-                .languages(request.getLanguages())
-                .rated(request.getRated())
-                .runtime(request.getRuntime())
-                .poster(request.getPoster())
-                .build();
+        Movie movie = MovieQueries.toMovie(request, "");
 
         // Spring Data MongoDB's save() method inserts or updates
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(MovieChangeEvent.saved(List.of(savedMovie)));
+        return savedMovie;
     }
     
     @Override
@@ -146,33 +204,14 @@ public class MovieServiceImpl implements MovieService {
             throw new ValidationException("Request body must be a non-empty array of movie objects");
         }
 
+        List<Movie> movies = new ArrayList<>(requests.size());
         for (int i = 0; i < requests.size(); i++) {
-            CreateMovieRequest request = requests.get(i);
-            if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
-                throw new ValidationException("Movie at index " + i + ": Title is required");
-            }
+            movies.add(MovieQueries.toMovie(requests.get(i), "Movie at index " + i + ": "));
         }
 
-        List<Movie> movies = requests.stream()
-                .map(request -> Movie.builder()
-                        .title(request.getTitle())
-                        .year(request.getYear())
-                        .plot(request.getPlot())
-                        .fullplot(request.getFullplot())
-                        .genres(request.getGenres())
-                        .directors(request.getDirectors())
-                        .writers(request.getWriters())
-                        .cast(request.getCast())
-                        .countries(request.getCountries())
-                        .languages(request.getLanguages())
-                        .rated(request.getRated())
-                        .runtime(request.getRuntime())
-                        .poster(request.getPoster())
-                        .build())
-                .toList();
-
         // Spring Data MongoDB's saveAll() method for batch insert
         List<Movie> savedMovies = movieRepository.saveAll(movies);
+        eventPublisher.publishEvent(MovieChangeEvent.saved(savedMovies));
 
         // Extract IDs from saved movies
         Collection<BsonValue> insertedIds = savedMovies.stream()
@@ -186,30 +225,35 @@ public class MovieServiceImpl implements MovieService {
     }
     
     @Override
-    public Movie updateMovie(String id, UpdateMovieRequest request) {
+    public Movie updateMovie(String id, UpdateMovieRequest request, Integer expectedVersion) {
         if (!ObjectId.isValid(id)) {
             throw new ValidationException("Invalid movie ID format");
         }
 
-        if (request == null || isUpdateRequestEmpty(request)) {
+        if (request == null || MovieQueries.isUpdateRequestEmpty(request)) {
             throw new ValidationException("No update data provided");
         }
 
         ObjectId objectId = new ObjectId(id);
 
         // Build Spring Data MongoDB Update object
-        Update update = buildUpdate(request);
+        Update update = MovieQueries.buildUpdate(request);
 
-        // Use MongoTemplate for update operation
-        Query query = new Query(Criteria.where("_id").is(objectId));
-        UpdateResult result = mongoTemplate.updateFirst(query, update, Movie.class);
+        if (expectedVersion == null && writeBehind.isEnabled()) {
+            // Merged with other queued updates of this movie; returns once the batch is written
+            return writeBehind.update(objectId, update);
+        }
 
-        if (result.getMatchedCount() == 0) {
-            throw new ResourceNotFoundException("Movie not found");
+        // One findAndModify applies the update, checks the version and returns the post-image
+        Movie updatedMovie = mongoTemplate.findAndModify(MovieQueries.versionedQuery(objectId, expectedVersion),
+                update, FindAndModifyOptions.options().returnNew(true), Movie.class);
+
+        if (updatedMovie == null) {
+            throw writeMissed(objectId, expectedVersion);
         }
 
-        return movieRepository.findById(objectId)
-                .orElseThrow(() -> new DatabaseOperationException("Failed to retrieve updated movie"));
+        eventPublisher.publishEvent(MovieChangeEvent.saved(List.of(updatedMovie)));
+        return updatedMovie;
     }
     
     @Override
@@ -222,18 +266,14 @@ public class MovieServiceImpl implements MovieService {
             throw new ValidationException("Update object cannot be empty");
         }
 
-        // Convert Document filter to Spring Data Query
-        Query query = new Query();
-        filter.forEach((key, value) -> {
-            Criteria criteria = buildCriteriaFromValue(key, value);
-            query.addCriteria(criteria);
-        });
-
-        // Convert Document update to Spring Data Update
-        Update mongoUpdate = new Update();
-        update.forEach(mongoUpdate::set);
+        // Convert Document filter and update to Spring Data Query and Update
+        Query query = MovieQueries.filterQuery(filter);
+        Update mongoUpdate = MovieQueries.setUpdate(update);
 
         UpdateResult result = mongoTemplate.updateMulti(query, mongoUpdate, Movie.class);
+        if (result.getModifiedCount() > 0) {
+            eventPublisher.publishEvent(MovieChangeEvent.bulk());
+        }
 
         return new BatchUpdateResponse(
                 result.getMatchedCount(),
@@ -242,22 +282,33 @@ public class MovieServiceImpl implements MovieService {
     }
     
     @Override
-    public DeleteResponse deleteMovie(String id) {
+    public DeleteResponse deleteMovie(String id, Integer expectedVersion) {
         if (!ObjectId.isValid(id)) {
             throw new ValidationException("Invalid movie ID format");
         }
 
         ObjectId objectId = new ObjectId(id);
 
-        // Check if movie exists before deleting
-        if (!movieRepository.existsById(objectId)) {
-            throw new ResourceNotFoundException("Movie not found");
+        // A single deleteOne; a deleted count of 0 means the movie did not exist or has changed
+        DeleteResult result = mongoTemplate.remove(MovieQueries.versionedQuery(objectId, expectedVersion), Movie.class);
+        if (result.getDeletedCount() == 0) {
+            throw writeMissed(objectId, expectedVersion);
         }
 
-        movieRepository.deleteById(objectId);
-
+        eventPublisher.publishEvent(MovieChangeEvent.deleted(objectId));
         return new DeleteResponse(1L);
     }
+
+    /**
+     * Explains a conditional write that matched nothing. Only this failure path pays for the
+     * extra lookup that tells a missing movie from a stale version.
+     */
+    private RuntimeException writeMissed(ObjectId objectId, Integer expectedVersion) {
+        if (expectedVersion != null && movieRepository.existsById(objectId)) {
+            return new PreconditionFailedException(MovieQueries.VERSION_MISMATCH_MESSAGE);
+        }
+        return new ResourceNotFoundException("Movie not found");
+    }
     
     @Override
     public DeleteResponse deleteMoviesBatch(Document filter) {
@@ -266,17 +317,44 @@ public class MovieServiceImpl implements MovieService {
         }
 
         // Convert Document filter to Spring Data Query
-        Query query = new Query();
-        filter.forEach((key, value) -> {
-            Criteria criteria = buildCriteriaFromValue(key, value);
-            query.addCriteria(criteria);
-        });
+        Query query = MovieQueries.filterQuery(filter);
 
         DeleteResult result = mongoTemplate.remove(query, Movie.class);
+        if (result.getDeletedCount() > 0) {
+            eventPublisher.publishEvent(MovieChangeEvent.bulk());
+        }
 
         return new DeleteResponse(result.getDeletedCount());
     }
     
+    @Override
+    public BulkWriteResponse bulkWrite(BulkWriteRequest request) {
+        List<MovieQueries.BulkOperation> operations =
+                MovieQueries.bulkOperations(request, bulkMaxOperations);
+        boolean ordered = request.getOrdered() == null || request.getOrdered();
+        MongoCollection<Document> collection = mongoTemplate.getCollection("movies");
+        BulkWriteOptions options = new BulkWriteOptions().ordered(ordered);
+        BulkWriteTally tally = new BulkWriteTally(operations, ordered);
+        try {
+            for (List<MovieQueries.BulkOperation> chunk : tally.chunks(bulkChunkSize)) {
+                try {
+                    tally.succeeded(chunk, collection.bulkWrite(BulkWriteTally.models(chunk), options));
+                } catch (MongoBulkWriteException e) {
+                    if (!tally.failed(chunk, e)) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            // Earlier chunks stay written even if a later one throws
+            if (tally.hasWrites()) {
+                eventPublisher.publishEvent(MovieChangeEvent.bulk());
+            }
+        }
+
+        return tally.response();
+    }
+
     @Override
     public Movie findAndDeleteMovie(String id) {
         if (!ObjectId.isValid(id)) {
@@ -292,492 +370,318 @@ public class MovieServiceImpl implements MovieService {
             throw new ResourceNotFoundException("Movie not found");
         }
 
+        eventPublisher.publishEvent(MovieChangeEvent.deleted(objectId));
         return movie;
     }
-    
-    /**
-     * Builds a Spring Data MongoDB Query from the search parameters.
-     */
-    private Query buildQuery(MovieSearchQuery query) {
-        Query mongoQuery = new Query();
-
-        // Text search
-        if (query.getQ() != null && !query.getQ().trim().isEmpty()) {
-            TextCriteria textCriteria = TextCriteria.forDefaultLanguage().matching(query.getQ());
-            mongoQuery.addCriteria(textCriteria);
-        }
-
-        // Genre filter (case-insensitive regex)
-        if (query.getGenre() != null && !query.getGenre().trim().isEmpty()) {
-            mongoQuery.addCriteria(Criteria.where(Movie.Fields.GENRES)
-                    .regex(Pattern.compile(query.getGenre(), Pattern.CASE_INSENSITIVE)));
-        }
-
-        // Year filter
-        if (query.getYear() != null) {
-            mongoQuery.addCriteria(Criteria.where(Movie.Fields.YEAR).is(query.getYear()));
-        }
-
-        // Rating range filter
-        if (query.getMinRating() != null || query.getMaxRating() != null) {
-            Criteria ratingCriteria = Criteria.where(Movie.Fields.IMDB_RATING);
-            if (query.getMinRating() != null) {
-                ratingCriteria = ratingCriteria.gte(query.getMinRating());
-            }
-            if (query.getMaxRating() != null) {
-                ratingCriteria = ratingCriteria.lte(query.getMaxRating());
-            }
-            mongoQuery.addCriteria(ratingCriteria);
-        }
-
-        return mongoQuery;
-    }
-
-    /**
-     * Builds a Spring Data Sort object from sort parameters.
-     */
-    private Sort buildSort(String sortBy, String sortOrder) {
-        String field = sortBy != null && !sortBy.trim().isEmpty() ? sortBy : Movie.Fields.TITLE;
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return Sort.by(direction, field);
-    }
-    
-    /**
-     * Checks if the update request has any non-null fields.
-     */
-    private boolean isUpdateRequestEmpty(UpdateMovieRequest request) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> requestMap = objectMapper.convertValue(request, Map.class);
-        return requestMap.values().stream().allMatch(java.util.Objects::isNull);
-    }
-
-    /**
-     * Builds a Spring Data MongoDB Update object from the update request.
-     */
-    private Update buildUpdate(UpdateMovieRequest request) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> requestMap = objectMapper.convertValue(request, Map.class);
-
-        Update update = new Update();
-        requestMap.forEach((key, value) -> {
-            if (value != null) {
-                update.set(key, value);
-            }
-        });
-
-        return update;
-    }
 
     // Aggregation methods for reporting
 
     @Override
     public List<MovieWithCommentsResult> getMoviesWithMostRecentComments(Integer limit, String movieId) {
-        // Validate and set default limit
-        int resultLimit = Math.clamp(limit != null ? limit : 10, 1, 50);
+        Aggregation aggregation = MovieQueries.recentCommentsAggregation(limit, movieId, dataMigration.isNormalized());
 
-        // Build match criteria
-        Criteria matchCriteria = Criteria.where(Movie.Fields.YEAR).type(16);
-
-        // Add movie ID filter if provided
-        if (movieId != null && !movieId.trim().isEmpty()) {
-            if (!ObjectId.isValid(movieId)) {
-                throw new ValidationException("Invalid movie ID format");
-            }
-            matchCriteria = matchCriteria.and(Movie.Fields.ID).is(new ObjectId(movieId));
-        }
-
-        // Use the validated limit from the request parameter
-        // The limit has already been validated and clamped to 1-50 range
-        int finalLimit = resultLimit;
-
-        // Build aggregation pipeline
-        // This demonstrates $lookup (join), $addFields, $sort, and $project operations
-        // Note: We perform $lookup on all matching movies, then sort and limit
-        // This ensures we get the movies with the MOST RECENT comments, not just the first N movies
-        Aggregation aggregation = Aggregation.newAggregation(
-                // STAGE 1: Match movies with valid year data (and optional movie ID filter)
-                // Tip: Use $match early in the pipeline to reduce the dataset size
-                Aggregation.match(matchCriteria),
-
-                // STAGE 2: Lookup (join) with comments collection
-                // This performs a left outer join, giving each movie a 'comments' array
-                Aggregation.lookup("comments", "_id", "movie_id", "comments"),
-
-                // STAGE 3: Filter to only movies that have comments
-                // This converts the left join to an inner join
-                Aggregation.match(Criteria.where("comments").ne(List.of())),
-
-                // STAGE 4: Add computed fields
-                // Calculate totalComments and mostRecentCommentDate for sorting
-                Aggregation.project()
-                        .and(Movie.Fields.ID).as("_id")
-                        .and(Movie.Fields.TITLE).as("title")
-                        .and(Movie.Fields.YEAR).as("year")
-                        .and(Movie.Fields.PLOT).as("plot")
-                        .and(Movie.Fields.POSTER).as("poster")
-                        .and(Movie.Fields.GENRES).as("genres")
-                        .and(Movie.Fields.IMDB).as("imdb")
-                        .and("comments").as("comments")
-                        .and(ArrayOperators.Size.lengthOfArray("comments")).as("totalComments")
-                        .and(ArrayOperators.ArrayElemAt.arrayOf("comments.date").elementAt(0)).as("mostRecentCommentDate"),
-
-                // STAGE 5: Sort by most recent comment date (descending)
-                // This ensures we get movies with the MOST RECENT comment activity
-                Aggregation.sort(Sort.Direction.DESC, "mostRecentCommentDate"),
-
-                // STAGE 6: Limit results
-                // Apply limit AFTER sorting to get the correct top N movies by recent comment activity
-                // Uses the limit from the request parameter (default: 10, max: 50)
-                Aggregation.limit(finalLimit),
-
-                // STAGE 7: Project final output with recent comments slice
-                // Shape the response and include only the 5 most recent comments per movie
-                Aggregation.project()
-                        .and(ConditionalOperators.ifNull("_id").then("")).as("_id")
-                        .and("title").as("title")
-                        .and("year").as("year")
-                        .and("plot").as("plot")
-                        .and("poster").as("poster")
-                        .and("genres").as("genres")
-                        .and("imdb.rating").as("imdbRating")
-                        .and(ArrayOperators.Slice.sliceArrayOf("comments").itemCount(5)).as("recentComments")
-                        .and("totalComments").as("totalComments")
-                        .and("mostRecentCommentDate").as("mostRecentCommentDate")
-        );
-
-        AggregationResults<Document> results = mongoTemplate.aggregate(
-                aggregation, "movies", Document.class);
+        AggregationResults<Document> results = AggregationEvent.record("getMoviesWithMostRecentComments", "movies",
+                aggregation, () -> mongoTemplate.aggregate(readRouting.report(aggregation), "movies", Document.class));
 
         // Convert Document results to DTOs
         return results.getMappedResults().stream()
-                .map(this::mapToMovieWithCommentsResult)
+                .map(MovieQueries::toMovieWithCommentsResult)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<MoviesByYearResult> getMoviesByYearWithStats() {
-        // Build aggregation pipeline
-        // This demonstrates $group with statistical operators and $project for data shaping
-        Aggregation aggregation = Aggregation.newAggregation(
-                // STAGE 1: Match movies with valid year data
-                Aggregation.match(
-                        Criteria.where(Movie.Fields.YEAR).type(16)
-                ),
-
-                // STAGE 2: Group by year and calculate statistics
-                Aggregation.group(Movie.Fields.YEAR)
-                        .count().as("movieCount")
-                        .avg(Movie.Fields.IMDB_RATING).as("averageRating")
-                        .max(Movie.Fields.IMDB_RATING).as("highestRating")
-                        .min(Movie.Fields.IMDB_RATING).as("lowestRating")
-                        .sum("imdb.votes").as("totalVotes"),
-
-                // STAGE 3: Project final output with renamed fields
-                Aggregation.project()
-                        .and("_id").as("year")
-                        .and("movieCount").as("movieCount")
-                        .and("averageRating").as("averageRating")
-                        .and("highestRating").as("highestRating")
-                        .and("lowestRating").as("lowestRating")
-                        .and("totalVotes").as("totalVotes")
-                        .andExclude("_id"),
-
-                // STAGE 4: Sort by year (descending)
-                Aggregation.sort(Sort.Direction.DESC, "year")
-        );
-
-        AggregationResults<MoviesByYearResult> results = mongoTemplate.aggregate(
-                aggregation, "movies", MoviesByYearResult.class);
+        Aggregation aggregation = MovieQueries.moviesByYearAggregation(dataMigration.isNormalized());
+        AggregationResults<MoviesByYearResult> results = AggregationEvent.record("getMoviesByYearWithStats", "movies",
+                aggregation, () -> mongoTemplate.aggregate(readRouting.report(aggregation), "movies", MoviesByYearResult.class));
 
         // Round average rating to 2 decimal places
         return results.getMappedResults().stream()
-                .peek(result -> {
-                    if (result.getAverageRating() != null) {
-                        result.setAverageRating(
-                                Math.round(result.getAverageRating() * 100.0) / 100.0
-                        );
-                    }
-                })
+                .peek(result -> result.setAverageRating(MovieQueries.roundRating(result.getAverageRating())))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<DirectorStatisticsResult> getDirectorsWithMostMovies(Integer limit) {
-        // Validate and set default limit
-        int resultLimit = Math.clamp(limit != null ? limit : 20, 1, 100);
-
-        // Build aggregation pipeline
-        // This demonstrates $unwind for array flattening and $group for aggregation
-        Aggregation aggregation = Aggregation.newAggregation(
-                // STAGE 1: Match movies with directors and valid year
-                Aggregation.match(
-                        Criteria.where(Movie.Fields.DIRECTORS).exists(true).ne(null).ne(List.of())
-                                .and(Movie.Fields.YEAR).type(16)
-                ),
-
-                // STAGE 2: Unwind directors array
-                Aggregation.unwind(Movie.Fields.DIRECTORS),
-
-                // STAGE 3: Filter out null/empty director names
-                Aggregation.match(
-                        Criteria.where(Movie.Fields.DIRECTORS).ne(null).ne("")
-                ),
-
-                // STAGE 4: Group by director and calculate statistics
-                Aggregation.group(Movie.Fields.DIRECTORS)
-                        .count().as("movieCount")
-                        .avg(Movie.Fields.IMDB_RATING).as("averageRating"),
-
-                // STAGE 5: Sort by movie count (descending)
-                Aggregation.sort(Sort.Direction.DESC, "movieCount"),
-
-                // STAGE 6: Limit results
-                Aggregation.limit(resultLimit),
-
-                // STAGE 7: Project final output
-                Aggregation.project()
-                        .and("_id").as("director")
-                        .and("movieCount").as("movieCount")
-                        .and("averageRating").as("averageRating")
-                        .andExclude("_id")
-        );
-
-        AggregationResults<DirectorStatisticsResult> results = mongoTemplate.aggregate(
-                aggregation, "movies", DirectorStatisticsResult.class);
+        Aggregation aggregation = MovieQueries.directorsAggregation(limit, dataMigration.isNormalized());
+        AggregationResults<DirectorStatisticsResult> results = AggregationEvent.record("getDirectorsWithMostMovies",
+                "movies", aggregation,
+                () -> mongoTemplate.aggregate(readRouting.report(aggregation), "movies", DirectorStatisticsResult.class));
 
         // Round average rating to 2 decimal places
         return results.getMappedResults().stream()
-                .peek(result -> {
-                    if (result.getAverageRating() != null) {
-                        result.setAverageRating(
-                                Math.round(result.getAverageRating() * 100.0) / 100.0
-                        );
-                    }
-                })
+                .peek(result -> result.setAverageRating(MovieQueries.roundRating(result.getAverageRating())))
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Helper method to map Document to MovieWithCommentsResult.
-     */
-    private MovieWithCommentsResult mapToMovieWithCommentsResult(Document doc) {
-        // Extract IMDB rating (just the number)
-        Double imdbRating = doc.getDouble("imdbRating");
-
-        // Extract recent comments
-        List<MovieWithCommentsResult.CommentInfo> recentComments = null;
-        @SuppressWarnings("unchecked")
-        List<Document> commentsDoc = (List<Document>) doc.get("recentComments");
-        if (commentsDoc != null) {
-            recentComments = commentsDoc.stream()
-                    .map(commentDoc -> MovieWithCommentsResult.CommentInfo.builder()
-                            .id(commentDoc.getObjectId("_id") != null ?
-                                    commentDoc.getObjectId("_id").toHexString() : null)
-                            .name(commentDoc.getString("name"))
-                            .email(commentDoc.getString("email"))
-                            .text(commentDoc.getString("text"))
-                            .date(commentDoc.getDate("date"))
-                            .build())
-                    .collect(Collectors.toList());
+    @Override
+    public List<FacetValueCount> getFacetValueCounts(String field) {
+        MovieQueries.validateFacetField(field);
+        if (facetCatalog.isReady()) {
+            return facetCatalog.counts(field);
         }
 
-        // Extract movie ID - handle both String and ObjectId types
-        String movieId = null;
-        Object idObj = doc.get("_id");
-        if (idObj instanceof String) {
-            movieId = (String) idObj;
-        } else if (idObj instanceof ObjectId) {
-            movieId = ((ObjectId) idObj).toHexString();
-        }
+        Aggregation aggregation = MovieQueries.facetValueCountsAggregation(field);
+        return limiter.call(() -> AggregationEvent.record("getFacetValueCounts", "movies", aggregation,
+                () -> mongoTemplate.aggregate(aggregation, "movies", FacetValueCount.class).getMappedResults()));
+    }
 
-        return MovieWithCommentsResult.builder()
-                ._id(movieId)
-                .title(doc.getString("title"))
-                .year(doc.getInteger("year"))
-                .plot(doc.getString("plot"))
-                .poster(doc.getString("poster"))
-                .genres(doc.getList("genres", String.class))
-                .imdbRating(imdbRating)
-                .recentComments(recentComments)
-                .totalComments(doc.getInteger("totalComments"))
-                .mostRecentCommentDate(doc.getDate("mostRecentCommentDate"))
-                .build();
+    @Override
+    public MovieFacetsResult getBrowseFacets(MovieSearchQuery query, String mode, Integer buckets) {
+        String facetMode = MovieQueries.facetMode(mode);
+        int bucketCount = MovieQueries.facetBuckets(buckets);
+
+        FacetResultCache.Key key = FacetResultCache.key(query, facetMode, bucketCount);
+        MovieFacetsResult cached = facetResultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        requireTextIndex(query);
+        long generation = facetResultCache.generation();
+        Aggregation aggregation =
+                MovieQueries.browseFacetsAggregation(query, facetMode, bucketCount, dataMigration.isNormalized());
+        Document facets = limiter.call(() -> AggregationEvent.record("getBrowseFacets", "movies", aggregation,
+                () -> mongoTemplate.aggregate(aggregation, "movies", Document.class).getUniqueMappedResult()));
+        MovieFacetsResult result = MovieQueries.toFacetsResult(facets != null ? facets : new Document(), facetMode);
+        facetResultCache.put(key, generation, result);
+        return result;
     }
 
     // MongoDB Search methods
 
     @Override
     public List<Movie> searchMovies(MovieSearchRequest searchRequest) {
-        // Validate that at least one search field is provided
-        if (!searchRequest.hasSearchFields()) {
-            throw new ValidationException("At least one search parameter must be provided");
-        }
-
-        // Validate search operator
-        String operator = searchRequest.getSearchOperator() != null ?
-                searchRequest.getSearchOperator() : "must";
-
-        if (!operator.equals("must") && !operator.equals("should") &&
-            !operator.equals("mustNot") && !operator.equals("filter")) {
-            throw new ValidationException(
-                "Invalid search_operator '" + operator + "'. " +
-                "The search_operator must be one of: must, should, mustNot, filter"
-            );
-        }
+        String operator = MovieQueries.searchOperator(searchRequest);
 
         // Validate and set defaults for pagination
-        int resultLimit = Math.clamp(
-            searchRequest.getLimit() != null ? searchRequest.getLimit() : 20, 1, 100
-        );
-        int resultSkip = Math.max(
-            searchRequest.getSkip() != null ? searchRequest.getSkip() : 0, 0
-        );
+        int resultLimit = MovieQueries.searchLimit(searchRequest);
+        int resultSkip = MovieQueries.searchSkip(searchRequest);
+
+        // Serve repeated queries from the result cache: only the cached page of IDs is fetched
+        SearchResultCache.Key cacheKey = SearchResultCache.key(searchRequest, operator, resultSkip, resultLimit);
+        SearchResultCache.CachedHits cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            long hydrationStart = System.nanoTime();
+            List<Movie> movies = findMoviesByIds(cached.idList());
+            searchResultCache.recordHit(cached, System.nanoTime() - hydrationStart);
+            return movies;
+        }
+        long cacheGeneration = searchResultCache.generation();
+        long searchStart = System.nanoTime();
+
+        // Use the in-process index when it is enabled and has finished its initial build.
+        // It ranks and pages the matches locally, so only the page of IDs is fetched from MongoDB.
+        if (localSearchIndex.isEnabled() && localSearchIndex.isReady()) {
+            List<LocalSearchIndex.SearchHit> hits =
+                    localSearchIndex.search(searchRequest, operator, resultSkip, resultLimit);
+            List<ObjectId> movieIds = hits.stream().map(LocalSearchIndex.SearchHit::id).toList();
+            double[] scores = hits.stream().mapToDouble(LocalSearchIndex.SearchHit::score).toArray();
+            searchResultCache.put(cacheKey, cacheGeneration, movieIds, scores, System.nanoTime() - searchStart);
+            return findMoviesByIds(movieIds);
+        }
+        indexReadiness.require(SearchIndex.SEARCH);
+        // Execute the aggregation pipeline
+        try {
+            List<Document> aggregationPipeline =
+                    MovieQueries.searchPipeline(searchRequest, operator, resultSkip, resultLimit);
+
+            if (movieCodecEnabled) {
+                // Read the results raw to take the IDs and scores, then decode each one with the codec
+                List<RawBsonDocument> results = AggregationEvent.record("searchMovies", "movies",
+                        () -> aggregationPipeline,
+                        () -> movies(RawBsonDocument.class).aggregate(aggregationPipeline).into(new ArrayList<>()));
+
+                List<ObjectId> movieIds = results.stream()
+                        .map(result -> result.getObjectId(Movie.Fields.ID).getValue())
+                        .toList();
+                double[] scores = results.stream().mapToDouble(MovieQueries::score).toArray();
+                searchResultCache.put(cacheKey, cacheGeneration, movieIds, scores, System.nanoTime() - searchStart);
+
+                Codec<Movie> movieCodec = movies(Movie.class).getCodecRegistry().get(Movie.class);
+                return results.stream().map(result -> result.decode(movieCodec)).collect(Collectors.toList());
+            }
 
-        // Build search phrases list
-        java.util.List<Document> searchPhrases = new java.util.ArrayList<>();
+            List<Document> results = AggregationEvent.record("searchMovies", "movies", () -> aggregationPipeline,
+                    () -> mongoTemplate.getCollection("movies")
+                            .aggregate(aggregationPipeline)
+                            .into(new java.util.ArrayList<>()));
+
+            // Cache the ranked IDs and scores; the documents themselves are re-fetched on a hit
+            List<ObjectId> movieIds = new ArrayList<>(results.size());
+            double[] scores = new double[results.size()];
+            for (int i = 0; i < results.size(); i++) {
+                movieIds.add(results.get(i).getObjectId(Movie.Fields.ID));
+                scores[i] = MovieQueries.score(results.get(i));
+            }
+            searchResultCache.put(cacheKey, cacheGeneration, movieIds, scores, System.nanoTime() - searchStart);
 
-        // Add plot search if provided (using phrase operator)
-        if (searchRequest.getPlot() != null && !searchRequest.getPlot().trim().isEmpty()) {
-            searchPhrases.add(new Document("phrase", new Document()
-                    .append("query", searchRequest.getPlot().trim())
-                    .append("path", Movie.Fields.PLOT)
-            ));
+            return results.stream()
+                    .map(doc -> mongoTemplate.getConverter().read(Movie.class, doc))
+                    .collect(Collectors.toList());
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (MongoOperationTimeoutException | MongoExecutionTimeoutException e) {
+            throw RequestDeadline.timedOut(e);
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Error performing MongoDB Search: " + e.getMessage());
         }
+    }
 
-        // Add fullplot search if provided (using phrase operator)
-        if (searchRequest.getFullplot() != null && !searchRequest.getFullplot().trim().isEmpty()) {
-            searchPhrases.add(new Document("phrase", new Document()
-                    .append("query", searchRequest.getFullplot().trim())
-                    .append("path", Movie.Fields.FULLPLOT)
-            ));
+    /**
+     * Fetches movies by ID with a single $in query, preserving the order of the given IDs.
+     *
+     * <p>Used to hydrate ranked search hits. Projects the same fields as the $search pipeline.
+     */
+    private List<Movie> findMoviesByIds(List<ObjectId> movieIds) {
+        if (movieIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (movieCodecEnabled) {
+            return MovieQueries.inIdOrder(movieIds, movies(Movie.class)
+                    .find(MovieQueries.idsFilter(movieIds))
+                    .projection(MovieQueries.resultProjection()));
         }
 
-        // Add directors search if provided
-        // Use compound operator with "should" clauses to create a scoring hierarchy:
-        // 1. phrase match (highest score) - exact phrase in same array element
-        // 2. text match without fuzzy (high score) - all terms present, exact spelling
-        // 3. text match with fuzzy (lower score) - typo-tolerant fallback; update fuzzy settings as needed
-        // For more details, see: https://www.mongodb.com/docs/atlas/atlas-search/operators-collectors/text/
-        if (searchRequest.getDirectors() != null && !searchRequest.getDirectors().trim().isEmpty()) {
-            String directorsQuery = searchRequest.getDirectors().trim();
-            searchPhrases.add(new Document("compound", new Document()
-                    .append("should", java.util.Arrays.asList(
-                            // Highest score: exact phrase match
-                            new Document("phrase", new Document()
-                                    .append("query", directorsQuery)
-                                    .append("path", Movie.Fields.DIRECTORS)),
-                            // High score: exact text match (all terms, no fuzzy)
-                            new Document("text", new Document()
-                                    .append("query", directorsQuery)
-                                    .append("path", Movie.Fields.DIRECTORS)
-                                    .append("matchCriteria", "all")),
-                            // Lower score: fuzzy match (typo tolerance)
-                            new Document("text", new Document()
-                                    .append("query", directorsQuery)
-                                    .append("path", Movie.Fields.DIRECTORS)
-                                    .append("matchCriteria", "all")
-                                    // Fuzzy settings: allow up to 1 edit, require first 2 characters to match
-                                    .append("fuzzy", new Document()
-                                            .append("maxEdits", 1)
-                                            .append("prefixLength", 2)))
-                    ))
-                    .append("minimumShouldMatch", 1)
-            ));
+        return MovieQueries.inIdOrder(movieIds, mongoTemplate.find(MovieQueries.moviesByIdsQuery(movieIds), Movie.class));
+    }
+
+    // Passthrough reads
+
+    @Override
+    public List<RawBsonDocument> getAllMoviesRaw(MovieSearchQuery query) {
+        requireTextIndex(query);
+        Query mongoQuery = MovieQueries.listQuery(query);
+        queryShapes.record(mongoQuery);
+        return findMovies(RawBsonDocument.class, mongoQuery);
+    }
+
+    @Override
+    public List<RawBsonDocument> getMovieGrid(MovieSearchQuery query) {
+        requireTextIndex(query);
+        Query mongoQuery = MovieQueries.listQuery(query);
+        queryShapes.record(mongoQuery);
+        return findMovies(RawBsonDocument.class, mongoQuery, MovieQueries.gridProjection());
+    }
+
+    @Override
+    public RawBsonDocument getMovieByIdRaw(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new ValidationException("Invalid movie ID format");
         }
 
-        // Add writers search if provided (see directors comments for compound scoring hierarchy)
-        if (searchRequest.getWriters() != null && !searchRequest.getWriters().trim().isEmpty()) {
-            String writersQuery = searchRequest.getWriters().trim();
-            searchPhrases.add(new Document("compound", new Document()
-                    .append("should", java.util.Arrays.asList(
-                            new Document("phrase", new Document()
-                                    .append("query", writersQuery)
-                                    .append("path", Movie.Fields.WRITERS)),
-                            new Document("text", new Document()
-                                    .append("query", writersQuery)
-                                    .append("path", Movie.Fields.WRITERS)
-                                    .append("matchCriteria", "all")),
-                            new Document("text", new Document()
-                                    .append("query", writersQuery)
-                                    .append("path", Movie.Fields.WRITERS)
-                                    .append("matchCriteria", "all")
-                                    .append("fuzzy", new Document()
-                                            .append("maxEdits", 1)
-                                            .append("prefixLength", 2)))
-                    ))
-                    .append("minimumShouldMatch", 1)
-            ));
+        return findMovieById(RawBsonDocument.class, id);
+    }
+
+    /**
+     * Raw-document variant of {@link #searchMovies}.
+     *
+     * <p>Ranks with the same cache, local index and Atlas logic, but the Atlas pipeline returns only
+     * IDs and scores; the page of documents is then fetched raw by ID. This keeps the response
+     * identical on cache hits and misses, since search scores are not part of the movie fields.
+     */
+    @Override
+    public List<RawBsonDocument> searchMoviesRaw(MovieSearchRequest searchRequest) {
+        String operator = MovieQueries.searchOperator(searchRequest);
+        int resultLimit = MovieQueries.searchLimit(searchRequest);
+        int resultSkip = MovieQueries.searchSkip(searchRequest);
+
+        SearchResultCache.Key cacheKey = SearchResultCache.key(searchRequest, operator, resultSkip, resultLimit);
+        SearchResultCache.CachedHits cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            long hydrationStart = System.nanoTime();
+            List<RawBsonDocument> movies = findRawMoviesByIds(cached.idList());
+            searchResultCache.recordHit(cached, System.nanoTime() - hydrationStart);
+            return movies;
+        }
+        long cacheGeneration = searchResultCache.generation();
+        long searchStart = System.nanoTime();
+
+        List<ObjectId> movieIds;
+        double[] scores;
+        if (localSearchIndex.isEnabled() && localSearchIndex.isReady()) {
+            List<LocalSearchIndex.SearchHit> hits =
+                    localSearchIndex.search(searchRequest, operator, resultSkip, resultLimit);
+            movieIds = hits.stream().map(LocalSearchIndex.SearchHit::id).toList();
+            scores = hits.stream().mapToDouble(LocalSearchIndex.SearchHit::score).toArray();
+        } else {
+            indexReadiness.require(SearchIndex.SEARCH);
+            try {
+                List<Document> pipeline = MovieQueries.searchIdsPipeline(searchRequest, operator, resultSkip, resultLimit);
+                List<Document> results = AggregationEvent.record("searchMoviesRaw", "movies", () -> pipeline,
+                        () -> mongoTemplate.getCollection("movies").aggregate(pipeline).into(new ArrayList<>()));
+
+                movieIds = results.stream().map(doc -> doc.getObjectId(Movie.Fields.ID)).toList();
+                scores = results.stream().mapToDouble(MovieQueries::score).toArray();
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (MongoOperationTimeoutException | MongoExecutionTimeoutException e) {
+                throw RequestDeadline.timedOut(e);
+            } catch (Exception e) {
+                throw new DatabaseOperationException("Error performing MongoDB Search: " + e.getMessage());
+            }
         }
+        searchResultCache.put(cacheKey, cacheGeneration, movieIds, scores, System.nanoTime() - searchStart);
 
-        // Add cast search if provided (see directors comments for compound scoring hierarchy)
-        if (searchRequest.getCast() != null && !searchRequest.getCast().trim().isEmpty()) {
-            String castQuery = searchRequest.getCast().trim();
-            searchPhrases.add(new Document("compound", new Document()
-                    .append("should", java.util.Arrays.asList(
-                            new Document("phrase", new Document()
-                                    .append("query", castQuery)
-                                    .append("path", Movie.Fields.CAST)),
-                            new Document("text", new Document()
-                                    .append("query", castQuery)
-                                    .append("path", Movie.Fields.CAST)
-                                    .append("matchCriteria", "all")),
-                            new Document("text", new Document()
-                                    .append("query", castQuery)
-                                    .append("path", Movie.Fields.CAST)
-                                    .append("matchCriteria", "all")
-                                    .append("fuzzy", new Document()
-                                            .append("maxEdits", 1)
-                                            .append("prefixLength", 2)))
-                    ))
-                    .append("minimumShouldMatch", 1)
-            ));
+        return findRawMoviesByIds(movieIds);
+    }
+
+    private List<RawBsonDocument> findRawMoviesByIds(List<ObjectId> movieIds) {
+        if (movieIds.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Build the $search aggregation stage with compound operator
-        Document searchStage = new Document("$search", new Document()
-                .append("index", "movieSearchIndex")
-                .append("compound", new Document(operator, searchPhrases))
-        );
+        return MovieQueries.inRawIdOrder(movieIds, movies(RawBsonDocument.class)
+                .find(MovieQueries.idsFilter(movieIds))
+                .projection(MovieQueries.resultProjection()));
+    }
 
-        Document skipStage = new Document("$skip", resultSkip);
-        Document limitStage = new Document("$limit", resultLimit);
-
-        // Project only the fields needed in the response
-        Document projectStage = new Document("$project", new Document()
-                .append(Movie.Fields.ID, 1)
-                .append(Movie.Fields.TITLE, 1)
-                .append(Movie.Fields.YEAR, 1)
-                .append(Movie.Fields.PLOT, 1)
-                .append(Movie.Fields.FULLPLOT, 1)
-                .append(Movie.Fields.RELEASED, 1)
-                .append(Movie.Fields.RUNTIME, 1)
-                .append(Movie.Fields.POSTER, 1)
-                .append(Movie.Fields.GENRES, 1)
-                .append(Movie.Fields.DIRECTORS, 1)
-                .append(Movie.Fields.WRITERS, 1)
-                .append(Movie.Fields.CAST, 1)
-                .append(Movie.Fields.COUNTRIES, 1)
-                .append(Movie.Fields.LANGUAGES, 1)
-                .append(Movie.Fields.RATED, 1)
-                .append(Movie.Fields.AWARDS, 1)
-                .append(Movie.Fields.IMDB, 1)
-        );
+    /**
+     * Runs a list query directly on the driver collection, projected to the {@link Movie} fields.
+     */
+    private <T> List<T> findMovies(Class<T> documentClass, Query mongoQuery) {
+        return findMovies(documentClass, mongoQuery, MovieQueries.movieProjection());
+    }
 
-        // Execute the aggregation pipeline
-        try {
-            java.util.List<Document> aggregationPipeline = java.util.List.of(
-                searchStage, skipStage, limitStage, projectStage
-            );
+    private <T> List<T> findMovies(Class<T> documentClass, Query mongoQuery, Document projection) {
+        return movies(documentClass)
+                .find(mongoQuery.getQueryObject())
+                .projection(projection)
+                .sort(mongoQuery.getSortObject())
+                .skip((int) mongoQuery.getSkip())
+                .limit(mongoQuery.getLimit())
+                .into(new ArrayList<>());
+    }
 
-            return mongoTemplate.getCollection("movies")
-                    .aggregate(aggregationPipeline)
-                    .map(doc -> mongoTemplate.getConverter().read(Movie.class, doc))
-                    .into(new java.util.ArrayList<>());
-        } catch (Exception e) {
-            throw new DatabaseOperationException("Error performing MongoDB Search: " + e.getMessage());
+    private <T> T findMovieById(Class<T> documentClass, String id) {
+        T movie = readRouting.pointRead(movies(documentClass))
+                .find(new Document(Movie.Fields.ID, new ObjectId(id)))
+                .projection(MovieQueries.movieProjection())
+                .first();
+        if (movie == null) {
+            throw new ResourceNotFoundException("Movie not found");
+        }
+        return movie;
+    }
+
+    /**
+     * A {@code q} filter runs on the text index, so it waits until startup has confirmed it.
+     */
+    private void requireTextIndex(MovieSearchQuery query) {
+        if (MovieQueries.hasTextFilter(query)) {
+            indexReadiness.require(SearchIndex.TEXT);
         }
     }
 
+    /**
+     * The movies collection read as the given class: {@link Movie} is decoded by the
+     * {@code MovieCodec} registered in {@code MongoConfig}, and {@link RawBsonDocument} keeps
+     * each result as the BSON bytes received from the server.
+     */
+    private <T> MongoCollection<T> movies(Class<T> documentClass) {
+        return mongoTemplate.getCollection("movies").withDocumentClass(documentClass);
+    }
+
     @Override
     public List<Movie> findSimilarMovies(String movieId, Integer limit) {
         // Validate movie ID
@@ -790,7 +694,7 @@ public class MovieServiceImpl implements MovieService {
         }
 
         // Validate and set default limit
-        int resultLimit = Math.clamp(limit != null ? limit : 10, 1, 50);
+        int resultLimit = MovieQueries.vectorLimit(limit);
 
         // First, get the movie to retrieve its plot_embedding
         ObjectId objectId = new ObjectId(movieId);
@@ -810,61 +714,59 @@ public class MovieServiceImpl implements MovieService {
         @SuppressWarnings("unchecked")
         List<Double> plotEmbedding = (List<Double>) movie.get("plot_embedding");
 
-        // Build the $vectorSearch aggregation stage
-        // Note: This requires MongoDB Atlas with a vector search index configured
-        Document vectorSearchStage = new Document("$vectorSearch", new Document()
-                .append("index", "plotEmbeddingIndex")
-                .append("path", "plot_embedding")
-                .append("queryVector", plotEmbedding)
-                .append("numCandidates", resultLimit * 20) // We recommend searching 20 times higher than the limit to improve result relevance
-                .append("limit", resultLimit + 1) // +1 to exclude the source movie
-        );
-
-        // Filter out the source movie
-        Document matchStage = new Document("$match",
-                new Document(Movie.Fields.ID, new Document("$ne", objectId))
-        );
-
-        // Limit to final result count
-        Document limitStage = new Document("$limit", resultLimit);
-
-        // Project only the fields needed in the response
-        Document projectStage = new Document("$project", new Document()
-                .append(Movie.Fields.ID, 1)
-                .append(Movie.Fields.TITLE, 1)
-                .append(Movie.Fields.YEAR, 1)
-                .append(Movie.Fields.PLOT, 1)
-                .append(Movie.Fields.FULLPLOT, 1)
-                .append(Movie.Fields.RELEASED, 1)
-                .append(Movie.Fields.RUNTIME, 1)
-                .append(Movie.Fields.POSTER, 1)
-                .append(Movie.Fields.GENRES, 1)
-                .append(Movie.Fields.DIRECTORS, 1)
-                .append(Movie.Fields.WRITERS, 1)
-                .append(Movie.Fields.CAST, 1)
-                .append(Movie.Fields.COUNTRIES, 1)
-                .append(Movie.Fields.LANGUAGES, 1)
-                .append(Movie.Fields.RATED, 1)
-                .append(Movie.Fields.AWARDS, 1)
-                .append(Movie.Fields.IMDB, 1)
-                .append("score", new Document("$meta", "vectorSearchScore"))
-        );
-
         // Execute the aggregation pipeline
         try {
-            List<Document> aggregationPipeline = List.of(
-                    vectorSearchStage, matchStage, limitStage, projectStage
-            );
+            List<Document> aggregationPipeline =
+                    MovieQueries.similarMoviesPipeline(objectId, plotEmbedding, resultLimit);
+
+            if (movieCodecEnabled) {
+                return AggregationEvent.record("findSimilarMovies", "movies", () -> aggregationPipeline,
+                        () -> movies(Movie.class)
+                                .aggregate(aggregationPipeline)
+                                .into(new ArrayList<>()));
+            }
 
-            return mongoTemplate.getCollection("movies")
-                    .aggregate(aggregationPipeline)
-                    .map(doc -> mongoTemplate.getConverter().read(Movie.class, doc))
-                    .into(new java.util.ArrayList<>());
+            return AggregationEvent.record("findSimilarMovies", "movies", () -> aggregationPipeline,
+                    () -> mongoTemplate.getCollection("movies")
+                            .aggregate(aggregationPipeline)
+                            .map(doc -> mongoTemplate.getConverter().read(Movie.class, doc))
+                            .into(new java.util.ArrayList<>()));
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (MongoOperationTimeoutException | MongoExecutionTimeoutException e) {
+            throw RequestDeadline.timedOut(e);
         } catch (Exception e) {
             throw new DatabaseOperationException("Error performing vector search: " + e.getMessage());
         }
     }
 
+    /**
+     * Suggests titles and people for a search box prefix from the in-memory autocomplete index.
+     * Nothing here reaches the database.
+     */
+    @Override
+    public List<AutocompleteSuggestion> autocomplete(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Autocomplete query is required");
+        }
+
+        if (!autocompleteIndex.isEnabled()) {
+            throw new ServiceUnavailableException(
+                "Autocomplete unavailable: disabled by AUTOCOMPLETE_ENABLED=false"
+            );
+        }
+
+        if (!autocompleteIndex.isReady()) {
+            throw new IndexNotReadyException(
+                "Autocomplete unavailable: the suggestion index is still being built. Please retry shortly"
+            );
+        }
+
+        int resultLimit = Math.clamp(limit != null ? limit : 10, 1, AutocompleteIndex.MAX_SUGGESTIONS);
+
+        return autocompleteIndex.suggest(query, resultLimit);
+    }
+
     /**
      * Performs vector search on movie plots using MongoDB Vector Search.
      * 
@@ -885,122 +787,86 @@ public class MovieServiceImpl implements MovieService {
         }
 
         // Check if Voyage API key is configured
-        if (voyageApiKey == null || voyageApiKey.trim().isEmpty() ||
-            voyageApiKey.equals("your_voyage_api_key")) {
+        if (!VoyageEmbeddings.isConfigured(voyageApiKey)) {
             throw new ServiceUnavailableException(
                 "Vector search unavailable: VOYAGE_API_KEY not configured. Please add your API key to the .env file"
             );
         }
 
         // Validate and set default limit
-        int resultLimit = Math.clamp(limit != null ? limit : 10, 1, 50);
+        int resultLimit = MovieQueries.vectorLimit(limit);
+
+        indexReadiness.require(SearchIndex.VECTOR);
 
         try {
             // Generate embedding using Voyage AI REST API
             // We call the API directly to specify output_dimension=2048
             List<Double> queryVector = generateVoyageEmbedding(query, voyageApiKey);
 
-            // Build the $vectorSearch aggregation stage
-            Document vectorSearchStage = new Document("$vectorSearch", new Document()
-                    .append("index", "vector_index")
-                    .append("path", "plot_embedding_voyage_3_large")
-                    .append("queryVector", queryVector)
-                    .append("numCandidates", resultLimit * 20)  // We recommend searching 20 times higher than the limit to improve result relevance
-                    .append("limit", resultLimit)
-            );
-
-            // Project only the fields we need from embedded_movies: _id and score
-            Document projectStage = new Document("$project", new Document()
-                    .append("_id", 1)
-                    .append("score", new Document("$meta", "vectorSearchScore"))
-            );
-
             // Execute the aggregation pipeline on the embedded_movies collection
-            List<Document> aggregationPipeline = List.of(vectorSearchStage, projectStage);
+            List<Document> aggregationPipeline = MovieQueries.vectorSearchPipeline(queryVector, resultLimit);
 
             // Step 1: Get movie IDs and scores from embedded_movies (which has the vector embeddings)
             List<ObjectId> movieIds = new ArrayList<>();
             Map<String, Double> scoreMap = new HashMap<>();
 
-            mongoTemplate.getCollection("embedded_movies")
-                    .aggregate(aggregationPipeline)
-                    .forEach(doc -> {
-                        ObjectId movieId = doc.getObjectId("_id");
-                        movieIds.add(movieId);
-                        scoreMap.put(movieId.toString(), doc.getDouble("score"));
-                    });
+            AggregationEvent.record("vectorSearchMovies", "embedded_movies", () -> aggregationPipeline, () -> {
+                mongoTemplate.getCollection("embedded_movies")
+                        .aggregate(aggregationPipeline)
+                        .forEach(doc -> {
+                            ObjectId movieId = doc.getObjectId("_id");
+                            movieIds.add(movieId);
+                            scoreMap.put(movieId.toString(), doc.getDouble("score"));
+                        });
+                return movieIds;
+            });
 
             // Step 2: Fetch complete movie data from the movies collection (for CRUD compatibility)
             // Use aggregation to safely handle dirty data in the year field
             List<VectorSearchResult> results = new ArrayList<>();
 
             if (!movieIds.isEmpty()) {
-                // Build aggregation pipeline to safely convert year field
-                Document matchStage = new Document("$match", new Document("_id", new Document("$in", movieIds)));
-
-                // Project stage to safely convert year to integer, handling dirty data
-                Document projectStage2 = new Document("$project", new Document()
-                        .append("_id", 1)
-                        .append("title", 1)
-                        .append("plot", 1)
-                        .append("poster", 1)
-                        .append("genres", 1)
-                        .append("directors", 1)
-                        .append("cast", 1)
-                        // Safely convert year to integer, handling strings and dirty data
-                        .append("year", new Document("$cond", new Document()
-                                .append("if", new Document("$and", java.util.Arrays.asList(
-                                        new Document("$ne", java.util.Arrays.asList("$year", null)),
-                                        new Document("$eq", java.util.Arrays.asList(new Document("$type", "$year"), "int"))
-                                )))
-                                .append("then", "$year")
-                                .append("else", null)
-                        ))
-                );
-
-                List<Document> moviePipeline = List.of(matchStage, projectStage2);
+                List<Document> moviePipeline = MovieQueries.vectorHitMoviesPipeline(movieIds, dataMigration.isNormalized());
 
                 // Execute aggregation and manually build VectorSearchResult objects
-                mongoTemplate.getCollection("movies").aggregate(moviePipeline)
-                        .forEach(doc -> {
-                            ObjectId movieIdObj = doc.getObjectId("_id");
-                            if (movieIdObj == null) {
-                                return;
-                            }
-
-                            String movieIdStr = movieIdObj.toString();
-                            Double score = scoreMap.get(movieIdStr);
-
-                            if (score != null) {  // Only include movies that have vector scores
-                                // Safely get list fields, defaulting to null if not present
-                                List<String> genres = doc.getList("genres", String.class);
-                                List<String> directors = doc.getList("directors", String.class);
-                                List<String> cast = doc.getList("cast", String.class);
-
-                                VectorSearchResult result = VectorSearchResult.builder()
-                                        .id(movieIdStr)
-                                        .title(doc.getString("title"))
-                                        .plot(doc.getString("plot"))
-                                        .poster(doc.getString("poster"))
-                                        .year(doc.getInteger("year"))  // Will be null for dirty data
-                                        .genres(genres)
-                                        .directors(directors)
-                                        .cast(cast)
-                                        .score(score)
-                                        .build();
-                                results.add(result);
-                            }
-                        });
+                try {
+                    AggregationEvent.record("vectorSearchMovies", "movies", () -> moviePipeline, () -> {
+                        mongoTemplate.getCollection("movies").aggregate(moviePipeline)
+                                .forEach(doc -> {
+                                    VectorSearchResult result = MovieQueries.toVectorSearchResult(doc, scoreMap);
+                                    if (result != null) {
+                                        results.add(result);
+                                    }
+                                });
+                        return results;
+                    });
+                } catch (DeadlineExceededException | MongoOperationTimeoutException | MongoExecutionTimeoutException e) {
+                    // The ranking is done; when the budget runs out while loading the movie details,
+                    // answer with the ranked IDs and scores rather than failing the whole search
+                    RequestDeadline deadline = RequestDeadline.current();
+                    if (deadline == null) {
+                        throw e;
+                    }
+                    deadline.markPartial();
+                    return MovieQueries.vectorHitsWithoutDetails(movieIds, scoreMap);
+                }
             }
 
             return results;
 
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (MongoOperationTimeoutException | MongoExecutionTimeoutException e) {
+            throw RequestDeadline.timedOut(e);
         } catch (VoyageAuthException e) {
             // Re-raise Voyage AI authentication errors to be handled by GlobalExceptionHandler
             throw e;
         } catch (VoyageAPIException e) {
             // Re-raise Voyage AI API errors to be handled by GlobalExceptionHandler
             throw e;
+        } catch (HttpTimeoutException e) {
+            // The embedding call did not answer within the request's remaining time
+            throw RequestDeadline.timedOut(e);
         } catch (IOException e) {
             // Handle network errors calling Voyage AI API
             String errorMsg = e.getMessage() != null ? e.getMessage() : "Network error calling Voyage AI API";
@@ -1018,156 +884,51 @@ public class MovieServiceImpl implements MovieService {
     /**
      * Generates a vector embedding using the Voyage AI REST API.
      *
-     * <p>This method calls the Voyage AI API directly to generate embeddings with 2048 dimensions.
-     * The voyage-3-large model supports multiple dimensions (256, 512, 1024, 2048), and we explicitly
-     * request 2048 to match the vector search index configuration.
+     * <p>This method calls the Voyage AI API directly to generate embeddings with 2048 dimensions;
+     * see {@link VoyageEmbeddings} for the request and response format.
      *
      * @param text The text to generate an embedding for
      * @param apiKey The Voyage AI API key
      * @return List of doubles representing the embedding vector
      * @throws IOException if the HTTP request fails
+     * @throws HttpTimeoutException if the request's deadline passes before the response arrives
      * @throws InterruptedException if the HTTP request is interrupted
      */
     private List<Double> generateVoyageEmbedding(String text, String apiKey) throws IOException, InterruptedException {
         // Create HTTP client
         HttpClient client = HttpClient.newHttpClient();
 
-        // Build the request body with output_dimension set to 2048
-        String requestBody = String.format(
-                "{\"input\": [\"%s\"], \"model\": \"voyage-3-large\", \"output_dimension\": 2048, \"input_type\": \"query\"}",
-                text.replace("\"", "\\\"").replace("\n", "\\n")
-        );
-
         // Create the HTTP request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("https://api.voyageai.com/v1/embeddings"))
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(VoyageEmbeddings.API_URI)
                 .header("Content-Type", "application/json")
                 .header("Authorization", "Bearer " + apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                .build();
+                .POST(HttpRequest.BodyPublishers.ofString(VoyageEmbeddings.requestBody(text)));
+
+        // Give up on the embedding when the request's budget runs out
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.check();
+            requestBuilder.timeout(deadline.timeout());
+        }
+        HttpRequest request = requestBuilder.build();
 
         // Send the request and get the response
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        EmbeddingEvent event = EmbeddingEvent.begin(1, text.length());
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            event.responded(response.statusCode());
+        } finally {
+            event.finish(RecordedRequest.currentId());
+        }
 
         // Check for successful response
         if (response.statusCode() != 200) {
-            // Handle authentication errors specifically
-            if (response.statusCode() == 401) {
-                throw new VoyageAuthException("Invalid Voyage AI API key. Please check your VOYAGE_API_KEY in the .env file");
-            }
-            throw new VoyageAPIException(
-                "Voyage AI API returned status code " + response.statusCode() + ": " + response.body(),
-                response.statusCode()
-            );
+            throw VoyageEmbeddings.errorFor(response.statusCode(), response.body());
         }
 
         // Parse the JSON response to extract the embedding
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(response.body());
-
-        // Validate response structure
-        if (!root.has("data")) {
-            throw new IOException("Invalid Voyage AI API response: missing 'data' field. Response: " + response.body());
-        }
-
-        JsonNode dataNode = root.get("data");
-        if (dataNode == null || !dataNode.isArray() || dataNode.size() == 0) {
-            throw new IOException("Invalid Voyage AI API response: 'data' field is empty or not an array. Response: " + response.body());
-        }
-
-        JsonNode firstElement = dataNode.get(0);
-        if (firstElement == null || !firstElement.has("embedding")) {
-            throw new IOException("Invalid Voyage AI API response: missing 'embedding' field. Response: " + response.body());
-        }
-
-        JsonNode embeddingNode = firstElement.get("embedding");
-        if (embeddingNode == null || !embeddingNode.isArray()) {
-            throw new IOException("Invalid Voyage AI API response: 'embedding' is not an array. Response: " + response.body());
-        }
-
-        // Convert the embedding to a List<Double>
-        List<Double> embedding = new ArrayList<>();
-        for (JsonNode value : embeddingNode) {
-            embedding.add(value.asDouble());
-        }
-
-        return embedding;
-    }
-
-    /**
-     * Builds a Spring Data Criteria from a filter key-value pair.
-     * Handles MongoDB query operators like $in, $gt, $lt, etc.
-     *
-     * @param key The field name (e.g., "_id")
-     * @param value The filter value (can be a simple value or a Document with operators)
-     * @return Criteria object for the query
-     */
-    @SuppressWarnings("unchecked")
-    private Criteria buildCriteriaFromValue(String key, Object value) {
-        Criteria criteria = Criteria.where(key);
-
-        // If value is a Document (Map), it might contain MongoDB operators
-        if (value instanceof Map) {
-            Map<String, Object> operatorMap = (Map<String, Object>) value;
-
-            // Handle each MongoDB operator
-            for (Map.Entry<String, Object> entry : operatorMap.entrySet()) {
-                String operator = entry.getKey();
-                Object operatorValue = entry.getValue();
-
-                switch (operator) {
-                    case "$in":
-                        // Convert string IDs to ObjectIds if the field is _id
-                        if ("_id".equals(key) && operatorValue instanceof List) {
-                            List<?> values = (List<?>) operatorValue;
-                            List<ObjectId> objectIds = values.stream()
-                                    .map(id -> new ObjectId(id.toString()))
-                                    .collect(Collectors.toList());
-                            criteria = criteria.in(objectIds);
-                        } else {
-                            criteria = criteria.in((List<?>) operatorValue);
-                        }
-                        break;
-                    case "$nin":
-                        criteria = criteria.nin((List<?>) operatorValue);
-                        break;
-                    case "$gt":
-                        criteria = criteria.gt(operatorValue);
-                        break;
-                    case "$gte":
-                        criteria = criteria.gte(operatorValue);
-                        break;
-                    case "$lt":
-                        criteria = criteria.lt(operatorValue);
-                        break;
-                    case "$lte":
-                        criteria = criteria.lte(operatorValue);
-                        break;
-                    case "$ne":
-                        criteria = criteria.ne(operatorValue);
-                        break;
-                    case "$regex":
-                        criteria = criteria.regex(operatorValue.toString());
-                        break;
-                    case "$exists":
-                        criteria = criteria.exists((Boolean) operatorValue);
-                        break;
-                    default:
-                        // For unknown operators, use the value as-is
-                        criteria = criteria.is(value);
-                        break;
-                }
-            }
-        } else {
-            // Simple equality check
-            // Convert string ID to ObjectId if the field is _id
-            if ("_id".equals(key) && value instanceof String) {
-                criteria = criteria.is(new ObjectId(value.toString()));
-            } else {
-                criteria = criteria.is(value);
-            }
-        }
-
-        return criteria;
+        return VoyageEmbeddings.parseEmbedding(response.body());
     }
 }
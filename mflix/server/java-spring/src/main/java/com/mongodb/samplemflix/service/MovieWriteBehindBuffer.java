@@ -0,0 +1,547 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.DatabaseOperationException;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.exception.ResourceNotFoundException;
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
+import com.mongodb.samplemflix.model.Movie;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind buffer for single-movie updates ({@code PATCH /api/movies/{id}}).
+ *
+ * <p>Bursts of partial updates to the same few movies (e.g. rating and vote refreshes) would
+ * otherwise each cost one round trip. With {@code api.write-behind.enabled=true}, unconditional
+ * updates are queued here instead:
+ * <ul>
+ *   <li>Updates to the same movie are merged field-wise into one update: later values win, and
+ *       the version is incremented once per merged update, as if they had run one by one.</li>
+ *   <li>A flusher thread sends the queued movies as unordered {@code bulkWrite} batches, when
+ *       {@code api.write-behind.max-batch-size} movies are queued or the oldest update has
+ *       waited {@code api.write-behind.max-delay-ms}, then reads the updated movies back with
+ *       one {@code $in} query.</li>
+ *   <li>Each caller gets a future that completes with the updated movie once its batch is
+ *       written, or fails with the error for that movie.</li>
+ * </ul>
+ *
+ * <p>Durability: a caller is only acknowledged after its update is written with the
+ * {@code api.write-behind.write-concern} (any driver write concern name, e.g. {@code w1},
+ * {@code majority}, {@code journaled}), so an acknowledged update survives as well as a direct
+ * one. Updates still queued on shutdown are flushed before the application stops; a crash loses
+ * them, but none of them has been acknowledged.
+ *
+ * <p>Memory is bounded by {@code api.write-behind.max-pending} queued updates plus the batch
+ * being written. When the buffer is full, callers wait up to
+ * {@code api.write-behind.enqueue-timeout-ms} for room, then get a 503 to retry. Neither wait
+ * outlasts the request's {@link RequestDeadline}: a caller whose budget runs out gets a 504.
+ *
+ * <p>Conditional updates (with If-Match) always go straight to MongoDB, since their version check
+ * cannot be deferred.
+ */
+@Component
+@Profile("!reactive")
+public class MovieWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieWriteBehindBuffer.class);
+
+    @Value("${api.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.write-behind.max-delay-ms:10}")
+    private long maxDelayMs = 10;
+
+    @Value("${api.write-behind.max-batch-size:500}")
+    private int maxBatchSize = 500;
+
+    @Value("${api.write-behind.max-pending:10000}")
+    private int maxPending = 10000;
+
+    @Value("${api.write-behind.enqueue-timeout-ms:1000}")
+    private long enqueueTimeoutMs = 1000;
+
+    @Value("${api.write-behind.write-concern:acknowledged}")
+    private String writeConcern = "acknowledged";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    LongSupplier clock = System::nanoTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition due = lock.newCondition();
+
+    // Guarded by lock; in order of each movie's oldest queued update
+    private final LinkedHashMap<ObjectId, PendingUpdate> pending = new LinkedHashMap<>();
+    private int pendingUpdates;
+    private boolean closed;
+
+    private WriteConcern flushWriteConcern = WriteConcern.ACKNOWLEDGED;
+    private Thread flusher;
+
+    public MovieWriteBehindBuffer(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flushWriteConcern = WriteConcern.valueOf(writeConcern);
+        if (flushWriteConcern == null) {
+            throw new IllegalArgumentException("Unknown api.write-behind.write-concern: " + writeConcern);
+        }
+        flusher = Thread.ofPlatform().name("movie-write-behind").daemon().start(this::runFlusher);
+        logger.info("Write-behind enabled: batches of up to {} movies every {} ms, write concern {}",
+                maxBatchSize, maxDelayMs, writeConcern);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an update and waits until it is written, for at most the request's remaining
+     * deadline when one is bound.
+     *
+     * @return the movie after the flush that included this update
+     * @throws ResourceNotFoundException if the movie does not exist
+     * @throws ServerOverloadedException if the buffer stayed full for the enqueue timeout
+     * @throws DeadlineExceededException if the deadline passes first; the update stays queued and
+     *                                   is still written
+     */
+    public Movie update(ObjectId id, Update update) {
+        RequestDeadline deadline = RequestDeadline.current();
+        CompletableFuture<Movie> result = submit(id, update);
+        try {
+            return deadline != null ? result.get(deadline.timeoutMillis(), TimeUnit.MILLISECONDS) : result.join();
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw deadline.exceeded(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerOverloadedException("Interrupted while waiting for a movie update to be written");
+        }
+    }
+
+    /**
+     * Queues an update to be merged with other queued updates of the same movie.
+     *
+     * @param update {@code $set}, {@code $unset} and {@code $inc} operations, as built by
+     *               {@link MovieQueries#buildUpdate}
+     * @return a future completed with the updated movie when the flush completes
+     */
+    public CompletableFuture<Movie> submit(ObjectId id, Update update) {
+        CompletableFuture<Movie> result = new CompletableFuture<>();
+        lock.lock();
+        try {
+            RequestDeadline deadline = RequestDeadline.current();
+            long remaining = TimeUnit.MILLISECONDS.toNanos(deadline != null
+                    ? Math.min(enqueueTimeoutMs, deadline.timeoutMillis()) : enqueueTimeoutMs);
+            while (pendingUpdates >= maxPending && !closed) {
+                if (remaining <= 0) {
+                    if (deadline != null && deadline.isExpired()) {
+                        throw deadline.exceeded(null);
+                    }
+                    throw new ServerOverloadedException("Too many movie updates are waiting to be written");
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (closed) {
+                throw new ServerOverloadedException("Movie updates are not accepted while shutting down");
+            }
+
+            PendingUpdate entry = pending.get(id);
+            if (entry == null) {
+                entry = new PendingUpdate(id, clock.getAsLong());
+                pending.put(id, entry);
+            }
+            entry.merge(update.getUpdateObject());
+            entry.waiters.add(result);
+            pendingUpdates++;
+
+            // Wake the flusher to start the delay for a new batch, or because the batch is full
+            if (pending.size() == 1 || pending.size() >= maxBatchSize) {
+                due.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerOverloadedException("Interrupted while waiting to queue a movie update");
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<PendingUpdate> batch;
+            lock.lock();
+            try {
+                while (!closed || !pending.isEmpty()) {
+                    long wait = untilDue();
+                    if (wait <= 0) {
+                        break;
+                    }
+                    due.awaitNanos(wait);
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = drain();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // Keep the flusher alive; callers already completed are not affected
+                logger.error("Write-behind flush of {} movies failed: {}", batch.size(), e.getMessage());
+                fail(batch, e);
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until the next batch is due; 0 when it is due now. Called with the lock held.
+     */
+    private long untilDue() {
+        if (pending.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        if (closed || pending.size() >= maxBatchSize) {
+            return 0;
+        }
+        long oldest = pending.values().iterator().next().queuedAt;
+        return Math.max(oldest + TimeUnit.MILLISECONDS.toNanos(maxDelayMs) - clock.getAsLong(), 0);
+    }
+
+    /**
+     * Writes one batch of queued movies right away, regardless of the thresholds.
+     *
+     * @return the number of movies written
+     */
+    int flush() {
+        List<PendingUpdate> batch;
+        lock.lock();
+        try {
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        write(batch);
+        return batch.size();
+    }
+
+    /**
+     * Removes the oldest movies, up to the batch size, from the queue. Called with the lock held.
+     */
+    private List<PendingUpdate> drain() {
+        List<PendingUpdate> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        Iterator<PendingUpdate> entries = pending.values().iterator();
+        while (entries.hasNext() && batch.size() < maxBatchSize) {
+            PendingUpdate entry = entries.next();
+            entries.remove();
+            pendingUpdates -= entry.waiters.size();
+            batch.add(entry);
+        }
+        notFull.signalAll();
+        return batch;
+    }
+
+    private void write(List<PendingUpdate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<WriteModel<Document>> models = batch.stream()
+                .<WriteModel<Document>>map(entry -> new UpdateOneModel<>(
+                        new Document(Movie.Fields.ID, entry.id), entry.toUpdateDocument()))
+                .toList();
+
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            mongoTemplate.getCollection("movies")
+                    .withWriteConcern(flushWriteConcern)
+                    .bulkWrite(models, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteErrors().isEmpty()) {
+                // A write concern error: the updates may or may not have been applied
+                fail(batch, new DatabaseOperationException("Movie updates were not acknowledged: " + e.getMessage()));
+                return;
+            }
+            e.getWriteErrors().forEach(error -> errors.put(error.getIndex(), error));
+        } catch (RuntimeException e) {
+            logger.error("Write-behind flush of {} movies failed: {}", batch.size(), e.getMessage());
+            fail(batch, e);
+            return;
+        }
+
+        List<PendingUpdate> written = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            BulkWriteError error = errors.get(i);
+            if (error != null) {
+                batch.get(i).fail(new DatabaseOperationException(error.getMessage()));
+            } else {
+                written.add(batch.get(i));
+            }
+        }
+        complete(written);
+    }
+
+    /**
+     * Reads the written movies back in one query and hands each caller its movie.
+     */
+    private void complete(List<PendingUpdate> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        Map<ObjectId, Movie> moviesById = new HashMap<>();
+        try {
+            Query query = new Query(Criteria.where(Movie.Fields.ID).in(written.stream().map(entry -> entry.id).toList()));
+            mongoTemplate.find(query, Movie.class).forEach(movie -> moviesById.put(movie.getId(), movie));
+        } catch (RuntimeException e) {
+            fail(written, e);
+            return;
+        }
+
+        List<Movie> updated = new ArrayList<>(moviesById.size());
+        for (PendingUpdate entry : written) {
+            Movie movie = moviesById.get(entry.id);
+            if (movie == null) {
+                // updateOne matched nothing
+                entry.fail(new ResourceNotFoundException("Movie not found"));
+            } else {
+                updated.add(movie);
+            }
+        }
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(MovieChangeEvent.saved(updated));
+        }
+        for (PendingUpdate entry : written) {
+            Movie movie = moviesById.get(entry.id);
+            if (movie != null) {
+                entry.waiters.forEach(waiter -> waiter.complete(movie));
+            }
+        }
+    }
+
+    private static void fail(List<PendingUpdate> batch, RuntimeException error) {
+        batch.forEach(entry -> entry.fail(error));
+    }
+
+    /**
+     * Number of updates queued and not yet taken by a flush.
+     */
+    int pendingUpdates() {
+        lock.lock();
+        try {
+            return pendingUpdates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting updates and flushes everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            closed = true;
+            due.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * The merged updates queued for one movie.
+     *
+     * <p>Merging keeps the result of running the updates in order. Dotted paths that overlap
+     * (e.g. {@code imdb} and {@code imdb.rating}) cannot both appear in one MongoDB update, so
+     * an overlapping path is folded into the other: setting {@code imdb.rating} after removing
+     * {@code imdb} sets {@code imdb} to {@code {rating: ...}}, and removing {@code imdb} after
+     * setting {@code imdb.rating} only removes {@code imdb}.
+     */
+    static final class PendingUpdate {
+
+        final ObjectId id;
+        final long queuedAt;
+        final List<CompletableFuture<Movie>> waiters = new ArrayList<>(1);
+
+        private final Document set = new Document();
+        private final Document unset = new Document();
+        private final Document inc = new Document();
+
+        PendingUpdate(ObjectId id, long queuedAt) {
+            this.id = id;
+            this.queuedAt = queuedAt;
+        }
+
+        void merge(Document update) {
+            update.forEach((operator, fields) -> {
+                Document operations = (Document) fields;
+                switch (operator) {
+                    case "$set" -> operations.forEach(this::set);
+                    case "$unset" -> operations.keySet().forEach(this::unset);
+                    case "$inc" -> operations.forEach((path, amount) -> inc.merge(path, amount,
+                            (a, b) -> ((Number) a).intValue() + ((Number) b).intValue()));
+                    default -> throw new IllegalArgumentException("Cannot merge update operator " + operator);
+                }
+            });
+        }
+
+        private void set(String path, Object value) {
+            removeWithin(path);
+            unset.remove(path);
+
+            String ancestor = ancestor(set, path);
+            if (ancestor != null) {
+                Document parent = copyOf(set.get(ancestor));
+                put(parent, path.substring(ancestor.length() + 1), value);
+                set.put(ancestor, parent);
+                return;
+            }
+            ancestor = ancestor(unset, path);
+            if (ancestor != null) {
+                unset.remove(ancestor);
+                Document parent = new Document();
+                put(parent, path.substring(ancestor.length() + 1), value);
+                set.put(ancestor, parent);
+                return;
+            }
+            set.put(path, value);
+        }
+
+        private void unset(String path) {
+            removeWithin(path);
+            set.remove(path);
+
+            String ancestor = ancestor(set, path);
+            if (ancestor != null) {
+                Document parent = copyOf(set.get(ancestor));
+                remove(parent, path.substring(ancestor.length() + 1));
+                set.put(ancestor, parent);
+                return;
+            }
+            if (ancestor(unset, path) == null) {
+                unset.put(path, 1);
+            }
+        }
+
+        /**
+         * Drops queued operations on paths nested under {@code path}, which it overwrites.
+         */
+        private void removeWithin(String path) {
+            String prefix = path + ".";
+            set.keySet().removeIf(key -> key.startsWith(prefix));
+            unset.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        private static String ancestor(Document operations, String path) {
+            for (String key : operations.keySet()) {
+                if (path.startsWith(key + ".")) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        private static Document copyOf(Object value) {
+            Document copy = new Document();
+            if (value instanceof Map<?, ?> map) {
+                map.forEach((key, nested) -> copy.put(key.toString(), nested instanceof Map<?, ?> ? copyOf(nested) : nested));
+            }
+            return copy;
+        }
+
+        private static void put(Document document, String path, Object value) {
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                document.put(path, value);
+                return;
+            }
+            String field = path.substring(0, dot);
+            Object child = document.get(field);
+            Document nested = child instanceof Document existing ? existing : new Document();
+            put(nested, path.substring(dot + 1), value);
+            document.put(field, nested);
+        }
+
+        private static void remove(Document document, String path) {
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                document.remove(path);
+                return;
+            }
+            if (document.get(path.substring(0, dot)) instanceof Document nested) {
+                remove(nested, path.substring(dot + 1));
+            }
+        }
+
+        Document toUpdateDocument() {
+            Document update = new Document();
+            if (!set.isEmpty()) {
+                update.put("$set", set);
+            }
+            if (!unset.isEmpty()) {
+                update.put("$unset", unset);
+            }
+            if (!inc.isEmpty()) {
+                update.put("$inc", inc);
+            }
+            return update;
+        }
+
+        void fail(RuntimeException error) {
+            waiters.forEach(waiter -> waiter.completeExceptionally(error));
+        }
+    }
+}
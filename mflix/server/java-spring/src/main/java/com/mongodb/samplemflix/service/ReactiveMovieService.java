@@ -0,0 +1,91 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
+import com.mongodb.samplemflix.model.dto.BatchInsertResponse;
+import com.mongodb.samplemflix.model.dto.BatchUpdateResponse;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.DeleteResponse;
+import com.mongodb.samplemflix.model.dto.DirectorStatisticsResult;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
+import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import com.mongodb.samplemflix.model.dto.VectorSearchResult;
+import java.util.List;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link MovieService}, used by the WebFlux routes when the
+ * {@code reactive} profile is active.
+ *
+ * <p>Every method has the same validation, defaults and error types as its {@link MovieService}
+ * equivalent; errors are signalled through the returned publisher instead of thrown.
+ * Multi-result operations return a {@link Flux} backed by a MongoDB cursor, so results are
+ * fetched as the subscriber requests them.
+ */
+public interface ReactiveMovieService {
+
+    Flux<Movie> getAllMovies(MovieSearchQuery query);
+
+    /**
+     * Streams every movie matching the query filters, ignoring skip and limit.
+     *
+     * <p>Sorts by {@code _id} unless a sort field is given, so the export walks the default
+     * index instead of sorting the whole collection in memory.
+     */
+    Flux<Movie> exportMovies(MovieSearchQuery query);
+
+    Mono<List<String>> getDistinctGenres();
+
+    Flux<FacetValueCount> getFacetValueCounts(String field);
+
+    Mono<MovieFacetsResult> getBrowseFacets(MovieSearchQuery query, String mode, Integer buckets);
+
+    Mono<Movie> getMovieById(String id);
+
+    Mono<Movie> createMovie(CreateMovieRequest request);
+
+    Mono<BatchInsertResponse> createMoviesBatch(List<CreateMovieRequest> requests);
+
+    default Mono<Movie> updateMovie(String id, UpdateMovieRequest request) {
+        return updateMovie(id, request, null);
+    }
+
+    Mono<Movie> updateMovie(String id, UpdateMovieRequest request, Integer expectedVersion);
+
+    Mono<BatchUpdateResponse> updateMoviesBatch(Document filter, Document update);
+
+    default Mono<DeleteResponse> deleteMovie(String id) {
+        return deleteMovie(id, null);
+    }
+
+    Mono<DeleteResponse> deleteMovie(String id, Integer expectedVersion);
+
+    Mono<DeleteResponse> deleteMoviesBatch(Document filter);
+
+    Mono<BulkWriteResponse> bulkWrite(BulkWriteRequest request);
+
+    Mono<Movie> findAndDeleteMovie(String id);
+
+    Flux<MovieWithCommentsResult> getMoviesWithMostRecentComments(Integer limit, String movieId);
+
+    Flux<MoviesByYearResult> getMoviesByYearWithStats();
+
+    Flux<DirectorStatisticsResult> getDirectorsWithMostMovies(Integer limit);
+
+    Flux<Movie> searchMovies(MovieSearchRequest searchRequest);
+
+    Flux<Movie> findSimilarMovies(String movieId, Integer limit);
+
+    Flux<VectorSearchResult> vectorSearchMovies(String query, Integer limit);
+
+    Mono<List<AutocompleteSuggestion>> autocomplete(String query, Integer limit);
+}
@@ -0,0 +1,609 @@
+package com.mongodb.samplemflix.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.samplemflix.config.IndexReadiness;
+import com.mongodb.samplemflix.config.IndexReadiness.SearchIndex;
+import com.mongodb.samplemflix.config.ReadRouting;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.DatabaseOperationException;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import com.mongodb.samplemflix.exception.PreconditionFailedException;
+import com.mongodb.samplemflix.exception.ResourceNotFoundException;
+import com.mongodb.samplemflix.exception.ServiceUnavailableException;
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.exception.VoyageAPIException;
+import com.mongodb.samplemflix.exception.VoyageAuthException;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder;
+import com.mongodb.samplemflix.jfr.EmbeddingEvent;
+import com.mongodb.samplemflix.jfr.RecordedRequest;
+import com.mongodb.samplemflix.migration.MovieDataMigration;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.*;
+import com.mongodb.samplemflix.search.AutocompleteIndex;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import com.mongodb.samplemflix.search.FacetResultCache;
+import com.mongodb.samplemflix.search.LocalSearchIndex;
+import com.mongodb.samplemflix.search.SearchResultCache;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive movie service on {@link ReactiveMongoTemplate} and the Reactive Streams driver.
+ *
+ * <p>Builds the same queries and pipelines as {@link MovieServiceImpl} (see {@link MovieQueries})
+ * and shares the in-memory search index, autocomplete index, facet catalog and search result cache
+ * with it.
+ * Writes publish the same {@link MovieChangeEvent}s, so those stay current on either stack.
+ *
+ * <p>Nothing here blocks: cursors are consumed as the subscriber requests more elements, and
+ * the Voyage AI embedding call goes through {@link WebClient}.
+ *
+ * <p>Active only with the {@code reactive} profile.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveMovieServiceImpl implements ReactiveMovieService {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final LocalSearchIndex localSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final FacetCatalog facetCatalog;
+    private final FacetResultCache facetResultCache;
+    private final SearchResultCache searchResultCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieDataMigration dataMigration;
+    private final QueryShapeRecorder queryShapes;
+    private final ReadRouting readRouting;
+    private final IndexReadiness indexReadiness;
+    private final WebClient webClient;
+
+    @Value("${voyage.api.key:#{null}}")
+    private String voyageApiKey;
+
+    @Value("${api.bulk.max-operations:10000}")
+    private int bulkMaxOperations = 10000;
+
+    @Value("${api.bulk.chunk-size:1000}")
+    private int bulkChunkSize = 1000;
+
+    public ReactiveMovieServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                    LocalSearchIndex localSearchIndex, AutocompleteIndex autocompleteIndex,
+                                    FacetCatalog facetCatalog, FacetResultCache facetResultCache,
+                                    SearchResultCache searchResultCache, ApplicationEventPublisher eventPublisher,
+                                    MovieDataMigration dataMigration, QueryShapeRecorder queryShapes,
+                                    ReadRouting readRouting, IndexReadiness indexReadiness,
+                                    WebClient.Builder webClientBuilder) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.localSearchIndex = localSearchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.facetCatalog = facetCatalog;
+        this.facetResultCache = facetResultCache;
+        this.searchResultCache = searchResultCache;
+        this.eventPublisher = eventPublisher;
+        this.dataMigration = dataMigration;
+        this.queryShapes = queryShapes;
+        this.readRouting = readRouting;
+        this.indexReadiness = indexReadiness;
+        this.webClient = webClientBuilder.build();
+    }
+
+    @Override
+    public Flux<Movie> getAllMovies(MovieSearchQuery query) {
+        return Flux.defer(() -> {
+            requireTextIndex(query);
+            Query mongoQuery = MovieQueries.listQuery(query);
+            queryShapes.record(mongoQuery);
+            return reactiveMongoTemplate.find(mongoQuery, Movie.class);
+        });
+    }
+
+    @Override
+    public Flux<Movie> exportMovies(MovieSearchQuery query) {
+        return Flux.defer(() -> {
+            Query mongoQuery = MovieQueries.buildQuery(query);
+            if (query.getSortBy() != null && !query.getSortBy().trim().isEmpty()) {
+                mongoQuery.with(MovieQueries.buildSort(query.getSortBy(), query.getSortOrder()));
+            } else {
+                mongoQuery.with(Sort.by(Movie.Fields.ID));
+            }
+            queryShapes.record(mongoQuery);
+            return reactiveMongoTemplate.find(mongoQuery, Movie.class);
+        });
+    }
+
+    @Override
+    public Mono<List<String>> getDistinctGenres() {
+        if (facetCatalog.isReady()) {
+            return Mono.fromCallable(() -> facetCatalog.values(Movie.Fields.GENRES));
+        }
+        return reactiveMongoTemplate.findDistinct(new Query(), Movie.Fields.GENRES, Movie.class, String.class)
+                .filter(genre -> genre != null && !genre.isEmpty())
+                .sort()
+                .collectList();
+    }
+
+    @Override
+    public Mono<Movie> getMovieById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.error(new ValidationException("Invalid movie ID format"));
+        }
+
+        Mono<Movie> movie = readRouting.routesPointReads()
+                ? reactiveMongoTemplate.findOne(
+                        readRouting.pointRead(Query.query(Criteria.where(Movie.Fields.ID).is(new ObjectId(id)))), Movie.class)
+                : reactiveMongoTemplate.findById(new ObjectId(id), Movie.class);
+        return movie
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie not found")));
+    }
+
+    @Override
+    public Mono<Movie> createMovie(CreateMovieRequest request) {
+        return Mono.fromCallable(() -> MovieQueries.toMovie(request, ""))
+                .flatMap(reactiveMongoTemplate::insert)
+                .doOnNext(saved -> eventPublisher.publishEvent(MovieChangeEvent.saved(List.of(saved))));
+    }
+
+    @Override
+    public Mono<BatchInsertResponse> createMoviesBatch(List<CreateMovieRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.error(new ValidationException("Request body must be a non-empty array of movie objects"));
+        }
+
+        return Mono.fromCallable(() -> {
+                    List<Movie> movies = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        movies.add(MovieQueries.toMovie(requests.get(i), "Movie at index " + i + ": "));
+                    }
+                    return movies;
+                })
+                .flatMap(movies -> reactiveMongoTemplate.insertAll(movies).collectList())
+                .map(savedMovies -> {
+                    eventPublisher.publishEvent(MovieChangeEvent.saved(savedMovies));
+                    List<BsonValue> insertedIds = savedMovies.stream()
+                            .<BsonValue>map(movie -> new BsonObjectId(movie.getId()))
+                            .toList();
+                    return new BatchInsertResponse(savedMovies.size(), insertedIds);
+                });
+    }
+
+    @Override
+    public Mono<Movie> updateMovie(String id, UpdateMovieRequest request, Integer expectedVersion) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.error(new ValidationException("Invalid movie ID format"));
+        }
+
+        if (request == null || MovieQueries.isUpdateRequestEmpty(request)) {
+            return Mono.error(new ValidationException("No update data provided"));
+        }
+
+        ObjectId objectId = new ObjectId(id);
+
+        // One findAndModify applies the update, checks the version and returns the post-image
+        return reactiveMongoTemplate.findAndModify(MovieQueries.versionedQuery(objectId, expectedVersion),
+                        MovieQueries.buildUpdate(request), FindAndModifyOptions.options().returnNew(true),
+                        Movie.class)
+                .switchIfEmpty(Mono.defer(() -> writeMissed(objectId, expectedVersion)))
+                .doOnNext(updated -> eventPublisher.publishEvent(MovieChangeEvent.saved(List.of(updated))));
+    }
+
+    @Override
+    public Mono<BatchUpdateResponse> updateMoviesBatch(Document filter, Document update) {
+        if (filter == null || update == null) {
+            return Mono.error(new ValidationException("Both filter and update objects are required"));
+        }
+
+        if (update.isEmpty()) {
+            return Mono.error(new ValidationException("Update object cannot be empty"));
+        }
+
+        return Mono.fromCallable(() -> MovieQueries.filterQuery(filter))
+                .flatMap(query -> reactiveMongoTemplate.updateMulti(query, MovieQueries.setUpdate(update), Movie.class))
+                .map(result -> {
+                    if (result.getModifiedCount() > 0) {
+                        eventPublisher.publishEvent(MovieChangeEvent.bulk());
+                    }
+                    return new BatchUpdateResponse(result.getMatchedCount(), result.getModifiedCount());
+                });
+    }
+
+    @Override
+    public Mono<DeleteResponse> deleteMovie(String id, Integer expectedVersion) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.error(new ValidationException("Invalid movie ID format"));
+        }
+
+        ObjectId objectId = new ObjectId(id);
+
+        // A single deleteOne; a deleted count of 0 means the movie did not exist or has changed
+        return reactiveMongoTemplate.remove(MovieQueries.versionedQuery(objectId, expectedVersion), Movie.class)
+                .flatMap(result -> {
+                    if (result.getDeletedCount() == 0) {
+                        return writeMissed(objectId, expectedVersion);
+                    }
+                    eventPublisher.publishEvent(MovieChangeEvent.deleted(objectId));
+                    return Mono.just(new DeleteResponse(1L));
+                });
+    }
+
+    /**
+     * Explains a conditional write that matched nothing; see {@link MovieServiceImpl}.
+     */
+    private <T> Mono<T> writeMissed(ObjectId objectId, Integer expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new ResourceNotFoundException("Movie not found"));
+        }
+        return reactiveMongoTemplate.exists(new Query(Criteria.where(Movie.Fields.ID).is(objectId)), Movie.class)
+                .flatMap(exists -> Mono.error(exists
+                        ? new PreconditionFailedException(MovieQueries.VERSION_MISMATCH_MESSAGE)
+                        : new ResourceNotFoundException("Movie not found")));
+    }
+
+    @Override
+    public Mono<DeleteResponse> deleteMoviesBatch(Document filter) {
+        if (filter == null || filter.isEmpty()) {
+            return Mono.error(new ValidationException(
+                    "Filter object is required and cannot be empty. This prevents accidental deletion of all documents."));
+        }
+
+        return Mono.fromCallable(() -> MovieQueries.filterQuery(filter))
+                .flatMap(query -> reactiveMongoTemplate.remove(query, Movie.class))
+                .map(result -> {
+                    if (result.getDeletedCount() > 0) {
+                        eventPublisher.publishEvent(MovieChangeEvent.bulk());
+                    }
+                    return new DeleteResponse(result.getDeletedCount());
+                });
+    }
+
+    @Override
+    public Mono<BulkWriteResponse> bulkWrite(BulkWriteRequest request) {
+        boolean ordered = request == null || request.getOrdered() == null || request.getOrdered();
+        BulkWriteOptions options = new BulkWriteOptions().ordered(ordered);
+
+        return Mono.fromCallable(() -> new BulkWriteTally(MovieQueries.bulkOperations(request, bulkMaxOperations), ordered))
+                .flatMap(tally -> reactiveMongoTemplate.getCollection("movies")
+                        // Chunks run one at a time; false from the tally ends an ordered bulk write
+                        .flatMapMany(collection -> Flux.fromIterable(tally.chunks(bulkChunkSize))
+                                .concatMap(chunk -> Mono.from(collection.bulkWrite(BulkWriteTally.models(chunk), options))
+                                        .map(result -> {
+                                            tally.succeeded(chunk, result);
+                                            return true;
+                                        })
+                                        .onErrorResume(MongoBulkWriteException.class,
+                                                e -> Mono.fromCallable(() -> tally.failed(chunk, e)))))
+                        .takeWhile(Boolean::booleanValue)
+                        .then(Mono.fromCallable(tally::response))
+                        .doFinally(signal -> {
+                            if (tally.hasWrites()) {
+                                eventPublisher.publishEvent(MovieChangeEvent.bulk());
+                            }
+                        }));
+    }
+
+    @Override
+    public Mono<Movie> findAndDeleteMovie(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.error(new ValidationException("Invalid movie ID format"));
+        }
+
+        ObjectId objectId = new ObjectId(id);
+
+        return reactiveMongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(objectId)), Movie.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie not found")))
+                .doOnNext(movie -> eventPublisher.publishEvent(MovieChangeEvent.deleted(objectId)));
+    }
+
+    // Aggregation methods for reporting
+
+    @Override
+    public Flux<MovieWithCommentsResult> getMoviesWithMostRecentComments(Integer limit, String movieId) {
+        return Flux.defer(() -> reactiveMongoTemplate.aggregate(
+                        readRouting.report(MovieQueries.recentCommentsAggregation(limit, movieId, dataMigration.isNormalized())),
+                        "movies", Document.class))
+                .map(MovieQueries::toMovieWithCommentsResult);
+    }
+
+    @Override
+    public Flux<MoviesByYearResult> getMoviesByYearWithStats() {
+        return reactiveMongoTemplate.aggregate(
+                        readRouting.report(MovieQueries.moviesByYearAggregation(dataMigration.isNormalized())),
+                        "movies", MoviesByYearResult.class)
+                .doOnNext(result -> result.setAverageRating(MovieQueries.roundRating(result.getAverageRating())));
+    }
+
+    @Override
+    public Flux<DirectorStatisticsResult> getDirectorsWithMostMovies(Integer limit) {
+        return reactiveMongoTemplate.aggregate(
+                        readRouting.report(MovieQueries.directorsAggregation(limit, dataMigration.isNormalized())),
+                        "movies", DirectorStatisticsResult.class)
+                .doOnNext(result -> result.setAverageRating(MovieQueries.roundRating(result.getAverageRating())));
+    }
+
+    @Override
+    public Flux<FacetValueCount> getFacetValueCounts(String field) {
+        return Flux.defer(() -> {
+            MovieQueries.validateFacetField(field);
+            if (facetCatalog.isReady()) {
+                return Flux.fromIterable(facetCatalog.counts(field));
+            }
+            return reactiveMongoTemplate.aggregate(
+                    MovieQueries.facetValueCountsAggregation(field), "movies", FacetValueCount.class);
+        });
+    }
+
+    @Override
+    public Mono<MovieFacetsResult> getBrowseFacets(MovieSearchQuery query, String mode, Integer buckets) {
+        return Mono.defer(() -> {
+            String facetMode = MovieQueries.facetMode(mode);
+            int bucketCount = MovieQueries.facetBuckets(buckets);
+
+            FacetResultCache.Key key = FacetResultCache.key(query, facetMode, bucketCount);
+            MovieFacetsResult cached = facetResultCache.get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            requireTextIndex(query);
+            long generation = facetResultCache.generation();
+            return reactiveMongoTemplate.aggregate(
+                            MovieQueries.browseFacetsAggregation(query, facetMode, bucketCount, dataMigration.isNormalized()),
+                            "movies", Document.class)
+                    .next()
+                    .defaultIfEmpty(new Document())
+                    .map(facets -> MovieQueries.toFacetsResult(facets, facetMode))
+                    .doOnNext(result -> facetResultCache.put(key, generation, result));
+        });
+    }
+
+    // MongoDB Search methods
+
+    @Override
+    public Flux<Movie> searchMovies(MovieSearchRequest searchRequest) {
+        return Flux.defer(() -> {
+            String operator = MovieQueries.searchOperator(searchRequest);
+            int resultLimit = MovieQueries.searchLimit(searchRequest);
+            int resultSkip = MovieQueries.searchSkip(searchRequest);
+
+            // Serve repeated queries from the result cache: only the cached page of IDs is fetched
+            SearchResultCache.Key cacheKey = SearchResultCache.key(searchRequest, operator, resultSkip, resultLimit);
+            SearchResultCache.CachedHits cached = searchResultCache.get(cacheKey);
+            if (cached != null) {
+                long hydrationStart = System.nanoTime();
+                return findMoviesByIds(cached.idList())
+                        .doOnComplete(() -> searchResultCache.recordHit(cached, System.nanoTime() - hydrationStart));
+            }
+            long cacheGeneration = searchResultCache.generation();
+            long searchStart = System.nanoTime();
+
+            // The local index ranks in memory; only the page of IDs is fetched from MongoDB
+            if (localSearchIndex.isEnabled() && localSearchIndex.isReady()) {
+                List<LocalSearchIndex.SearchHit> hits =
+                        localSearchIndex.search(searchRequest, operator, resultSkip, resultLimit);
+                List<ObjectId> movieIds = hits.stream().map(LocalSearchIndex.SearchHit::id).toList();
+                double[] scores = hits.stream().mapToDouble(LocalSearchIndex.SearchHit::score).toArray();
+                searchResultCache.put(cacheKey, cacheGeneration, movieIds, scores, System.nanoTime() - searchStart);
+                return findMoviesByIds(movieIds);
+            }
+            indexReadiness.require(SearchIndex.SEARCH);
+
+            // Stream the $search results while recording IDs and scores for the cache.
+            // The page is only cached if the subscriber consumed it completely.
+            List<ObjectId> movieIds = new ArrayList<>(resultLimit);
+            List<Double> scores = new ArrayList<>(resultLimit);
+            List<Document> pipeline = MovieQueries.searchPipeline(searchRequest, operator, resultSkip, resultLimit);
+
+            return reactiveMongoTemplate.getCollection("movies")
+                    .flatMapMany(collection -> collection.aggregate(pipeline))
+                    .doOnNext(doc -> {
+                        movieIds.add(doc.getObjectId(Movie.Fields.ID));
+                        scores.add(MovieQueries.score(doc));
+                    })
+                    .map(doc -> reactiveMongoTemplate.getConverter().read(Movie.class, doc))
+                    .doOnComplete(() -> searchResultCache.put(cacheKey, cacheGeneration, movieIds,
+                            scores.stream().mapToDouble(Double::doubleValue).toArray(),
+                            System.nanoTime() - searchStart))
+                    .onErrorMap(e -> !(e instanceof ValidationException) && !DeadlineExceededException.isTimeout(e),
+                            e -> new DatabaseOperationException("Error performing MongoDB Search: " + e.getMessage()));
+        });
+    }
+
+    /**
+     * A {@code q} filter runs on the text index, so it waits until startup has confirmed it.
+     */
+    private void requireTextIndex(MovieSearchQuery query) {
+        if (MovieQueries.hasTextFilter(query)) {
+            indexReadiness.require(SearchIndex.TEXT);
+        }
+    }
+
+    /**
+     * Fetches movies by ID with a single $in query, preserving the order of the given IDs.
+     *
+     * <p>Collects the (at most 100) movies of the page so they can be re-ordered by rank.
+     */
+    private Flux<Movie> findMoviesByIds(List<ObjectId> movieIds) {
+        if (movieIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return reactiveMongoTemplate.find(MovieQueries.moviesByIdsQuery(movieIds), Movie.class)
+                .collectList()
+                .flatMapIterable(movies -> MovieQueries.inIdOrder(movieIds, movies));
+    }
+
+    @Override
+    public Flux<Movie> findSimilarMovies(String movieId, Integer limit) {
+        // Validate movie ID
+        if (movieId == null || movieId.trim().isEmpty()) {
+            return Flux.error(new ValidationException("Movie ID is required"));
+        }
+
+        if (!ObjectId.isValid(movieId)) {
+            return Flux.error(new ValidationException("Invalid movie ID format"));
+        }
+
+        int resultLimit = MovieQueries.vectorLimit(limit);
+        ObjectId objectId = new ObjectId(movieId);
+
+        // First, get the movie to retrieve its plot_embedding
+        return reactiveMongoTemplate.getCollection("movies")
+                .flatMap(collection -> Mono.from(collection.find(new Document(Movie.Fields.ID, objectId)).first()))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie not found")))
+                .flatMapMany(movie -> {
+                    if (!movie.containsKey("plot_embedding")) {
+                        return Flux.error(new ValidationException("Movie does not have plot embeddings for vector search"));
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    List<Double> plotEmbedding = (List<Double>) movie.get("plot_embedding");
+                    List<Document> pipeline = MovieQueries.similarMoviesPipeline(objectId, plotEmbedding, resultLimit);
+
+                    return reactiveMongoTemplate.getCollection("movies")
+                            .flatMapMany(collection -> collection.aggregate(pipeline))
+                            .map(doc -> reactiveMongoTemplate.getConverter().read(Movie.class, doc))
+                            .onErrorMap(e -> !DeadlineExceededException.isTimeout(e),
+                                    e -> new DatabaseOperationException("Error performing vector search: " + e.getMessage()));
+                });
+    }
+
+    @Override
+    public Mono<List<AutocompleteSuggestion>> autocomplete(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return Mono.error(new ValidationException("Autocomplete query is required"));
+        }
+
+        if (!autocompleteIndex.isEnabled()) {
+            return Mono.error(new ServiceUnavailableException(
+                "Autocomplete unavailable: disabled by AUTOCOMPLETE_ENABLED=false"
+            ));
+        }
+
+        if (!autocompleteIndex.isReady()) {
+            return Mono.error(new IndexNotReadyException(
+                "Autocomplete unavailable: the suggestion index is still being built. Please retry shortly"
+            ));
+        }
+
+        int resultLimit = Math.clamp(limit != null ? limit : 10, 1, AutocompleteIndex.MAX_SUGGESTIONS);
+
+        // In-memory lookup; cheap enough to run on the event loop
+        return Mono.fromCallable(() -> autocompleteIndex.suggest(query, resultLimit));
+    }
+
+    @Override
+    public Flux<VectorSearchResult> vectorSearchMovies(String query, Integer limit) {
+        // Validate query parameter
+        if (query == null || query.trim().isEmpty()) {
+            return Flux.error(new ValidationException("Search query is required"));
+        }
+
+        // Check if Voyage API key is configured
+        if (!VoyageEmbeddings.isConfigured(voyageApiKey)) {
+            return Flux.error(new ServiceUnavailableException(
+                "Vector search unavailable: VOYAGE_API_KEY not configured. Please add your API key to the .env file"
+            ));
+        }
+
+        int resultLimit = MovieQueries.vectorLimit(limit);
+
+        return Mono.fromRunnable(() -> indexReadiness.require(SearchIndex.VECTOR))
+                .then(generateVoyageEmbedding(query, voyageApiKey))
+                // Step 1: Get movie IDs and scores from embedded_movies (which has the vector embeddings)
+                .flatMap(queryVector -> reactiveMongoTemplate.getCollection("embedded_movies")
+                        .flatMapMany(collection -> collection.aggregate(
+                                MovieQueries.vectorSearchPipeline(queryVector, resultLimit)))
+                        .collectList())
+                // Step 2: Fetch complete movie data from the movies collection (for CRUD compatibility)
+                .flatMapMany(hits -> {
+                    if (hits.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    List<ObjectId> movieIds = new ArrayList<>(hits.size());
+                    Map<String, Double> scoreMap = new HashMap<>();
+                    for (Document hit : hits) {
+                        ObjectId movieId = hit.getObjectId("_id");
+                        movieIds.add(movieId);
+                        scoreMap.put(movieId.toString(), hit.getDouble("score"));
+                    }
+                    return reactiveMongoTemplate.getCollection("movies")
+                            .flatMapMany(collection -> collection.aggregate(MovieQueries.vectorHitMoviesPipeline(movieIds, dataMigration.isNormalized())))
+                            .mapNotNull(doc -> MovieQueries.toVectorSearchResult(doc, scoreMap));
+                })
+                .onErrorMap(e -> !(e instanceof VoyageAuthException) && !(e instanceof VoyageAPIException)
+                                && !DeadlineExceededException.isTimeout(e),
+                        e -> {
+                            String errorMsg = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                            return new DatabaseOperationException("Error performing vector search: " + errorMsg);
+                        });
+    }
+
+    /**
+     * Generates a vector embedding with a non-blocking call to the Voyage AI REST API.
+     *
+     * <p>Network and response-format errors map to {@link VoyageAPIException}, as in
+     * {@link MovieServiceImpl}. The call is cancelled when the request's deadline passes.
+     */
+    private Mono<List<Double>> generateVoyageEmbedding(String text, String apiKey) {
+        Mono<List<Double>> embedding = callVoyage(text, apiKey);
+        return Mono.deferContextual(context -> RequestDeadline.from(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Mono.<List<Double>>error(deadline.exceeded(null))
+                        : embedding.timeout(deadline.timeout(), Mono.error(() -> deadline.exceeded(null))))
+                .orElse(embedding));
+    }
+
+    private Mono<List<Double>> callVoyage(String text, String apiKey) {
+        return Mono.deferContextual(context -> {
+            EmbeddingEvent event = EmbeddingEvent.begin(1, text.length());
+            return webClient.post()
+                    .uri(VoyageEmbeddings.API_URI)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                    .bodyValue(VoyageEmbeddings.requestBody(text))
+                    .exchangeToMono(response -> response.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .<List<Double>>handle((body, sink) -> {
+                                int status = response.statusCode().value();
+                                event.responded(status);
+                                if (status != 200) {
+                                    sink.error(VoyageEmbeddings.errorFor(status, body));
+                                    return;
+                                }
+                                try {
+                                    sink.next(VoyageEmbeddings.parseEmbedding(body));
+                                } catch (IOException e) {
+                                    sink.error(new VoyageAPIException("Error performing vector search: " + e.getMessage()));
+                                }
+                            }))
+                    .onErrorMap(WebClientRequestException.class, e -> {
+                        String errorMsg = e.getMessage() != null ? e.getMessage() : "Network error calling Voyage AI API";
+                        return new VoyageAPIException("Error performing vector search: " + errorMsg);
+                    })
+                    .doFinally(signal -> event.finish(RecordedRequest.from(context)));
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.mongodb.samplemflix.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.samplemflix.exception.VoyageAPIException;
+import com.mongodb.samplemflix.exception.VoyageAuthException;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request and response handling for the Voyage AI embeddings REST API.
+ *
+ * <p>Shared by the blocking client in {@link MovieServiceImpl} and the non-blocking
+ * {@code WebClient} in {@link ReactiveMovieServiceImpl}; only the transport differs.
+ *
+ * <p>The voyage-3-large model supports multiple dimensions (256, 512, 1024, 2048), and we
+ * explicitly request 2048 to match the vector search index configuration.
+ */
+final class VoyageEmbeddings {
+
+    static final URI API_URI = URI.create("https://api.voyageai.com/v1/embeddings");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private VoyageEmbeddings() {
+    }
+
+    /**
+     * Returns whether the configured key looks usable (not blank and not the .env placeholder).
+     */
+    static boolean isConfigured(String apiKey) {
+        return apiKey != null && !apiKey.trim().isEmpty() && !apiKey.equals("your_voyage_api_key");
+    }
+
+    /**
+     * Builds the request body with output_dimension set to 2048.
+     */
+    static String requestBody(String text) {
+        return String.format(
+                "{\"input\": [\"%s\"], \"model\": \"voyage-3-large\", \"output_dimension\": 2048, \"input_type\": \"query\"}",
+                text.replace("\"", "\\\"").replace("\n", "\\n")
+        );
+    }
+
+    /**
+     * Maps a non-200 response to the exception handled by GlobalExceptionHandler.
+     */
+    static RuntimeException errorFor(int statusCode, String body) {
+        // Handle authentication errors specifically
+        if (statusCode == 401) {
+            return new VoyageAuthException("Invalid Voyage AI API key. Please check your VOYAGE_API_KEY in the .env file");
+        }
+        return new VoyageAPIException(
+            "Voyage AI API returned status code " + statusCode + ": " + body,
+            statusCode
+        );
+    }
+
+    /**
+     * Parses the embedding out of a successful response body.
+     *
+     * @throws IOException if the body is not a valid embeddings response
+     */
+    static List<Double> parseEmbedding(String body) throws IOException {
+        JsonNode root = MAPPER.readTree(body);
+
+        // Validate response structure
+        if (!root.has("data")) {
+            throw new IOException("Invalid Voyage AI API response: missing 'data' field. Response: " + body);
+        }
+
+        JsonNode dataNode = root.get("data");
+        if (dataNode == null || !dataNode.isArray() || dataNode.size() == 0) {
+            throw new IOException("Invalid Voyage AI API response: 'data' field is empty or not an array. Response: " + body);
+        }
+
+        JsonNode firstElement = dataNode.get(0);
+        if (firstElement == null || !firstElement.has("embedding")) {
+            throw new IOException("Invalid Voyage AI API response: missing 'embedding' field. Response: " + body);
+        }
+
+        JsonNode embeddingNode = firstElement.get("embedding");
+        if (embeddingNode == null || !embeddingNode.isArray()) {
+            throw new IOException("Invalid Voyage AI API response: 'embedding' is not an array. Response: " + body);
+        }
+
+        // Convert the embedding to a List<Double>
+        List<Double> embedding = new ArrayList<>();
+        for (JsonNode value : embeddingNode) {
+            embedding.add(value.asDouble());
+        }
+
+        return embedding;
+    }
+}
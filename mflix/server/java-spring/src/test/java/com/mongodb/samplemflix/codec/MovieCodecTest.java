@@ -0,0 +1,168 @@
+package com.mongodb.samplemflix.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.samplemflix.model.Movie;
+import java.util.Date;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Unit tests for the hand-written Movie codec.
+ */
+@DisplayName("MovieCodec Unit Tests")
+class MovieCodecTest {
+
+    private MovieCodec codec;
+    private ObjectId testId;
+    private Date released;
+
+    @BeforeEach
+    void setUp() {
+        codec = new MovieCodec();
+        testId = new ObjectId();
+        released = new Date(1_000_000_000_000L);
+    }
+
+    // ==================== DECODE TESTS ====================
+
+    @Test
+    @DisplayName("Should decode the same Movie as the Spring Data converter")
+    void testDecode_MatchesConverter() {
+        // Arrange
+        Document document = cleanMovie();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        // The converter treats a nested "id" property as "_id", so it never populates imdb.id
+        Movie expected = converter.read(Movie.class, document);
+        expected.getImdb().setId(133093);
+
+        // Act
+        Movie decoded = decode(document);
+
+        // Assert
+        assertEquals(expected, decoded);
+        assertEquals(8.7, decoded.getImdb().getRating());
+        assertEquals(85, decoded.getTomatoes().getViewer().getMeter());
+        assertEquals(released, decoded.getTomatoes().getLastUpdated());
+    }
+
+    @Test
+    @DisplayName("Should read numbers stored with the wrong type or as strings")
+    void testDecode_DirtyNumbers() {
+        // Arrange
+        Document document = new Document("_id", testId)
+                .append("title", "Dirty")
+                .append("year", "2010è")
+                .append("runtime", 95.0)
+                .append("metacritic", 70L)
+                .append("imdb", new Document("rating", "").append("votes", "").append("id", "42"));
+
+        // Act
+        Movie decoded = decode(document);
+
+        // Assert
+        assertEquals(2010, decoded.getYear());
+        assertEquals(95, decoded.getRuntime());
+        assertEquals(70, decoded.getMetacritic());
+        assertNull(decoded.getImdb().getRating());
+        assertNull(decoded.getImdb().getVotes());
+        assertEquals(42, decoded.getImdb().getId());
+    }
+
+    @Test
+    @DisplayName("Should read unconvertible values as null and skip unknown fields")
+    void testDecode_UnconvertibleValues() {
+        // Arrange
+        Document document = new Document("_id", testId)
+                .append("title", 1984)
+                .append("year", "unknown")
+                .append("genres", "Drama")
+                .append("released", "1984-01-01")
+                .append("awards", "none")
+                .append("plot_embedding", List.of(0.1, 0.2, 0.3))
+                .append("rated", "R");
+
+        // Act
+        Movie decoded = decode(document);
+
+        // Assert
+        assertEquals(testId, decoded.getId());
+        assertEquals("1984", decoded.getTitle());
+        assertNull(decoded.getYear());
+        assertEquals(List.of("Drama"), decoded.getGenres());
+        assertNull(decoded.getReleased());
+        assertNull(decoded.getAwards());
+        assertEquals("R", decoded.getRated());
+    }
+
+    @Test
+    @DisplayName("Should decode from the raw BSON bytes")
+    void testDecode_RawBsonDocument() {
+        // Arrange
+        RawBsonDocument raw = new RawBsonDocument(cleanMovie(), new DocumentCodec());
+
+        // Act
+        Movie decoded = raw.decode(codec);
+
+        // Assert
+        assertEquals("The Matrix", decoded.getTitle());
+        assertEquals(List.of("Action", "Sci-Fi"), decoded.getGenres());
+    }
+
+    // ==================== ENCODE TESTS ====================
+
+    @Test
+    @DisplayName("Should round-trip a Movie through encode and decode")
+    void testEncode_RoundTrip() {
+        // Arrange
+        Movie movie = decode(cleanMovie());
+        BsonDocument encoded = new BsonDocument();
+
+        // Act
+        codec.encode(new BsonDocumentWriter(encoded), movie, EncoderContext.builder().build());
+        Movie decoded = codec.decode(new BsonDocumentReader(encoded), DecoderContext.builder().build());
+
+        // Assert
+        assertEquals(movie, decoded);
+        assertFalse(encoded.containsKey("plot"));
+    }
+
+    private Movie decode(Document document) {
+        BsonDocument bson = document.toBsonDocument();
+        return codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    private Document cleanMovie() {
+        return new Document("_id", testId)
+                .append("title", "The Matrix")
+                .append("year", 1999)
+                .append("released", released)
+                .append("runtime", 136)
+                .append("genres", List.of("Action", "Sci-Fi"))
+                .append("directors", List.of("Lana Wachowski", "Lilly Wachowski"))
+                .append("rated", "R")
+                .append("awards", new Document("wins", 34).append("nominations", 48).append("text", "Won 4 Oscars."))
+                .append("imdb", new Document("rating", 8.7).append("votes", 1_080_566).append("id", 133093))
+                .append("tomatoes", new Document("viewer",
+                        new Document("rating", 3.9).append("numReviews", 100).append("meter", 85))
+                        .append("fresh", 140)
+                        .append("lastUpdated", released))
+                .append("type", "movie");
+    }
+}
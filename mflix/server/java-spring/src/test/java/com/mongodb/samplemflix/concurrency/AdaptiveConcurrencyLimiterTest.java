@@ -0,0 +1,143 @@
+package com.mongodb.samplemflix.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the AIMD concurrency limiter.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 10);
+        limiter.clock = () -> now;
+        limiter.init();
+    }
+
+    // ==================== ADMISSION TESTS ====================
+
+    @Test
+    @DisplayName("Should reject calls beyond the limit and admit again after release")
+    void testTryAcquire_RejectsAtLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should always admit when disabled")
+    void testTryAcquire_Disabled() {
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+
+    // ==================== DECREASE TESTS ====================
+
+    @Test
+    @DisplayName("Should decrease the limit when the pool wait exceeds the threshold")
+    void testPoolWait_Decreases() {
+        limiter.onPoolWait(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(10, limiter.getLimit());
+
+        limiter.onPoolWait(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should decrease at most once per cool-down period")
+    void testDecrease_CoolDown() {
+        limiter.onPoolTimeout();
+        limiter.onPoolTimeout();
+        assertEquals(9, limiter.getLimit());
+
+        now += TimeUnit.MILLISECONDS.toNanos(150);
+        limiter.onPoolTimeout();
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not go below the minimum limit")
+    void testDecrease_MinLimit() {
+        for (int i = 0; i < 50; i++) {
+            now += TimeUnit.SECONDS.toNanos(1);
+            limiter.onPoolTimeout();
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should decrease when command latency rises well above its baseline")
+    void testCommandLatency_SpikeDecreases() {
+        for (int i = 0; i < 100; i++) {
+            limiter.onCommandLatency("find", TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        for (int i = 0; i < 30; i++) {
+            limiter.onCommandLatency("find", TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertTrue(limiter.getLimit() < 10);
+    }
+
+    @Test
+    @DisplayName("Should compare aggregation latency with earlier aggregations, not with point reads")
+    void testCommandLatency_PerCommandClass() {
+        for (int i = 0; i < 100; i++) {
+            limiter.onCommandLatency("find", TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        for (int i = 0; i < 30; i++) {
+            limiter.onCommandLatency("aggregate", TimeUnit.SECONDS.toNanos(2));
+            limiter.onCommandLatency("find", TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(AdaptiveConcurrencyLimiter.CommandClass.WRITE,
+                AdaptiveConcurrencyLimiter.CommandClass.of("findAndModify"));
+    }
+
+    // ==================== INCREASE TESTS ====================
+
+    @Test
+    @DisplayName("Should grow the limit while busy and latency is healthy")
+    void testCommandLatency_IncreasesWhenBusy() {
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 200; i++) {
+            limiter.onCommandLatency("find", TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while mostly idle")
+    void testCommandLatency_NoIncreaseWhenIdle() {
+        for (int i = 0; i < 200; i++) {
+            limiter.onCommandLatency("find", TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+}
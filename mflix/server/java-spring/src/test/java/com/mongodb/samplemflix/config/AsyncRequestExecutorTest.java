@@ -0,0 +1,106 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.ValidationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the async request executor.
+ */
+@DisplayName("AsyncRequestExecutor Unit Tests")
+class AsyncRequestExecutorTest {
+
+    private AsyncRequestExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AsyncRequestExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run inline and return a completed future when disabled")
+    void testSupply_Disabled() {
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> result = executor.supply(Thread::currentThread);
+
+        assertTrue(result.isDone());
+        assertSame(caller, result.join());
+    }
+
+    @Test
+    @DisplayName("Should return a failed future when the work throws")
+    void testSupply_Failure() {
+        CompletableFuture<Object> result = executor.supply(() -> {
+            throw new ValidationException("bad request");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(ValidationException.class, ex.getCause());
+    }
+
+    @Test
+    @DisplayName("Should run on a virtual thread when enabled")
+    void testSupply_Enabled() throws Exception {
+        ReflectionTestUtils.setField(executor, "enabled", true);
+
+        Thread worker = executor.supply(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertTrue(worker.isVirtual());
+    }
+
+    @Test
+    @DisplayName("Should time out and interrupt slow work")
+    void testSupply_Timeout() throws Exception {
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 50L);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> result = executor.supply(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should time out when the request deadline runs out before the async timeout")
+    void testSupply_DeadlineTimeout() {
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        CompletableFuture<String> result = RequestDeadline.call(RequestDeadline.start("default", 50),
+                () -> executor.supply(() -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "late";
+                }));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+    }
+}
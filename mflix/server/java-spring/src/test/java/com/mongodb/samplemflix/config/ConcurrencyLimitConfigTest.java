@@ -0,0 +1,79 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
+import com.mongodb.samplemflix.service.MovieService;
+import com.mongodb.samplemflix.service.MovieServiceImpl;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the concurrency-limited MovieService proxy.
+ */
+@DisplayName("ConcurrencyLimitConfig Unit Tests")
+class ConcurrencyLimitConfigTest {
+
+    private MovieServiceImpl target;
+    private AdaptiveConcurrencyLimiter limiter;
+    private MovieService movieService;
+
+    @BeforeEach
+    void setUp() {
+        target = mock(MovieServiceImpl.class);
+
+        limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 1);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        limiter.init();
+
+        movieService = new ConcurrencyLimitConfig().concurrencyLimitedMovieService(target, limiter);
+    }
+
+    @Test
+    @DisplayName("Should reject database calls once the limit is reached")
+    void testProxy_RejectsDatabaseCalls() {
+        // Arrange: take the only permit
+        assertTrue(limiter.tryAcquire());
+
+        // Act & Assert
+        assertThrows(ServerOverloadedException.class, () -> movieService.getMovieById("573a1390f29313caabcd4135"));
+        verify(target, never()).getMovieById(any());
+    }
+
+    @Test
+    @DisplayName("Should let methods served from memory through without a permit")
+    void testProxy_InMemoryCallsBypassLimit() {
+        // Arrange
+        List<AutocompleteSuggestion> suggestions = List.of();
+        when(target.autocomplete("da", 5)).thenReturn(suggestions);
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        List<AutocompleteSuggestion> result = movieService.autocomplete("da", 5);
+
+        // Assert
+        assertSame(suggestions, result);
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the call fails")
+    void testProxy_ReleasesOnFailure() {
+        // Arrange
+        when(target.getMovieById("bad")).thenThrow(new IllegalStateException("boom"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> movieService.getMovieById("bad"));
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,205 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.ListSearchIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.samplemflix.config.IndexReadiness.SearchIndex;
+import com.mongodb.samplemflix.config.IndexReadiness.Status;
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the background startup verification and the index readiness it publishes.
+ */
+@DisplayName("DatabaseVerification Unit Tests")
+class DatabaseVerificationTest {
+
+    private MongoDatabase database;
+    private MongoCollection<Document> movies;
+    private MongoCollection<Document> comments;
+    private MongoCollection<Document> embeddedMovies;
+    private IndexReadiness indexReadiness;
+    private DatabaseVerification verification;
+
+    @BeforeEach
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        movies = collection("movies");
+        comments = collection("comments");
+        embeddedMovies = collection("embedded_movies");
+        when(database.getName()).thenReturn("sample_mflix");
+
+        indexReadiness = new IndexReadiness();
+        verification = new DatabaseVerification(database, indexReadiness);
+        ReflectionTestUtils.setField(verification, "indexPollIntervalMs", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        verification.stop();
+    }
+
+    // ==================== VERIFICATION TESTS ====================
+
+    @Test
+    @DisplayName("Should return from startup at once and check the collections in parallel")
+    void testStart_ParallelChecks() throws Exception {
+        // Arrange: each count waits until the other one has started, so they must overlap
+        CountDownLatch bothCounting = new CountDownLatch(2);
+        AtomicInteger overlapping = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        for (MongoCollection<Document> collection : List.of(movies, comments)) {
+            when(collection.estimatedDocumentCount()).thenAnswer(invocation -> {
+                bothCounting.countDown();
+                if (bothCounting.await(5, TimeUnit.SECONDS)) {
+                    overlapping.incrementAndGet();
+                }
+                release.await(5, TimeUnit.SECONDS);
+                return 100L;
+            });
+        }
+        existingIndexes();
+
+        // Act
+        verification.start();
+
+        // Assert: start() did not wait for the blocked checks
+        assertFalse(verification.verification().isDone());
+        assertEquals(Status.PENDING, indexReadiness.status(SearchIndex.VECTOR));
+
+        release.countDown();
+        verification.verification().get(5, TimeUnit.SECONDS);
+        assertEquals(2, overlapping.get(), "The movies and comments checks did not run concurrently");
+    }
+
+    @Test
+    @DisplayName("Should publish index readiness and poll search indexes until queryable")
+    void testStart_IndexReadiness() throws Exception {
+        // Arrange: the text index exists, the Search index is still building, no embeddings
+        when(movies.estimatedDocumentCount()).thenReturn(100L);
+        when(comments.estimatedDocumentCount()).thenReturn(100L);
+        when(embeddedMovies.estimatedDocumentCount()).thenReturn(0L);
+        existingIndexes();
+        ListSearchIndexesIterable<Document> searchIndexes = iterable(ListSearchIndexesIterable.class,
+                new Document("name", "movieSearchIndex").append("status", "BUILDING").append("queryable", false));
+        when(searchIndexes.name("movieSearchIndex")).thenReturn(searchIndexes);
+        when(searchIndexes.first()).thenReturn(
+                new Document("name", "movieSearchIndex").append("status", "BUILDING").append("queryable", false),
+                new Document("name", "movieSearchIndex").append("status", "READY").append("queryable", true));
+        when(movies.listSearchIndexes()).thenReturn(searchIndexes);
+
+        // Act
+        verification.start();
+        verification.verification().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Status.READY, indexReadiness.status(SearchIndex.TEXT));
+        assertEquals(Status.UNVERIFIED, indexReadiness.status(SearchIndex.VECTOR));
+        for (int attempt = 0; attempt < 500 && !indexReadiness.isSettled(); attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(Status.READY, indexReadiness.status(SearchIndex.SEARCH));
+        verify(searchIndexes, times(2)).first();
+        verify(movies, never()).createIndex(any(Bson.class), any());
+        verify(database, never()).runCommand(any(Bson.class));
+    }
+
+    @Test
+    @DisplayName("Should map search index states to readiness")
+    void testSearchIndexStatus() {
+        assertEquals(Status.BUILDING, DatabaseVerification.searchIndexStatus(null));
+        assertEquals(Status.BUILDING, DatabaseVerification.searchIndexStatus(
+                new Document("status", "PENDING").append("queryable", false)));
+        // A rebuilding index keeps serving queries from its previous definition
+        assertEquals(Status.READY, DatabaseVerification.searchIndexStatus(
+                new Document("status", "BUILDING").append("queryable", true)));
+        assertEquals(Status.UNVERIFIED, DatabaseVerification.searchIndexStatus(
+                new Document("status", "FAILED").append("queryable", false)));
+    }
+
+    // ==================== READINESS GATE TESTS ====================
+
+    @Test
+    @DisplayName("Should turn requests away only while an index is pending or building")
+    void testRequire_Gate() {
+        // Arrange
+        IndexReadiness readiness = new IndexReadiness();
+
+        // Act & Assert
+        IndexNotReadyException exception = assertThrows(IndexNotReadyException.class,
+                () -> readiness.require(SearchIndex.VECTOR));
+        assertEquals("Vector search unavailable: the 'vector_index' index is still being verified. Please retry shortly",
+                exception.getMessage());
+
+        readiness.update(SearchIndex.VECTOR, Status.BUILDING);
+        assertThrows(IndexNotReadyException.class, () -> readiness.require(SearchIndex.VECTOR));
+
+        readiness.update(SearchIndex.VECTOR, Status.READY);
+        assertDoesNotThrow(() -> readiness.require(SearchIndex.VECTOR));
+
+        readiness.update(SearchIndex.SEARCH, Status.UNVERIFIED);
+        assertDoesNotThrow(() -> readiness.require(SearchIndex.SEARCH));
+
+        ReflectionTestUtils.setField(readiness, "gateEndpoints", false);
+        assertDoesNotThrow(() -> readiness.require(SearchIndex.TEXT));
+    }
+
+    private void existingIndexes() {
+        ListIndexesIterable<Document> movieIndexes = iterable(ListIndexesIterable.class,
+                new Document("name", "text_search_index").append("key", new Document("_fts", "text")),
+                new Document("name", "year_index"),
+                new Document("name", "grid_title_index"),
+                new Document("name", "grid_year_title_index"),
+                new Document("name", "grid_rating_index"));
+        when(movies.listIndexes()).thenReturn(movieIndexes);
+        ListIndexesIterable<Document> commentIndexes = iterable(ListIndexesIterable.class,
+                new Document("name", "movie_id_index"));
+        when(comments.listIndexes()).thenReturn(commentIndexes);
+        ListSearchIndexesIterable<Document> searchIndexes = iterable(ListSearchIndexesIterable.class,
+                new Document("name", "movieSearchIndex").append("status", "READY").append("queryable", true));
+        when(movies.listSearchIndexes()).thenReturn(searchIndexes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> collection(String name) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(collection.getNamespace()).thenReturn(new MongoNamespace("sample_mflix", name));
+        when(database.getCollection(name)).thenReturn(collection);
+        return collection;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T extends MongoIterable<Document>> T iterable(Class type, Document... documents) {
+        T iterable = (T) mock(type);
+        when(iterable.iterator()).thenAnswer(invocation -> cursor(List.of(documents)));
+        return iterable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(List<Document> documents) {
+        Iterator<Document> iterator = documents.iterator();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
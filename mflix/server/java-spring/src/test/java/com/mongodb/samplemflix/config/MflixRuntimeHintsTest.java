@@ -0,0 +1,82 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
+import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
+import com.mongodb.samplemflix.repository.MovieRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Unit tests for the reflection hints used by the native image build.
+ */
+@DisplayName("MflixRuntimeHints Unit Tests")
+class MflixRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new MflixRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register every model class for Jackson binding")
+    void testRegisterHints_AllModelClasses() throws ClassNotFoundException {
+        // Arrange: a DTO added without a hint would fail to bind only in the native image
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+
+        // Act
+        List<String> missing = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.mongodb.samplemflix.model")) {
+            String className = candidate.getBeanClassName();
+            if (className.contains("$")) {
+                continue;
+            }
+            Class<?> type = ClassUtils.forName(className, getClass().getClassLoader());
+            if (!RuntimeHintsPredicates.reflection().onType(type).test(hints)) {
+                missing.add(type.getSimpleName());
+            }
+        }
+
+        // Assert
+        assertTrue(missing.isEmpty(), "Add to MflixRuntimeHints.BINDING_TYPES: " + missing);
+    }
+
+    @Test
+    @DisplayName("Should reach nested types and accessors through the binding hints")
+    void testRegisterHints_NestedTypes() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Movie.Tomatoes.Viewer.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MovieWithCommentsResult.CommentInfo.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(Movie.class.getMethod("getTitle")).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(Movie.class.getMethod("setTitle", String.class)).invoke().test(hints));
+    }
+
+    @Test
+    @DisplayName("Should let the mapping converter build mapped types and the repository be introspected")
+    void testRegisterHints_MappedTypesAndRepository() {
+        for (Class<?> type : List.of(Movie.class, Movie.Imdb.class, MoviesByYearResult.class)) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.DECLARED_FIELDS)
+                    .test(hints), type.getSimpleName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MovieRepository.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+    }
+}
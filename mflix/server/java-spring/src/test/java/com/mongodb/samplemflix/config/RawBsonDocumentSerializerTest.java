@@ -0,0 +1,114 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.response.SuccessResponse;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the BSON-to-JSON passthrough serializer.
+ */
+@DisplayName("RawBsonDocumentSerializer Unit Tests")
+class RawBsonDocumentSerializerTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapperConfig().objectMapper(new JsonFactory());
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON as the Movie POJO, without null fields")
+    void testSerialize_MatchesPojo() throws Exception {
+        ObjectId id = new ObjectId();
+        Date released = new Date(1_000_000_000_000L);
+        Movie movie = Movie.builder()
+                .id(id)
+                .title("The Matrix")
+                .year(1999)
+                .released(released)
+                .genres(List.of("Action", "Sci-Fi"))
+                .imdb(Movie.Imdb.builder().rating(8.7).votes(1_500_000).id(133093).build())
+                .tomatoes(Movie.Tomatoes.builder()
+                        .viewer(Movie.Tomatoes.Viewer.builder().rating(3.9).numReviews(100).meter(85).build())
+                        .lastUpdated(released)
+                        .build())
+                .build();
+        RawBsonDocument raw = raw(new Document("_id", id)
+                .append("title", "The Matrix")
+                .append("year", 1999)
+                .append("released", released)
+                .append("genres", List.of("Action", "Sci-Fi"))
+                .append("imdb", new Document("rating", 8.7).append("votes", 1_500_000).append("id", 133093))
+                .append("tomatoes", new Document("viewer",
+                        new Document("rating", 3.9).append("numReviews", 100).append("meter", 85))
+                        .append("lastUpdated", released)));
+
+        JsonNode expected = withoutNulls(objectMapper.valueToTree(movie));
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(raw));
+
+        assertEquals(expected, actual);
+        assertEquals(id.toHexString(), actual.get("_id").asText());
+    }
+
+    @Test
+    @DisplayName("Should write raw documents inside the success envelope")
+    void testSerialize_InEnvelope() throws Exception {
+        SuccessResponse<List<RawBsonDocument>> response = SuccessResponse.<List<RawBsonDocument>>builder()
+                .message("Found 2 movies")
+                .data(List.of(raw(new Document("title", "A")), raw(new Document("title", "B"))))
+                .build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        assertTrue(json.get("success").asBoolean());
+        assertEquals("Found 2 movies", json.get("message").asText());
+        assertEquals("B", json.get("data").get(1).get("title").asText());
+    }
+
+    @Test
+    @DisplayName("Should write other BSON types as their closest JSON value")
+    void testSerialize_OtherTypes() throws Exception {
+        RawBsonDocument raw = raw(new Document("long", 5_000_000_000L)
+                .append("decimal", new Decimal128(new java.math.BigDecimal("1.50")))
+                .append("flag", true)
+                .append("missing", null)
+                .append("nested", List.of(List.of(1, 2), new Document("x", 1))));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(raw));
+
+        assertEquals(5_000_000_000L, json.get("long").asLong());
+        assertEquals(1.5, json.get("decimal").asDouble());
+        assertTrue(json.get("flag").asBoolean());
+        assertTrue(json.get("missing").isNull());
+        assertEquals(2, json.get("nested").get(0).get(1).asInt());
+        assertEquals(1, json.get("nested").get(1).get("x").asInt());
+    }
+
+    private static RawBsonDocument raw(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+
+    private static JsonNode withoutNulls(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.properties().removeIf(entry -> entry.getValue().isNull());
+            object.forEach(RawBsonDocumentSerializerTest::withoutNulls);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,104 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.ReadPreferenceHedgeOptions;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+import com.mongodb.TaggableReadPreference;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for parsing and applying the per-operation read preferences.
+ */
+@DisplayName("ReadRouting Unit Tests")
+class ReadRoutingTest {
+
+    // ==================== PARSING TESTS ====================
+
+    @Test
+    @DisplayName("Should build a tagged read preference with max staleness")
+    void testReadPreference_TagsAndStaleness() {
+        // Act
+        ReadPreference readPreference = ReadRouting.readPreference(
+                "reports", "secondaryPreferred", "nodeType:ANALYTICS, region:EU|nodeType:ANALYTICS|", 120, false);
+
+        // Assert
+        assertEquals(ReadPreference.secondaryPreferred(List.of(
+                        new TagSet(List.of(new Tag("nodeType", "ANALYTICS"), new Tag("region", "EU"))),
+                        new TagSet(new Tag("nodeType", "ANALYTICS")),
+                        new TagSet()),
+                120, TimeUnit.SECONDS), readPreference);
+    }
+
+    @Test
+    @DisplayName("Should enable hedged reads when requested")
+    void testReadPreference_Hedge() {
+        // Act
+        TaggableReadPreference readPreference = (TaggableReadPreference) ReadRouting.readPreference(
+                "point-reads", "nearest", "", -1, true);
+
+        // Assert
+        assertEquals("nearest", readPreference.getName());
+        assertEquals(ReadPreferenceHedgeOptions.builder().enabled(true).build(), readPreference.getHedgeOptions());
+    }
+
+    @Test
+    @DisplayName("Should reject settings that cannot be sent to the server")
+    void testReadPreference_Invalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ReadRouting.readPreference("reports", "primary", "nodeType:ANALYTICS", -1, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> ReadRouting.readPreference("point-reads", "primary", "", -1, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> ReadRouting.readPreference("reports", "secondary", "", 30, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> ReadRouting.readPreference("reports", "secondary", "nodeType", -1, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> ReadRouting.readPreference("reports", "fastest", "", -1, false));
+    }
+
+    // ==================== APPLY TESTS ====================
+
+    @Test
+    @DisplayName("Should leave operations unchanged by default")
+    void testDefaults_Primary() {
+        // Arrange
+        ReadRouting routing = new ReadRouting();
+        routing.init();
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.limit(1));
+        Query query = new Query();
+
+        // Act & Assert
+        assertSame(aggregation, routing.report(aggregation));
+        assertSame(query, routing.pointRead(query));
+        assertFalse(query.hasReadPreference());
+        assertFalse(routing.routesPointReads());
+    }
+
+    @Test
+    @DisplayName("Should attach the configured read preference to reports and point reads")
+    void testConfigured_AppliesReadPreference() {
+        // Arrange
+        ReadRouting routing = new ReadRouting();
+        ReflectionTestUtils.setField(routing, "reportsMode", "secondary");
+        ReflectionTestUtils.setField(routing, "pointReadsMode", "nearest");
+        routing.init();
+
+        // Act
+        Aggregation report = routing.report(Aggregation.newAggregation(Aggregation.limit(1)));
+        Query pointRead = routing.pointRead(new Query());
+
+        // Assert
+        assertEquals(ReadPreference.secondary(), report.getOptions().getReadPreference());
+        assertEquals(ReadPreference.nearest(), pointRead.getReadPreference());
+        assertTrue(routing.routesPointReads());
+    }
+}
@@ -0,0 +1,170 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for the serialized response body cache.
+ */
+@DisplayName("ResponseBodyCache Unit Tests")
+class ResponseBodyCacheTest {
+
+    private ResponseBodyCache cache;
+    private AtomicInteger computed;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(new ObjectMapper());
+        cache.clock = () -> now;
+        computed = new AtomicInteger();
+    }
+
+    // ==================== HIT TESTS ====================
+
+    @Test
+    @DisplayName("Should compute the body once and reuse the stored bytes")
+    void testRespond_ReusesBytes() {
+        // Act
+        ResponseEntity<byte[]> first = cache.respond("genres", new HttpHeaders(), this::body);
+        ResponseEntity<byte[]> second = cache.respond("genres", new HttpHeaders(), this::body);
+
+        // Assert
+        assertEquals(1, computed.get());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertEquals("{\"data\":[\"Action\"]}", new String(second.getBody()));
+    }
+
+    @Test
+    @DisplayName("Should return 304 for a matching If-None-Match, including weak and listed tags")
+    void testRespond_NotModified() {
+        // Arrange
+        String etag = cache.respond("genres", new HttpHeaders(), this::body).getHeaders().getETag();
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, cache.lookup("genres", ifNoneMatch(etag)).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, cache.lookup("genres", ifNoneMatch("W/" + etag)).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                cache.lookup("genres", ifNoneMatch("\"other\", " + etag)).getStatusCode());
+        ResponseEntity<byte[]> stale = cache.lookup("genres", ifNoneMatch("\"other\""));
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        assertNull(cache.lookup("reportingByYear", new HttpHeaders()));
+    }
+
+    @Test
+    @DisplayName("Should send gzip bytes only for large bodies and clients that accept gzip")
+    void testRespond_Gzip() throws IOException {
+        // Arrange
+        List<String> large = List.of("x".repeat(ResponseBodyCache.GZIP_MIN_BYTES));
+        HttpHeaders acceptsGzip = new HttpHeaders();
+        acceptsGzip.set(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+        HttpHeaders refusesGzip = new HttpHeaders();
+        refusesGzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+
+        // Act
+        ResponseEntity<byte[]> compressed = cache.respond("large", acceptsGzip, () -> large);
+        ResponseEntity<byte[]> plain = cache.respond("large", refusesGzip, () -> large);
+        ResponseEntity<byte[]> small = cache.respond("genres", acceptsGzip, this::body);
+
+        // Assert
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Should tag the gzip body separately and revalidate either tag")
+    void testRespond_GzipETag() {
+        // Arrange
+        List<String> large = List.of("x".repeat(ResponseBodyCache.GZIP_MIN_BYTES));
+        HttpHeaders acceptsGzip = new HttpHeaders();
+        acceptsGzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // Act
+        String gzipETag = cache.respond("large", acceptsGzip, () -> large).getHeaders().getETag();
+        String plainETag = cache.respond("large", new HttpHeaders(), () -> large).getHeaders().getETag();
+
+        // Assert
+        assertEquals(plainETag.substring(0, plainETag.length() - 1) + "-gzip\"", gzipETag);
+        acceptsGzip.setIfNoneMatch(gzipETag);
+        ResponseEntity<byte[]> revalidated = cache.lookup("large", acceptsGzip);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(gzipETag, revalidated.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, cache.lookup("large", ifNoneMatch(plainETag)).getStatusCode());
+    }
+
+    // ==================== INVALIDATION TESTS ====================
+
+    @Test
+    @DisplayName("Should recompute with a new ETag after a movie write")
+    void testOnMovieChange_NewVersion() {
+        // Arrange
+        String etag = cache.respond("genres", new HttpHeaders(), this::body).getHeaders().getETag();
+
+        // Act
+        cache.onMovieChange(MovieChangeEvent.bulk());
+        ResponseEntity<byte[]> response = cache.respond("genres", ifNoneMatch(etag), this::body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    @DisplayName("Should not store a body computed while a write happened")
+    void testRespond_WriteDuringCompute() {
+        // Act
+        cache.respond("genres", new HttpHeaders(), () -> {
+            cache.onMovieChange(MovieChangeEvent.bulk());
+            return body();
+        });
+
+        // Assert
+        assertNull(cache.lookup("genres", new HttpHeaders()));
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void testLookup_Expired() {
+        // Arrange
+        cache.respond("genres", new HttpHeaders(), this::body);
+
+        // Act
+        now += TimeUnit.SECONDS.toNanos(301);
+
+        // Assert
+        assertNull(cache.lookup("genres", new HttpHeaders()));
+    }
+
+    private Map<String, List<String>> body() {
+        computed.incrementAndGet();
+        return Map.of("data", List.of("Action"));
+    }
+
+    private static HttpHeaders ifNoneMatch(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, value);
+        return headers;
+    }
+}
@@ -0,0 +1,247 @@
+package com.mongodb.samplemflix.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.samplemflix.codec.MovieCodec;
+import com.mongodb.samplemflix.config.StartupWarmup.Phase;
+import com.mongodb.samplemflix.controller.ReadinessController;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.service.MovieService;
+import com.mongodb.samplemflix.service.ReactiveMovieService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for the startup warm-up and the readiness probe that waits for it.
+ */
+@DisplayName("StartupWarmup Unit Tests")
+class StartupWarmupTest {
+
+    private static final ObjectId MOVIE_ID = new ObjectId("573a1390f29313caabcd4135");
+
+    private MongoDatabase database;
+    private MovieService movieService;
+    private ObjectMapper objectMapper;
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        when(database.getName()).thenReturn("sample_mflix");
+        when(database.getCodecRegistry()).thenReturn(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new MovieCodec()), MongoClientSettings.getDefaultCodecRegistry()));
+        when(database.runCommand(any(Bson.class))).thenReturn(new Document("ok", 1));
+
+        movieService = mock(MovieService.class);
+        when(movieService.getAllMovies(any())).thenReturn(List.of(
+                Movie.builder().id(MOVIE_ID).title("The Great Train Robbery").year(1903).build()));
+        when(movieService.getAllMoviesRaw(any())).thenReturn(List.of(RawBsonDocument.parse(
+                "{\"_id\": {\"$oid\": \"573a1390f29313caabcd4135\"}, \"title\": \"The Great Train Robbery\", \"year\": 1903}")));
+
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(ObjectId.class, new ObjectIdSerializer())
+                .addSerializer(RawBsonDocument.class, new RawBsonDocumentSerializer()));
+        warmup = warmup(movieService, null);
+    }
+
+    private StartupWarmup warmup(MovieService movieService, ReactiveMovieService reactiveMovieService) {
+        StartupWarmup warmup = new StartupWarmup(database, provider(null), provider(movieService),
+                provider(reactiveMovieService), objectMapper);
+        ReflectionTestUtils.setField(warmup, "connections", 3);
+        ReflectionTestUtils.setField(warmup, "jitIterations", 5);
+        return warmup;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T bean) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bean);
+        return provider;
+    }
+
+    @AfterEach
+    void tearDown() {
+        warmup.stop();
+    }
+
+    // ==================== WARM-UP TESTS ====================
+
+    @Test
+    @DisplayName("Should open the pooled connections in parallel")
+    void testStart_ParallelConnections() throws Exception {
+        // Arrange: each ping waits until all of them have started, so they must overlap
+        CountDownLatch allPinging = new CountDownLatch(3);
+        AtomicInteger overlapping = new AtomicInteger();
+        when(database.runCommand(any(Bson.class))).thenAnswer(invocation -> {
+            allPinging.countDown();
+            if (allPinging.await(5, TimeUnit.SECONDS)) {
+                overlapping.incrementAndGet();
+            }
+            return new Document("ok", 1);
+        });
+
+        // Act
+        warmup.start();
+        warmup.warmup().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(3, overlapping.get(), "The pings did not run concurrently");
+        verify(database, times(3)).runCommand(new Document("ping", 1));
+    }
+
+    @Test
+    @DisplayName("Should run the hot query shapes, then report done")
+    void testStart_PrimesQueries() throws Exception {
+        // Act
+        warmup.start();
+        warmup.warmup().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(movieService).getAllMovies(any());
+        verify(movieService).getAllMoviesRaw(any());
+        verify(movieService).getMovieById(MOVIE_ID.toHexString());
+        verify(movieService).getMoviesByYearWithStats();
+        verify(movieService).getDirectorsWithMostMovies(anyInt());
+        verify(movieService).getMoviesWithMostRecentComments(anyInt(), any());
+
+        assertTrue(warmup.isComplete());
+        Map<String, Object> progress = warmup.progress();
+        assertEquals(Phase.DONE, progress.get("phase"));
+        assertEquals(10, progress.get("completedSteps"));
+        assertEquals(10, progress.get("totalSteps"));
+        assertEquals(0, progress.get("failedSteps"));
+    }
+
+    @Test
+    @DisplayName("Should run the hot query shapes through the reactive service with the reactive profile")
+    void testStart_ReactiveQueries() throws Exception {
+        // Arrange
+        ReactiveMovieService reactiveMovieService = mock(ReactiveMovieService.class);
+        when(reactiveMovieService.getAllMovies(any())).thenReturn(Flux.just(
+                Movie.builder().id(MOVIE_ID).title("The Great Train Robbery").year(1903).build()));
+        when(reactiveMovieService.getMovieById(MOVIE_ID.toHexString())).thenReturn(Mono.empty());
+        when(reactiveMovieService.getMoviesByYearWithStats()).thenReturn(Flux.empty());
+        when(reactiveMovieService.getDirectorsWithMostMovies(anyInt())).thenReturn(Flux.empty());
+        when(reactiveMovieService.getMoviesWithMostRecentComments(anyInt(), any())).thenReturn(Flux.empty());
+        warmup.stop();
+        warmup = warmup(null, reactiveMovieService);
+
+        // Act
+        warmup.start();
+        warmup.warmup().get(5, TimeUnit.SECONDS);
+
+        // Assert: no raw list, the reactive stack has no raw endpoints
+        verify(reactiveMovieService).getMovieById(MOVIE_ID.toHexString());
+        verify(reactiveMovieService).getMoviesWithMostRecentComments(anyInt(), any());
+        assertEquals(9, warmup.progress().get("completedSteps"));
+        assertEquals(9, warmup.progress().get("totalSteps"));
+        assertEquals(0, warmup.progress().get("failedSteps"));
+    }
+
+    @Test
+    @DisplayName("Should skip the reports when disabled")
+    void testStart_NoReports() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(warmup, "reports", false);
+
+        // Act
+        warmup.start();
+        warmup.warmup().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(movieService).getMovieById(MOVIE_ID.toHexString());
+        verify(movieService, never()).getMoviesByYearWithStats();
+        verify(movieService, never()).getDirectorsWithMostMovies(anyInt());
+        assertEquals(7, warmup.progress().get("totalSteps"));
+    }
+
+    @Test
+    @DisplayName("Should finish despite failed steps")
+    void testStart_FailedSteps() throws Exception {
+        // Arrange
+        when(movieService.getAllMovies(any())).thenThrow(new MongoTimeoutException("Timed out"));
+
+        // Act
+        warmup.start();
+        warmup.warmup().get(5, TimeUnit.SECONDS);
+
+        // Assert: no movie to look up by ID, the rest still ran
+        assertTrue(warmup.isComplete());
+        verify(movieService, never()).getMovieById(any());
+        verify(movieService).getMoviesByYearWithStats();
+        assertEquals(2, warmup.progress().get("failedSteps"));
+    }
+
+    // ==================== READINESS TESTS ====================
+
+    @Test
+    @DisplayName("Should report not ready until the warm-up is done")
+    void testReady_WaitsForWarmup() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(database.runCommand(any(Bson.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new Document("ok", 1);
+        });
+        ApplicationAvailability availability = mock(ApplicationAvailability.class);
+        when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+        ReadinessController controller = new ReadinessController(availability, warmup);
+
+        // Act & Assert
+        warmup.start();
+        ResponseEntity<Map<String, Object>> warming = controller.ready();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, warming.getStatusCode());
+        assertEquals("warming up", warming.getBody().get("status"));
+
+        release.countDown();
+        warmup.warmup().get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.OK, controller.ready().getStatusCode());
+
+        when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.ready().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should be ready at once when the warm-up is disabled")
+    void testStart_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(warmup, "enabled", false);
+
+        // Act
+        warmup.start();
+
+        // Assert
+        assertTrue(warmup.isComplete());
+        verifyNoInteractions(movieService);
+        verify(database, never()).runCommand(any(Bson.class));
+    }
+}
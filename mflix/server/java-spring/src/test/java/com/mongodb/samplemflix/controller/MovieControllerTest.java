@@ -3,24 +3,43 @@ package com.mongodb.samplemflix.controller;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.samplemflix.config.AsyncRequestExecutor;
+import com.mongodb.samplemflix.config.ResponseBodyCache;
+import com.mongodb.samplemflix.deadline.DeadlineBudgets;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import com.mongodb.samplemflix.exception.PreconditionFailedException;
 import com.mongodb.samplemflix.exception.ResourceNotFoundException;
 import com.mongodb.samplemflix.exception.ValidationException;
 import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
 import com.mongodb.samplemflix.model.dto.BatchInsertResponse;
 import com.mongodb.samplemflix.model.dto.BatchUpdateResponse;
+import com.mongodb.samplemflix.model.dto.BulkOperationResult;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
 import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
 import com.mongodb.samplemflix.model.dto.DeleteResponse;
 import com.mongodb.samplemflix.model.dto.DirectorStatisticsResult;
+import com.mongodb.samplemflix.model.dto.FacetBucket;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
 import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
 import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
 import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
 import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
 import com.mongodb.samplemflix.model.dto.VectorSearchResult;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
 import com.mongodb.samplemflix.service.MovieService;
 import java.util.Arrays;
 import java.util.Date;
@@ -35,9 +54,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 /**
  * Unit tests for MovieControllerImpl.
@@ -46,6 +70,7 @@ import org.springframework.test.web.servlet.MockMvc;
  * Uses Spring's MockMvc for testing HTTP requests and responses.
  */
 @WebMvcTest(MovieControllerImpl.class)
+@Import({AsyncRequestExecutor.class, ResponseBodyCache.class, DeadlineBudgets.class})
 @DisplayName("MovieController Unit Tests")
 class MovieControllerTest {
 
@@ -55,6 +80,9 @@ class MovieControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
     @MockitoBean
     private MovieService movieService;
 
@@ -65,6 +93,9 @@ class MovieControllerTest {
 
     @BeforeEach
     void setUp() {
+        // The cache bean outlives a single test; start each one without cached bodies
+        responseBodyCache.invalidateAll();
+
         testId = new ObjectId();
 
         testMovie = Movie.builder()
@@ -125,6 +156,33 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.data").isArray());
     }
 
+    @Test
+    @DisplayName("GET /api/movies?view=grid - Should return the grid listing")
+    void testGetAllMovies_GridView() throws Exception {
+        // Arrange
+        when(movieService.getMovieGrid(any(MovieSearchQuery.class))).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/movies").param("view", "grid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Found 0 movies"));
+
+        verify(movieService, never()).getAllMovies(any(MovieSearchQuery.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/movies?view=... - Should return 400 for an unknown view")
+    void testGetAllMovies_InvalidView() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/movies").param("view", "table"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.message").value("Parameter 'view' must be 'full' or 'grid'"));
+
+        verifyNoInteractions(movieService);
+    }
+
     // ==================== GET MOVIE BY ID TESTS ====================
 
     @Test
@@ -139,7 +197,8 @@ class MovieControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.title").value("Test Movie"))
-                .andExpect(jsonPath("$.data.year").value(2024));
+                .andExpect(jsonPath("$.data.year").value(2024))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
     }
 
     @Test
@@ -240,7 +299,7 @@ class MovieControllerTest {
                 .year(2025)
                 .build();
 
-        when(movieService.updateMovie(eq(movieId), any(UpdateMovieRequest.class)))
+        when(movieService.updateMovie(eq(movieId), any(UpdateMovieRequest.class), isNull()))
                 .thenReturn(updatedMovie);
 
         // Act & Assert
@@ -253,12 +312,61 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.data.year").value(2025));
     }
 
+    @Test
+    @DisplayName("PATCH /api/movies/{id} - Should pass the If-Match version and return the new ETag")
+    void testUpdateMovie_IfMatch() throws Exception {
+        // Arrange
+        String movieId = testId.toHexString();
+        Movie updatedMovie = Movie.builder().id(testId).title("Updated Title").version(4).build();
+        when(movieService.updateMovie(eq(movieId), any(UpdateMovieRequest.class), eq(3)))
+                .thenReturn(updatedMovie);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/movies/{id}", movieId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/movies/{id} - Should return 412 when the movie changed since the If-Match ETag")
+    void testUpdateMovie_PreconditionFailed() throws Exception {
+        // Arrange
+        String movieId = testId.toHexString();
+        when(movieService.updateMovie(eq(movieId), any(UpdateMovieRequest.class), eq(3)))
+                .thenThrow(new PreconditionFailedException("Movie has been modified since it was read"));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/movies/{id}", movieId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error.code").value("PRECONDITION_FAILED"));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/movies/{id} - Should return 400 for an If-Match that is not a movie ETag")
+    void testUpdateMovie_InvalidIfMatch() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/movies/{id}", testId.toHexString())
+                        .header(HttpHeaders.IF_MATCH, "\"3\", \"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(movieService, never()).updateMovie(anyString(), any(UpdateMovieRequest.class), any());
+    }
+
     @Test
     @DisplayName("PATCH /api/movies/{id} - Should return 404 when movie not found")
     void testUpdateMovie_NotFound() throws Exception {
         // Arrange
         String movieId = testId.toHexString();
-        when(movieService.updateMovie(eq(movieId), any(UpdateMovieRequest.class)))
+        when(movieService.updateMovie(eq(movieId), any(UpdateMovieRequest.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Movie not found"));
 
         // Act & Assert
@@ -279,10 +387,10 @@ class MovieControllerTest {
         String movieId = testId.toHexString();
         DeleteResponse response = new DeleteResponse(1L);
 
-        when(movieService.deleteMovie(movieId)).thenReturn(response);
+        when(movieService.deleteMovie(movieId, 0)).thenReturn(response);
 
         // Act & Assert
-        mockMvc.perform(delete("/api/movies/{id}", movieId))
+        mockMvc.perform(delete("/api/movies/{id}", movieId).header(HttpHeaders.IF_MATCH, "W/\"0\""))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.deletedCount").value(1));
@@ -293,7 +401,7 @@ class MovieControllerTest {
     void testDeleteMovie_NotFound() throws Exception {
         // Arrange
         String movieId = testId.toHexString();
-        when(movieService.deleteMovie(movieId))
+        when(movieService.deleteMovie(eq(movieId), isNull()))
                 .thenThrow(new ResourceNotFoundException("Movie not found"));
 
         // Act & Assert
@@ -362,7 +470,7 @@ class MovieControllerTest {
         when(movieService.getMoviesWithMostRecentComments(anyInt(), isNull())).thenReturn(Arrays.asList(result));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByComments"))
+        performAsync(get("/api/movies/aggregations/reportingByComments"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray())
@@ -381,7 +489,7 @@ class MovieControllerTest {
         when(movieService.getMoviesWithMostRecentComments(eq(5), isNull())).thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByComments")
+        performAsync(get("/api/movies/aggregations/reportingByComments")
                         .param("limit", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -396,7 +504,7 @@ class MovieControllerTest {
         when(movieService.getMoviesWithMostRecentComments(anyInt(), eq(movieId))).thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByComments")
+        performAsync(get("/api/movies/aggregations/reportingByComments")
                         .param("movieId", movieId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -412,7 +520,7 @@ class MovieControllerTest {
                 .thenThrow(new ValidationException("Invalid movie ID format"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByComments")
+        performAsync(get("/api/movies/aggregations/reportingByComments")
                         .param("movieId", invalidMovieId))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
@@ -444,7 +552,7 @@ class MovieControllerTest {
         when(movieService.getMoviesByYearWithStats()).thenReturn(Arrays.asList(result1, result2));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByYear"))
+        performAsync(get("/api/movies/aggregations/reportingByYear"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray())
@@ -456,6 +564,29 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.data[1].movieCount").value(15));
     }
 
+    @Test
+    @DisplayName("GET /api/movies/aggregations/reportingByYear - Should serve repeat requests from the response cache")
+    void testGetMoviesByYearWithStats_CachedUntilMovieChange() throws Exception {
+        // Arrange
+        MoviesByYearResult result = MoviesByYearResult.builder().year(2024).movieCount(10).build();
+        when(movieService.getMoviesByYearWithStats()).thenReturn(List.of(result));
+        String etag = performAsync(get("/api/movies/aggregations/reportingByYear"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        performAsync(get("/api/movies/aggregations/reportingByYear").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(movieService, times(1)).getMoviesByYearWithStats();
+
+        responseBodyCache.onMovieChange(MovieChangeEvent.bulk());
+        performAsync(get("/api/movies/aggregations/reportingByYear").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.data[0].year").value(2024));
+        verify(movieService, times(2)).getMoviesByYearWithStats();
+    }
+
     @Test
     @DisplayName("GET /api/movies/aggregations/reportingByDirectors - Should return directors with most movies")
     void testGetDirectorsWithMostMovies_Success() throws Exception {
@@ -475,7 +606,7 @@ class MovieControllerTest {
         when(movieService.getDirectorsWithMostMovies(anyInt())).thenReturn(Arrays.asList(result1, result2));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByDirectors"))
+        performAsync(get("/api/movies/aggregations/reportingByDirectors"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray())
@@ -494,7 +625,7 @@ class MovieControllerTest {
         when(movieService.getDirectorsWithMostMovies(eq(10))).thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/aggregations/reportingByDirectors")
+        performAsync(get("/api/movies/aggregations/reportingByDirectors")
                         .param("limit", "10"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -527,7 +658,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList(movie1, movie2));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("plot", "space adventure"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -547,7 +678,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("plot", "adventure")
                         .param("limit", "10")
                         .param("skip", "5"))
@@ -565,7 +696,7 @@ class MovieControllerTest {
                 .thenThrow(new ValidationException("At least one search parameter must be provided"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search"))
+        performAsync(get("/api/movies/search"))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
@@ -579,7 +710,7 @@ class MovieControllerTest {
                 .thenThrow(new ValidationException("Plot query cannot be empty"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("plot", ""))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
@@ -594,7 +725,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("plot", "nonexistent"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -620,7 +751,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList(movie));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("directors", "Coppola")
                         .param("cast", "Pacino"))
                 .andExpect(status().isOk())
@@ -639,7 +770,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("plot", "adventure")
                         .param("searchOperator", "should"))
                 .andExpect(status().isOk())
@@ -656,7 +787,7 @@ class MovieControllerTest {
                 .thenThrow(new ValidationException("Invalid search_operator 'invalid'. The search_operator must be one of: must, should, mustNot, filter"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/search")
+        performAsync(get("/api/movies/search")
                         .param("plot", "adventure")
                         .param("searchOperator", "invalid"))
                 .andExpect(status().isBadRequest())
@@ -688,7 +819,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList(result1, result2));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/vector-search")
+        performAsync(get("/api/movies/vector-search")
                         .param("q", "space adventure")
                         .param("limit", "3"))
                 .andExpect(status().isOk())
@@ -710,7 +841,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/vector-search")
+        performAsync(get("/api/movies/vector-search")
                         .param("q", "adventure"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -731,6 +862,22 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
     }
 
+    @Test
+    @DisplayName("GET /api/movies/vector-search - Should return 503 with Retry-After while the index is building")
+    void testVectorSearchMovies_IndexNotReady() throws Exception {
+        // Arrange
+        when(movieService.vectorSearchMovies(eq("test"), anyInt()))
+                .thenThrow(new IndexNotReadyException("Vector search unavailable: the 'vector_index' index is still being built"));
+
+        // Act & Assert
+        performAsync(get("/api/movies/vector-search")
+                        .param("q", "test"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value("INDEX_NOT_READY"));
+    }
+
     @Test
     @DisplayName("GET /api/movies/vector-search - Should return 400 when API key is missing")
     void testVectorSearchMovies_MissingApiKey() throws Exception {
@@ -739,7 +886,7 @@ class MovieControllerTest {
                 .thenThrow(new ValidationException("Vector search unavailable: VOYAGE_API_KEY not configured"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/vector-search")
+        performAsync(get("/api/movies/vector-search")
                         .param("q", "test"))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
@@ -755,7 +902,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/vector-search")
+        performAsync(get("/api/movies/vector-search")
                         .param("q", "nonexistent"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -763,6 +910,41 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.data", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("GET /api/movies/vector-search - Should flag partial results when the deadline ran out")
+    void testVectorSearchMovies_PartialResults() throws Exception {
+        // Arrange: the service sees the request's deadline on the async worker thread
+        VectorSearchResult hit = VectorSearchResult.builder().id(testId.toHexString()).score(0.85).build();
+        when(movieService.vectorSearchMovies(eq("space adventure"), anyInt())).thenAnswer(invocation -> {
+            RequestDeadline.current().markPartial();
+            return List.of(hit);
+        });
+
+        // Act & Assert
+        performAsync(get("/api/movies/vector-search")
+                        .param("q", "space adventure"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(DeadlineBudgets.PARTIAL_RESULTS_HEADER, "true"))
+                .andExpect(jsonPath("$.message").value(containsString("partial results")))
+                .andExpect(jsonPath("$.data[0].id").value(testId.toHexString()))
+                .andExpect(jsonPath("$.data[0].title").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/movies/vector-search - Should return 504 when the deadline is exceeded")
+    void testVectorSearchMovies_DeadlineExceeded() throws Exception {
+        // Arrange
+        when(movieService.vectorSearchMovies(eq("space adventure"), anyInt()))
+                .thenThrow(new DeadlineExceededException("Request did not complete within its 10000 ms vector-search budget"));
+
+        // Act & Assert
+        performAsync(get("/api/movies/vector-search")
+                        .param("q", "space adventure"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value("DEADLINE_EXCEEDED"));
+    }
+
     // ==================== FIND SIMILAR MOVIES ENDPOINT TESTS ====================
 
     @Test
@@ -789,7 +971,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList(similarMovie1, similarMovie2));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/find-similar-movies")
+        performAsync(get("/api/movies/find-similar-movies")
                         .param("movieId", movieId)
                         .param("limit", "5"))
                 .andExpect(status().isOk())
@@ -809,7 +991,7 @@ class MovieControllerTest {
                 .thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/find-similar-movies")
+        performAsync(get("/api/movies/find-similar-movies")
                         .param("movieId", movieId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -825,7 +1007,7 @@ class MovieControllerTest {
                 .thenThrow(new ValidationException("Invalid movie ID format"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/find-similar-movies")
+        performAsync(get("/api/movies/find-similar-movies")
                         .param("movieId", invalidId))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
@@ -841,13 +1023,62 @@ class MovieControllerTest {
                 .thenThrow(new ResourceNotFoundException("Movie not found"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/movies/find-similar-movies")
+        performAsync(get("/api/movies/find-similar-movies")
                         .param("movieId", movieId))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error.code").value("RESOURCE_NOT_FOUND"));
     }
 
+    // ==================== AUTOCOMPLETE ENDPOINT TESTS ====================
+
+    @Test
+    @DisplayName("GET /api/movies/autocomplete - Should return suggestions")
+    void testAutocomplete_Success() throws Exception {
+        // Arrange
+        AutocompleteSuggestion title = AutocompleteSuggestion.builder()
+                .text("The Dark Knight")
+                .type("title")
+                .movieId(testId.toHexString())
+                .year(2008)
+                .popularity(1500000L)
+                .build();
+        AutocompleteSuggestion person = AutocompleteSuggestion.builder()
+                .text("Danny DeVito")
+                .type("person")
+                .popularity(900000L)
+                .build();
+
+        when(movieService.autocomplete(eq("da"), eq(5)))
+                .thenReturn(Arrays.asList(title, person));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/movies/autocomplete")
+                        .param("q", "da")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].text").value("The Dark Knight"))
+                .andExpect(jsonPath("$.data[0].type").value("title"))
+                .andExpect(jsonPath("$.data[1].type").value("person"));
+    }
+
+    @Test
+    @DisplayName("GET /api/movies/autocomplete - Should return 503 with Retry-After while the index is building")
+    void testAutocomplete_NotReady() throws Exception {
+        // Arrange
+        when(movieService.autocomplete(eq("da"), eq(10)))
+                .thenThrow(new IndexNotReadyException("Autocomplete unavailable"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/movies/autocomplete")
+                        .param("q", "da"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     // ==================== BATCH UPDATE ENDPOINT TESTS ====================
 
     @Test
@@ -937,6 +1168,40 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.data.deletedCount").value(0));
     }
 
+    @Test
+    @DisplayName("POST /api/movies/bulk - Should return per-operation results")
+    void testBulkWrite_Success() throws Exception {
+        // Arrange
+        String insertedId = "573a1390f29313caabcd4135";
+        Map<String, Object> requestBody = Map.of("ordered", false, "operations", List.of(
+                Map.of("type", "insertOne", "document", Map.of("title", "New Movie")),
+                Map.of("type", "deleteMany", "filter", Map.of("year", Map.of("$lt", 1950)))));
+
+        BulkWriteResponse response = BulkWriteResponse.builder()
+                .insertedCount(1)
+                .deletedCount(10)
+                .results(List.of(
+                        BulkOperationResult.builder().index(0).type("insertOne")
+                                .status(BulkOperationResult.STATUS_OK).insertedId(insertedId).build(),
+                        BulkOperationResult.builder().index(1).type("deleteMany")
+                                .status(BulkOperationResult.STATUS_OK).build()))
+                .build();
+        when(movieService.bulkWrite(any(BulkWriteRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/movies/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.deletedCount").value(10))
+                .andExpect(jsonPath("$.data.results[0].insertedId").value(insertedId))
+                .andExpect(jsonPath("$.data.results[1].error").doesNotExist());
+
+        verify(movieService).bulkWrite(argThat(request -> Boolean.FALSE.equals(request.getOrdered())
+                && "New Movie".equals(request.getOperations().get(0).getDocument().getTitle())));
+    }
+
     // ==================== GET DISTINCT GENRES TESTS ====================
 
     @Test
@@ -970,4 +1235,80 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data", hasSize(0)));
     }
+
+    @Test
+    @DisplayName("GET /api/movies/genres - Should return 304 for a current ETag without querying again")
+    void testGetDistinctGenres_NotModified() throws Exception {
+        // Arrange
+        when(movieService.getDistinctGenres()).thenReturn(Arrays.asList("Action", "Comedy"));
+        String etag = mockMvc.perform(get("/api/movies/genres"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/movies/genres").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/movies/genres").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)));
+        verify(movieService, times(1)).getDistinctGenres();
+    }
+
+    // ==================== BROWSE FACETS TESTS ====================
+
+    @Test
+    @DisplayName("GET /api/movies/facets - Should pass the list filters and bucket mode to the service")
+    void testGetBrowseFacets_Success() throws Exception {
+        // Arrange
+        MovieFacetsResult facets = MovieFacetsResult.builder()
+                .total(42L)
+                .genres(List.of(new FacetValueCount("Drama", 30L)))
+                .years(List.of(FacetBucket.builder().min(1990).max(2000).count(42L).build()))
+                .ratings(List.of())
+                .build();
+        when(movieService.getBrowseFacets(any(MovieSearchQuery.class), eq("auto"), eq(8))).thenReturn(facets);
+
+        // Act & Assert
+        performAsync(get("/api/movies/facets").param("genre", "drama").param("year", "1995")
+                .param("mode", "auto").param("buckets", "8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Computed facets for 42 movies"))
+                .andExpect(jsonPath("$.data.genres[0].value").value("Drama"))
+                .andExpect(jsonPath("$.data.years[0].min").value(1990));
+        verify(movieService).getBrowseFacets(argThat(query -> "drama".equals(query.getGenre())
+                && query.getYear() == 1995), eq("auto"), eq(8));
+    }
+
+    // ==================== FACET VALUE COUNTS TESTS ====================
+
+    @Test
+    @DisplayName("GET /api/movies/facets/{field} - Should return values with movie counts")
+    void testGetFacetValueCounts_Success() throws Exception {
+        // Arrange
+        when(movieService.getFacetValueCounts("rated"))
+                .thenReturn(List.of(new FacetValueCount("R", 40L), new FacetValueCount("PG", 12L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/movies/facets/rated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Found 2 distinct rated"))
+                .andExpect(jsonPath("$.data[0].value").value("R"))
+                .andExpect(jsonPath("$.data[0].count").value(40));
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Performs a request against an endpoint that returns a CompletableFuture and dispatches
+     * the async result, so assertions see the final response.
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
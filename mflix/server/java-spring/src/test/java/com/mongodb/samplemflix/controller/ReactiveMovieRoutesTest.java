@@ -0,0 +1,191 @@
+package com.mongodb.samplemflix.controller;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import com.mongodb.samplemflix.exception.ReactiveExceptionHandler;
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.service.ReactiveMovieService;
+import java.util.concurrent.TimeoutException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for the WebFlux routes served under the {@code reactive} profile.
+ *
+ * The routes are bound directly to a WebTestClient with a mocked ReactiveMovieService,
+ * so no server or database is started.
+ */
+@DisplayName("ReactiveMovieRoutes Tests")
+class ReactiveMovieRoutesTest {
+
+    private ReactiveMovieService movieService;
+    private WebTestClient webTestClient;
+
+    private Movie testMovie;
+
+    @BeforeEach
+    void setUp() {
+        movieService = mock(ReactiveMovieService.class);
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new ReactiveMovieRoutes().movieRoutes(
+                        new ReactiveMovieHandler(movieService), new ReactiveExceptionHandler()))
+                .build();
+
+        testMovie = Movie.builder()
+                .id(new ObjectId())
+                .title("Test Movie")
+                .year(2024)
+                .build();
+    }
+
+    // ==================== GET ALL MOVIES TESTS ====================
+
+    @Test
+    @DisplayName("GET /api/movies - Should wrap results in the success envelope")
+    void testGetAllMovies_Envelope() {
+        // Arrange
+        when(movieService.getAllMovies(any())).thenReturn(Flux.just(testMovie));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/movies")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.message").isEqualTo("Found 1 movies")
+                .jsonPath("$.data[0].title").isEqualTo("Test Movie");
+    }
+
+    @Test
+    @DisplayName("GET /api/movies - Should stream NDJSON when requested")
+    void testGetAllMovies_Ndjson() {
+        // Arrange
+        when(movieService.getAllMovies(any())).thenReturn(Flux.just(testMovie));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/movies")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Movie.class).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/movies - Should return 400 for a non-numeric limit")
+    void testGetAllMovies_InvalidLimit() {
+        // Act & Assert
+        webTestClient.get().uri("/api/movies?limit=abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.error.code").isEqualTo("VALIDATION_ERROR")
+                .jsonPath("$.error.message").isEqualTo("Parameter 'limit' must be an integer");
+
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    @DisplayName("GET /api/movies/export - Should always stream NDJSON")
+    void testExportMovies_Ndjson() {
+        // Arrange
+        when(movieService.exportMovies(any())).thenReturn(Flux.just(testMovie, testMovie));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/movies/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Movie.class).hasSize(2);
+    }
+
+    // ==================== ERROR MAPPING TESTS ====================
+
+    @Test
+    @DisplayName("GET /api/movies/{id} - Should map service errors to the error body")
+    void testGetMovieById_ValidationError() {
+        // Arrange
+        when(movieService.getMovieById("bad"))
+                .thenReturn(Mono.error(new ValidationException("Invalid movie ID format")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/movies/bad")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("VALIDATION_ERROR")
+                .jsonPath("$.error.message").isEqualTo("Invalid movie ID format");
+    }
+
+    @Test
+    @DisplayName("GET /api/movies/vector-search - Should return 503 with Retry-After while the index is building")
+    void testVectorSearch_IndexNotReady() {
+        // Arrange
+        when(movieService.vectorSearchMovies("space", 10))
+                .thenReturn(Flux.error(new IndexNotReadyException("Vector search unavailable")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/movies/vector-search?q=space")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "5")
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("INDEX_NOT_READY");
+    }
+
+    @Test
+    @DisplayName("GET /api/movies/vector-search - Should report a timeout as 504 DEADLINE_EXCEEDED")
+    void testVectorSearch_Timeout() {
+        // Arrange
+        when(movieService.vectorSearchMovies("space", 10))
+                .thenReturn(Flux.error(new TimeoutException()));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/movies/vector-search?q=space")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("DEADLINE_EXCEEDED");
+    }
+
+    @Test
+    @DisplayName("GET /api/movies/vector-search - Should return 400 when q is missing")
+    void testVectorSearch_MissingQuery() {
+        // Act & Assert
+        webTestClient.get().uri("/api/movies/vector-search")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.message").isEqualTo("Required parameter 'q' is missing");
+    }
+
+    // ==================== CREATE MOVIE TESTS ====================
+
+    @Test
+    @DisplayName("POST /api/movies - Should return 201 with the created movie")
+    void testCreateMovie_Created() {
+        // Arrange
+        when(movieService.createMovie(any(CreateMovieRequest.class))).thenReturn(Mono.just(testMovie));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Test Movie\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.title").isEqualTo("Test Movie");
+    }
+}
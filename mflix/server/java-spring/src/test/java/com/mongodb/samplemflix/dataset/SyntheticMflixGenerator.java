@@ -0,0 +1,376 @@
+package com.mongodb.samplemflix.dataset;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+/**
+ * Generates {@code movies}, {@code comments} and {@code embedded_movies} documents shaped like
+ * sample_mflix, at a multiple of its size.
+ *
+ * <p>At scale 1 the counts match the stock dataset (21,349 movies, 41,079 comments, 3,483
+ * embedded movies). Each document is derived only from the seed, its collection and its index,
+ * so the documents can be generated in any order, on any number of threads, and the same seed
+ * always produces the same data.
+ *
+ * <p>The distributions that matter to the API's queries:
+ * <ul>
+ *   <li>comments per movie are Zipfian: the movie of each comment is drawn from a Zipf
+ *       distribution over the movies, so a few movies collect most comments and most have
+ *       none, which is what makes the {@code $lookup} of the recent comments report expensive</li>
+ *   <li>directors are drawn from a Zipf distribution over a pool that grows with the scale, so
+ *       prolific directors have many films; most films have one director, some two or three</li>
+ *   <li>about 0.4% of years are strings such as {@code "2012è"}, as stored for the series in
+ *       sample_mflix, and about 1% of IMDB ratings and vote counts are empty strings</li>
+ *   <li>embedded movies are a spread-out subset of the movies with the same {@code _id} and
+ *       fields, plus a random unit-norm 2048-dimension {@code plot_embedding_voyage_3_large}</li>
+ * </ul>
+ */
+final class SyntheticMflixGenerator {
+
+    static final int BASE_MOVIES = 21_349;
+    static final int BASE_COMMENTS = 41_079;
+    static final int BASE_EMBEDDED_MOVIES = 3_483;
+    static final int EMBEDDING_DIMENSIONS = 2048;
+
+    private static final int BASE_DIRECTORS = 10_500;
+    private static final int BASE_ACTORS = 48_000;
+    private static final int BASE_USERS = 2_500;
+
+    private static final double DIRTY_YEAR_RATE = 0.004;
+    private static final double DIRTY_IMDB_RATE = 0.01;
+
+    // Random streams, so that e.g. a movie's fields do not depend on whether it has an embedding
+    private static final long MOVIE_STREAM = 1;
+    private static final long COMMENT_STREAM = 2;
+    private static final long EMBEDDING_STREAM = 3;
+
+    // Prime above any pool size, so multiplying by it modulo the size permutes the pool
+    private static final long SCRAMBLE_PRIME = 1_000_000_007L;
+
+    private static final int ID_TIMESTAMP = (int) LocalDate.of(2024, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    private static final long COMMENT_DATES_FROM = LocalDate.of(1970, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long COMMENT_DATES_TO = LocalDate.of(2017, 6, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    private static final String[] GENRES = {"Drama", "Comedy", "Romance", "Crime", "Thriller", "Action", "Adventure",
+            "Documentary", "Horror", "Biography", "Family", "Mystery", "Fantasy", "Sci-Fi", "Animation", "History",
+            "Music", "War", "Short", "Musical", "Sport", "Western", "Film-Noir", "News"};
+    private static final double[] GENRE_WEIGHTS = {12_385, 6_532, 3_318, 2_457, 2_454, 2_381, 1_900, 1_834, 1_470,
+            1_269, 1_249, 1_139, 1_055, 958, 912, 874, 780, 699, 442, 440, 366, 242, 77, 1};
+
+    private static final String[] COUNTRIES = {"USA", "UK", "France", "Germany", "Canada", "Italy", "Japan", "India",
+            "Spain", "Australia", "Sweden", "South Korea", "Hong Kong", "Mexico", "Brazil", "Denmark"};
+    private static final String[] LANGUAGES = {"English", "French", "Spanish", "German", "Italian", "Japanese",
+            "Russian", "Mandarin", "Hindi", "Korean", "Swedish", "Cantonese", "Portuguese", "Arabic"};
+    private static final String[] RATINGS = {"R", "PG-13", "PG", "NOT RATED", "APPROVED", "G", "UNRATED", "PASSED",
+            "TV-MA", "TV-14"};
+    private static final double[] RATING_WEIGHTS = {5_537, 1_838, 1_852, 1_275, 709, 477, 886, 181, 58, 96};
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael",
+            "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Charles", "Karen", "Akira", "Yuki", "Pierre", "Amelie", "Hans", "Greta", "Luca", "Sofia",
+            "Pedro", "Lucia", "Ingmar", "Astrid", "Satyajit", "Priya", "Wong", "Mei", "Agnes", "Fritz", "Federico",
+            "Giulietta", "Jean", "Claire", "Sergei", "Olga", "Bong", "Ji-woo", "Alfonso", "Carmen", "Kenji", "Hana"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Taylor", "Moore", "Jackson",
+            "Martin", "Lee", "Thompson", "White", "Harris", "Clark", "Lewis", "Walker", "Kurosawa", "Ozu", "Bergman",
+            "Fellini", "Truffaut", "Godard", "Varda", "Lang", "Murnau", "Ray", "Kar-wai", "Almodovar", "Cuaron",
+            "Eisenstein", "Tarkovsky", "Mizoguchi", "Renoir", "Rossellini", "Bunuel", "Herzog", "Wenders", "Kim",
+            "Park", "Chen", "Zhang", "Singh", "Kapoor", "Nakamura", "Dubois", "Rossi", "Schmidt", "Larsen", "Novak",
+            "Silva", "Costa"};
+
+    private static final String[] WORDS = {"the", "a", "young", "man", "woman", "life", "love", "family", "world",
+            "story", "new", "city", "friends", "war", "father", "mother", "son", "daughter", "town", "home", "secret",
+            "murder", "past", "journey", "night", "team", "police", "school", "girl", "boy", "small", "old", "group",
+            "power", "help", "lives", "must", "finds", "becomes", "discovers", "tries", "falls", "returns", "meets",
+            "american", "brother", "sister", "wife", "husband", "house", "death", "dark", "killer", "island", "king",
+            "lost", "last", "first", "time", "dream", "money", "crime", "escape", "mission", "detective", "doctor",
+            "soldier", "village", "country", "ship", "space", "planet", "earth", "ocean", "mountain", "river", "train",
+            "road", "summer", "winter", "revenge", "justice", "truth", "fortune", "heart", "shadow", "fire", "blood",
+            "gold", "star", "moon", "sun", "storm", "ghost", "monster", "robot", "alien", "pirate", "cowboy",
+            "gangster", "spy", "thief", "artist", "musician", "writer", "teacher", "student", "lawyer", "judge",
+            "prison", "hospital", "church", "palace", "empire", "rebellion", "kingdom", "legend", "memory", "promise",
+            "betrayal", "friendship", "wedding", "funeral", "birthday", "holiday", "hunt", "race", "game", "battle",
+            "voyage", "exile", "return", "rise", "fall", "end", "beginning", "against", "between", "after", "before"};
+
+    private final long seed;
+    private final int movieCount;
+    private final int commentCount;
+    private final int embeddedMovieCount;
+    private final int directorCount;
+    private final int actorCount;
+    private final int userCount;
+    private final ZipfSampler commentMovies;
+    private final ZipfSampler directors;
+    private final ZipfSampler words;
+    private final byte[] seedBytes;
+
+    /**
+     * @param scale multiple of the stock dataset size, from 1 to 1000
+     * @param seed seed of every random choice
+     * @param commentSkew Zipf exponent of the comments per movie
+     * @param directorSkew Zipf exponent of the films per director
+     */
+    SyntheticMflixGenerator(double scale, long seed, double commentSkew, double directorSkew) {
+        if (scale < 1 || scale > 1000) {
+            throw new IllegalArgumentException("scale must be between 1 and 1000: " + scale);
+        }
+        this.seed = seed;
+        this.movieCount = scaled(BASE_MOVIES, scale);
+        this.commentCount = scaled(BASE_COMMENTS, scale);
+        this.embeddedMovieCount = scaled(BASE_EMBEDDED_MOVIES, scale);
+        this.directorCount = scaled(BASE_DIRECTORS, scale);
+        this.actorCount = scaled(BASE_ACTORS, scale);
+        this.userCount = scaled(BASE_USERS, scale);
+        this.commentMovies = new ZipfSampler(movieCount, commentSkew);
+        this.directors = new ZipfSampler(directorCount, directorSkew);
+        this.words = new ZipfSampler(WORDS.length, 1.0);
+        // Three seed bytes in every _id keep datasets generated with different seeds apart
+        long mixedSeed = mix(seed);
+        this.seedBytes = new byte[] {(byte) (mixedSeed >>> 16), (byte) (mixedSeed >>> 8), (byte) mixedSeed};
+    }
+
+    private static int scaled(int base, double scale) {
+        return (int) Math.round(base * scale);
+    }
+
+    int movieCount() {
+        return movieCount;
+    }
+
+    int commentCount() {
+        return commentCount;
+    }
+
+    int embeddedMovieCount() {
+        return embeddedMovieCount;
+    }
+
+    /**
+     * The {@code _id} of a movie, shared by its embedded_movies copy and its comments' {@code movie_id}.
+     */
+    ObjectId movieId(int index) {
+        return objectId(1, index);
+    }
+
+    Document movie(int index) {
+        SplittableRandom random = random(MOVIE_STREAM, index);
+        boolean series = random.nextDouble() < DIRTY_YEAR_RATE;
+        // Skewed towards recent years, like the stock data
+        int year = 2016 - (int) (117 * Math.pow(random.nextDouble(), 2));
+
+        Document movie = new Document("_id", movieId(index))
+                .append("title", title(random))
+                .append("year", series ? year + "è" : year)
+                .append("plot", sentence(random, 12, 30))
+                .append("fullplot", sentence(random, 40, 120))
+                .append("released", Date.from(LocalDate.of(year, 1, 1).plusDays(random.nextInt(365))
+                        .atStartOfDay().toInstant(ZoneOffset.UTC)))
+                .append("runtime", (int) Math.max(5, Math.round(100 + 25 * random.nextGaussian())));
+        if (random.nextDouble() < 0.9) {
+            movie.append("poster", "https://m.media-amazon.com/images/M/synthetic-" + index + ".jpg");
+        }
+        movie.append("genres", weightedDistinct(random, GENRES, GENRE_WEIGHTS, 1 + random.nextInt(3)))
+                .append("directors", directors(random))
+                .append("writers", people(random, directors, directorCount, 1 + random.nextInt(2)))
+                .append("cast", actors(random, 1 + random.nextInt(5)))
+                .append("countries", distinct(random, COUNTRIES, random.nextDouble() < 0.8 ? 1 : 2))
+                .append("languages", distinct(random, LANGUAGES, random.nextDouble() < 0.75 ? 1 : 2));
+        if (random.nextDouble() < 0.7) {
+            movie.append("rated", RATINGS[weightedIndex(random, RATING_WEIGHTS)]);
+        }
+
+        int wins = random.nextDouble() < 0.6 ? random.nextInt(10) : 0;
+        int nominations = wins + random.nextInt(12);
+        movie.append("awards", new Document("wins", wins)
+                .append("nominations", nominations)
+                .append("text", wins + " wins & " + nominations + " nominations."));
+
+        boolean dirtyImdb = random.nextDouble() < DIRTY_IMDB_RATE;
+        double rating = Math.round(Math.clamp(6.6 + 1.1 * random.nextGaussian(), 1.0, 9.6) * 10) / 10.0;
+        int votes = (int) Math.min(2_000_000, Math.exp(7 + 2.2 * random.nextGaussian()));
+        movie.append("imdb", new Document("rating", dirtyImdb ? "" : rating)
+                .append("votes", dirtyImdb ? "" : votes)
+                .append("id", 1_000_000 + index));
+
+        if (random.nextDouble() < 0.5) {
+            movie.append("tomatoes", new Document("viewer", new Document("rating", Math.round(rating / 2 * 10) / 10.0)
+                            .append("numReviews", random.nextInt(5_000))
+                            .append("meter", random.nextInt(101)))
+                    .append("critic", new Document("rating", Math.round(rating * 10) / 10.0)
+                            .append("numReviews", random.nextInt(300))
+                            .append("meter", random.nextInt(101)))
+                    .append("fresh", random.nextInt(200))
+                    .append("rotten", random.nextInt(100))
+                    .append("lastUpdated", new Date(COMMENT_DATES_TO - random.nextLong(400L * 86_400_000))));
+        }
+        if (random.nextDouble() < 0.2) {
+            movie.append("metacritic", 20 + random.nextInt(80));
+        }
+        return movie.append("type", series ? "series" : "movie");
+    }
+
+    /**
+     * The index in the movies of the {@code index}th embedded movie; spread evenly over the movies.
+     */
+    int embeddedMovieIndex(int index) {
+        return (int) ((long) index * movieCount / embeddedMovieCount);
+    }
+
+    Document embeddedMovie(int index) {
+        int movieIndex = embeddedMovieIndex(index);
+        return movie(movieIndex).append("plot_embedding_voyage_3_large", embedding(movieIndex));
+    }
+
+    /**
+     * A random direction: Gaussian components, scaled to unit length.
+     */
+    List<Double> embedding(int movieIndex) {
+        SplittableRandom random = random(EMBEDDING_STREAM, movieIndex);
+        double[] vector = new double[EMBEDDING_DIMENSIONS];
+        double sumOfSquares = 0;
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = random.nextGaussian();
+            sumOfSquares += vector[i] * vector[i];
+        }
+        double norm = Math.sqrt(sumOfSquares);
+        List<Double> embedding = new ArrayList<>(vector.length);
+        for (double component : vector) {
+            embedding.add(component / norm);
+        }
+        return embedding;
+    }
+
+    Document comment(int index) {
+        SplittableRandom random = random(COMMENT_STREAM, index);
+        String name = person(random.nextInt(userCount));
+        return new Document("_id", objectId(2, index))
+                .append("name", name)
+                .append("email", name.toLowerCase().replace(' ', '_') + "@fakegmail.com")
+                .append("movie_id", movieId(movieIndex(commentMovies.sample(random))))
+                .append("text", sentence(random, 15, 60))
+                .append("date", new Date(COMMENT_DATES_FROM + random.nextLong(COMMENT_DATES_TO - COMMENT_DATES_FROM)));
+    }
+
+    /**
+     * The movie at a popularity rank: a fixed permutation, so the popular movies are spread over
+     * the collection rather than being the first ones inserted.
+     */
+    int movieIndex(int rank) {
+        return scramble(rank, movieCount);
+    }
+
+    private List<String> directors(SplittableRandom random) {
+        double draw = random.nextDouble();
+        return people(random, directors, directorCount, draw < 0.85 ? 1 : draw < 0.97 ? 2 : 3);
+    }
+
+    private List<String> people(SplittableRandom random, ZipfSampler popularity, int poolSize, int count) {
+        Set<String> people = new LinkedHashSet<>();
+        for (int attempt = 0; people.size() < count && attempt < count * 4; attempt++) {
+            people.add(person(scramble(popularity.sample(random), poolSize)));
+        }
+        return new ArrayList<>(people);
+    }
+
+    private List<String> actors(SplittableRandom random, int count) {
+        Set<String> cast = new LinkedHashSet<>();
+        while (cast.size() < count) {
+            cast.add(person(random.nextInt(actorCount) + directorCount));
+        }
+        return new ArrayList<>(cast);
+    }
+
+    private static int scramble(int rank, int size) {
+        return (int) (((rank - 1) * SCRAMBLE_PRIME) % size);
+    }
+
+    /**
+     * A unique name per person number; numbers past the combinations of names get a suffix.
+     */
+    private static String person(int number) {
+        String name = FIRST_NAMES[number % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(number / FIRST_NAMES.length) % LAST_NAMES.length];
+        int generation = number / (FIRST_NAMES.length * LAST_NAMES.length);
+        return generation == 0 ? name : name + " " + (generation + 1);
+    }
+
+    private String title(SplittableRandom random) {
+        String title = sentence(random, 2, 5);
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1, title.length() - 1);
+    }
+
+    private String sentence(SplittableRandom random, int minWords, int maxWords) {
+        int count = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[words.sample(random) - 1]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.append('.').toString();
+    }
+
+    private static List<String> distinct(SplittableRandom random, String[] values, int count) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            picked.add(values[random.nextInt(values.length)]);
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private static List<String> weightedDistinct(SplittableRandom random, String[] values, double[] weights, int count) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            picked.add(values[weightedIndex(random, weights)]);
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private static int weightedIndex(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double draw = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            draw -= weights[i];
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private ObjectId objectId(int collection, int index) {
+        ByteBuffer bytes = ByteBuffer.allocate(12)
+                .putInt(ID_TIMESTAMP)
+                .put((byte) collection)
+                .put(seedBytes)
+                .putInt(index);
+        return new ObjectId(bytes.array());
+    }
+
+    private SplittableRandom random(long stream, int index) {
+        return new SplittableRandom(mix(seed + mix(stream * 0x9E3779B97F4A7C15L + index)));
+    }
+
+    /**
+     * The SplitMix64 finalizer: spreads nearby inputs (consecutive indexes) over all 64 bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,121 @@
+package com.mongodb.samplemflix.dataset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the synthetic dataset generator and its Zipf sampler.
+ */
+@DisplayName("SyntheticMflixGenerator Unit Tests")
+class SyntheticMflixGeneratorTest {
+
+    private static final int SAMPLES = 200;
+
+    // ==================== DETERMINISM TESTS ====================
+
+    @Test
+    @DisplayName("Should generate identical documents for the same seed regardless of order")
+    void testGenerate_SameSeedAnyOrder() {
+        // Arrange
+        SyntheticMflixGenerator forward = new SyntheticMflixGenerator(1, 42, 0.6, 0.4);
+        SyntheticMflixGenerator backward = new SyntheticMflixGenerator(1, 42, 0.6, 0.4);
+        int[] movieIndexes = spread(forward.movieCount());
+        int[] commentIndexes = spread(forward.commentCount());
+        int[] embeddedIndexes = spread(forward.embeddedMovieCount());
+
+        // Act: one generator goes forward through each collection in turn
+        List<Document> movies = new ArrayList<>();
+        List<Document> comments = new ArrayList<>();
+        List<Document> embedded = new ArrayList<>();
+        for (int index : movieIndexes) {
+            movies.add(forward.movie(index));
+        }
+        for (int index : commentIndexes) {
+            comments.add(forward.comment(index));
+        }
+        for (int index : embeddedIndexes) {
+            embedded.add(forward.embeddedMovie(index));
+        }
+
+        // Assert: the other goes backward with the collections interleaved
+        for (int i = SAMPLES - 1; i >= 0; i--) {
+            assertEquals(comments.get(i), backward.comment(commentIndexes[i]), "comment " + commentIndexes[i]);
+            assertEquals(embedded.get(i), backward.embeddedMovie(embeddedIndexes[i]),
+                    "embedded movie " + embeddedIndexes[i]);
+            assertEquals(movies.get(i), backward.movie(movieIndexes[i]), "movie " + movieIndexes[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate different documents for a different seed")
+    void testGenerate_DifferentSeed() {
+        // Arrange
+        SyntheticMflixGenerator generator = new SyntheticMflixGenerator(1, 42, 0.6, 0.4);
+        SyntheticMflixGenerator other = new SyntheticMflixGenerator(1, 43, 0.6, 0.4);
+
+        // Act & Assert
+        assertNotEquals(generator.movie(0), other.movie(0));
+        assertNotEquals(generator.comment(0), other.comment(0));
+    }
+
+    /**
+     * {@link #SAMPLES} indexes spread evenly over a collection, first and last included.
+     */
+    private static int[] spread(int count) {
+        int[] indexes = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            indexes[i] = (int) ((long) i * (count - 1) / (SAMPLES - 1));
+        }
+        return indexes;
+    }
+
+    // ==================== ZIPF SAMPLER TESTS ====================
+
+    @Test
+    @DisplayName("Should sample ranks with frequency proportional to 1 / rank^exponent")
+    void testZipfSampler_Frequencies() {
+        // Arrange
+        int n = 10;
+        double exponent = 1.0;
+        int samples = 200_000;
+        ZipfSampler sampler = new ZipfSampler(n, exponent);
+        SplittableRandom random = new SplittableRandom(7);
+        double harmonic = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            harmonic += 1 / Math.pow(rank, exponent);
+        }
+
+        // Act
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < samples; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= n, "rank out of range: " + rank);
+            counts[rank]++;
+        }
+
+        // Assert: a standard deviation here is about 0.001, so 0.01 only fails on a real bias
+        for (int rank = 1; rank <= n; rank++) {
+            double expected = 1 / Math.pow(rank, exponent) / harmonic;
+            assertEquals(expected, (double) counts[rank] / samples, 0.01, "rank " + rank);
+        }
+    }
+
+    @Test
+    @DisplayName("Should always return rank 1 for a single rank")
+    void testZipfSampler_SingleRank() {
+        // Arrange
+        ZipfSampler sampler = new ZipfSampler(1, 0.6);
+        SplittableRandom random = new SplittableRandom(7);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(1, sampler.sample(random));
+        }
+    }
+}
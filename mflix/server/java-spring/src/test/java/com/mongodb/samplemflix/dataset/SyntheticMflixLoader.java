@@ -0,0 +1,187 @@
+package com.mongodb.samplemflix.dataset;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32C;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+
+/**
+ * Loads a synthetic sample_mflix dataset at 1x to 1000x the stock size, for benchmarks that need
+ * the {@code $lookup} and {@code $unwind} costs of production-sized data.
+ *
+ * <p>Run against a local mongod from {@code mflix/server/java-spring}:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec@synthetic-data -Ddataset.args="--scale 100 --drop"
+ * </pre>
+ * Options:
+ * <ul>
+ *   <li>{@code --scale N}: multiple of the stock dataset size, 1 to 1000 (default 1)</li>
+ *   <li>{@code --seed N}: the same seed loads the same documents (default 42)</li>
+ *   <li>{@code --uri URI}: default {@code MONGODB_URI}, else {@code mongodb://localhost:27017}</li>
+ *   <li>{@code --database NAME}: default {@code sample_mflix}</li>
+ *   <li>{@code --threads N}: parallel inserters (default: available processors)</li>
+ *   <li>{@code --batch-size N}: documents per unordered {@code insertMany} (default 1000)</li>
+ *   <li>{@code --comment-skew S} and {@code --director-skew S}: Zipf exponents of the comments
+ *       per movie (default 0.6) and the films per director (default 0.4)</li>
+ *   <li>{@code --drop}: replace existing collections; without it the load refuses to add to
+ *       non-empty ones</li>
+ *   <li>{@code --dry-run}: generate without connecting, and report the counts, BSON size and a
+ *       checksum, to size a load or check that two runs produce the same data</li>
+ * </ul>
+ *
+ * <p>Only the documents are loaded. Start the application against the database afterwards and
+ * its startup verification creates the indexes as it does for the stock data. The Search and
+ * Vector Search indexes need Atlas or a local Atlas deployment.
+ *
+ * <p>With the default skews the most commented movie has about 300 comments at 1x and 4,800 at
+ * 100x, and the busiest director about 60 films at 1x. The recent comments report gathers each movie's comments with {@code $lookup},
+ * which fails once they exceed 16 MB: that takes about 50,000 comments on one movie, so raise
+ * {@code --comment-skew} with care at high scales.
+ */
+public final class SyntheticMflixLoader {
+
+    private final SyntheticMflixGenerator generator;
+    private final int threads;
+    private final int batchSize;
+
+    private SyntheticMflixLoader(SyntheticMflixGenerator generator, int threads, int batchSize) {
+        this.generator = generator;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        double scale = 1;
+        long seed = 42;
+        String uri = System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017");
+        String database = "sample_mflix";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batchSize = 1000;
+        double commentSkew = 0.6;
+        double directorSkew = 0.4;
+        boolean drop = false;
+        boolean dryRun = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scale" -> scale = Double.parseDouble(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--uri" -> uri = args[++i];
+                case "--database" -> database = args[++i];
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--batch-size" -> batchSize = Integer.parseInt(args[++i]);
+                case "--comment-skew" -> commentSkew = Double.parseDouble(args[++i]);
+                case "--director-skew" -> directorSkew = Double.parseDouble(args[++i]);
+                case "--drop" -> drop = true;
+                case "--dry-run" -> dryRun = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        SyntheticMflixGenerator generator = new SyntheticMflixGenerator(scale, seed, commentSkew, directorSkew);
+        SyntheticMflixLoader loader = new SyntheticMflixLoader(generator, threads, batchSize);
+        System.out.printf("Scale %sx, seed %d: %,d movies, %,d embedded movies, %,d comments%n", scale, seed,
+                generator.movieCount(), generator.embeddedMovieCount(), generator.commentCount());
+
+        if (dryRun) {
+            loader.run(null, drop);
+            return;
+        }
+        try (MongoClient client = MongoClients.create(uri)) {
+            loader.run(client.getDatabase(database), drop);
+        }
+    }
+
+    /**
+     * Loads the three collections one after the other, each in parallel batches.
+     *
+     * @param database the target, or null for a dry run
+     */
+    private void run(MongoDatabase database, boolean drop) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-mflix-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            load(executor, database, drop, "movies", generator.movieCount(), generator::movie);
+            load(executor, database, drop, "embedded_movies", generator.embeddedMovieCount(), generator::embeddedMovie);
+            load(executor, database, drop, "comments", generator.commentCount(), generator::comment);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void load(ExecutorService executor, MongoDatabase database, boolean drop, String name, int count,
+                      IntFunction<Document> documents) throws InterruptedException, ExecutionException {
+        MongoCollection<Document> collection = database != null ? database.getCollection(name) : null;
+        if (collection != null) {
+            if (drop) {
+                collection.drop();
+            } else if (collection.estimatedDocumentCount() > 0) {
+                throw new IllegalStateException(
+                        name + " is not empty; pass --drop to replace it or --database to load elsewhere");
+            }
+        }
+
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong checksum = new AtomicLong();
+        long start = System.nanoTime();
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < count; from += batchSize) {
+            int batchStart = from;
+            int batchEnd = Math.min(count, from + batchSize);
+            batches.add(executor.submit(() -> {
+                List<Document> batch = new ArrayList<>(batchEnd - batchStart);
+                for (int index = batchStart; index < batchEnd; index++) {
+                    batch.add(documents.apply(index));
+                }
+                if (collection != null) {
+                    collection.insertMany(batch, new InsertManyOptions().ordered(false));
+                } else {
+                    measure(batch, bytes, checksum);
+                }
+            }));
+        }
+        for (Future<?> batch : batches) {
+            batch.get();
+        }
+
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        if (collection != null) {
+            System.out.printf("%-16s %,12d documents in %6.1f s (%,.0f/s)%n", name, count, seconds, count / seconds);
+        } else {
+            System.out.printf("%-16s %,12d documents, %,10.1f MiB, checksum %016x, generated in %.1f s%n",
+                    name, count, bytes.get() / 1024.0 / 1024.0, checksum.get(), seconds);
+        }
+    }
+
+    /**
+     * Adds the batch's BSON size and an order-independent checksum of its encoded documents.
+     */
+    private static void measure(List<Document> batch, AtomicLong bytes, AtomicLong checksum) {
+        DocumentCodec codec = new DocumentCodec();
+        CRC32C crc = new CRC32C();
+        for (Document document : batch) {
+            RawBsonDocument raw = new RawBsonDocument(document, codec);
+            bytes.addAndGet(raw.getByteBuffer().remaining());
+            crc.reset();
+            crc.update(raw.getByteBuffer().asNIO());
+            checksum.addAndGet(crc.getValue());
+        }
+    }
+}
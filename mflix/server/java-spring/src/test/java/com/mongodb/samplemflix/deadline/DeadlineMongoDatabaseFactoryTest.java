@@ -0,0 +1,88 @@
+package com.mongodb.samplemflix.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Unit tests for applying the request deadline to the databases used by {@code MongoTemplate}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadlineMongoDatabaseFactory Unit Tests")
+class DeadlineMongoDatabaseFactoryTest {
+
+    @Mock
+    private MongoDatabaseFactory delegate;
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private MongoDatabase timedDatabase;
+
+    @Test
+    @DisplayName("Should leave the database unchanged outside a request")
+    void testGetMongoDatabase_NoDeadline() {
+        // Arrange
+        when(delegate.getMongoDatabase()).thenReturn(database);
+
+        // Act
+        MongoDatabase result = new DeadlineMongoDatabaseFactory(delegate).getMongoDatabase();
+
+        // Assert
+        assertSame(database, result);
+        verify(database, never()).withTimeout(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should give each operation the time left when it starts")
+    void testGetMongoDatabase_RemainingTime() {
+        // Arrange
+        when(delegate.getMongoDatabase()).thenReturn(database);
+        when(database.withTimeout(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(timedDatabase);
+        AtomicLong now = new AtomicLong();
+        RequestDeadline deadline = new RequestDeadline("reports", 2000, now::get);
+        DeadlineMongoDatabaseFactory factory = new DeadlineMongoDatabaseFactory(delegate);
+
+        // Act
+        MongoDatabase first = RequestDeadline.call(deadline, factory::getMongoDatabase);
+        now.set(TimeUnit.MILLISECONDS.toNanos(1500));
+        RequestDeadline.call(deadline, factory::getMongoDatabase);
+
+        // Assert
+        assertSame(timedDatabase, first);
+        ArgumentCaptor<Long> timeouts = ArgumentCaptor.forClass(Long.class);
+        verify(database, times(2)).withTimeout(timeouts.capture(), eq(TimeUnit.MILLISECONDS));
+        assertEquals(2000L, timeouts.getAllValues().get(0));
+        assertEquals(500L, timeouts.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Should not start an operation once the deadline has passed")
+    void testGetMongoDatabase_Expired() {
+        // Arrange
+        when(delegate.getMongoDatabase("sample_mflix")).thenReturn(database);
+        AtomicLong now = new AtomicLong();
+        RequestDeadline deadline = new RequestDeadline("search", 100, now::get);
+        now.set(TimeUnit.MILLISECONDS.toNanos(150));
+        DeadlineMongoDatabaseFactory factory = new DeadlineMongoDatabaseFactory(delegate);
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class,
+                () -> RequestDeadline.call(deadline, () -> factory.getMongoDatabase("sample_mflix")));
+        verify(database, never()).withTimeout(anyLong(), any());
+    }
+}
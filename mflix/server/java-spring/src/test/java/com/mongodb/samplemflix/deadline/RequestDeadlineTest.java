@@ -0,0 +1,149 @@
+package com.mongodb.samplemflix.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for request deadlines and the per-endpoint budgets they are started from.
+ */
+@DisplayName("RequestDeadline Unit Tests")
+class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.restore(null);
+    }
+
+    // ==================== BUDGET TESTS ====================
+
+    @Test
+    @DisplayName("Should pick the budget by endpoint")
+    void testBudgetFor_Endpoints() {
+        assertEquals("reports", DeadlineBudgets.budgetFor("/api/movies/aggregations/reportingByYear"));
+        assertEquals("search", DeadlineBudgets.budgetFor("/api/movies/search"));
+        assertEquals("search", DeadlineBudgets.budgetFor("/api/movies/facets/genres"));
+        assertEquals("vector-search", DeadlineBudgets.budgetFor("/api/movies/vector-search"));
+        assertEquals("vector-search", DeadlineBudgets.budgetFor("/api/movies/find-similar-movies"));
+        assertEquals("bulk", DeadlineBudgets.budgetFor("/api/movies/bulk"));
+        assertEquals("export", DeadlineBudgets.budgetFor("/api/movies/export"));
+        assertEquals("default", DeadlineBudgets.budgetFor("/api/movies/573a1390f29313caabcd4135"));
+    }
+
+    @Test
+    @DisplayName("Should let the timeout header shorten the budget but not extend it")
+    void testStart_TimeoutHeader() {
+        // Arrange
+        DeadlineBudgets budgets = new DeadlineBudgets();
+
+        // Act & Assert
+        assertEquals(5000, budgets.start("/api/movies/search", null).getBudgetMs());
+        assertEquals(750, budgets.start("/api/movies/search", "750").getBudgetMs());
+        assertEquals(5000, budgets.start("/api/movies/search", "60000").getBudgetMs());
+        assertEquals(5000, budgets.start("/api/movies/search", "soon").getBudgetMs());
+        assertEquals(5000, budgets.start("/api/movies/search", "-1").getBudgetMs());
+    }
+
+    @Test
+    @DisplayName("Should not start deadlines outside the API or when disabled")
+    void testStart_NoDeadline() {
+        // Arrange
+        DeadlineBudgets budgets = new DeadlineBudgets();
+
+        // Act & Assert
+        assertNull(budgets.start("/swagger-ui/index.html", null));
+
+        ReflectionTestUtils.setField(budgets, "enabled", false);
+        assertNull(budgets.start("/api/movies/search", null));
+    }
+
+    // ==================== EXPIRY TESTS ====================
+
+    @Test
+    @DisplayName("Should count down the remaining time and fail once it is used up")
+    void testCheck_Expired() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        RequestDeadline deadline = new RequestDeadline("search", 100, now::get);
+
+        // Act & Assert
+        assertEquals(100, deadline.remainingMillis());
+        deadline.check();
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(40, deadline.remainingMillis());
+        assertFalse(deadline.isExpired());
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingMillis());
+        // Never hand out a timeout of 0, which would mean "no timeout"
+        assertEquals(1, deadline.timeoutMillis());
+        DeadlineExceededException exception = assertThrows(DeadlineExceededException.class, deadline::check);
+        assertEquals("Request did not complete within its 100 ms search budget", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should recognize driver timeouts wrapped by Spring Data")
+    void testIsTimeout_CauseChain() {
+        // Arrange
+        UncategorizedMongoDbException wrapped = new UncategorizedMongoDbException(
+                "timed out", new MongoOperationTimeoutException("Operation exceeded the timeout limit"));
+
+        // Act & Assert
+        assertTrue(DeadlineExceededException.isTimeout(wrapped));
+        assertFalse(DeadlineExceededException.isTimeout(new IllegalStateException("boom")));
+    }
+
+    // ==================== PROPAGATION TESTS ====================
+
+    @Test
+    @DisplayName("Should carry the deadline to the thread that runs the work")
+    void testPropagate_OtherThread() throws Exception {
+        // Arrange
+        RequestDeadline deadline = RequestDeadline.start("default", 10000);
+        RequestDeadline.bind(deadline);
+        Supplier<RequestDeadline> work = RequestDeadline.propagate(RequestDeadline::current);
+        RequestDeadline.restore(null);
+
+        // Act
+        RequestDeadline[] seen = new RequestDeadline[2];
+        Thread worker = new Thread(() -> {
+            seen[0] = work.get();
+            seen[1] = RequestDeadline.current();
+        });
+        worker.start();
+        worker.join();
+
+        // Assert
+        assertSame(deadline, seen[0]);
+        assertNull(seen[1], "The deadline should be unbound after the work");
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    @DisplayName("Should name the request budget in timeouts")
+    void testTimedOut_Message() {
+        // Arrange
+        MongoOperationTimeoutException cause = new MongoOperationTimeoutException("timed out");
+
+        // Act
+        DeadlineExceededException outside = RequestDeadline.timedOut(cause);
+        DeadlineExceededException inside = RequestDeadline.call(
+                RequestDeadline.start("reports", 25000), () -> RequestDeadline.timedOut(cause));
+
+        // Assert
+        assertEquals("Operation timed out", outside.getMessage());
+        assertEquals("Request did not complete within its 25000 ms reports budget", inside.getMessage());
+        assertSame(cause, inside.getCause());
+    }
+}
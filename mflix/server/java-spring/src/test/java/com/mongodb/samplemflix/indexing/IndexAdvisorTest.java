@@ -0,0 +1,167 @@
+package com.mongodb.samplemflix.indexing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the index advisor's review pass.
+ *
+ * Shapes are recorded on a real QueryShapeRecorder; the database is mocked to return
+ * canned explain results and index lists.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndexAdvisor Unit Tests")
+class IndexAdvisorTest {
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private MongoCollection<Document> movies;
+
+    private QueryShapeRecorder recorder;
+    private IndexAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new QueryShapeRecorder();
+        advisor = new IndexAdvisor(database, recorder);
+        ReflectionTestUtils.setField(advisor, "minExecutions", 2L);
+    }
+
+    // ==================== PLAN TESTS ====================
+
+    @Test
+    @DisplayName("Should collect stages from classic and slot-based engine plans")
+    void testPlanStages_NestedPlans() {
+        // Arrange
+        Document classic = explain(new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN")));
+        Document sbe = explain(new Document("queryPlan", new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN"))));
+
+        // Act & Assert
+        assertEquals(List.of("SORT", "COLLSCAN"), IndexAdvisor.planStages(classic));
+        assertEquals(List.of("FETCH", "IXSCAN"), IndexAdvisor.planStages(sbe));
+    }
+
+    // ==================== REVIEW TESTS ====================
+
+    @Test
+    @DisplayName("Should recommend an index for a hot shape with a blocking sort")
+    void testReview_RecommendsIndex() {
+        // Arrange
+        recordListQuery(3);
+        when(database.runCommand(any(Document.class))).thenReturn(explain(new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN"))));
+
+        // Act
+        List<IndexAdvisor.Recommendation> recommendations = advisor.review();
+
+        // Assert
+        assertEquals(1, recommendations.size());
+        assertEquals(new Document("year", 1).append("title", 1), recommendations.get(0).indexKeys());
+        assertEquals(3, recommendations.get(0).executions());
+        assertFalse(recommendations.get(0).created());
+        verify(database, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip shapes whose plan already uses an index")
+    void testReview_IndexedPlan() {
+        // Arrange
+        recordListQuery(3);
+        when(database.runCommand(any(Document.class))).thenReturn(explain(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN"))));
+
+        // Act & Assert
+        assertTrue(advisor.review().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should create the recommended index when auto-create is on and budget remains")
+    void testReview_CreatesIndex() {
+        // Arrange
+        ReflectionTestUtils.setField(advisor, "autoCreate", true);
+        recordListQuery(3);
+        when(database.runCommand(any(Document.class))).thenReturn(explain(new Document("stage", "COLLSCAN")));
+        mockIndexes(new Document("name", "_id_").append("key", new Document("_id", 1)));
+
+        // Act
+        List<IndexAdvisor.Recommendation> recommendations = advisor.review();
+
+        // Assert
+        assertTrue(recommendations.get(0).created());
+        ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+        verify(movies).createIndex(eq(new Document("year", 1).append("title", 1)), options.capture());
+        assertEquals("advisor_year_1_title_1", options.getValue().getName());
+    }
+
+    @Test
+    @DisplayName("Should not create an index once the budget is used up")
+    void testReview_BudgetUsedUp() {
+        // Arrange
+        ReflectionTestUtils.setField(advisor, "autoCreate", true);
+        ReflectionTestUtils.setField(advisor, "maxIndexes", 1);
+        recordListQuery(3);
+        when(database.runCommand(any(Document.class))).thenReturn(explain(new Document("stage", "COLLSCAN")));
+        mockIndexes(new Document("name", "advisor_rated_1").append("key", new Document("rated", 1)));
+
+        // Act
+        List<IndexAdvisor.Recommendation> recommendations = advisor.review();
+
+        // Assert
+        assertFalse(recommendations.get(0).created());
+        verify(movies, never()).createIndex(any(), any(IndexOptions.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore shapes below the execution threshold")
+    void testReview_ColdShape() {
+        // Arrange
+        recordListQuery(1);
+
+        // Act & Assert
+        assertTrue(advisor.review().isEmpty());
+        verifyNoInteractions(database);
+    }
+
+    private void recordListQuery(int times) {
+        for (int i = 0; i < times; i++) {
+            recorder.record(new Document("year", 1990 + i), new Document("title", 1));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockIndexes(Document... indexes) {
+        ListIndexesIterable<Document> iterable = mock(ListIndexesIterable.class);
+        when(database.getCollection("movies")).thenReturn(movies);
+        when(movies.listIndexes()).thenReturn(iterable);
+        when(iterable.into(any())).thenAnswer(invocation -> {
+            List<Document> target = invocation.getArgument(0);
+            target.addAll(List.of(indexes));
+            return target;
+        });
+    }
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
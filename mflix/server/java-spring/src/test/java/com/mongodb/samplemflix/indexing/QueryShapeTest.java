@@ -0,0 +1,85 @@
+package com.mongodb.samplemflix.indexing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+/**
+ * Unit tests for query shape classification and equality-sort-range index keys.
+ */
+@DisplayName("QueryShape Unit Tests")
+class QueryShapeTest {
+
+    @Test
+    @DisplayName("Should classify equality, regex and comparison filters")
+    void testOf_ClassifiesFilters() {
+        // Arrange
+        Query query = new Query()
+                .addCriteria(Criteria.where("genres").regex(Pattern.compile("drama", Pattern.CASE_INSENSITIVE)))
+                .addCriteria(Criteria.where("year").is(1999))
+                .addCriteria(Criteria.where("imdb.rating").gte(7.0).lte(9.0))
+                .with(Sort.by(Sort.Direction.DESC, "title"));
+
+        // Act
+        QueryShape shape = QueryShape.of(query.getQueryObject(), query.getSortObject());
+
+        // Assert
+        assertEquals(List.of("year"), shape.equality());
+        assertEquals(List.of("genres", "imdb.rating"), shape.range());
+        assertEquals(List.of(new QueryShape.SortKey("title", -1)), shape.sort());
+        assertTrue(shape.isIndexable());
+    }
+
+    @Test
+    @DisplayName("Should give queries that differ only in values the same shape")
+    void testOf_IgnoresValues() {
+        // Arrange
+        Document sort = new Document("title", 1);
+
+        // Act
+        QueryShape first = QueryShape.of(new Document("year", 1999), sort);
+        QueryShape second = QueryShape.of(new Document("year", new Document("$in", List.of(2000, 2001))), sort);
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, QueryShape.of(new Document("year", 1999), new Document("title", -1)));
+    }
+
+    @Test
+    @DisplayName("Should order index keys equality first, then sort, then range")
+    void testIndexKeys_EqualitySortRange() {
+        // Arrange
+        QueryShape shape = QueryShape.of(
+                new Document("imdb.rating", new Document("$gte", 7.0)).append("year", 1999),
+                new Document("released", -1).append("year", 1));
+
+        // Act
+        Document keys = shape.indexKeys();
+
+        // Assert
+        assertEquals(List.of("year", "released", "imdb.rating"), List.copyOf(keys.keySet()));
+        assertEquals(-1, keys.get("released"));
+    }
+
+    @Test
+    @DisplayName("Should not index text search shapes")
+    void testIsIndexable_TextSearch() {
+        // Arrange
+        Query query = new Query().addCriteria(TextCriteria.forDefaultLanguage().matching("matrix"));
+
+        // Act
+        QueryShape shape = QueryShape.of(query.getQueryObject(), new Document("title", 1));
+
+        // Assert
+        assertTrue(shape.text());
+        assertFalse(shape.isIndexable());
+    }
+}
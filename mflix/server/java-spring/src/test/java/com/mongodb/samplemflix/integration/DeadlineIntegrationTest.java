@@ -0,0 +1,172 @@
+package com.mongodb.samplemflix.integration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.samplemflix.deadline.DeadlineMongoDatabaseFactory;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.service.MovieService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for request deadlines ({@code api.deadline.*}).
+ *
+ * <p>Runs a deliberately slow aggregation (every movie joined against every comment, with no
+ * index to help) under a short deadline and checks that:
+ * <ul>
+ *   <li>the driver sent the remaining time as {@code maxTimeMS}</li>
+ *   <li>the operation failed with a timeout once the deadline passed</li>
+ *   <li>the server stopped the operation, i.e. it no longer shows up in {@code $currentOp}</li>
+ * </ul>
+ *
+ * <p>The {@code $currentOp} check needs the {@code inprog} privilege (e.g. the Atlas
+ * {@code atlasAdmin} role).
+ *
+ * <p>To enable, set the environment variable ENABLE_DEADLINE_TESTS=true
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+@DisplayName("Request Deadline Integration Tests")
+class DeadlineIntegrationTest {
+
+    private static final long BUDGET_MS = 200;
+
+    @Autowired
+    private MovieService movieService;
+
+    private MongoClient client;
+    private MongoTemplate template;
+    private final Map<String, BsonDocument> startedCommands = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    void setUp() {
+        if (!isDeadlineTestsEnabled()) {
+            System.out.println("Skipping deadline tests - ENABLE_DEADLINE_TESTS not set");
+            return;
+        }
+
+        // A client of our own, to see the commands the driver sends
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                BsonDocument command = event.getCommand();
+                if (command.containsKey("comment")) {
+                    startedCommands.put(command.getString("comment").getValue(), command.clone());
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(System.getenv("MONGODB_URI")))
+                .addCommandListener(listener)
+                .build());
+        template = new MongoTemplate(new DeadlineMongoDatabaseFactory(
+                new SimpleMongoClientDatabaseFactory(client, "sample_mflix")));
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send the deadline as maxTimeMS and stop the operation on the server")
+    void testSlowAggregation_CancelledOnServer() throws InterruptedException {
+        if (!isDeadlineTestsEnabled()) {
+            System.out.println("Skipping test - ENABLE_DEADLINE_TESTS not set");
+            return;
+        }
+
+        // Arrange
+        String tag = "deadline-test-" + UUID.randomUUID();
+        List<Document> pipeline = List.of(
+                new Document("$lookup", new Document("from", "comments")
+                        .append("let", new Document("title", "$title"))
+                        .append("pipeline", List.of(new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$text", "$$title"))))))
+                        .append("as", "matchingComments")),
+                new Document("$count", "movies"));
+
+        // Act
+        long start = System.nanoTime();
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> RequestDeadline.call(RequestDeadline.start("test", BUDGET_MS),
+                        () -> template.getCollection("movies")
+                                .aggregate(pipeline)
+                                .comment(tag)
+                                .into(new ArrayList<>())));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(DeadlineExceededException.isTimeout(exception),
+                "Expected a timeout, got " + exception);
+        assertTrue(elapsedMs < BUDGET_MS + 2000, "The client waited " + elapsedMs + " ms");
+
+        BsonDocument command = startedCommands.get(tag);
+        assertNotNull(command, "The aggregation was not sent");
+        assertTrue(command.containsKey("maxTimeMS"), "maxTimeMS was not sent: " + command.toJson());
+        long maxTimeMs = command.getNumber("maxTimeMS").longValue();
+        assertTrue(maxTimeMs > 0 && maxTimeMs <= BUDGET_MS, "Unexpected maxTimeMS " + maxTimeMs);
+
+        // The server interrupts the operation at its next yield point
+        List<Document> running = runningOperations(tag);
+        for (int attempt = 0; attempt < 20 && !running.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            running = runningOperations(tag);
+        }
+        assertTrue(running.isEmpty(), "The aggregation is still running on the server: " + running);
+    }
+
+    @Test
+    @DisplayName("Should fail a report that outlives its deadline with a timeout")
+    void testReport_DeadlineExceeded() {
+        if (!isDeadlineTestsEnabled()) {
+            System.out.println("Skipping test - ENABLE_DEADLINE_TESTS not set");
+            return;
+        }
+
+        // Act & Assert: the application's MongoTemplate applies the deadline too
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> RequestDeadline.call(RequestDeadline.start("reports", 1),
+                        () -> movieService.getMoviesWithMostRecentComments(50, null)));
+        assertTrue(DeadlineExceededException.isTimeout(exception), "Expected a timeout, got " + exception);
+    }
+
+    private List<Document> runningOperations(String tag) {
+        return client.getDatabase("admin")
+                .aggregate(List.of(
+                        new Document("$currentOp", new Document("allUsers", true)),
+                        new Document("$match", new Document("command.comment", tag))))
+                .into(new ArrayList<>());
+    }
+
+    private static boolean isDeadlineTestsEnabled() {
+        return "true".equalsIgnoreCase(System.getenv("ENABLE_DEADLINE_TESTS"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.mongodb.samplemflix.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.service.MovieService;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for the covered grid listing ({@code GET /api/movies?view=grid}).
+ *
+ * <p>These tests run {@code explain} against a real sample_mflix database to check that the grid
+ * indexes created by DatabaseVerification answer the common filter/sort combinations without
+ * fetching a single document, and print the latency of the grid listing next to the
+ * full-document listing.
+ *
+ * <p>Any MongoDB deployment with sample_mflix loaded works (Atlas is not required).
+ * To enable, set the environment variable ENABLE_INDEX_TESTS=true
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+@DisplayName("Movie Grid Integration Tests")
+class MovieGridIntegrationTest {
+
+    private static final int LATENCY_RUNS = 200;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    @DisplayName("Should answer grid queries from the index without examining documents")
+    void testGridQueries_Covered() {
+        if (!isIndexTestsEnabled()) {
+            System.out.println("Skipping test - ENABLE_INDEX_TESTS not set");
+            return;
+        }
+
+        Document ratingRange = new Document("imdb.rating", new Document("$gte", 7.0).append("$lte", 9.0));
+
+        assertCovered(new Document(), new Document("title", 1));
+        assertCovered(new Document(), new Document("title", -1));
+        assertCovered(new Document("year", 1999), new Document("title", 1));
+        assertCovered(ratingRange, new Document("title", 1));
+        assertCovered(new Document(), new Document("imdb.rating", -1));
+        assertCovered(new Document("year", 1999), new Document("imdb.rating", -1));
+        assertCovered(ratingRange, new Document("imdb.rating", -1));
+    }
+
+    @Test
+    @DisplayName("Should print grid and full-document listing latency")
+    void testGridQueries_Latency() {
+        if (!isIndexTestsEnabled()) {
+            System.out.println("Skipping test - ENABLE_INDEX_TESTS not set");
+            return;
+        }
+
+        MovieSearchQuery byYear = MovieSearchQuery.builder().year(1999).sortBy("title").limit(50).build();
+        MovieSearchQuery byRating = MovieSearchQuery.builder().minRating(7.0).sortBy("imdb.rating")
+                .sortOrder("desc").limit(50).build();
+
+        printLatency("year=1999 sort=title", () -> movieService.getAllMovies(byYear).size(),
+                () -> movieService.getMovieGrid(byYear).size());
+        printLatency("minRating=7 sort=-imdb.rating", () -> movieService.getAllMovies(byRating).size(),
+                () -> movieService.getMovieGrid(byRating).size());
+    }
+
+    private void assertCovered(Document filter, Document sort) {
+        // Same projection as MovieQueries.gridProjection()
+        Document projection = new Document("_id", 1).append("title", 1).append("year", 1)
+                .append("poster", 1).append("imdb.rating", 1);
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain",
+                new Document("find", "movies")
+                        .append("filter", filter)
+                        .append("projection", projection)
+                        .append("sort", sort)
+                        .append("limit", 20))
+                .append("verbosity", "executionStats"));
+
+        Document stats = explain.get("executionStats", Document.class);
+        String shape = "filter " + filter.toJson() + " sort " + sort.toJson();
+        assertTrue(stats.get("nReturned", Number.class).intValue() > 0, "No results for " + shape);
+        assertEquals(0, stats.get("totalDocsExamined", Number.class).intValue(),
+                "Documents examined for " + shape);
+    }
+
+    private static void printLatency(String label, Supplier<Integer> full, Supplier<Integer> grid) {
+        // Warm up both paths so connection setup and JIT do not count
+        for (int i = 0; i < 20; i++) {
+            full.get();
+            grid.get();
+        }
+        long[] fullNanos = time(full);
+        long[] gridNanos = time(grid);
+        System.out.printf("%s: full p50=%.2fms p95=%.2fms, grid p50=%.2fms p95=%.2fms%n", label,
+                percentile(fullNanos, 50), percentile(fullNanos, 95),
+                percentile(gridNanos, 50), percentile(gridNanos, 95));
+    }
+
+    private static long[] time(Supplier<Integer> listing) {
+        long[] nanos = new long[LATENCY_RUNS];
+        for (int i = 0; i < LATENCY_RUNS; i++) {
+            long start = System.nanoTime();
+            listing.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+
+    private boolean isIndexTestsEnabled() {
+        String enabled = System.getenv("ENABLE_INDEX_TESTS");
+        return "true".equalsIgnoreCase(enabled);
+    }
+}
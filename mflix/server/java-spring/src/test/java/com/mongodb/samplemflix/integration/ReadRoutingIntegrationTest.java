@@ -0,0 +1,155 @@
+package com.mongodb.samplemflix.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.service.MovieService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for per-operation read routing ({@code mongodb.read-routing.*}).
+ *
+ * <p>Runs against the local replica set in {@code src/test/replica-set}: reports are routed to the
+ * member tagged {@code nodeType:ANALYTICS} and point reads to the one tagged
+ * {@code nodeType:ELECTABLE}. Each member is asked directly for its {@code serverStatus} command
+ * counters before and after the calls, so the assertions show which member served them.
+ *
+ * <p>To enable, start the replica set, point MONGODB_URI at it and set the environment variable
+ * ENABLE_READ_ROUTING_TESTS=true
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "mongodb.read-routing.reports.read-preference=secondary",
+        "mongodb.read-routing.reports.tags=nodeType:ANALYTICS",
+        "mongodb.read-routing.point-reads.read-preference=secondary",
+        "mongodb.read-routing.point-reads.tags=nodeType:ELECTABLE"
+})
+@DisplayName("Read Routing Integration Tests")
+class ReadRoutingIntegrationTest {
+
+    private static final int CALLS = 10;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Direct connection to each member, by its nodeType tag ("PRIMARY" for the primary)
+    private final Map<String, MongoClient> members = new HashMap<>();
+    private ObjectId movieId;
+
+    @BeforeAll
+    void setUp() {
+        if (!isReadRoutingTestsEnabled()) {
+            System.out.println("Skipping read routing tests - ENABLE_READ_ROUTING_TESTS not set");
+            return;
+        }
+
+        Document hello = mongoTemplate.getDb().runCommand(new Document("hello", 1));
+        List<String> hosts = new ArrayList<>(hello.getList("hosts", String.class));
+        hosts.addAll(hello.getList("passives", String.class, List.of()));
+        for (String host : hosts) {
+            MongoClient member = MongoClients.create("mongodb://" + host + "/?directConnection=true");
+            Document memberHello = member.getDatabase("admin").runCommand(new Document("hello", 1));
+            String role = memberHello.getBoolean("isWritablePrimary", false)
+                    ? "PRIMARY"
+                    : memberHello.get("tags", new Document()).getString("nodeType");
+            members.put(role, member);
+        }
+        assertTrue(members.keySet().containsAll(List.of("PRIMARY", "ELECTABLE", "ANALYTICS")),
+                "Expected the replica set from src/test/replica-set, found members " + members.keySet());
+
+        // Written to every member so the point reads find it on whichever secondary serves them
+        movieId = new ObjectId();
+        mongoTemplate.getCollection("movies").withWriteConcern(WriteConcern.W3)
+                .insertOne(new Document("_id", movieId).append("title", "Read Routing Test").append("year", 2024));
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (movieId != null) {
+            mongoTemplate.getCollection("movies").deleteOne(new Document("_id", movieId));
+        }
+        members.values().forEach(MongoClient::close);
+    }
+
+    @Test
+    @DisplayName("Should run reports on the analytics secondary")
+    void testReports_AnalyticsSecondary() {
+        if (!isReadRoutingTestsEnabled()) {
+            System.out.println("Skipping test - ENABLE_READ_ROUTING_TESTS not set");
+            return;
+        }
+
+        Map<String, Long> before = commandCounts("aggregate");
+        for (int i = 0; i < CALLS; i++) {
+            movieService.getMoviesByYearWithStats();
+            movieService.getDirectorsWithMostMovies(10);
+            movieService.getMoviesWithMostRecentComments(5, null);
+        }
+        Map<String, Long> after = commandCounts("aggregate");
+
+        assertTrue(after.get("ANALYTICS") - before.get("ANALYTICS") >= 3 * CALLS,
+                "Reports did not run on the analytics node: " + before + " -> " + after);
+        // Startup work (index checks, catalog builds) may still be reading from the primary
+        assertTrue(after.get("PRIMARY") - before.get("PRIMARY") < CALLS, "Reports ran on the primary");
+        assertEquals(before.get("ELECTABLE"), after.get("ELECTABLE"), "Reports ran on the other secondary");
+    }
+
+    @Test
+    @DisplayName("Should serve point reads from the tagged secondary")
+    void testPointReads_Secondary() {
+        if (!isReadRoutingTestsEnabled()) {
+            System.out.println("Skipping test - ENABLE_READ_ROUTING_TESTS not set");
+            return;
+        }
+
+        Map<String, Long> before = commandCounts("find");
+        for (int i = 0; i < CALLS; i++) {
+            Movie movie = movieService.getMovieById(movieId.toHexString());
+            assertEquals("Read Routing Test", movie.getTitle());
+        }
+        Map<String, Long> after = commandCounts("find");
+
+        assertTrue(after.get("ELECTABLE") - before.get("ELECTABLE") >= CALLS,
+                "Point reads did not run on the secondary: " + before + " -> " + after);
+        assertTrue(after.get("PRIMARY") - before.get("PRIMARY") < CALLS, "Point reads ran on the primary");
+    }
+
+    private Map<String, Long> commandCounts(String command) {
+        Map<String, Long> counts = new HashMap<>();
+        members.forEach((role, member) -> {
+            Document status = member.getDatabase("admin").runCommand(new Document("serverStatus", 1));
+            Document commands = status.get("metrics", Document.class).get("commands", Document.class);
+            Document counter = commands.get(command, Document.class);
+            counts.put(role, counter == null ? 0L : counter.get("total", Number.class).longValue());
+        });
+        return counts;
+    }
+
+    private static boolean isReadRoutingTestsEnabled() {
+        return "true".equalsIgnoreCase(System.getenv("ENABLE_READ_ROUTING_TESTS"));
+    }
+}
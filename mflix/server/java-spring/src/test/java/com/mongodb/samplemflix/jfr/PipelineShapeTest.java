@@ -0,0 +1,55 @@
+package com.mongodb.samplemflix.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for aggregation pipeline shapes.
+ */
+@DisplayName("PipelineShape Unit Tests")
+class PipelineShapeTest {
+
+    private static List<Document> searchPipeline(String term, int limit, List<Double> vector) {
+        return List.of(
+                new Document("$search", new Document("text", new Document("query", term).append("path", "plot"))),
+                new Document("$match", new Document("year", new Document("$gte", 1990))
+                        .append("embedding", vector)),
+                new Document("$limit", limit),
+                new Document("$project", new Document("title", 1).append("score", new Document("$meta", "searchScore"))));
+    }
+
+    @Test
+    @DisplayName("Should give pipelines that differ only in their values the same shape")
+    void testOf_IgnoresValues() {
+        // Act
+        PipelineShape first = PipelineShape.of(searchPipeline("space", 10, List.of(0.1, 0.2)));
+        PipelineShape second = PipelineShape.of(searchPipeline("pirates", 25, List.of(0.3, 0.4, 0.5)));
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(List.of("$search", "$match", "$limit", "$project"), first.stages());
+        assertEquals("$search > $match > $limit > $project", first.describe());
+        assertTrue(first.hash().matches("[0-9a-f]{16}"), first.hash());
+    }
+
+    @Test
+    @DisplayName("Should tell pipelines apart by stages, fields and field paths")
+    void testOf_StructureChangesHash() {
+        // Arrange
+        List<Document> byYear = List.of(new Document("$group", new Document("_id", "$year")));
+        List<Document> byDirector = List.of(new Document("$group", new Document("_id", "$directors")));
+        List<Document> sorted = List.of(new Document("$group", new Document("_id", "$year")),
+                new Document("$sort", new Document("_id", 1)));
+
+        // Act
+        String year = PipelineShape.of(byYear).hash();
+
+        // Assert
+        assertNotEquals(year, PipelineShape.of(byDirector).hash());
+        assertNotEquals(year, PipelineShape.of(sorted).hash());
+    }
+}
@@ -0,0 +1,186 @@
+package com.mongodb.samplemflix.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for the flight recorder events and the per-route summary of a recording.
+ */
+@DisplayName("RecordingSummary Unit Tests")
+class RecordingSummaryTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private static final List<Document> PIPELINE = List.of(
+            new Document("$match", new Document("year", 1999)),
+            new Document("$limit", 10));
+
+    @TempDir
+    Path tempDir;
+
+    private final RequestEventFilter filter = new RequestEventFilter();
+    private final MongoCommandEventListener listener = new MongoCommandEventListener();
+    private int driverRequestId;
+
+    // ==================== RECORDING TESTS ====================
+
+    @Test
+    @DisplayName("Should attribute commands, pipelines and embeddings to the route of their request")
+    void testRead_PerRouteBreakdown() throws Exception {
+        // Arrange
+        BsonDocument reply = BsonDocument.parse("{\"cursor\": {\"firstBatch\": [{\"title\": \"The Matrix\"}]}, \"ok\": 1}");
+        long replyBytes = new RawBsonDocument(reply, new BsonDocumentCodec()).getByteBuffer().remaining();
+        Path file = tempDir.resolve("mflix.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            enableAll(recording);
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                request("GET", "/api/movies/{id}", HttpServletResponse.SC_OK, () -> {
+                    command("find", "movies", reply);
+                    AggregationEvent.record("getMoviesByYearWithStats", "movies", () -> PIPELINE, () -> null);
+                    EmbeddingEvent embedding = EmbeddingEvent.begin(1, 6);
+                    embedding.responded(200);
+                    embedding.finish(RecordedRequest.currentId());
+                });
+            }
+            request("POST", "/api/movies", HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    () -> failedCommand("insert", "movies"));
+            // A background job: no request to attribute the command to
+            command("find", "movies", reply);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        RecordingSummary summary = RecordingSummary.read(file);
+
+        // Assert
+        Map<String, RecordingSummary.RouteStats> routes = summary.routes().stream()
+                .collect(Collectors.toMap(stats -> stats.route, Function.identity()));
+        assertEquals(3, routes.size(), routes.keySet().toString());
+
+        RecordingSummary.RouteStats getMovie = routes.get("GET /api/movies/{id}");
+        assertEquals(3, getMovie.durations.size());
+        assertEquals(0, getMovie.serverErrors);
+        assertEquals(3, getMovie.mongo.count);
+        assertEquals(3 * replyBytes, getMovie.replyBytes);
+        assertEquals(3, getMovie.aggregations.count);
+        assertEquals(3, getMovie.embeddings.count);
+
+        RecordingSummary.RouteStats createMovie = routes.get("POST /api/movies");
+        assertEquals(1, createMovie.serverErrors);
+        assertEquals(1, createMovie.mongo.count);
+
+        RecordingSummary.RouteStats background = routes.get(RecordingSummary.UNATTRIBUTED);
+        assertEquals(0, background.durations.size());
+        assertEquals(1, background.mongo.count);
+        assertEquals(RecordingSummary.UNATTRIBUTED, summary.routes().get(2).route, "Listed last");
+
+        List<RecordingSummary.ShapeStats> shapes = summary.shapes();
+        assertEquals(1, shapes.size());
+        assertEquals(3, shapes.get(0).durations.size());
+        assertEquals("$match > $limit", shapes.get(0).stages);
+        assertEquals(PipelineShape.of(PIPELINE).hash(), shapes.get(0).hash);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+        String report = out.toString(StandardCharsets.UTF_8);
+        assertTrue(report.contains("GET /api/movies/{id}"), report);
+        assertTrue(report.contains("getMoviesByYearWithStats"), report);
+    }
+
+    @Test
+    @DisplayName("Should record nothing and bind no request ID while the events are disabled")
+    void testFilter_DisabledIsPassThrough() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies");
+        long[] seen = {-1};
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seen[0] = RecordedRequest.currentId();
+            command("find", "movies", new BsonDocument());
+        });
+
+        // Assert
+        assertEquals(0, seen[0]);
+        assertEquals(42, AggregationEvent.record("searchMovies", "movies",
+                () -> fail("The pipeline shape is not needed while disabled"), () -> 42));
+    }
+
+    @Test
+    @DisplayName("Should read the collection a command targets")
+    void testCollection() {
+        assertEquals("movies", MongoCommandEventListener.collection(
+                BsonDocument.parse("{\"aggregate\": \"movies\", \"pipeline\": []}"), "aggregate"));
+        assertEquals("comments", MongoCommandEventListener.collection(
+                BsonDocument.parse("{\"getMore\": {\"$numberLong\": \"12\"}, \"collection\": \"comments\"}"), "getMore"));
+        assertNull(MongoCommandEventListener.collection(BsonDocument.parse("{\"ping\": 1}"), "ping"));
+    }
+
+    // ==================== HELPERS ====================
+
+    private void enableAll(Recording recording) {
+        for (String name : List.of(HttpRequestEvent.NAME, MongoCommandEvent.NAME, AggregationEvent.NAME,
+                EmbeddingEvent.NAME)) {
+            recording.enable(name).withoutThreshold();
+        }
+    }
+
+    private void request(String method, String route, int status, Runnable handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, route.replace("{id}", "573a1390f29313caabcd4135"));
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            handler.run();
+            ((HttpServletResponse) res).setStatus(status);
+        });
+    }
+
+    private void command(String name, String collection, BsonDocument reply) {
+        int requestId = ++driverRequestId;
+        listener.commandStarted(new CommandStartedEvent(null, requestId, requestId, CONNECTION, "sample_mflix", name,
+                new BsonDocument(name, new BsonString(collection))));
+        listener.commandSucceeded(new CommandSucceededEvent(null, requestId, requestId, CONNECTION, "sample_mflix",
+                name, reply, 1_000_000));
+    }
+
+    private void failedCommand(String name, String collection) {
+        int requestId = ++driverRequestId;
+        listener.commandStarted(new CommandStartedEvent(null, requestId, requestId, CONNECTION, "sample_mflix", name,
+                new BsonDocument(name, new BsonString(collection))));
+        listener.commandFailed(new CommandFailedEvent(null, requestId, requestId, CONNECTION, "sample_mflix", name,
+                1_000_000, new MongoSocketReadException("Connection reset", new ServerAddress())));
+    }
+}
@@ -0,0 +1,202 @@
+package com.mongodb.samplemflix.migration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the normalization migration: the per-movie updates it builds and when it
+ * reports the data as normalized.
+ */
+@DisplayName("MovieDataMigration Unit Tests")
+class MovieDataMigrationTest {
+
+    private MongoDatabase database;
+    private ApplicationEventPublisher eventPublisher;
+    private MovieDataMigration migration;
+    private ObjectId testId;
+
+    @BeforeEach
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        migration = new MovieDataMigration(database, eventPublisher);
+        testId = new ObjectId();
+    }
+
+    // ==================== UPDATE TESTS ====================
+
+    @Test
+    @DisplayName("Should convert a string year, guarded by the stored value")
+    void testNormalize_StringYear() {
+        // Arrange
+        RawBsonDocument movie = raw(new Document("_id", testId).append("year", "2010è"));
+
+        // Act
+        UpdateOneModel<RawBsonDocument> update = migration.normalize(movie);
+
+        // Assert
+        assertNotNull(update);
+        assertEquals(BsonDocument.parse("{$and: [{_id: {$oid: '" + testId + "'}}, {year: '2010è'}]}"),
+                update.getFilter().toBsonDocument());
+        assertEquals(BsonDocument.parse("{$set: {year: 2010}, $inc: {version: 1}}"), update.getUpdate().toBsonDocument());
+    }
+
+    @Test
+    @DisplayName("Should remove values that cannot be converted")
+    void testNormalize_UnconvertibleValues() {
+        // Arrange
+        RawBsonDocument movie = raw(new Document("_id", testId)
+                .append("year", "unknown")
+                .append("imdb", new Document("rating", "").append("votes", "").append("id", 42)));
+
+        // Act
+        UpdateOneModel<RawBsonDocument> update = migration.normalize(movie);
+
+        // Assert
+        assertNotNull(update);
+        assertEquals(BsonDocument.parse("{$unset: {year: '', 'imdb.rating': '', 'imdb.votes': ''}, $inc: {version: 1}}"),
+                update.getUpdate().toBsonDocument());
+    }
+
+    @Test
+    @DisplayName("Should convert other numeric types and keep numeric ratings")
+    void testNormalize_NumericTypes() {
+        // Arrange
+        RawBsonDocument movie = raw(new Document("_id", testId)
+                .append("year", 1999.0)
+                .append("imdb", new Document("rating", 7).append("votes", 1_000L)));
+
+        // Act
+        UpdateOneModel<RawBsonDocument> update = migration.normalize(movie);
+
+        // Assert
+        assertNotNull(update);
+        assertEquals(BsonDocument.parse("{$set: {year: 1999, 'imdb.votes': 1000}, $inc: {version: 1}}"),
+                update.getUpdate().toBsonDocument());
+    }
+
+    @Test
+    @DisplayName("Should return null for a movie that is already clean")
+    void testNormalize_CleanMovie() {
+        // Arrange
+        RawBsonDocument movie = raw(new Document("_id", testId)
+                .append("year", 1999)
+                .append("imdb", new Document("rating", 8.7).append("votes", 1_080_566)));
+
+        // Act & Assert
+        assertNull(migration.normalize(movie));
+    }
+
+    // ==================== RUN TESTS ====================
+
+    @Test
+    @DisplayName("Should rescan from the start when a movie is still dirty after the pass")
+    void testRun_RescanDirtyMovies() {
+        // Arrange: the first update loses to an API write, so the movie is still dirty after the pass
+        RawBsonDocument dirty = raw(new Document("_id", testId).append("year", "2010è"));
+        FindIterable<RawBsonDocument> find = movies(
+                new ArrayDeque<>(List.of(List.of(dirty), List.of(dirty))), List.of(dirty));
+        MongoCollection<RawBsonDocument> movies = database.getCollection("movies", RawBsonDocument.class);
+        BulkWriteResult lost = bulkWriteResult(0);
+        BulkWriteResult applied = bulkWriteResult(1);
+        when(movies.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenReturn(lost, applied);
+        migrations();
+        ReflectionTestUtils.setField(migration, "enabled", true);
+        ReflectionTestUtils.setField(migration, "batchDelayMs", 0L);
+
+        // Act
+        migration.run();
+
+        // Assert
+        assertTrue(migration.isNormalized());
+        verify(movies, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(find, times(2)).first();
+        verify(database).runCommand(any(Bson.class));
+        verify(eventPublisher).publishEvent(any(MovieChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should not report normalized data while the schema validator is missing")
+    void testRun_NoValidator() {
+        // Arrange: the data is clean but collMod is not allowed
+        movies(new ArrayDeque<>(), List.of());
+        migrations();
+        when(database.runCommand(any(Bson.class))).thenThrow(new IllegalStateException("not authorized"));
+        ReflectionTestUtils.setField(migration, "enabled", true);
+
+        // Act
+        migration.run();
+
+        // Assert
+        assertFalse(migration.isNormalized());
+    }
+
+    /**
+     * Stubs the movies collection: {@code batches} are returned by the migration's batch
+     * queries in turn, {@code probes} by its dirty-movie checks (then none is found).
+     */
+    @SuppressWarnings("unchecked")
+    private FindIterable<RawBsonDocument> movies(Queue<List<RawBsonDocument>> batches,
+                                                  List<RawBsonDocument> probes) {
+        MongoCollection<RawBsonDocument> movies = mock(MongoCollection.class);
+        FindIterable<RawBsonDocument> find = mock(FindIterable.class);
+        when(database.getCollection("movies", RawBsonDocument.class)).thenReturn(movies);
+        when(movies.find(any(Bson.class))).thenReturn(find);
+        when(find.projection(any())).thenReturn(find);
+        when(find.sort(any())).thenReturn(find);
+        when(find.limit(anyInt())).thenReturn(find);
+        when(find.into(any())).thenAnswer(invocation -> {
+            Collection<RawBsonDocument> target = invocation.getArgument(0);
+            if (!batches.isEmpty()) {
+                target.addAll(batches.poll());
+            }
+            return target;
+        });
+        Queue<RawBsonDocument> remaining = new ArrayDeque<>(probes);
+        when(find.first()).thenAnswer(invocation -> remaining.poll());
+        return find;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void migrations() {
+        MongoCollection<Document> migrations = mock(MongoCollection.class);
+        FindIterable<Document> find = mock(FindIterable.class);
+        when(database.getCollection("migrations")).thenReturn(migrations);
+        when(migrations.find(any(Bson.class))).thenReturn(find);
+    }
+
+    private static BulkWriteResult bulkWriteResult(int modified) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(modified);
+        return result;
+    }
+
+    private static RawBsonDocument raw(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+}
@@ -0,0 +1,193 @@
+package com.mongodb.samplemflix.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the autocomplete index and its prefix trie.
+ *
+ * These tests build the index from in-memory documents (no MongoDB connection).
+ */
+@DisplayName("AutocompleteIndex Unit Tests")
+class AutocompleteIndexTest {
+
+    private AutocompleteIndex index;
+
+    private ObjectId darkKnight;
+    private ObjectId dunkirk;
+    private ObjectId darkCity;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex(mock(MongoTemplate.class));
+
+        darkKnight = new ObjectId();
+        dunkirk = new ObjectId();
+        darkCity = new ObjectId();
+        build(List.of(
+                movie(darkKnight, "The Dark Knight", 2008, 1_500_000, List.of("Christopher Nolan"),
+                        List.of("Christian Bale", "Heath Ledger")),
+                movie(dunkirk, "Dunkirk", 2017, 500_000, List.of("Christopher Nolan"),
+                        List.of("Fionn Whitehead")),
+                movie(darkCity, "Dark City", "1998è", "12,000", List.of("Alex Proyas"),
+                        List.of("Rufus Sewell"))));
+    }
+
+    // ==================== LOOKUP TESTS ====================
+
+    @Test
+    @DisplayName("Should rank suggestions by popularity")
+    void testSuggest_RankedByVotes() {
+        List<AutocompleteSuggestion> result = index.suggest("dar", 10);
+
+        assertEquals(List.of("The Dark Knight", "Dark City"), texts(result));
+        assertEquals(1_500_000L, result.get(0).getPopularity());
+        assertEquals(darkKnight.toHexString(), result.get(0).getMovieId());
+    }
+
+    @Test
+    @DisplayName("Should match from the start of any word, ignoring case and accents")
+    void testSuggest_WordPrefixesAndFolding() {
+        assertEquals(List.of("The Dark Knight"), texts(index.suggest("KNIGH", 10)));
+        assertEquals(List.of("Heath Ledger"), texts(index.suggest("lédg", 10)));
+        assertTrue(index.suggest("ark", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should weight people by the votes of all their movies")
+    void testSuggest_PersonPopularity() {
+        List<AutocompleteSuggestion> result = index.suggest("nolan", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("person", result.get(0).getType());
+        assertEquals(2_000_000L, result.get(0).getPopularity());
+    }
+
+    @Test
+    @DisplayName("Should read dirty year and vote values from the sample data")
+    void testSuggest_DirtyValues() {
+        AutocompleteSuggestion darkCitySuggestion = index.suggest("dark city", 10).get(0);
+
+        assertEquals(1998, darkCitySuggestion.getYear());
+        assertEquals(12_000L, darkCitySuggestion.getPopularity());
+    }
+
+    @Test
+    @DisplayName("Should honour the limit")
+    void testSuggest_Limit() {
+        assertEquals(1, index.suggest("d", 1).size());
+    }
+
+    // ==================== INCREMENTAL UPDATE TESTS ====================
+
+    @Test
+    @DisplayName("Should reflect saved and deleted movies")
+    void testIncrementalUpdates() {
+        Movie tenet = Movie.builder()
+                .id(new ObjectId())
+                .title("Tenet")
+                .year(2020)
+                .imdb(Movie.Imdb.builder().votes(3_000_000).build())
+                .directors(List.of("Christopher Nolan"))
+                .build();
+
+        index.onMovieChange(MovieChangeEvent.saved(List.of(tenet)));
+        index.onMovieChange(MovieChangeEvent.deleted(darkKnight));
+
+        assertEquals(List.of("Tenet"), texts(index.suggest("ten", 10)));
+        assertTrue(index.suggest("knight", 10).isEmpty());
+        assertEquals(3_500_000L, index.suggest("nolan", 10).get(0).getPopularity());
+        assertTrue(index.suggest("heath", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replace a movie when it is saved again")
+    void testIncrementalUpdates_Rename() {
+        Movie renamed = Movie.builder()
+                .id(dunkirk)
+                .title("Dunkirk Extended")
+                .imdb(Movie.Imdb.builder().votes(500_000).build())
+                .build();
+
+        index.onMovieChange(MovieChangeEvent.saved(List.of(renamed)));
+
+        assertEquals(List.of("Dunkirk Extended"), texts(index.suggest("dunk", 10)));
+        assertEquals(1_500_000L, index.suggest("nolan", 10).get(0).getPopularity());
+    }
+
+    // ==================== MEMORY BUDGET TESTS ====================
+
+    @Test
+    @DisplayName("Should keep only the most popular suggestions within the key budget")
+    void testBuild_KeyBudget() {
+        ReflectionTestUtils.setField(index, "maxKeys", 3);
+        List<Document> movies = new ArrayList<>();
+        movies.add(movie(new ObjectId(), "Alpha", 2000, 10, List.of(), List.of()));
+        movies.add(movie(new ObjectId(), "Bravo", 2000, 30, List.of(), List.of()));
+        movies.add(movie(new ObjectId(), "Charlie", 2000, 20, List.of(), List.of()));
+        movies.add(movie(new ObjectId(), "Delta", 2000, 5, List.of(), List.of()));
+
+        build(movies);
+
+        assertEquals(3, index.stats().keys());
+        assertTrue(index.suggest("delta", 10).isEmpty());
+        assertEquals(List.of("Bravo"), texts(index.suggest("b", 10)));
+    }
+
+    // ==================== PREFIX TRIE TESTS ====================
+
+    @Test
+    @DisplayName("Should split and merge compressed edges")
+    void testPrefixTrie_SplitAndMerge() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10, String::length, String::compareTo);
+        trie.insert("romance", "romance");
+        trie.insert("romantic", "romantic");
+        trie.insert("rome", "rome");
+
+        assertEquals(List.of("romantic", "romance", "rome"), trie.lookup("rom"));
+        assertEquals(List.of("romantic", "romance"), trie.lookup("roman"));
+
+        trie.remove("romance", "romance");
+        trie.remove("rome", "rome");
+
+        assertEquals(1, trie.keyCount());
+        assertEquals(List.of("romantic"), trie.lookup("r"));
+        assertTrue(trie.lookup("romance").isEmpty());
+    }
+
+    // ==================== HELPERS ====================
+
+    private void build(List<Document> movies) {
+        AutocompleteIndex.State state = index.build(movies.stream()
+                .map(AutocompleteIndex.MovieSource::from)
+                .toList());
+        ReflectionTestUtils.setField(index, "state", state);
+    }
+
+    private static Document movie(ObjectId id, String title, Object year, Object votes,
+                                  List<String> directors, List<String> cast) {
+        return new Document("_id", id)
+                .append("title", title)
+                .append("year", year)
+                .append("imdb", new Document("votes", votes))
+                .append("directors", directors)
+                .append("cast", cast);
+    }
+
+    private static List<String> texts(List<AutocompleteSuggestion> suggestions) {
+        return suggestions.stream().map(AutocompleteSuggestion::getText).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.mongodb.samplemflix.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the facet catalog's reference counting.
+ *
+ * The catalog is never started, so no scan runs; movies reach it through change events.
+ */
+@DisplayName("FacetCatalog Unit Tests")
+class FacetCatalogTest {
+
+    private FacetCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new FacetCatalog(null);
+    }
+
+    // ==================== BUILD TESTS ====================
+
+    @Test
+    @DisplayName("Should read values from raw documents, trimming and collapsing duplicates")
+    void testBuild_RawDocuments() {
+        // Arrange
+        Document first = new Document("_id", new ObjectId())
+                .append("genres", List.of("Drama", " Drama ", "", "Crime"))
+                .append("rated", "R");
+        Document second = new Document("_id", new ObjectId())
+                .append("genres", List.of("Drama"))
+                .append("countries", "USA")
+                .append("languages", List.of(42, "English"));
+
+        // Act
+        FacetCatalog.State state = FacetCatalog.build(List.of(
+                FacetCatalog.MovieFacets.from(first), FacetCatalog.MovieFacets.from(second)));
+
+        // Assert
+        assertEquals(2L, state.counts("genres").get("Drama"));
+        assertEquals(1L, state.counts("genres").get("Crime"));
+        assertEquals(List.of("USA"), List.copyOf(state.counts("countries").keySet()));
+        assertEquals(List.of("English"), List.copyOf(state.counts("languages").keySet()));
+        assertEquals(1L, state.counts("rated").get("R"));
+    }
+
+    // ==================== CHANGE EVENT TESTS ====================
+
+    @Test
+    @DisplayName("Should count values most common first, ties alphabetically")
+    void testCounts_Ordering() {
+        // Act
+        catalog.onMovieChange(MovieChangeEvent.saved(List.of(
+                movie(new ObjectId(), "Drama", "Comedy"),
+                movie(new ObjectId(), "Drama", "Action"))));
+
+        // Assert
+        List<FacetValueCount> counts = catalog.counts("genres");
+        assertEquals(List.of("Drama", "Action", "Comedy"), counts.stream().map(FacetValueCount::getValue).toList());
+        assertEquals(2L, counts.get(0).getCount());
+        assertEquals(List.of("Action", "Comedy", "Drama"), catalog.values("genres"));
+    }
+
+    @Test
+    @DisplayName("Should move counts when a movie's values change")
+    void testOnMovieChange_Update() {
+        // Arrange
+        ObjectId id = new ObjectId();
+        catalog.onMovieChange(MovieChangeEvent.saved(List.of(movie(id, "Western"))));
+
+        // Act
+        catalog.onMovieChange(MovieChangeEvent.saved(List.of(movie(id, "Horror"))));
+
+        // Assert
+        assertEquals(List.of("Horror"), catalog.values("genres"));
+    }
+
+    @Test
+    @DisplayName("Should drop a value when its last movie is deleted")
+    void testOnMovieChange_DeleteLastMovie() {
+        // Arrange
+        ObjectId noir = new ObjectId();
+        ObjectId drama = new ObjectId();
+        catalog.onMovieChange(MovieChangeEvent.saved(List.of(movie(noir, "Film-Noir", "Drama"), movie(drama, "Drama"))));
+
+        // Act
+        catalog.onMovieChange(MovieChangeEvent.deleted(noir));
+        catalog.onMovieChange(MovieChangeEvent.deleted(noir));
+
+        // Assert
+        assertEquals(List.of("Drama"), catalog.values("genres"));
+        assertEquals(1L, catalog.counts("genres").get(0).getCount());
+        assertEquals(List.of(), catalog.values("countries"));
+    }
+
+    private static Movie movie(ObjectId id, String... genres) {
+        return Movie.builder()
+                .id(id)
+                .genres(List.of(genres))
+                .countries(genres.length > 1 ? List.of("USA") : null)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mongodb.samplemflix.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the browse facets cache.
+ */
+@DisplayName("FacetResultCache Unit Tests")
+class FacetResultCacheTest {
+
+    private FacetResultCache cache;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FacetResultCache();
+        cache.clock = () -> now;
+    }
+
+    @Test
+    @DisplayName("Should share entries across case, whitespace, paging and sort")
+    void testKey_FilterSignature() {
+        FacetResultCache.Key a = FacetResultCache.key(MovieSearchQuery.builder()
+                .genre(" Drama ").q("").limit(20).sortBy("title").build(), "fixed", 5);
+        FacetResultCache.Key b = FacetResultCache.key(MovieSearchQuery.builder()
+                .genre("drama").skip(40).build(), "fixed", 5);
+
+        assertEquals(a, b);
+        assertNotEquals(a, FacetResultCache.key(MovieSearchQuery.builder().genre("drama").build(), "auto", 5));
+    }
+
+    @Test
+    @DisplayName("Should not store a result computed before a movie write")
+    void testPut_StaleGeneration() {
+        FacetResultCache.Key key = FacetResultCache.key(new MovieSearchQuery(), "fixed", 5);
+        long generation = cache.generation();
+
+        cache.onMovieChange(MovieChangeEvent.bulk());
+        cache.put(key, generation, MovieFacetsResult.builder().total(1L).build());
+
+        assertNull(cache.get(key));
+        cache.put(key, cache.generation(), MovieFacetsResult.builder().total(2L).build());
+        assertEquals(2L, cache.get(key).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void testGet_Expired() {
+        FacetResultCache.Key key = FacetResultCache.key(new MovieSearchQuery(), "fixed", 5);
+        cache.put(key, cache.generation(), MovieFacetsResult.builder().total(1L).build());
+
+        now += TimeUnit.SECONDS.toNanos(301);
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,199 @@
+package com.mongodb.samplemflix.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Unit tests for the in-process search index.
+ *
+ * These tests index documents directly (no MongoDB connection) and verify
+ * that queries follow the same semantics as the Atlas Search pipeline.
+ */
+@DisplayName("LocalSearchIndex Unit Tests")
+class LocalSearchIndexTest {
+
+    private LocalSearchIndex index;
+
+    private ObjectId spaceMovie;
+    private ObjectId jawsMovie;
+    private ObjectId dramaMovie;
+
+    @BeforeEach
+    void setUp() {
+        index = new LocalSearchIndex(mock(MongoTemplate.class));
+
+        spaceMovie = indexMovie("A crew embarks on a space adventure to save the galaxy.",
+                List.of("Steven Spielberg"), List.of("Harrison Ford", "Carrie Fisher"));
+        jawsMovie = indexMovie("A great white shark terrorizes a beach town.",
+                List.of("Steven Spielberg"), List.of("Roy Scheider"));
+        dramaMovie = indexMovie("A family drama about space and time.",
+                List.of("Greta Gerwig"), List.of("Saoirse Ronan"));
+    }
+
+    // ==================== PHRASE TESTS ====================
+
+    @Test
+    @DisplayName("Should match plot phrase only when terms are adjacent")
+    void testPhrase_AdjacentTermsOnly() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .plot("space adventure").build(), "must");
+
+        assertEquals(List.of(spaceMovie), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Should not match a phrase across array elements")
+    void testPhrase_DoesNotSpanArrayElements() {
+        FieldIndex cast = new FieldIndex("cast");
+        cast.add(0, TextAnalyzer.analyze(List.of("Harrison Ford", "Carrie Fisher")));
+
+        assertEquals(1, cast.phrase(List.of("harrison", "ford"), new java.util.BitSet()).size());
+        assertTrue(cast.phrase(List.of("ford", "carrie"), new java.util.BitSet()).isEmpty());
+    }
+
+    // ==================== FUZZY TESTS ====================
+
+    @Test
+    @DisplayName("Should match director names with one typo")
+    void testFuzzy_OneEdit() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .directors("Stevan Spielbreg").build(), "must");
+
+        assertEquals(2, hits.size());
+        assertTrue(ids(hits).containsAll(List.of(spaceMovie, jawsMovie)));
+    }
+
+    @Test
+    @DisplayName("Should require the first two characters to match exactly")
+    void testFuzzy_PrefixLength() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .directors("Grete").build(), "must");
+        assertEquals(List.of(dramaMovie), ids(hits));
+
+        List<LocalSearchIndex.SearchHit> noHits = search(MovieSearchRequest.builder()
+                .directors("Xreta").build(), "must");
+        assertTrue(noHits.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should score exact name matches above fuzzy matches")
+    void testFuzzy_ExactScoresHigher() {
+        ObjectId typo = indexMovie("Another plot.", List.of("Steven Spielburg"), List.of());
+
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .directors("Steven Spielberg").build(), "must");
+
+        assertEquals(typo, hits.get(hits.size() - 1).id());
+    }
+
+    // ==================== COMPOUND OPERATOR TESTS ====================
+
+    @Test
+    @DisplayName("Should require all clauses with must")
+    void testCompound_Must() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .plot("space").directors("Spielberg").build(), "must");
+
+        assertEquals(List.of(spaceMovie), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Should accept any clause with should")
+    void testCompound_Should() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .plot("shark").directors("Gerwig").build(), "should");
+
+        assertEquals(2, hits.size());
+        assertTrue(ids(hits).containsAll(List.of(jawsMovie, dramaMovie)));
+    }
+
+    @Test
+    @DisplayName("Should exclude matching documents with mustNot")
+    void testCompound_MustNot() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .directors("Spielberg").build(), "mustNot");
+
+        assertEquals(List.of(dramaMovie), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Should match like must but without scoring with filter")
+    void testCompound_Filter() {
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .plot("space").build(), "filter");
+
+        assertEquals(2, hits.size());
+        hits.forEach(hit -> assertEquals(0.0, hit.score()));
+    }
+
+    // ==================== INCREMENTAL UPDATE TESTS ====================
+
+    @Test
+    @DisplayName("Should reflect replaced and removed documents")
+    void testIncrementalUpdates() {
+        index.index(new Document("_id", jawsMovie).append("plot", "A space shark."));
+        index.remove(spaceMovie);
+
+        List<LocalSearchIndex.SearchHit> hits = search(MovieSearchRequest.builder()
+                .plot("space").build(), "must");
+
+        assertEquals(2, hits.size());
+        assertTrue(ids(hits).containsAll(List.of(jawsMovie, dramaMovie)));
+        assertTrue(search(MovieSearchRequest.builder().directors("Spielberg").build(), "must").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep results correct after compaction")
+    void testCompaction() {
+        for (int i = 0; i < 1500; i++) {
+            ObjectId id = indexMovie("Filler plot " + i, List.of("Director " + i), List.of());
+            if (i < 1200) {
+                index.remove(id);
+            }
+        }
+
+        assertEquals(303, index.stats().documents());
+        assertEquals(List.of(spaceMovie),
+                ids(search(MovieSearchRequest.builder().plot("space adventure").build(), "must")));
+    }
+
+    @Test
+    @DisplayName("Should apply skip and limit to ranked hits")
+    void testPagination() {
+        List<LocalSearchIndex.SearchHit> all = search(MovieSearchRequest.builder()
+                .plot("a").build(), "must");
+        List<LocalSearchIndex.SearchHit> page = index.search(MovieSearchRequest.builder()
+                .plot("a").build(), "must", 1, 1);
+
+        assertEquals(3, all.size());
+        assertEquals(List.of(all.get(1).id()), ids(page));
+    }
+
+    // ==================== HELPERS ====================
+
+    private ObjectId indexMovie(String plot, List<String> directors, List<String> cast) {
+        ObjectId id = new ObjectId();
+        index.index(new Document("_id", id)
+                .append("plot", plot)
+                .append("directors", directors)
+                .append("cast", cast));
+        return id;
+    }
+
+    private List<LocalSearchIndex.SearchHit> search(MovieSearchRequest request, String operator) {
+        return index.search(request, operator, 0, 100);
+    }
+
+    private static List<ObjectId> ids(List<LocalSearchIndex.SearchHit> hits) {
+        return hits.stream().map(LocalSearchIndex.SearchHit::id).toList();
+    }
+}
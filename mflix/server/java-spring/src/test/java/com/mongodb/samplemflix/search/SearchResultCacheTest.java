@@ -0,0 +1,130 @@
+package com.mongodb.samplemflix.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.service.MovieChangeEvent;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the search result cache.
+ */
+@DisplayName("SearchResultCache Unit Tests")
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache();
+        cache.clock = () -> now;
+    }
+
+    // ==================== KEY TESTS ====================
+
+    @Test
+    @DisplayName("Should treat case, surrounding and repeated whitespace as equivalent")
+    void testKey_Canonicalization() {
+        SearchResultCache.Key a = SearchResultCache.key(MovieSearchRequest.builder()
+                .cast("  Tom   Hanks ").directors("").build(), "must", 0, 20);
+        SearchResultCache.Key b = SearchResultCache.key(MovieSearchRequest.builder()
+                .cast("tom hanks").build(), "must", 0, 20);
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    @DisplayName("Should distinguish operator and page")
+    void testKey_OperatorAndPage() {
+        MovieSearchRequest request = MovieSearchRequest.builder().plot("space").build();
+
+        assertNotEquals(SearchResultCache.key(request, "must", 0, 20),
+                SearchResultCache.key(request, "should", 0, 20));
+        assertNotEquals(SearchResultCache.key(request, "must", 0, 20),
+                SearchResultCache.key(request, "must", 20, 20));
+    }
+
+    // ==================== LOOKUP TESTS ====================
+
+    @Test
+    @DisplayName("Should return stored hits and count hits and misses")
+    void testGet_HitAndMiss() {
+        SearchResultCache.Key key = key("space");
+        ObjectId id = new ObjectId();
+
+        assertNull(cache.get(key));
+        cache.put(key, cache.generation(), List.of(id), new double[] {2.0}, TimeUnit.MILLISECONDS.toNanos(30));
+
+        SearchResultCache.CachedHits cached = cache.get(key);
+        assertEquals(List.of(id), cached.idList());
+        cache.recordHit(cached, TimeUnit.MILLISECONDS.toNanos(10));
+
+        SearchResultCache.CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRatio());
+        assertEquals(20, stats.savedMillis());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void testGet_Expired() {
+        SearchResultCache.Key key = key("space");
+        cache.put(key, cache.generation(), List.of(new ObjectId()), new double[] {1.0}, 0);
+
+        now += TimeUnit.SECONDS.toNanos(61);
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void testPut_SizeBound() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.put(key("a"), 0, List.of(), new double[0], 0);
+        cache.put(key("b"), 0, List.of(), new double[0], 0);
+        cache.get(key("a"));
+        cache.put(key("c"), 0, List.of(), new double[0], 0);
+
+        assertNotNull(cache.get(key("a")));
+        assertNull(cache.get(key("b")));
+        assertNotNull(cache.get(key("c")));
+    }
+
+    // ==================== INVALIDATION TESTS ====================
+
+    @Test
+    @DisplayName("Should clear all entries on a movie write")
+    void testInvalidation_OnWrite() {
+        cache.put(key("space"), cache.generation(), List.of(new ObjectId()), new double[] {1.0}, 0);
+
+        cache.onMovieChange(MovieChangeEvent.deleted(new ObjectId()));
+
+        assertNull(cache.get(key("space")));
+    }
+
+    @Test
+    @DisplayName("Should not store results of a search that raced with a write")
+    void testInvalidation_StaleGeneration() {
+        long generation = cache.generation();
+        cache.onMovieChange(MovieChangeEvent.bulk());
+
+        cache.put(key("space"), generation, List.of(new ObjectId()), new double[] {1.0}, 0);
+
+        assertEquals(0, cache.size());
+    }
+
+    // ==================== HELPERS ====================
+
+    private static SearchResultCache.Key key(String plot) {
+        return SearchResultCache.key(MovieSearchRequest.builder().plot(plot).build(), "must", 0, 20);
+    }
+}
@@ -0,0 +1,164 @@
+package com.mongodb.samplemflix.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the request-to-document field mapping used by PATCH and bulk writes.
+ */
+@DisplayName("MovieRequestFields Unit Tests")
+class MovieRequestFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // ==================== UPDATE TESTS ====================
+
+    @Test
+    @DisplayName("Should set the same fields as the Jackson Map conversion it replaces")
+    void testUpdate_MatchesJacksonConversion() {
+        // Arrange
+        UpdateMovieRequest request = UpdateMovieRequest.builder()
+                .title("The Matrix")
+                .year(1999)
+                .plot("A hacker learns the truth.")
+                .fullplot("A hacker learns the truth about his reality.")
+                .genres(List.of("Action", "Sci-Fi"))
+                .directors(List.of("Lana Wachowski"))
+                .writers(List.of("Lilly Wachowski"))
+                .cast(List.of("Keanu Reeves"))
+                .countries(List.of("USA"))
+                .languages(List.of("English"))
+                .rated("R")
+                .runtime(136)
+                .poster("https://example.com/poster.jpg")
+                .build();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> converted = objectMapper.convertValue(request, Map.class);
+        converted.values().removeIf(value -> value == null);
+
+        // Act
+        Document update = MovieRequestFields.update(request).getUpdateObject();
+
+        // Assert
+        assertEquals(new Document(converted), update.get("$set"));
+        assertNull(update.get("$unset"));
+    }
+
+    @Test
+    @DisplayName("Should unset fields sent as null and leave absent fields alone")
+    void testUpdate_ExplicitNulls() throws Exception {
+        // Arrange
+        UpdateMovieRequest request = objectMapper.readValue(
+                "{\"runtime\": 140, \"poster\": null, \"rated\": null}", UpdateMovieRequest.class);
+
+        // Act
+        Document update = MovieRequestFields.update(request).getUpdateObject();
+
+        // Assert
+        assertEquals(new Document("runtime", 140), update.get("$set"));
+        assertEquals(new Document("poster", 1).append("rated", 1), update.get("$unset"));
+    }
+
+    @Test
+    @DisplayName("Should set and unset nested imdb paths")
+    void testUpdate_NestedPaths() throws Exception {
+        // Arrange
+        UpdateMovieRequest partial = objectMapper.readValue(
+                "{\"imdb\": {\"rating\": 7.9, \"votes\": null}}", UpdateMovieRequest.class);
+        UpdateMovieRequest removed = objectMapper.readValue("{\"imdb\": null}", UpdateMovieRequest.class);
+
+        // Act
+        Document partialUpdate = MovieRequestFields.update(partial).getUpdateObject();
+        Document removedUpdate = MovieRequestFields.update(removed).getUpdateObject();
+
+        // Assert
+        assertEquals(new Document("imdb.rating", 7.9), partialUpdate.get("$set"));
+        assertEquals(new Document("imdb.votes", 1), partialUpdate.get("$unset"));
+        assertEquals(new Document("imdb", 1), removedUpdate.get("$unset"));
+    }
+
+    @Test
+    @DisplayName("Should reject removing the title")
+    void testUpdate_NullTitle() throws Exception {
+        // Arrange
+        UpdateMovieRequest request = objectMapper.readValue("{\"title\": null}", UpdateMovieRequest.class);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> MovieRequestFields.update(request));
+    }
+
+    @Test
+    @DisplayName("Should treat a request that only removes fields as non-empty")
+    void testIsEmpty() throws Exception {
+        assertTrue(MovieRequestFields.isEmpty(UpdateMovieRequest.builder().build()));
+        assertTrue(MovieRequestFields.isEmpty(objectMapper.readValue("{}", UpdateMovieRequest.class)));
+        assertFalse(MovieRequestFields.isEmpty(objectMapper.readValue("{\"poster\": null}", UpdateMovieRequest.class)));
+        assertFalse(MovieRequestFields.isEmpty(objectMapper.readValue("{\"imdb\": {\"votes\": 10}}", UpdateMovieRequest.class)));
+    }
+
+    @Test
+    @DisplayName("Should map every property of UpdateMovieRequest")
+    void testUpdateFields_CoverEveryProperty() {
+        Set<String> paths = MovieRequestFields.UPDATE_FIELDS.stream()
+                .map(MovieRequestFields.Field::path)
+                .collect(Collectors.toSet());
+
+        for (String property : properties(UpdateMovieRequest.class)) {
+            assertTrue(paths.contains(property), "Unmapped property: " + property);
+        }
+        for (String property : properties(UpdateMovieRequest.Imdb.class)) {
+            assertTrue(paths.contains("imdb." + property), "Unmapped property: imdb." + property);
+        }
+    }
+
+    // ==================== CREATE TESTS ====================
+
+    @Test
+    @DisplayName("Should build an insert document from the non-null fields")
+    void testDocument() {
+        // Arrange
+        CreateMovieRequest request = CreateMovieRequest.builder()
+                .title("New Movie")
+                .year(2024)
+                .genres(List.of("Drama"))
+                .build();
+
+        // Act
+        Document document = MovieRequestFields.document(request);
+
+        // Assert
+        assertEquals(new Document("title", "New Movie").append("year", 2024).append("genres", List.of("Drama")),
+                document);
+    }
+
+    @Test
+    @DisplayName("Should map every property of CreateMovieRequest")
+    void testCreateFields_CoverEveryProperty() {
+        Set<String> paths = MovieRequestFields.CREATE_FIELDS.stream()
+                .map(MovieRequestFields.Field::path)
+                .collect(Collectors.toSet());
+
+        assertEquals(properties(CreateMovieRequest.class), paths);
+    }
+
+    private Set<String> properties(Class<?> type) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties()
+                .stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toSet());
+    }
+}
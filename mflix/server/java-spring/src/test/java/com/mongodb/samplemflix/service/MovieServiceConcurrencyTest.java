@@ -0,0 +1,243 @@
+package com.mongodb.samplemflix.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.samplemflix.exception.PreconditionFailedException;
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.config.IndexReadiness;
+import com.mongodb.samplemflix.config.ReadRouting;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder;
+import com.mongodb.samplemflix.migration.MovieDataMigration;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
+import com.mongodb.samplemflix.repository.MovieRepository;
+import com.mongodb.samplemflix.search.AutocompleteIndex;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import com.mongodb.samplemflix.search.FacetResultCache;
+import com.mongodb.samplemflix.search.LocalSearchIndex;
+import com.mongodb.samplemflix.search.SearchResultCache;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Stress test for single-movie updates with many writers on a few hot movies.
+ *
+ * <p>Each writer repeatedly reads a movie, adds one to its runtime and writes it back, so every
+ * successful write should be visible in the final runtime. The movies collection is an in-memory
+ * map behind a mocked {@link MongoTemplate}; its findAndModify applies the same filter and
+ * update documents the service sends to MongoDB, atomically per call.
+ *
+ * <p>Unconditional writes lose updates whenever two writers read the same version. With the
+ * If-Match version every lost update turns into a 412, which the writer retries after reading
+ * again.
+ */
+@DisplayName("MovieService Concurrency Stress Tests")
+class MovieServiceConcurrencyTest {
+
+    private static final int WRITERS = 16;
+    private static final int HOT_MOVIES = 4;
+    private static final int INCREMENTS_PER_WRITER = 200;
+
+    private final Map<ObjectId, Movie> collection = new HashMap<>();
+    private final List<ObjectId> movieIds = new ArrayList<>();
+
+    private MovieServiceImpl movieService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        MovieRepository movieRepository = mock(MovieRepository.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        movieService = new MovieServiceImpl(movieRepository, mongoTemplate,
+                mock(LocalSearchIndex.class), mock(AutocompleteIndex.class), mock(FacetCatalog.class),
+                mock(FacetResultCache.class), mock(SearchResultCache.class), mock(ApplicationEventPublisher.class),
+                mock(MovieDataMigration.class), mock(QueryShapeRecorder.class),
+                mock(MovieWriteBehindBuffer.class), new ReadRouting(), mock(IndexReadiness.class),
+                new AdaptiveConcurrencyLimiter());
+
+        for (int i = 0; i < HOT_MOVIES; i++) {
+            ObjectId id = new ObjectId();
+            movieIds.add(id);
+            collection.put(id, Movie.builder().id(id).title("Hot Movie " + i).runtime(0).build());
+        }
+
+        when(movieRepository.findById(any(ObjectId.class))).thenAnswer(invocation -> {
+            synchronized (collection) {
+                return Optional.ofNullable(copy(collection.get(invocation.<ObjectId>getArgument(0))));
+            }
+        });
+        when(movieRepository.existsById(any(ObjectId.class))).thenAnswer(invocation -> {
+            synchronized (collection) {
+                return collection.containsKey(invocation.<ObjectId>getArgument(0));
+            }
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenAnswer(invocation -> findAndModify(invocation.getArgument(0), invocation.getArgument(1)));
+
+        executor = Executors.newFixedThreadPool(WRITERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should lose no updates when writers send the version they read")
+    void testConditionalWriters_NoLostUpdates() throws Exception {
+        // Act
+        Result result = run(true);
+
+        // Assert
+        assertEquals(0, result.lostUpdates(), result.summary());
+        long versions = movieIds.stream().mapToLong(id -> collection.get(id).getVersion()).sum();
+        assertEquals((long) WRITERS * INCREMENTS_PER_WRITER, versions);
+        System.out.println("Conditional writers: " + result.summary());
+    }
+
+    @Test
+    @DisplayName("Should count the updates lost by unconditional read-modify-write")
+    void testUnconditionalWriters_CountsLostUpdates() throws Exception {
+        // Act
+        Result result = run(false);
+
+        // Assert: each write applies, but concurrent writers can overwrite each other's increment
+        assertEquals(0, result.conflicts());
+        assertTrue(result.lostUpdates() >= 0 && result.lostUpdates() < (long) WRITERS * INCREMENTS_PER_WRITER);
+        System.out.println("Unconditional writers: " + result.summary());
+    }
+
+    private Result run(boolean conditional) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong conflicts = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_WRITER; i++) {
+                    String id = movieIds.get((writer + i) % HOT_MOVIES).toHexString();
+                    while (true) {
+                        Movie read = movieService.getMovieById(id);
+                        // Widen the window between read and write
+                        Thread.yield();
+                        UpdateMovieRequest request = UpdateMovieRequest.builder().runtime(read.getRuntime() + 1).build();
+                        Integer expectedVersion = conditional ? versionOf(read) : null;
+                        long begin = System.nanoTime();
+                        try {
+                            movieService.updateMovie(id, request, expectedVersion);
+                            latencies.add(System.nanoTime() - begin);
+                            break;
+                        } catch (PreconditionFailedException e) {
+                            latencies.add(System.nanoTime() - begin);
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writerFuture : writers) {
+            writerFuture.get(60, TimeUnit.SECONDS);
+        }
+
+        long applied = movieIds.stream().mapToLong(id -> collection.get(id).getRuntime()).sum();
+        long expected = (long) WRITERS * INCREMENTS_PER_WRITER;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(expected - applied, conflicts.get(), percentile(sorted, 50), percentile(sorted, 99));
+    }
+
+    private Movie findAndModify(Query query, Update update) {
+        Document filter = query.getQueryObject();
+        Document updateObject = update.getUpdateObject();
+        synchronized (collection) {
+            Movie current = collection.get(filter.getObjectId("_id"));
+            if (current == null || !versionMatches(filter.get(Movie.Fields.VERSION), versionOf(current))) {
+                return null;
+            }
+            Movie updated = copy(current);
+            Document set = updateObject.get("$set", Document.class);
+            if (set != null && set.containsKey(Movie.Fields.RUNTIME)) {
+                updated.setRuntime(set.getInteger(Movie.Fields.RUNTIME));
+            }
+            Document inc = updateObject.get("$inc", Document.class);
+            if (inc != null) {
+                updated.setVersion(versionOf(current) + inc.getInteger(Movie.Fields.VERSION));
+            }
+            collection.put(updated.getId(), updated);
+            return copy(updated);
+        }
+    }
+
+    /**
+     * Evaluates the version clause built by {@link MovieQueries#versionedQuery}: absent, an exact
+     * version, or {@code $in: [0, null]} for movies never updated.
+     */
+    private static boolean versionMatches(Object clause, int version) {
+        if (clause == null) {
+            return true;
+        }
+        if (clause instanceof Document operators) {
+            return operators.getList("$in", Object.class).contains(version);
+        }
+        return clause.equals(version);
+    }
+
+    private static int versionOf(Movie movie) {
+        return movie.getVersion() != null ? movie.getVersion() : 0;
+    }
+
+    private static Movie copy(Movie movie) {
+        if (movie == null) {
+            return null;
+        }
+        return Movie.builder()
+                .id(movie.getId())
+                .title(movie.getTitle())
+                .runtime(movie.getRuntime())
+                .version(movie.getVersion())
+                .build();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private record Result(long lostUpdates, long conflicts, long p50Nanos, long p99Nanos) {
+
+        String summary() {
+            return String.format("%d lost updates, %d conflicts retried, write latency p50 %d us, p99 %d us",
+                    lostUpdates, conflicts, TimeUnit.NANOSECONDS.toMicros(p50Nanos),
+                    TimeUnit.NANOSECONDS.toMicros(p99Nanos));
+        }
+    }
+}
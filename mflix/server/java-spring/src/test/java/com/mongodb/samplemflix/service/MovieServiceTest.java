@@ -4,38 +4,83 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.FindIterable;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import com.mongodb.samplemflix.concurrency.AdaptiveConcurrencyLimiter;
+import com.mongodb.samplemflix.config.IndexReadiness;
+import com.mongodb.samplemflix.config.ReadRouting;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import com.mongodb.samplemflix.exception.PreconditionFailedException;
 import com.mongodb.samplemflix.exception.ResourceNotFoundException;
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
 import com.mongodb.samplemflix.exception.ServiceUnavailableException;
 import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder;
+import com.mongodb.samplemflix.migration.MovieDataMigration;
 import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.AutocompleteSuggestion;
 import com.mongodb.samplemflix.model.dto.BatchInsertResponse;
 import com.mongodb.samplemflix.model.dto.BatchUpdateResponse;
+import com.mongodb.samplemflix.model.dto.BulkOperationResult;
+import com.mongodb.samplemflix.model.dto.BulkWriteOperation;
+import com.mongodb.samplemflix.model.dto.BulkWriteRequest;
+import com.mongodb.samplemflix.model.dto.BulkWriteResponse;
 import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
 import com.mongodb.samplemflix.model.dto.DeleteResponse;
 import com.mongodb.samplemflix.model.dto.DirectorStatisticsResult;
+import com.mongodb.samplemflix.model.dto.FacetValueCount;
+import com.mongodb.samplemflix.model.dto.MovieFacetsResult;
 import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
 import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
 import com.mongodb.samplemflix.model.dto.MovieWithCommentsResult;
 import com.mongodb.samplemflix.model.dto.MoviesByYearResult;
 import com.mongodb.samplemflix.model.dto.UpdateMovieRequest;
 import com.mongodb.samplemflix.repository.MovieRepository;
+import com.mongodb.samplemflix.search.AutocompleteIndex;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import com.mongodb.samplemflix.search.FacetResultCache;
+import com.mongodb.samplemflix.search.LocalSearchIndex;
+import com.mongodb.samplemflix.search.SearchResultCache;
 import java.util.*;
+import org.bson.BsonDocument;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
 
 /**
@@ -55,7 +100,40 @@ class MovieServiceTest {
     private MongoTemplate mongoTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private LocalSearchIndex localSearchIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private FacetCatalog facetCatalog;
+
+    @Mock
+    private FacetResultCache facetResultCache;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MovieDataMigration dataMigration;
+
+    @Mock
+    private QueryShapeRecorder queryShapes;
+
+    @Mock
+    private MovieWriteBehindBuffer writeBehind;
+
+    @Spy
+    private ReadRouting readRouting = new ReadRouting();
+
+    @Mock
+    private IndexReadiness indexReadiness;
+
+    @Spy
+    private AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
 
     @InjectMocks
     private MovieServiceImpl movieService;
@@ -111,6 +189,21 @@ class MovieServiceTest {
         verify(mongoTemplate).find(any(Query.class), eq(Movie.class));
     }
 
+    @Test
+    @DisplayName("Should hold back text queries, but not other listings, while the text index is unconfirmed")
+    void testGetAllMovies_TextIndexNotReady() {
+        // Arrange
+        doThrow(new ServiceUnavailableException("Text search unavailable"))
+                .when(indexReadiness).require(IndexReadiness.SearchIndex.TEXT);
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of(testMovie));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class,
+                () -> movieService.getAllMovies(MovieSearchQuery.builder().q("space").build()));
+        assertEquals(List.of(testMovie), movieService.getAllMovies(MovieSearchQuery.builder().genre("Drama").build()));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Movie.class));
+    }
+
     @Test
     @DisplayName("Should get all movies with custom pagination")
     void testGetAllMovies_WithCustomPagination() {
@@ -210,6 +303,165 @@ class MovieServiceTest {
         verify(movieRepository).findById(testId);
     }
 
+    @Test
+    @DisplayName("Should send point reads with the configured read preference")
+    void testGetMovieById_PointReadRouting() {
+        // Arrange
+        ReflectionTestUtils.setField(readRouting, "pointReadsMode", "nearest");
+        ReflectionTestUtils.setField(readRouting, "pointReadsHedge", true);
+        ReflectionTestUtils.invokeMethod(readRouting, "init");
+        when(mongoTemplate.findOne(any(Query.class), eq(Movie.class))).thenReturn(testMovie);
+
+        // Act
+        Movie result = movieService.getMovieById(testId.toHexString());
+
+        // Assert
+        assertSame(testMovie, result);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Movie.class));
+        assertEquals(new Document("_id", testId), query.getValue().getQueryObject());
+        assertEquals(readRouting.pointReads(), query.getValue().getReadPreference());
+        verify(movieRepository, never()).findById(any());
+    }
+
+    // ==================== MOVIE CODEC READ TESTS ====================
+
+    @Test
+    @DisplayName("Should read movies through the codec-backed collection when enabled")
+    @SuppressWarnings("unchecked")
+    void testGetAllMovies_CodecEnabled() {
+        // Arrange
+        ReflectionTestUtils.setField(movieService, "movieCodecEnabled", true);
+        MongoCollection<Document> mockMoviesCollection = mock(MongoCollection.class);
+        MongoCollection<Movie> mockMovieCollection = mock(MongoCollection.class);
+        FindIterable<Movie> mockFindIterable = mock(FindIterable.class);
+
+        when(mongoTemplate.getCollection("movies")).thenReturn(mockMoviesCollection);
+        when(mockMoviesCollection.withDocumentClass(Movie.class)).thenReturn(mockMovieCollection);
+        when(mockMovieCollection.find(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.projection(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.sort(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.skip(0)).thenReturn(mockFindIterable);
+        when(mockFindIterable.limit(100)).thenReturn(mockFindIterable);
+        when(mockFindIterable.into(any())).thenAnswer(invocation -> {
+            List<Movie> target = invocation.getArgument(0);
+            target.add(testMovie);
+            return target;
+        });
+
+        // Act
+        List<Movie> result = movieService.getAllMovies(MovieSearchQuery.builder().limit(500).build());
+
+        // Assert
+        assertEquals(List.of(testMovie), result);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Movie.class));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException from the codec path when movie not found")
+    @SuppressWarnings("unchecked")
+    void testGetMovieById_CodecEnabledNotFound() {
+        // Arrange
+        ReflectionTestUtils.setField(movieService, "movieCodecEnabled", true);
+        MongoCollection<Document> mockMoviesCollection = mock(MongoCollection.class);
+        MongoCollection<Movie> mockMovieCollection = mock(MongoCollection.class);
+        FindIterable<Movie> mockFindIterable = mock(FindIterable.class);
+
+        when(mongoTemplate.getCollection("movies")).thenReturn(mockMoviesCollection);
+        when(mockMoviesCollection.withDocumentClass(Movie.class)).thenReturn(mockMovieCollection);
+        when(mockMovieCollection.find(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.projection(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.first()).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> movieService.getMovieById(testId.toHexString()));
+        verify(movieRepository, never()).findById(any());
+    }
+
+    // ==================== PASSTHROUGH READ TESTS ====================
+
+    @Test
+    @DisplayName("Should return the raw document projected to the movie fields")
+    void testGetMovieByIdRaw_ValidId() {
+        // Arrange
+        RawBsonDocument raw = new RawBsonDocument(new Document("_id", testId).append("title", "Test Movie"),
+                new DocumentCodec());
+        FindIterable<RawBsonDocument> mockFindIterable = mockRawFind();
+        when(mockFindIterable.first()).thenReturn(raw);
+
+        // Act
+        RawBsonDocument result = movieService.getMovieByIdRaw(testId.toHexString());
+
+        // Assert
+        assertSame(raw, result);
+        ArgumentCaptor<Document> projection = ArgumentCaptor.forClass(Document.class);
+        verify(mockFindIterable).projection(projection.capture());
+        assertEquals(1, projection.getValue().get("tomatoes.viewer.rating"));
+        assertFalse(projection.getValue().containsKey("plot_embedding"));
+    }
+
+    @Test
+    @DisplayName("Should throw ValidationException for invalid ID format on the raw path")
+    void testGetMovieByIdRaw_InvalidIdFormat() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> movieService.getMovieByIdRaw("invalid-id"));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the raw document is missing")
+    void testGetMovieByIdRaw_NotFound() {
+        // Arrange
+        FindIterable<RawBsonDocument> mockFindIterable = mockRawFind();
+        when(mockFindIterable.first()).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> movieService.getMovieByIdRaw(testId.toHexString()));
+    }
+
+    // ==================== GRID LISTING TESTS ====================
+
+    @Test
+    @DisplayName("Should project the grid listing to index-covered fields only")
+    void testGetMovieGrid_ProjectsGridFields() {
+        // Arrange
+        RawBsonDocument raw = new RawBsonDocument(new Document("_id", testId).append("title", "Test Movie"),
+                new DocumentCodec());
+        FindIterable<RawBsonDocument> mockFindIterable = mockRawFind();
+        when(mockFindIterable.sort(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.skip(0)).thenReturn(mockFindIterable);
+        when(mockFindIterable.limit(20)).thenReturn(mockFindIterable);
+        when(mockFindIterable.into(any())).thenAnswer(invocation -> {
+            List<RawBsonDocument> target = invocation.getArgument(0);
+            target.add(raw);
+            return target;
+        });
+
+        // Act
+        List<RawBsonDocument> result = movieService.getMovieGrid(MovieSearchQuery.builder().year(1999).build());
+
+        // Assert
+        assertEquals(List.of(raw), result);
+        ArgumentCaptor<Document> projection = ArgumentCaptor.forClass(Document.class);
+        verify(mockFindIterable).projection(projection.capture());
+        assertEquals(List.of("_id", "title", "year", "poster", "imdb.rating"),
+                List.copyOf(projection.getValue().keySet()));
+        verify(queryShapes).record(any(Query.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private FindIterable<RawBsonDocument> mockRawFind() {
+        MongoCollection<Document> mockMoviesCollection = mock(MongoCollection.class);
+        MongoCollection<RawBsonDocument> mockRawCollection = mock(MongoCollection.class);
+        FindIterable<RawBsonDocument> mockFindIterable = mock(FindIterable.class);
+
+        when(mongoTemplate.getCollection("movies")).thenReturn(mockMoviesCollection);
+        when(mockMoviesCollection.withDocumentClass(RawBsonDocument.class)).thenReturn(mockRawCollection);
+        when(mockRawCollection.find(any(Document.class))).thenReturn(mockFindIterable);
+        when(mockFindIterable.projection(any(Document.class))).thenReturn(mockFindIterable);
+        return mockFindIterable;
+    }
+
     // ==================== CREATE MOVIE TESTS ====================
 
     @Test
@@ -278,29 +530,81 @@ class MovieServiceTest {
     // ==================== UPDATE MOVIE TESTS ====================
 
     @Test
-    @DisplayName("Should update movie successfully")
+    @DisplayName("Should update movie with one findAndModify returning the post-image")
     void testUpdateMovie_Success() {
         // Arrange
         String validId = testId.toHexString();
-        Map<String, Object> requestMap = new HashMap<>();
-        requestMap.put("title", "Updated Title");
-        requestMap.put("year", 2025);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenReturn(testMovie);
 
-        when(objectMapper.convertValue(updateRequest, Map.class)).thenReturn(requestMap);
+        // Act
+        Movie result = movieService.updateMovie(validId, updateRequest);
 
-        UpdateResult updateResult = mock(UpdateResult.class);
-        when(updateResult.getMatchedCount()).thenReturn(1L);
-        when(mongoTemplate.updateFirst(any(Query.class), any(org.springframework.data.mongodb.core.query.Update.class), any(Class.class)))
-                .thenReturn(updateResult);
-        when(movieRepository.findById(testId)).thenReturn(Optional.of(testMovie));
+        // Assert
+        assertSame(testMovie, result);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), options.capture(), eq(Movie.class));
+        assertTrue(options.getValue().isReturnNew());
+        assertEquals(new Document("title", "Updated Title").append("year", 2025),
+                update.getValue().getUpdateObject().get("$set"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        verify(movieRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should match the expected version, treating a missing version as 0")
+    void testUpdateMovie_ExpectedVersion() {
+        // Arrange
+        String validId = testId.toHexString();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenReturn(testMovie);
 
         // Act
-        Movie result = movieService.updateMovie(validId, updateRequest);
+        movieService.updateMovie(validId, updateRequest, 3);
+        movieService.updateMovie(validId, updateRequest, 0);
 
         // Assert
-        assertNotNull(result);
-        verify(mongoTemplate).updateFirst(any(Query.class), any(org.springframework.data.mongodb.core.query.Update.class), any(Class.class));
-        verify(movieRepository).findById(testId);
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findAndModify(queries.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class));
+        assertEquals(new Document("_id", testId).append("version", 3), queries.getAllValues().get(0).getQueryObject());
+        assertEquals(new Document("_id", testId).append("version", new Document("$in", Arrays.asList(0, null))),
+                queries.getAllValues().get(1).getQueryObject());
+    }
+
+    @Test
+    @DisplayName("Should queue unconditional updates in the write-behind buffer when it is enabled")
+    void testUpdateMovie_WriteBehind() {
+        // Arrange
+        String validId = testId.toHexString();
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.update(eq(testId), any(Update.class))).thenReturn(testMovie);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenReturn(testMovie);
+
+        // Act
+        Movie buffered = movieService.updateMovie(validId, updateRequest);
+        Movie conditional = movieService.updateMovie(validId, updateRequest, 1);
+
+        // Assert: the If-Match update bypasses the buffer
+        assertSame(testMovie, buffered);
+        assertSame(testMovie, conditional);
+        verify(writeBehind).update(eq(testId), any(Update.class));
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class));
+    }
+
+    @Test
+    @DisplayName("Should throw PreconditionFailedException when the movie exists at another version")
+    void testUpdateMovie_VersionMismatch() {
+        // Arrange
+        String validId = testId.toHexString();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenReturn(null);
+        when(movieRepository.existsById(testId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> movieService.updateMovie(validId, updateRequest, 2));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -311,7 +615,7 @@ class MovieServiceTest {
 
         // Act & Assert
         assertThrows(ValidationException.class, () -> movieService.updateMovie(invalidId, updateRequest));
-        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(org.springframework.data.mongodb.core.query.Update.class), any(Class.class));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), any(Class.class));
     }
 
     @Test
@@ -320,13 +624,10 @@ class MovieServiceTest {
         // Arrange
         String validId = testId.toHexString();
         UpdateMovieRequest emptyRequest = UpdateMovieRequest.builder().build();
-        Map<String, Object> emptyMap = new HashMap<>();
-
-        when(objectMapper.convertValue(emptyRequest, Map.class)).thenReturn(emptyMap);
 
         // Act & Assert
         assertThrows(ValidationException.class, () -> movieService.updateMovie(validId, emptyRequest));
-        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(org.springframework.data.mongodb.core.query.Update.class), any(Class.class));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), any(Class.class));
     }
 
     @Test
@@ -334,30 +635,22 @@ class MovieServiceTest {
     void testUpdateMovie_NotFound() {
         // Arrange
         String validId = testId.toHexString();
-        Map<String, Object> requestMap = new HashMap<>();
-        requestMap.put("title", "Updated Title");
-
-        when(objectMapper.convertValue(updateRequest, Map.class)).thenReturn(requestMap);
-
-        UpdateResult updateResult = mock(UpdateResult.class);
-        when(updateResult.getMatchedCount()).thenReturn(0L);
-        when(mongoTemplate.updateFirst(any(Query.class), any(org.springframework.data.mongodb.core.query.Update.class), any(Class.class)))
-                .thenReturn(updateResult);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Movie.class)))
+                .thenReturn(null);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> movieService.updateMovie(validId, updateRequest));
-        verify(mongoTemplate).updateFirst(any(Query.class), any(org.springframework.data.mongodb.core.query.Update.class), any(Class.class));
-        verify(movieRepository, never()).findById(any());
+        verify(movieRepository, never()).existsById(any());
     }
 
     // ==================== DELETE MOVIE TESTS ====================
 
     @Test
-    @DisplayName("Should delete movie successfully")
+    @DisplayName("Should delete movie with a single deleteOne")
     void testDeleteMovie_Success() {
         // Arrange
         String validId = testId.toHexString();
-        when(movieRepository.existsById(testId)).thenReturn(true);
+        when(mongoTemplate.remove(any(Query.class), eq(Movie.class))).thenReturn(DeleteResult.acknowledged(1));
 
         // Act
         DeleteResponse result = movieService.deleteMovie(validId);
@@ -365,8 +658,8 @@ class MovieServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1L, result.getDeletedCount());
-        verify(movieRepository).existsById(testId);
-        verify(movieRepository).deleteById(testId);
+        verify(mongoTemplate).remove(any(Query.class), eq(Movie.class));
+        verify(movieRepository, never()).existsById(any());
     }
 
     @Test
@@ -377,7 +670,7 @@ class MovieServiceTest {
 
         // Act & Assert
         assertThrows(ValidationException.class, () -> movieService.deleteMovie(invalidId));
-        verify(movieRepository, never()).deleteById(any());
+        verify(mongoTemplate, never()).remove(any(Query.class), any(Class.class));
     }
 
     @Test
@@ -385,12 +678,25 @@ class MovieServiceTest {
     void testDeleteMovie_NotFound() {
         // Arrange
         String validId = testId.toHexString();
+        when(mongoTemplate.remove(any(Query.class), eq(Movie.class))).thenReturn(DeleteResult.acknowledged(0));
         when(movieRepository.existsById(testId)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> movieService.deleteMovie(validId));
+        assertThrows(ResourceNotFoundException.class, () -> movieService.deleteMovie(validId, 1));
         verify(movieRepository).existsById(testId);
-        verify(movieRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw PreconditionFailedException when deleting a movie that changed")
+    void testDeleteMovie_VersionMismatch() {
+        // Arrange
+        String validId = testId.toHexString();
+        when(mongoTemplate.remove(any(Query.class), eq(Movie.class))).thenReturn(DeleteResult.acknowledged(0));
+        when(movieRepository.existsById(testId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> movieService.deleteMovie(validId, 1));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     // ==================== FIND AND DELETE MOVIE TESTS ====================
@@ -614,6 +920,68 @@ class MovieServiceTest {
         verify(mongoTemplate).aggregate(any(Aggregation.class), eq("movies"), eq(DirectorStatisticsResult.class));
     }
 
+    @Test
+    @DisplayName("Should filter on the year type until the movie data is normalized")
+    void testGetMoviesByYearWithStats_DirtyDataTypeFilter() {
+        // Act
+        Document yearFilter = captureByYearMatch();
+
+        // Assert
+        assertEquals(new Document("$type", 16), yearFilter);
+    }
+
+    @Test
+    @DisplayName("Should filter on a year range once the movie data is normalized")
+    void testGetMoviesByYearWithStats_NormalizedRangeFilter() {
+        // Arrange
+        when(dataMigration.isNormalized()).thenReturn(true);
+
+        // Act
+        Document yearFilter = captureByYearMatch();
+
+        // Assert
+        assertEquals(new Document("$gte", Integer.MIN_VALUE), yearFilter);
+    }
+
+    @Test
+    @DisplayName("Should run reports with the configured read preference")
+    void testGetMoviesByYearWithStats_ReportRouting() {
+        // Arrange
+        ReflectionTestUtils.setField(readRouting, "reportsMode", "secondary");
+        ReflectionTestUtils.setField(readRouting, "reportsTags", "nodeType:ANALYTICS");
+        ReflectionTestUtils.invokeMethod(readRouting, "init");
+        @SuppressWarnings("unchecked")
+        AggregationResults<MoviesByYearResult> mockResults = mock(AggregationResults.class);
+        when(mockResults.getMappedResults()).thenReturn(List.of());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("movies"), eq(MoviesByYearResult.class)))
+                .thenReturn(mockResults);
+
+        // Act
+        movieService.getMoviesByYearWithStats();
+
+        // Assert
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("movies"), eq(MoviesByYearResult.class));
+        ReadPreference readPreference = aggregation.getValue().getOptions().getReadPreference();
+        assertEquals(ReadPreference.secondary(new TagSet(new Tag("nodeType", "ANALYTICS"))),
+                readPreference);
+    }
+
+    private Document captureByYearMatch() {
+        @SuppressWarnings("unchecked")
+        AggregationResults<MoviesByYearResult> mockResults = mock(AggregationResults.class);
+        when(mockResults.getMappedResults()).thenReturn(List.of());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("movies"), eq(MoviesByYearResult.class)))
+                .thenReturn(mockResults);
+
+        movieService.getMoviesByYearWithStats();
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("movies"), eq(MoviesByYearResult.class));
+        Document match = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(0);
+        return match.get("$match", Document.class).get("year", Document.class);
+    }
+
     // ==================== BATCH UPDATE TESTS ====================
 
     @Test
@@ -691,6 +1059,152 @@ class MovieServiceTest {
         verify(mongoTemplate, never()).remove(any(Query.class), (Class<?>) any());
     }
 
+    // ==================== BULK WRITE TESTS ====================
+
+    @Test
+    @DisplayName("Should run mixed operations as one bulk write with converted filters and $set updates")
+    @SuppressWarnings("unchecked")
+    void testBulkWrite_Success() {
+        // Arrange
+        String movieId = new ObjectId().toHexString();
+        BulkWriteRequest request = BulkWriteRequest.builder()
+                .operations(List.of(
+                        BulkWriteOperation.builder().type("insertOne")
+                                .document(CreateMovieRequest.builder().title("New Movie").year(2024).build()).build(),
+                        BulkWriteOperation.builder().type("updateMany")
+                                .filter(Map.of("year", Map.of("$lt", 1950))).update(Map.of("rated", "PASSED")).build(),
+                        BulkWriteOperation.builder().type("deleteOne")
+                                .filter(Map.of("_id", movieId)).build()))
+                .build();
+
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("movies")).thenReturn(collection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(1, 4, 1, 3, List.of(), List.of()));
+
+        // Act
+        BulkWriteResponse result = movieService.bulkWrite(request);
+
+        // Assert
+        ArgumentCaptor<List<WriteModel<Document>>> models = ArgumentCaptor.forClass(List.class);
+        verify(collection).bulkWrite(models.capture(), any(BulkWriteOptions.class));
+        InsertOneModel<Document> insert = (InsertOneModel<Document>) models.getValue().get(0);
+        assertEquals("New Movie", insert.getDocument().getString("title"));
+        UpdateManyModel<Document> update = (UpdateManyModel<Document>) models.getValue().get(1);
+        assertEquals(new Document("year", new Document("$lt", 1950)), update.getFilter());
+        assertEquals(new Document("$set", new Document("rated", "PASSED")).append("$inc", new Document("version", 1)),
+                update.getUpdate());
+        DeleteOneModel<Document> delete = (DeleteOneModel<Document>) models.getValue().get(2);
+        assertEquals(new Document("_id", new ObjectId(movieId)), delete.getFilter());
+
+        assertTrue(result.isOrdered());
+        assertEquals(1L, result.getInsertedCount());
+        assertEquals(3L, result.getModifiedCount());
+        assertEquals(1L, result.getDeletedCount());
+        assertEquals(insert.getDocument().getObjectId("_id").toHexString(), result.getResults().get(0).getInsertedId());
+        assertTrue(result.getResults().stream().allMatch(op -> BulkOperationResult.STATUS_OK.equals(op.getStatus())));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MovieChangeEvent change && change.isBulk()));
+    }
+
+    @Test
+    @DisplayName("Should replace through a pipeline that increments the version, so the ETag changes")
+    @SuppressWarnings("unchecked")
+    void testBulkWrite_ReplaceIncrementsVersion() {
+        // Arrange
+        String movieId = new ObjectId().toHexString();
+        BulkWriteRequest request = BulkWriteRequest.builder()
+                .operations(List.of(BulkWriteOperation.builder().type("replaceOne")
+                        .filter(Map.of("_id", movieId))
+                        .document(CreateMovieRequest.builder().title("$title").year(2024).build()).build()))
+                .build();
+
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("movies")).thenReturn(collection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        // Act
+        movieService.bulkWrite(request);
+
+        // Assert: the version of the current document plus one, not a fresh 0
+        ArgumentCaptor<List<WriteModel<Document>>> models = ArgumentCaptor.forClass(List.class);
+        verify(collection).bulkWrite(models.capture(), any(BulkWriteOptions.class));
+        UpdateOneModel<Document> replace = (UpdateOneModel<Document>) models.getValue().get(0);
+        assertEquals(new Document("_id", new ObjectId(movieId)), replace.getFilter());
+        assertNull(replace.getUpdate());
+
+        List<Document> pipeline = (List<Document>) replace.getUpdatePipeline();
+        Document newRoot = pipeline.get(0).get("$replaceWith", Document.class);
+        assertEquals("$_id", newRoot.get("_id"));
+        assertEquals(new Document("$literal", "$title"), newRoot.get("title"));
+        assertEquals(new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0)), 1)),
+                newRoot.get("version"));
+    }
+
+    @Test
+    @DisplayName("Should stop an ordered bulk write at the first failure and skip later chunks")
+    @SuppressWarnings("unchecked")
+    void testBulkWrite_OrderedFailure() {
+        // Arrange
+        ReflectionTestUtils.setField(movieService, "bulkChunkSize", 2);
+        BulkWriteRequest request = BulkWriteRequest.builder()
+                .operations(List.of(deleteOperation(2001), deleteOperation(2002), deleteOperation(2003)))
+                .build();
+
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("movies")).thenReturn(collection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 4, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(2, "boom", new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of()));
+
+        // Act
+        BulkWriteResponse result = movieService.bulkWrite(request);
+
+        // Assert
+        verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        assertEquals(List.of(BulkOperationResult.STATUS_OK, BulkOperationResult.STATUS_FAILED,
+                        BulkOperationResult.STATUS_SKIPPED),
+                result.getResults().stream().map(BulkOperationResult::getStatus).toList());
+        assertEquals("boom", result.getResults().get(1).getError());
+        assertEquals(1L, result.getFailedCount());
+        assertEquals(4L, result.getDeletedCount());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole request when any operation is invalid")
+    void testBulkWrite_InvalidOperation() {
+        // Arrange
+        BulkWriteRequest request = BulkWriteRequest.builder()
+                .operations(List.of(
+                        deleteOperation(2001),
+                        BulkWriteOperation.builder().type("deleteMany").filter(Map.of()).build()))
+                .build();
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class, () -> movieService.bulkWrite(request));
+        assertTrue(exception.getMessage().startsWith("Operation at index 1: "));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Should report a malformed _id filter as a validation error")
+    void testBulkWrite_InvalidObjectId() {
+        // Arrange
+        BulkWriteRequest request = BulkWriteRequest.builder()
+                .operations(List.of(BulkWriteOperation.builder()
+                        .type("updateOne").filter(Map.of("_id", "not-an-id")).update(Map.of("year", 2000)).build()))
+                .build();
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> movieService.bulkWrite(request));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    private static BulkWriteOperation deleteOperation(int year) {
+        return BulkWriteOperation.builder().type("deleteMany").filter(Map.of("year", year)).build();
+    }
+
     // ==================== TEXT SEARCH TESTS ====================
 
     // Note: Search success tests are covered by integration tests due to complexity of mocking MongoDB aggregation
@@ -708,7 +1222,43 @@ class MovieServiceTest {
         verify(mongoTemplate, never()).find(any(), any());
     }
 
+    @Test
+    @DisplayName("Should hydrate cached search hits without running the search")
+    void testSearchMovies_CacheHit() {
+        // Arrange
+        MovieSearchRequest searchRequest = MovieSearchRequest.builder()
+                .plot("space adventure")
+                .build();
+        SearchResultCache.CachedHits cached = new SearchResultCache.CachedHits(
+                new ObjectId[] {testId}, new double[] {1.5}, 1_000_000L, 0L);
+        when(searchResultCache.get(any())).thenReturn(cached);
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of(testMovie));
 
+        // Act
+        List<Movie> result = movieService.searchMovies(searchRequest);
+
+        // Assert
+        assertEquals(List.of(testMovie), result);
+        verify(searchResultCache).recordHit(eq(cached), anyLong());
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Should report a search stopped by the deadline as a timeout, not a database error")
+    void testSearchMovies_DeadlineExceeded() {
+        // Arrange
+        MovieSearchRequest searchRequest = MovieSearchRequest.builder()
+                .plot("space adventure")
+                .build();
+        when(mongoTemplate.getCollection("movies"))
+                .thenThrow(new MongoOperationTimeoutException("Operation exceeded the timeout limit"));
+
+        // Act & Assert
+        DeadlineExceededException exception = assertThrows(DeadlineExceededException.class,
+                () -> RequestDeadline.call(RequestDeadline.start("search", 5000),
+                        () -> movieService.searchMovies(searchRequest)));
+        assertEquals("Request did not complete within its 5000 ms search budget", exception.getMessage());
+    }
 
     // ==================== VECTOR SEARCH TESTS ====================
 
@@ -768,6 +1318,32 @@ class MovieServiceTest {
         // This would be better as an integration test
     }
 
+    @Test
+    @DisplayName("Should turn vector search away while the vector index is building")
+    void testVectorSearchMovies_IndexBuilding() {
+        // Arrange
+        ReflectionTestUtils.setField(movieService, "voyageApiKey", "test-api-key");
+        doThrow(new ServiceUnavailableException("Vector search unavailable"))
+                .when(indexReadiness).require(IndexReadiness.SearchIndex.VECTOR);
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> movieService.vectorSearchMovies("test query", 10));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not call Voyage AI once the request deadline has passed")
+    void testVectorSearchMovies_DeadlineExpired() {
+        // Arrange
+        ReflectionTestUtils.setField(movieService, "voyageApiKey", "test-api-key");
+        RequestDeadline deadline = RequestDeadline.start("vector-search", 0);
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class,
+                () -> RequestDeadline.call(deadline, () -> movieService.vectorSearchMovies("test query", 10)));
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
     // ==================== FIND SIMILAR MOVIES TESTS ====================
     // Note: Find similar movies success tests are covered by integration tests due to complexity of mocking MongoDB aggregation
 
@@ -879,4 +1455,226 @@ class MovieServiceTest {
         assertEquals("Comedy", result.get(1));
         assertEquals("Drama", result.get(2));
     }
+
+    @Test
+    @DisplayName("Should serve genres from the facet catalog once it is ready")
+    void testGetDistinctGenres_FromCatalog() {
+        // Arrange
+        when(facetCatalog.isReady()).thenReturn(true);
+        when(facetCatalog.values("genres")).thenReturn(List.of("Action", "Drama"));
+
+        // Act
+        List<String> result = movieService.getDistinctGenres();
+
+        // Assert
+        assertEquals(List.of("Action", "Drama"), result);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    // ==================== FACET VALUE COUNTS TESTS ====================
+
+    @Test
+    @DisplayName("Should serve facet value counts from the catalog once it is ready")
+    void testGetFacetValueCounts_FromCatalog() {
+        // Arrange
+        List<FacetValueCount> counts = List.of(new FacetValueCount("USA", 12L), new FacetValueCount("France", 3L));
+        when(facetCatalog.isReady()).thenReturn(true);
+        when(facetCatalog.counts("countries")).thenReturn(counts);
+
+        // Act
+        List<FacetValueCount> result = movieService.getFacetValueCounts("countries");
+
+        // Assert
+        assertEquals(counts, result);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should aggregate facet value counts while the catalog is not ready")
+    @SuppressWarnings("unchecked")
+    void testGetFacetValueCounts_AggregationFallback() {
+        // Arrange
+        AggregationResults<FacetValueCount> results = mock(AggregationResults.class);
+        when(results.getMappedResults()).thenReturn(List.of(new FacetValueCount("PG-13", 7L)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("movies"), eq(FacetValueCount.class)))
+                .thenReturn(results);
+
+        // Act
+        List<FacetValueCount> result = movieService.getFacetValueCounts("rated");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("PG-13", result.get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("Should reject fields that are not facet fields")
+    void testGetFacetValueCounts_InvalidField() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> movieService.getFacetValueCounts("plot"));
+        assertTrue(exception.getMessage().contains("genres, countries, languages, rated"));
+        verifyNoInteractions(facetCatalog, mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should take a concurrency permit only when falling back to MongoDB")
+    void testGetDistinctGenres_PermitOnFallback() {
+        // Arrange: enable the limiter and take its only permit
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 1);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        limiter.init();
+        assertTrue(limiter.tryAcquire());
+        when(facetCatalog.isReady()).thenReturn(true, false);
+        when(facetCatalog.values(Movie.Fields.GENRES)).thenReturn(List.of("Drama"));
+
+        // Act & Assert: the catalog answers without a permit, the distinct query needs one
+        assertEquals(List.of("Drama"), movieService.getDistinctGenres());
+        assertThrows(ServerOverloadedException.class, () -> movieService.getDistinctGenres());
+        verify(mongoTemplate, never()).findDistinct(any(Query.class), anyString(), any(Class.class), any(Class.class));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    // ==================== BROWSE FACETS TESTS ====================
+
+    @Test
+    @DisplayName("Should compute browse facets in one $facet stage after the list filters")
+    @SuppressWarnings("unchecked")
+    void testGetBrowseFacets_SingleFacetStage() {
+        // Arrange
+        MovieSearchQuery query = MovieSearchQuery.builder().genre("drama").minRating(7.0).build();
+        Document facets = new Document("total", List.of(new Document("count", 12)))
+                .append("genres", List.of(new Document("_id", "Drama").append("count", 12)))
+                .append("years", List.of(
+                        new Document("_id", 1990).append("count", 10).append("averageRating", 7.456),
+                        new Document("_id", "other").append("count", 2)))
+                .append("ratings", List.of(new Document("_id", 8.0).append("count", 5)));
+        AggregationResults<Document> results = mock(AggregationResults.class);
+        when(results.getUniqueMappedResult()).thenReturn(facets);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("movies"), eq(Document.class))).thenReturn(results);
+
+        // Act
+        MovieFacetsResult result = movieService.getBrowseFacets(query, "fixed", null);
+
+        // Assert
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("movies"), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(2, pipeline.size());
+        assertTrue(pipeline.get(0).get("$match", Document.class).containsKey("genres"));
+        assertEquals(List.of("total", "genres", "years", "ratings"),
+                List.copyOf(pipeline.get(1).get("$facet", Document.class).keySet()));
+
+        assertEquals(12L, result.getTotal());
+        assertEquals("Drama", result.getGenres().get(0).getValue());
+        assertEquals(1, result.getYears().size());
+        assertEquals(1990, result.getYears().get(0).getMin());
+        assertEquals(2000, result.getYears().get(0).getMax());
+        assertEquals(7.46, result.getYears().get(0).getAverageRating());
+        assertEquals(10.1, result.getRatings().get(0).getMax());
+        verify(facetResultCache).put(any(), anyLong(), eq(result));
+    }
+
+    @Test
+    @DisplayName("Should use $bucketAuto ranges in auto mode")
+    @SuppressWarnings("unchecked")
+    void testGetBrowseFacets_AutoBuckets() {
+        // Arrange
+        Document facets = new Document("years", List.of(new Document("_id",
+                new Document("min", 1915).append("max", 1980)).append("count", 4)));
+        AggregationResults<Document> results = mock(AggregationResults.class);
+        when(results.getUniqueMappedResult()).thenReturn(facets);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("movies"), eq(Document.class))).thenReturn(results);
+
+        // Act
+        MovieFacetsResult result = movieService.getBrowseFacets(new MovieSearchQuery(), "AUTO", 50);
+
+        // Assert
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("movies"), eq(Document.class));
+        Document facet = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(1).get("$facet", Document.class);
+        Document yearBuckets = facet.getList("years", Document.class).get(1).get("$bucketAuto", Document.class);
+        assertEquals(20, yearBuckets.get("buckets"));
+
+        assertEquals(0L, result.getTotal());
+        assertEquals(1915, result.getYears().get(0).getMin());
+        assertEquals(1980, result.getYears().get(0).getMax());
+    }
+
+    @Test
+    @DisplayName("Should return cached browse facets without aggregating")
+    void testGetBrowseFacets_CacheHit() {
+        // Arrange
+        MovieFacetsResult cached = MovieFacetsResult.builder().total(3L).build();
+        when(facetResultCache.get(any())).thenReturn(cached);
+
+        // Act
+        MovieFacetsResult result = movieService.getBrowseFacets(new MovieSearchQuery(), null, null);
+
+        // Assert
+        assertSame(cached, result);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown bucket mode")
+    void testGetBrowseFacets_InvalidMode() {
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> movieService.getBrowseFacets(new MovieSearchQuery(), "linear", 5));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    // ==================== AUTOCOMPLETE TESTS ====================
+
+    @Test
+    @DisplayName("Should return suggestions from the autocomplete index")
+    void testAutocomplete_Success() {
+        // Arrange
+        List<AutocompleteSuggestion> suggestions = List.of(AutocompleteSuggestion.builder()
+                .text("The Dark Knight").type("title").popularity(1000L).build());
+        when(autocompleteIndex.isEnabled()).thenReturn(true);
+        when(autocompleteIndex.isReady()).thenReturn(true);
+        when(autocompleteIndex.suggest("dark", 5)).thenReturn(suggestions);
+
+        // Act
+        List<AutocompleteSuggestion> result = movieService.autocomplete("dark", 5);
+
+        // Assert
+        assertEquals(suggestions, result);
+    }
+
+    @Test
+    @DisplayName("Should clamp limit to the index maximum")
+    void testAutocomplete_ClampsLimit() {
+        // Arrange
+        when(autocompleteIndex.isEnabled()).thenReturn(true);
+        when(autocompleteIndex.isReady()).thenReturn(true);
+
+        // Act
+        movieService.autocomplete("dark", 500);
+
+        // Assert
+        verify(autocompleteIndex).suggest("dark", AutocompleteIndex.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    @DisplayName("Should throw ValidationException when query is blank")
+    void testAutocomplete_BlankQuery() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> movieService.autocomplete("  ", 10));
+        verify(autocompleteIndex, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw IndexNotReadyException while the index is building")
+    void testAutocomplete_NotReady() {
+        // Arrange
+        when(autocompleteIndex.isEnabled()).thenReturn(true);
+        when(autocompleteIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IndexNotReadyException.class, () -> movieService.autocomplete("dark", 10));
+    }
 }
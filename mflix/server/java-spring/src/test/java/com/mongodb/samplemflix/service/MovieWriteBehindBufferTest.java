@@ -0,0 +1,236 @@
+package com.mongodb.samplemflix.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.samplemflix.deadline.RequestDeadline;
+import com.mongodb.samplemflix.exception.DatabaseOperationException;
+import com.mongodb.samplemflix.exception.DeadlineExceededException;
+import com.mongodb.samplemflix.exception.ResourceNotFoundException;
+import com.mongodb.samplemflix.exception.ServerOverloadedException;
+import com.mongodb.samplemflix.model.Movie;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the write-behind buffer: merging, flushing, per-movie results and backpressure.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MovieWriteBehindBuffer Unit Tests")
+class MovieWriteBehindBufferTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MovieWriteBehindBuffer buffer;
+
+    private final ObjectId first = new ObjectId();
+    private final ObjectId second = new ObjectId();
+
+    @BeforeEach
+    void setUp() {
+        buffer = new MovieWriteBehindBuffer(mongoTemplate, eventPublisher);
+    }
+
+    // ==================== MERGE TESTS ====================
+
+    @Test
+    @DisplayName("Should merge updates field-wise, keeping the latest value and counting versions")
+    void testMerge_LatestValueWins() {
+        MovieWriteBehindBuffer.PendingUpdate pending = new MovieWriteBehindBuffer.PendingUpdate(first, 0);
+
+        pending.merge(versioned(new Update().set("runtime", 120).set("rated", "PG")).getUpdateObject());
+        pending.merge(versioned(new Update().set("runtime", 140).unset("poster")).getUpdateObject());
+        pending.merge(versioned(new Update().set("poster", "new.jpg").unset("rated")).getUpdateObject());
+
+        assertEquals(new Document("$set", new Document("runtime", 140).append("poster", "new.jpg"))
+                        .append("$unset", new Document("rated", 1))
+                        .append("$inc", new Document("version", 3)),
+                pending.toUpdateDocument());
+    }
+
+    @Test
+    @DisplayName("Should fold overlapping nested paths into one conflict-free update")
+    void testMerge_NestedPaths() {
+        MovieWriteBehindBuffer.PendingUpdate setAfterUnset = new MovieWriteBehindBuffer.PendingUpdate(first, 0);
+        setAfterUnset.merge(new Update().unset("imdb").getUpdateObject());
+        setAfterUnset.merge(new Update().set("imdb.rating", 7.9).getUpdateObject());
+        setAfterUnset.merge(new Update().set("imdb.votes", 100).getUpdateObject());
+
+        MovieWriteBehindBuffer.PendingUpdate unsetAfterSet = new MovieWriteBehindBuffer.PendingUpdate(first, 0);
+        unsetAfterSet.merge(new Update().set("imdb.rating", 7.9).set("title", "Kept").getUpdateObject());
+        unsetAfterSet.merge(new Update().unset("imdb").getUpdateObject());
+
+        assertEquals(new Document("$set", new Document("imdb", new Document("rating", 7.9).append("votes", 100))),
+                setAfterUnset.toUpdateDocument());
+        assertEquals(new Document("$set", new Document("title", "Kept")).append("$unset", new Document("imdb", 1)),
+                unsetAfterSet.toUpdateDocument());
+    }
+
+    // ==================== FLUSH TESTS ====================
+
+    @Test
+    @DisplayName("Should write one update per movie in a single unordered bulkWrite")
+    @SuppressWarnings("unchecked")
+    void testFlush_CoalescesUpdates() {
+        // Arrange
+        stubCollection();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+        Movie firstMovie = Movie.builder().id(first).runtime(140).version(2).build();
+        Movie secondMovie = Movie.builder().id(second).rated("R").version(1).build();
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of(firstMovie, secondMovie));
+
+        CompletableFuture<Movie> a = buffer.submit(first, versioned(new Update().set("runtime", 120)));
+        CompletableFuture<Movie> b = buffer.submit(second, versioned(new Update().set("rated", "R")));
+        CompletableFuture<Movie> c = buffer.submit(first, versioned(new Update().set("runtime", 140)));
+
+        // Act
+        int written = buffer.flush();
+
+        // Assert
+        assertEquals(2, written);
+        ArgumentCaptor<List<WriteModel<Document>>> models = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<BulkWriteOptions> options = ArgumentCaptor.forClass(BulkWriteOptions.class);
+        verify(collection).bulkWrite(models.capture(), options.capture());
+        assertFalse(options.getValue().isOrdered());
+        UpdateOneModel<Document> merged = (UpdateOneModel<Document>) models.getValue().get(0);
+        assertEquals(new Document("_id", first), merged.getFilter());
+        assertEquals(new Document("$set", new Document("runtime", 140)).append("$inc", new Document("version", 2)),
+                merged.getUpdate());
+
+        assertSame(firstMovie, a.join());
+        assertSame(secondMovie, b.join());
+        assertSame(firstMovie, c.join());
+        assertEquals(0, buffer.pendingUpdates());
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof MovieChangeEvent change && change.getSavedMovies().size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should fail only the callers of a movie that was not written")
+    void testFlush_PerMovieErrors() {
+        // Arrange
+        stubCollection();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of()));
+        // The second movie was written but no longer exists when read back
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of());
+
+        CompletableFuture<Movie> invalid = buffer.submit(first, versioned(new Update().set("year", "bad")));
+        CompletableFuture<Movie> missing = buffer.submit(second, versioned(new Update().set("year", 2001)));
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        CompletionException invalidError = assertThrows(CompletionException.class, invalid::join);
+        assertInstanceOf(DatabaseOperationException.class, invalidError.getCause());
+        CompletionException missingError = assertThrows(CompletionException.class, missing::join);
+        assertInstanceOf(ResourceNotFoundException.class, missingError.getCause());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should reject updates with 503 once the buffer stays full")
+    void testSubmit_Backpressure() {
+        // Arrange
+        ReflectionTestUtils.setField(buffer, "maxPending", 2);
+        ReflectionTestUtils.setField(buffer, "enqueueTimeoutMs", 10L);
+        buffer.submit(first, versioned(new Update().set("runtime", 1)));
+        buffer.submit(first, versioned(new Update().set("runtime", 2)));
+
+        // Act & Assert
+        assertThrows(ServerOverloadedException.class,
+                () -> buffer.submit(second, versioned(new Update().set("runtime", 3))));
+        assertEquals(2, buffer.pendingUpdates());
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the flush when the request deadline runs out")
+    void testUpdate_DeadlineExceeded() {
+        // Arrange: no flusher is running, so the update is never written
+        RequestDeadline deadline = RequestDeadline.start("default", 20);
+        Update update = versioned(new Update().set("runtime", 1));
+
+        // Act
+        DeadlineExceededException exception = assertThrows(DeadlineExceededException.class,
+                () -> RequestDeadline.call(deadline, () -> buffer.update(first, update)));
+
+        // Assert: the update is still queued and will be written by the next flush
+        assertEquals("Request did not complete within its 20 ms default budget", exception.getMessage());
+        assertEquals(1, buffer.pendingUpdates());
+    }
+
+    @Test
+    @DisplayName("Should flush on the delay threshold and drain the queue on shutdown")
+    void testFlusher_DelayAndShutdown() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "maxDelayMs", 5L);
+        ReflectionTestUtils.setField(buffer, "writeConcern", "majority");
+        when(mongoTemplate.getCollection("movies")).thenReturn(collection);
+        when(collection.withWriteConcern(WriteConcern.MAJORITY)).thenReturn(collection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class)))
+                .thenReturn(List.of(Movie.builder().id(first).build()));
+        buffer.start();
+
+        // Act
+        Movie movie = buffer.submit(first, versioned(new Update().set("runtime", 99))).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Movie> queued = buffer.submit(first, versioned(new Update().set("runtime", 100)));
+        buffer.shutdown();
+
+        // Assert
+        assertEquals(first, movie.getId());
+        assertTrue(queued.isDone());
+        assertThrows(ServerOverloadedException.class,
+                () -> buffer.submit(first, versioned(new Update().set("runtime", 101))));
+    }
+
+    private void stubCollection() {
+        when(mongoTemplate.getCollection("movies")).thenReturn(collection);
+        when(collection.withWriteConcern(any(WriteConcern.class))).thenReturn(collection);
+    }
+
+    private static Update versioned(Update update) {
+        return update.inc(Movie.Fields.VERSION, 1);
+    }
+}
@@ -0,0 +1,279 @@
+package com.mongodb.samplemflix.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.samplemflix.config.IndexReadiness;
+import com.mongodb.samplemflix.config.ReadRouting;
+import com.mongodb.samplemflix.exception.IndexNotReadyException;
+import com.mongodb.samplemflix.exception.PreconditionFailedException;
+import com.mongodb.samplemflix.exception.ResourceNotFoundException;
+import com.mongodb.samplemflix.exception.ValidationException;
+import com.mongodb.samplemflix.indexing.QueryShapeRecorder;
+import com.mongodb.samplemflix.migration.MovieDataMigration;
+import com.mongodb.samplemflix.model.Movie;
+import com.mongodb.samplemflix.model.dto.CreateMovieRequest;
+import com.mongodb.samplemflix.model.dto.MovieSearchQuery;
+import com.mongodb.samplemflix.model.dto.MovieSearchRequest;
+import com.mongodb.samplemflix.search.AutocompleteIndex;
+import com.mongodb.samplemflix.search.FacetCatalog;
+import com.mongodb.samplemflix.search.FacetResultCache;
+import com.mongodb.samplemflix.search.LocalSearchIndex;
+import com.mongodb.samplemflix.search.SearchResultCache;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for ReactiveMovieServiceImpl.
+ *
+ * These tests verify that the reactive service applies the same validation and limits as
+ * MovieServiceImpl and signals errors through the returned publisher.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveMovieService Unit Tests")
+class ReactiveMovieServiceTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private LocalSearchIndex localSearchIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private FacetCatalog facetCatalog;
+
+    @Mock
+    private FacetResultCache facetResultCache;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MovieDataMigration dataMigration;
+
+    @Mock
+    private QueryShapeRecorder queryShapes;
+
+    @Spy
+    private ReadRouting readRouting = new ReadRouting();
+
+    @Mock
+    private IndexReadiness indexReadiness;
+
+    @Mock
+    private WebClient.Builder webClientBuilder;
+
+    @InjectMocks
+    private ReactiveMovieServiceImpl movieService;
+
+    private ObjectId testId;
+    private Movie testMovie;
+
+    @BeforeEach
+    void setUp() {
+        testId = new ObjectId();
+
+        testMovie = Movie.builder()
+                .id(testId)
+                .title("Test Movie")
+                .year(2024)
+                .build();
+    }
+
+    // ==================== GET ALL MOVIES TESTS ====================
+
+    @Test
+    @DisplayName("Should stream movies with the clamped page size")
+    void testGetAllMovies_ClampsLimit() {
+        // Arrange
+        MovieSearchQuery query = MovieSearchQuery.builder().limit(500).build();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(Flux.just(testMovie));
+
+        // Act & Assert
+        StepVerifier.create(movieService.getAllMovies(query))
+                .expectNext(testMovie)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(captor.capture(), eq(Movie.class));
+        assertEquals(100, captor.getValue().getLimit());
+    }
+
+    @Test
+    @DisplayName("Should export without a limit, sorted by _id by default")
+    void testExportMovies_NoLimitSortedById() {
+        // Arrange
+        MovieSearchQuery query = MovieSearchQuery.builder().genre("Drama").limit(5).build();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(Flux.just(testMovie));
+
+        // Act & Assert
+        StepVerifier.create(movieService.exportMovies(query))
+                .expectNext(testMovie)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(captor.capture(), eq(Movie.class));
+        assertEquals(0, captor.getValue().getLimit());
+        assertEquals(1, captor.getValue().getSortObject().getInteger("_id"));
+    }
+
+    // ==================== GET MOVIE BY ID TESTS ====================
+
+    @Test
+    @DisplayName("Should signal ValidationException for an invalid ID")
+    void testGetMovieById_InvalidId() {
+        // Act & Assert
+        StepVerifier.create(movieService.getMovieById("not-an-id"))
+                .expectError(ValidationException.class)
+                .verify();
+
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should signal ResourceNotFoundException when the movie does not exist")
+    void testGetMovieById_NotFound() {
+        // Arrange
+        when(reactiveMongoTemplate.findById(testId, Movie.class)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(movieService.getMovieById(testId.toHexString()))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    // ==================== WRITE TESTS ====================
+
+    @Test
+    @DisplayName("Should insert a movie and publish a change event")
+    void testCreateMovie_PublishesEvent() {
+        // Arrange
+        CreateMovieRequest request = CreateMovieRequest.builder().title("Test Movie").build();
+        when(reactiveMongoTemplate.insert(any(Movie.class))).thenReturn(Mono.just(testMovie));
+
+        // Act & Assert
+        StepVerifier.create(movieService.createMovie(request))
+                .expectNext(testMovie)
+                .verifyComplete();
+
+        verify(eventPublisher).publishEvent(any(MovieChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch with a missing title before inserting")
+    void testCreateMoviesBatch_MissingTitle() {
+        // Arrange
+        List<CreateMovieRequest> requests = List.of(
+                CreateMovieRequest.builder().title("Valid").build(),
+                CreateMovieRequest.builder().build());
+
+        // Act & Assert
+        StepVerifier.create(movieService.createMoviesBatch(requests))
+                .expectErrorMatches(e -> e instanceof ValidationException
+                        && e.getMessage().equals("Movie at index 1: Title is required"))
+                .verify();
+
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should signal ResourceNotFoundException when nothing was deleted")
+    void testDeleteMovie_NotFound() {
+        // Arrange
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(Movie.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+
+        // Act & Assert
+        StepVerifier.create(movieService.deleteMovie(testId.toHexString()))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should signal PreconditionFailedException when the movie changed since the If-Match version")
+    void testDeleteMovie_VersionMismatch() {
+        // Arrange
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(Movie.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Movie.class))).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(movieService.deleteMovie(testId.toHexString(), 4))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // ==================== SEARCH TESTS ====================
+
+    @Test
+    @DisplayName("Should serve cached search hits in rank order")
+    void testSearchMovies_CacheHit() {
+        // Arrange
+        Movie second = Movie.builder().id(new ObjectId()).title("Second").build();
+        MovieSearchRequest request = MovieSearchRequest.builder().plot("space").build();
+        SearchResultCache.CachedHits cached = new SearchResultCache.CachedHits(
+                new ObjectId[] {second.getId(), testId}, new double[] {2.0, 1.0}, 1_000_000L, 0L);
+
+        when(searchResultCache.get(any())).thenReturn(cached);
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(Flux.just(testMovie, second));
+
+        // Act & Assert
+        StepVerifier.create(movieService.searchMovies(request))
+                .expectNext(second, testMovie)
+                .verifyComplete();
+
+        verify(searchResultCache).recordHit(eq(cached), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should signal ValidationException when no search field is given")
+    void testSearchMovies_NoFields() {
+        // Act & Assert
+        StepVerifier.create(movieService.searchMovies(MovieSearchRequest.builder().build()))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
+    // ==================== AUTOCOMPLETE TESTS ====================
+
+    @Test
+    @DisplayName("Should signal IndexNotReadyException while the index is building")
+    void testAutocomplete_NotReady() {
+        // Arrange
+        when(autocompleteIndex.isEnabled()).thenReturn(true);
+        when(autocompleteIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(movieService.autocomplete("sta", 5))
+                .expectError(IndexNotReadyException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Starts three mongod processes and initiates them as replica set rs0 (see docker-compose.yml).
+set -euo pipefail
+
+for port in 27017 27018 27019; do
+  mkdir -p "/data/rs/$port"
+  mongod --replSet rs0 --port "$port" --bind_ip_all --dbpath "/data/rs/$port" \
+    --fork --logpath "/data/rs/$port.log"
+done
+
+mongosh --quiet --port 27017 --eval '
+  try {
+    rs.status();
+  } catch (e) {
+    rs.initiate({
+      _id: "rs0",
+      members: [
+        { _id: 0, host: "localhost:27017", priority: 2 },
+        { _id: 1, host: "localhost:27018", tags: { nodeType: "ELECTABLE" } },
+        { _id: 2, host: "localhost:27019", priority: 0, tags: { nodeType: "ANALYTICS" } }
+      ]
+    });
+  }'
+
+exec tail -F /data/rs/27017.log /data/rs/27018.log /data/rs/27019.log